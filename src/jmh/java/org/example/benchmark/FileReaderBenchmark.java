@@ -0,0 +1,76 @@
+package org.example.benchmark;
+
+import org.example.exception.MatrixException;
+import org.example.file.FileReader;
+import org.example.matrix.Matrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк чтения матрицы из текстового файла {@link FileReader#readMatrixFromFile(String)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FileReaderBenchmark {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    private int size;
+
+    private FileReader fileReader;
+    private Path file;
+
+    /**
+     * Записывает во временный файл квадратную матрицу со случайными элементами.
+     *
+     * @throws IOException Если не удалось записать файл.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fileReader = new FileReader();
+        file = Files.createTempFile("matrix-benchmark-" + size + "-", ".txt");
+        Random random = new Random(size);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    if (j > 0) {
+                        writer.write(' ');
+                    }
+                    writer.write(String.valueOf(random.nextDouble() * 200 - 100));
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Удаляет временный файл.
+     *
+     * @throws IOException Если не удалось удалить файл.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Matrix readMatrixFromFile() throws MatrixException {
+        return fileReader.readMatrixFromFile(file.toString());
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.benchmark;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.operations.MatrixExpression;
+import org.example.operations.MatrixOperations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки операций {@link MatrixOperations} на квадратных матрицах разного размера.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatrixOperationsBenchmark {
+
+    @Param({"8", "64", "256", "1024", "4096"})
+    private int size;
+
+    private MatrixOperations matrixOperations;
+    private Matrix matrix1;
+    private Matrix matrix2;
+    private MatrixExpression expression;
+
+    /**
+     * Создает операнды фиксированного содержимого, чтобы результаты были воспроизводимы.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws MatrixException {
+        matrixOperations = new MatrixOperations();
+        matrix1 = randomMatrix(size, 1);
+        matrix2 = randomMatrix(size, 2);
+        expression = MatrixExpression.of(matrix1).scale(2).add(MatrixExpression.of(matrix2))
+                .subtract(MatrixExpression.of(matrix1)).scale(0.5);
+    }
+
+    @Benchmark
+    public Matrix add() throws MatrixException {
+        return matrixOperations.add(matrix1, matrix2);
+    }
+
+    @Benchmark
+    public Matrix subtract() throws MatrixException {
+        return matrixOperations.subtract(matrix1, matrix2);
+    }
+
+    @Benchmark
+    public Matrix multiplyByScalar() throws MatrixException {
+        return matrixOperations.multiplyByScalar(matrix1, 1.5);
+    }
+
+    @Benchmark
+    public Matrix multiply() throws MatrixException {
+        return matrixOperations.multiply(matrix1, matrix2);
+    }
+
+    /**
+     * Составное выражение (2 * A + B - A) * 0.5, вычисляемое пошагово с промежуточными матрицами.
+     */
+    @Benchmark
+    public Matrix compoundEager() throws MatrixException {
+        Matrix scaled = matrixOperations.multiplyByScalar(matrix1, 2);
+        Matrix sum = matrixOperations.add(scaled, matrix2);
+        return matrixOperations.multiplyByScalar(matrixOperations.subtract(sum, matrix1), 0.5);
+    }
+
+    /**
+     * То же выражение, вычисляемое одним объединенным проходом.
+     */
+    @Benchmark
+    public Matrix compoundFused() throws MatrixException {
+        return matrixOperations.evaluate(expression);
+    }
+
+    @Benchmark
+    public double determinant() throws MatrixException {
+        return matrixOperations.determinant(matrix1);
+    }
+
+    /**
+     * Создает квадратную матрицу со случайными элементами.
+     *
+     * @param size Размер матрицы.
+     * @param seed Начальное значение генератора.
+     * @return Случайная матрица.
+     */
+    static Matrix randomMatrix(int size, long seed) {
+        Random random = new Random(seed);
+        Matrix matrix = new Matrix(size, size);
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                matrix.setElement(i, j, random.nextDouble() * 2 - 1);
+            }
+        }
+        return matrix;
+    }
+}
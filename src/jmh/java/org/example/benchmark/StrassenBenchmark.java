@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.operations.MatrixOperations;
+import org.example.operations.MultiplyAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение блочного умножения и алгоритма Штрассена для подбора размера перехода
+ * {@link MatrixOperations#setStrassenThreshold(int)}.
+ * <p>
+ *     Размер перехода - наименьший размер, начиная с которого {@code strassen} быстрее {@code blocked}.
+ *     Нечетные и не являющиеся степенью двойки размеры проверяют стоимость дополнения нулями.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StrassenBenchmark {
+
+    @Param({"256", "512", "1000", "1024", "2048"})
+    private int size;
+
+    @Param({"64", "128", "256"})
+    private int threshold;
+
+    private MatrixOperations blocked;
+    private MatrixOperations strassen;
+    private Matrix matrix1;
+    private Matrix matrix2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        blocked = new MatrixOperations();
+        strassen = new MatrixOperations();
+        strassen.setMultiplyAlgorithm(MultiplyAlgorithm.STRASSEN);
+        strassen.setStrassenThreshold(threshold);
+        matrix1 = MatrixOperationsBenchmark.randomMatrix(size, 1);
+        matrix2 = MatrixOperationsBenchmark.randomMatrix(size, 2);
+    }
+
+    @Benchmark
+    public Matrix blocked() throws MatrixException {
+        return blocked.multiply(matrix1, matrix2);
+    }
+
+    @Benchmark
+    public Matrix strassen() throws MatrixException {
+        return strassen.multiply(matrix1, matrix2);
+    }
+}
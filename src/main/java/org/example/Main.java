@@ -1,5 +1,6 @@
 package org.example;
 
+import org.example.cli.BatchRunner;
 import org.example.exception.MatrixException;
 import org.example.file.FileReader;
 import org.example.logging.AppLogger;
@@ -45,9 +46,15 @@ public class Main {
      * Запускает работу приложения, обрабатывает пользовательский ввод,
      * выполняет операции над матрицами и выводит результаты.
      *
-     * @param args Аргументы командной строки (не используются).
+     * Если заданы аргументы командной строки, операции выполняются в неинтерактивном режиме
+     * ({@link BatchRunner}), а программа завершается с соответствующим кодом.
+     *
+     * @param args Аргументы командной строки.
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(new BatchRunner().run(args));
+        }
         logger.info("Начало работы программы");
         printSystemInfo();
 
@@ -58,11 +65,11 @@ public class Main {
             handleMatrixException(e, "общей работы программы");
         } catch (InputMismatchException e) {
             System.err.println("Некорректный ввод данных, проверьте введенные данные.");
-            logger.error("Некорректный ввод данных: " + e.getMessage(), e);
+            logger.error("Некорректный ввод данных: {}", e.getMessage(), e);
             scanner.nextLine(); // Очистить некорректный ввод
         } catch (Exception e) {
             System.err.println("Неизвестная ошибка: " + e.getMessage());
-            logger.error("Неизвестная ошибка: " + e.getMessage(), e);
+            logger.error("Неизвестная ошибка: {}", e.getMessage(), e);
         } finally {
             logger.info("Завершение работы программы");
         }
@@ -88,11 +95,11 @@ public class Main {
                     System.out.print("Введите путь к " + (i + 1) + " файлу с матрицей: ");
                     String filePath = scanner.nextLine();
                     matrices[i] = fileReader.readMatrixFromFile(filePath);
-                    logger.info("Матрица " + (i + 1) + " успешно загружена из файла: " + filePath);
+                    logger.info("Матрица {} успешно загружена из файла: {}", i + 1, filePath);
                     break; // Успешно загружено, выходим из цикла
                 } catch (MatrixException e) {
                     System.err.println("Ошибка загрузки матрицы: " + e.getMessage());
-                    logger.error("Ошибка загрузки матрицы: " + e.getMessage(), e);
+                    logger.error("Ошибка загрузки матрицы: {}", e.getMessage(), e);
                 }
             }
         }
@@ -174,7 +181,7 @@ public class Main {
             try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
                 writeMatrixToFile(matrix, writer);
                 System.out.println("Результат сохранен в файл: " + filePath);
-                logger.info("Результат сохранен в файл: " + filePath);
+                logger.info("Результат сохранен в файл: {}", filePath);
             } catch (IOException e) {
                 handleMatrixException(e, "сохранения файла");
             }
@@ -210,7 +217,7 @@ public class Main {
      */
     private static void handleMatrixException(Exception e, String context) {
         System.err.println("Ошибка " + context + ": " + e.getMessage());
-        logger.error("Ошибка " + context + ": " + e.getMessage(), e);
+        logger.error("Ошибка {}: {}", context, e.getMessage(), e);
     }
 
     /**
@@ -0,0 +1,197 @@
+package org.example.cache;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.FlatArrayStorage;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixStorage;
+import org.example.matrix.StorageMode;
+import org.example.operations.MatrixOperations;
+
+/**
+ * Класс {@code CachingMatrixOperations} выполняет операции {@link MatrixOperations}, сохраняя результаты
+ * в {@link ResultCache} по дайджесту содержимого операндов.
+ * <p>
+ *     Повторный запрос с теми же операндами (по содержимому, а не по ссылке) стоит O(n²) на вычисление
+ *     дайджеста и копирование результата вместо повторного вычисления, например O(n³) для умножения
+ *     и определителя. Кэш хранит собственные копии результатов, поэтому изменение возвращенной
+ *     матрицы не влияет на последующие ответы.
+ * </p>
+ */
+public class CachingMatrixOperations {
+
+    private final MatrixOperations operations;
+    private final ResultCache cache;
+
+    /**
+     * Создает кэширующие операции с новым кэшем заданного объема.
+     *
+     * @param operations Операции, результаты которых кэшируются.
+     * @param maxBytes   Бюджет памяти кэша в байтах.
+     */
+    public CachingMatrixOperations(MatrixOperations operations, long maxBytes) {
+        this(operations, new ResultCache(maxBytes));
+    }
+
+    /**
+     * Создает кэширующие операции поверх заданного кэша. Один кэш может использоваться несколькими объектами.
+     *
+     * @param operations Операции, результаты которых кэшируются.
+     * @param cache      Кэш результатов.
+     */
+    public CachingMatrixOperations(MatrixOperations operations, ResultCache cache) {
+        this.operations = operations;
+        this.cache = cache;
+    }
+
+    /**
+     * Складывает две матрицы с использованием кэша.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @return Сумма матриц.
+     * @throws MatrixException Если матрицы имеют несовместимые размеры.
+     */
+    public Matrix add(Matrix matrix1, Matrix matrix2) throws MatrixException {
+        ContentDigest key = ContentDigest.of("add", 0, matrix1, matrix2);
+        Matrix cached = (Matrix) cache.get(key);
+        return cached != null
+                ? copy(cached, MatrixOperations.resultMode(matrix1, matrix2))
+                : store(key, operations.add(matrix1, matrix2));
+    }
+
+    /**
+     * Вычитает одну матрицу из другой с использованием кэша.
+     *
+     * @param matrix1 Уменьшаемое.
+     * @param matrix2 Вычитаемое.
+     * @return Разность матриц.
+     * @throws MatrixException Если матрицы имеют несовместимые размеры.
+     */
+    public Matrix subtract(Matrix matrix1, Matrix matrix2) throws MatrixException {
+        ContentDigest key = ContentDigest.of("subtract", 0, matrix1, matrix2);
+        Matrix cached = (Matrix) cache.get(key);
+        return cached != null
+                ? copy(cached, MatrixOperations.resultMode(matrix1, matrix2))
+                : store(key, operations.subtract(matrix1, matrix2));
+    }
+
+    /**
+     * Умножает матрицу на скаляр с использованием кэша.
+     *
+     * @param matrix Исходная матрица.
+     * @param scalar Скалярное значение.
+     * @return Произведение матрицы на скаляр.
+     * @throws MatrixException Если возникла ошибка при создании матрицы.
+     */
+    public Matrix multiplyByScalar(Matrix matrix, double scalar) throws MatrixException {
+        ContentDigest key = ContentDigest.of("multiplyByScalar", scalar, matrix);
+        Matrix cached = (Matrix) cache.get(key);
+        return cached != null
+                ? copy(cached, MatrixOperations.resultMode(matrix))
+                : store(key, operations.multiplyByScalar(matrix, scalar));
+    }
+
+    /**
+     * Умножает две матрицы с использованием кэша.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @return Произведение матриц.
+     * @throws MatrixException Если матрицы имеют несовместимые размеры.
+     */
+    public Matrix multiply(Matrix matrix1, Matrix matrix2) throws MatrixException {
+        ContentDigest key = ContentDigest.of("multiply", 0, matrix1, matrix2);
+        Matrix cached = (Matrix) cache.get(key);
+        return cached != null
+                ? copy(cached, MatrixOperations.resultMode(matrix1, matrix2))
+                : store(key, operations.multiply(matrix1, matrix2));
+    }
+
+    /**
+     * Вычисляет определитель матрицы с использованием кэша.
+     *
+     * @param matrix Исходная матрица.
+     * @return Определитель матрицы.
+     * @throws MatrixException Если матрица не является квадратной.
+     */
+    public double determinant(Matrix matrix) throws MatrixException {
+        ContentDigest key = ContentDigest.of("determinant", 0, matrix);
+        Double cached = (Double) cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        double determinant = operations.determinant(matrix);
+        cache.put(key, determinant, Double.BYTES);
+        return determinant;
+    }
+
+    /**
+     * Возвращает кэш результатов.
+     *
+     * @return Кэш результатов.
+     */
+    public ResultCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Возвращает операции, результаты которых кэшируются.
+     *
+     * @return Операции над матрицами.
+     */
+    public MatrixOperations getOperations() {
+        return operations;
+    }
+
+    /**
+     * Сохраняет копию результата в кэше и возвращает сам результат.
+     * <p>
+     *     Результат вне кучи сохраняется копией в куче: кэш вытесняет записи без {@link Matrix#release()}
+     *     (сохраненная матрица может в это время копироваться в другом потоке), поэтому память вне кучи
+     *     освобождалась бы только сборщиком мусора. При попадании копия создается в режиме операндов запроса.
+     * </p>
+     *
+     * @param key    Ключ операции.
+     * @param result Результат операции.
+     * @return Результат операции.
+     */
+    private Matrix store(ContentDigest key, Matrix result) {
+        StorageMode mode = result.getStorageMode();
+        int elementSize = mode == StorageMode.FLOAT32 ? Float.BYTES : Double.BYTES;
+        long elements = (long) result.getRows() * result.getCols();
+        long size = elements * elementSize;
+        // Копия в куче результата вне кучи должна помещаться в массив
+        if (cache.accepts(size) && (mode != StorageMode.OFF_HEAP || elements <= Integer.MAX_VALUE - 8)) {
+            cache.put(key, copy(result, mode == StorageMode.OFF_HEAP ? StorageMode.FLAT : mode), size);
+        }
+        return result;
+    }
+
+    /**
+     * Создает копию матрицы с непрерывным хранилищем заданного режима. Ключ не различает матрицы в куче
+     * и вне кучи, поэтому режим копии при попадании определяется операндами запроса, а не сохраненным результатом.
+     *
+     * @param matrix Исходная матрица.
+     * @param mode   Режим хранения копии: {@link StorageMode#FLOAT32}, {@link StorageMode#OFF_HEAP}
+     *               или {@link StorageMode#FLAT} для остальных режимов.
+     * @return Копия матрицы.
+     */
+    private static Matrix copy(Matrix matrix, StorageMode mode) {
+        MatrixStorage source = matrix.getStorage();
+        if (mode == StorageMode.FLOAT32 || mode == StorageMode.OFF_HEAP) {
+            Matrix copy = new Matrix(matrix.getRows(), matrix.getCols(), mode);
+            double[] row = new double[matrix.getCols()];
+            for (int i = 0; i < matrix.getRows(); i++) {
+                source.readRow(i, row, 0);
+                copy.getStorage().writeRow(i, row, 0);
+            }
+            return copy;
+        }
+        Matrix copy = new Matrix(matrix.getRows(), matrix.getCols());
+        FlatArrayStorage target = (FlatArrayStorage) copy.getStorage();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            source.readRow(i, target.getArray(), target.rowOffset(i));
+        }
+        return copy;
+    }
+}
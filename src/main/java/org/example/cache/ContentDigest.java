@@ -0,0 +1,91 @@
+package org.example.cache;
+
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixStorage;
+import org.example.matrix.StorageMode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Ключ кэша: SHA-256 от названия операции, ее скалярного параметра и содержимого операндов.
+ * <p>
+ *     В дайджест входят размеры и точное двоичное представление каждого элемента, поэтому
+ *     матрицы с одинаковыми значениями, но разной формой или разными нулями (0.0 и -0.0) различаются.
+ *     В отличие от 32-битного {@link Matrix#hashCode()}, вероятность совпадения ключей разных операндов
+ *     пренебрежимо мала, и найденный в кэше результат не требует сравнения операндов.
+ * </p>
+ */
+final class ContentDigest {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final byte[] digest;
+    private final int hash;
+
+    private ContentDigest(byte[] digest) {
+        this.digest = digest;
+        this.hash = Arrays.hashCode(digest);
+    }
+
+    /**
+     * Вычисляет ключ операции.
+     *
+     * @param operation Название операции.
+     * @param scalar    Скалярный параметр операции (0, если его нет).
+     * @param operands  Операнды.
+     * @return Ключ операции.
+     */
+    static ContentDigest of(String operation, double scalar, Matrix... operands) {
+        MessageDigest md = newDigest();
+        md.update(operation.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer header = ByteBuffer.allocate(Long.BYTES + Integer.BYTES * 2).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(Double.doubleToRawLongBits(scalar));
+        md.update(header.array(), 0, Long.BYTES);
+        for (Matrix operand : operands) {
+            int rows = operand.getRows();
+            int cols = operand.getCols();
+            header.clear();
+            header.putInt(rows).putInt(cols);
+            md.update(header.array(), 0, Integer.BYTES * 2);
+            // Точность хранения влияет на округление результата, поэтому входит в ключ
+            md.update((byte) (operand.getStorageMode() == StorageMode.FLOAT32 ? 1 : 0));
+
+            MatrixStorage storage = operand.getStorage();
+            double[] row = new double[cols];
+            ByteBuffer bytes = ByteBuffer.allocate(cols * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < rows; i++) {
+                storage.readRow(i, row, 0);
+                bytes.clear();
+                bytes.asDoubleBuffer().put(row);
+                md.update(bytes.array());
+            }
+        }
+        return new ContentDigest(md.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 обязателен для всех реализаций Java
+            throw new IllegalStateException("Алгоритм " + ALGORITHM + " недоступен", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof ContentDigest)) return false;
+        return Arrays.equals(digest, ((ContentDigest) obj).digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
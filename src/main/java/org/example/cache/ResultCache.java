@@ -0,0 +1,212 @@
+package org.example.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Кэш результатов операций с ограничением по объему памяти и вытеснением давно не использованных записей (LRU).
+ * <p>
+ *     Каждая запись учитывается по оценке занимаемых байтов. При добавлении записи вытесняются самые
+ *     давно использованные записи, пока суммарный объем не станет не больше заданного бюджета; запись,
+ *     которая одна превышает бюджет, не сохраняется. Методы кэша потокобезопасны.
+ * </p>
+ */
+public class ResultCache {
+
+    /**
+     * Оценка накладных расходов одной записи: ключ, узел связного списка и заголовки объектов.
+     */
+    static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    private final long maxBytes;
+    private final LinkedHashMap<ContentDigest, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Создает кэш с заданным бюджетом памяти.
+     *
+     * @param maxBytes Наибольший суммарный объем записей в байтах.
+     * @throws IllegalArgumentException Если бюджет отрицательный.
+     */
+    public ResultCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Объем кэша не может быть отрицательным");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Возвращает сохраненное значение и отмечает запись как недавно использованную.
+     *
+     * @param key Ключ.
+     * @return Значение или null, если записи нет.
+     */
+    synchronized Object get(ContentDigest key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    /**
+     * Сохраняет значение, вытесняя давно не использованные записи при превышении бюджета.
+     *
+     * @param key       Ключ.
+     * @param value     Значение.
+     * @param sizeBytes Оценка объема значения в байтах.
+     */
+    synchronized void put(ContentDigest key, Object value, long sizeBytes) {
+        if (!accepts(sizeBytes)) {
+            return;
+        }
+        long size = sizeBytes + ENTRY_OVERHEAD_BYTES;
+        Entry previous = entries.put(key, new Entry(value, size));
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += size;
+        Iterator<Map.Entry<ContentDigest, Entry>> iterator = entries.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<ContentDigest, Entry> eldest = iterator.next();
+            bytes -= eldest.getValue().size;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Проверяет, поместится ли значение заданного объема в кэш.
+     *
+     * @param sizeBytes Оценка объема значения в байтах.
+     * @return true, если запись с таким значением не превышает бюджет.
+     */
+    boolean accepts(long sizeBytes) {
+        return sizeBytes + ENTRY_OVERHEAD_BYTES <= maxBytes;
+    }
+
+    /**
+     * Удаляет все записи. Счетчики статистики сохраняются.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Возвращает бюджет памяти кэша.
+     *
+     * @return Наибольший суммарный объем записей в байтах.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Возвращает снимок статистики кэша.
+     *
+     * @return Статистика обращений и заполнения.
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(hits, misses, evictions, entries.size(), bytes);
+    }
+
+    /**
+     * Запись кэша.
+     */
+    private static final class Entry {
+        final Object value;
+        final long size;
+
+        Entry(Object value, long size) {
+            this.value = value;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Снимок статистики кэша.
+     */
+    public static final class Statistics {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int entries;
+        private final long bytes;
+
+        Statistics(long hits, long misses, long evictions, int entries, long bytes) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Возвращает количество обращений, для которых результат найден в кэше.
+         *
+         * @return Количество попаданий.
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Возвращает количество обращений, для которых результат пришлось вычислить.
+         *
+         * @return Количество промахов.
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Возвращает количество записей, вытесненных из-за превышения бюджета.
+         *
+         * @return Количество вытеснений.
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Возвращает текущее количество записей.
+         *
+         * @return Количество записей.
+         */
+        public int getEntries() {
+            return entries;
+        }
+
+        /**
+         * Возвращает текущий суммарный объем записей.
+         *
+         * @return Объем в байтах.
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * Возвращает долю попаданий среди всех обращений.
+         *
+         * @return Доля попаданий от 0 до 1 (0, если обращений не было).
+         */
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+                    + ", entries=" + entries + ", bytes=" + bytes;
+        }
+    }
+}
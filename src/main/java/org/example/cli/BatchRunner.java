@@ -0,0 +1,582 @@
+package org.example.cli;
+
+import org.example.cache.ResultCache;
+import org.example.exception.MatrixException;
+import org.example.file.BinaryMatrixReader;
+import org.example.file.BinaryMatrixWriter;
+import org.example.file.FileReader;
+import org.example.file.StreamingMatrixProcessor;
+import org.example.file.TextMatrixWriter;
+import org.example.logging.AppLogger;
+import org.example.matrix.Matrix;
+import org.example.metrics.MatrixMetrics;
+import org.example.operations.ComputePool;
+import org.example.operations.MatrixOperations;
+import org.example.server.MatrixServer;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Класс {@code BatchRunner} выполняет операции над матрицами в неинтерактивном режиме по аргументам командной строки.
+ * <p>
+ *     Поддерживается выполнение одной операции, заданной флагами, и пакетное выполнение
+ *     операций из файла заданий. Результат работы возвращается кодом завершения:
+ *     {@link #EXIT_OK}, {@link #EXIT_FAILURE} или {@link #EXIT_USAGE}.
+ * </p>
+ */
+public class BatchRunner {
+
+    /**
+     * Все операции выполнены успешно.
+     */
+    public static final int EXIT_OK = 0;
+    /**
+     * Хотя бы одна операция завершилась ошибкой (ошибка данных, размеров или ввода/вывода).
+     */
+    public static final int EXIT_FAILURE = 1;
+    /**
+     * Некорректные аргументы командной строки или файл заданий.
+     */
+    public static final int EXIT_USAGE = 2;
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Использование:",
+            "  --op <add|subtract|multiply|scale|determinant> --a <файл> [--b <файл>] [--scalar <число>]",
+            "       [--output <файл>] [--format <text|binary>] [--threads <число>] [--stream] [--metrics <text|json>]",
+            "  --job <файл заданий> [--fail-fast] [--threads <число>] [--stream] [--metrics <text|json>]",
+            "  --serve <порт> [--workdir <директория>] [--threads <число>] [--metrics <text|json>]",
+            "",
+            "Входные файлы читаются в текстовом или двоичном формате (определяется по сигнатуре).",
+            "Без --output результат выводится в стандартный поток вывода в текстовом формате.",
+            "С --stream операции add, subtract и scale над текстовыми файлами с текстовым результатом",
+            "выполняются построчно без загрузки матриц в память.",
+            "С --metrics после выполнения в поток ошибок выводится статистика операций (время, GFLOP/s, объем данных);",
+            "во время выполнения она доступна через JMX (домен org.example.matrix).",
+            "Строка файла заданий: <операция> a=<файл> [b=<файл>] [scalar=<число>] [output=<файл>] [format=<text|binary>].",
+            "Пустые строки и строки, начинающиеся с #, пропускаются.",
+            "С --serve операции выполняются по HTTP-запросам на локальном адресе до завершения процесса:",
+            "  POST /<операция>?a=<файл>&b=<файл>&scalar=<число>&output=<файл>&format=<text|binary>;",
+            "  операнды без файла передаются в теле запроса в текстовом формате через пустую строку;",
+            "  пути к файлам разрешаются относительно --workdir (по умолчанию текущая директория) и не выходят за ее пределы.",
+            "Коды завершения: 0 - успех, 1 - ошибка выполнения операции, 2 - ошибка аргументов.");
+
+    private static final AppLogger logger = new AppLogger(BatchRunner.class);
+
+    private final MatrixOperations matrixOperations;
+    private final FileReader fileReader = new FileReader();
+    private final BinaryMatrixReader binaryReader = new BinaryMatrixReader();
+    private final BinaryMatrixWriter binaryWriter = new BinaryMatrixWriter();
+    private final TextMatrixWriter textWriter = new TextMatrixWriter();
+    private final StreamingMatrixProcessor streamingProcessor = new StreamingMatrixProcessor();
+    private final PrintStream out;
+    private final PrintStream err;
+
+    /**
+     * Создает исполнитель, выводящий результаты в стандартные потоки вывода и ошибок.
+     */
+    public BatchRunner() {
+        this(new MatrixOperations(), System.out, System.err);
+    }
+
+    /**
+     * Создает исполнитель с заданными операциями и потоками вывода.
+     *
+     * @param matrixOperations Объект для выполнения операций над матрицами.
+     * @param out              Поток для вывода результатов.
+     * @param err              Поток для вывода сообщений об ошибках.
+     */
+    public BatchRunner(MatrixOperations matrixOperations, PrintStream out, PrintStream err) {
+        this.matrixOperations = matrixOperations;
+        this.out = out;
+        this.err = err;
+    }
+
+    /**
+     * Выполняет операции, заданные аргументами командной строки.
+     *
+     * @param args Аргументы командной строки.
+     * @return Код завершения.
+     */
+    public int run(String[] args) {
+        Map<String, String> options;
+        try {
+            options = parseArguments(args);
+        } catch (IllegalArgumentException e) {
+            return usageError(e.getMessage());
+        }
+        if (options.containsKey("help")) {
+            out.println(USAGE);
+            return EXIT_OK;
+        }
+
+        boolean stream = options.containsKey("stream");
+        ComputePool pool = null;
+        MatrixMetrics metrics = null;
+        try {
+            if (options.containsKey("threads")) {
+                pool = new ComputePool(parseInt(options.get("threads"), "threads"));
+                matrixOperations.setComputePool(pool);
+            }
+            String metricsFormat = options.get("metrics");
+            if (metricsFormat != null) {
+                if (!metricsFormat.equals("text") && !metricsFormat.equals("json")) {
+                    throw new IllegalArgumentException("Неизвестный формат метрик: " + metricsFormat);
+                }
+                metrics = enableMetrics();
+            }
+            if (options.containsKey("serve")) {
+                int threads = pool != null ? pool.getParallelism() : Runtime.getRuntime().availableProcessors();
+                return serve(parsePort(options.get("serve")), threads, options.getOrDefault("workdir", ""));
+            }
+            if (options.containsKey("job")) {
+                return runJobFile(options.get("job"), options.containsKey("fail-fast"), stream);
+            }
+            Job job = Job.fromOptions(options);
+            return execute(job, stream) ? EXIT_OK : EXIT_FAILURE;
+        } catch (IllegalArgumentException e) {
+            return usageError(e.getMessage());
+        } finally {
+            if (pool != null) {
+                matrixOperations.setComputePool(null);
+                pool.close();
+            }
+            if (metrics != null) {
+                disableMetrics(metrics, options.get("metrics"));
+            }
+        }
+    }
+
+    /**
+     * Включает сбор метрик операций и чтения файлов и регистрирует их в JMX.
+     *
+     * @return Набор метрик.
+     */
+    private MatrixMetrics enableMetrics() {
+        MatrixMetrics metrics = new MatrixMetrics();
+        try {
+            metrics.registerMBeans();
+        } catch (IllegalStateException e) {
+            // Метрики собираются и без JMX, например если другой исполнитель уже зарегистрирован
+            logger.warn("Метрики не зарегистрированы в JMX: {}", e.getMessage());
+        }
+        matrixOperations.setMetrics(metrics);
+        fileReader.setMetrics(metrics);
+        return metrics;
+    }
+
+    /**
+     * Выводит отчет о метриках в поток ошибок, выключает их сбор и удаляет их из JMX.
+     *
+     * @param metrics Набор метрик.
+     * @param format  Формат отчета: text или json.
+     */
+    private void disableMetrics(MatrixMetrics metrics, String format) {
+        matrixOperations.setMetrics(null);
+        fileReader.setMetrics(null);
+        metrics.unregisterMBeans();
+        err.print(format.equals("json") ? metrics.dumpJson() + System.lineSeparator() : metrics.dumpText());
+        err.flush();
+    }
+
+    /**
+     * Запускает сервер и ожидает его остановки при завершении процесса.
+     *
+     * @param port       Порт на локальном адресе.
+     * @param threads    Количество потоков обработки запросов.
+     * @param workingDir Рабочая директория сервера (пустая строка - текущая директория).
+     * @return Код завершения.
+     */
+    private int serve(int port, int threads, String workingDir) {
+        try (MatrixServer server = new MatrixServer(matrixOperations, port, threads,
+                new ResultCache(MatrixServer.DEFAULT_CACHE_BYTES), Paths.get(workingDir))) {
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, "matrix-server-shutdown"));
+            server.start();
+            out.println("Сервер запущен: http://127.0.0.1:" + server.getPort() + "/");
+            out.flush();
+            server.awaitStop();
+            return EXIT_OK;
+        } catch (IOException e) {
+            err.println("Не удалось запустить сервер: " + e.getMessage());
+            logger.error("Не удалось запустить сервер: {}", e.getMessage(), e);
+            return EXIT_FAILURE;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EXIT_OK;
+        }
+    }
+
+    /**
+     * Выполняет все задания из файла заданий.
+     *
+     * @param jobFile  Путь к файлу заданий.
+     * @param failFast true, чтобы прекратить выполнение после первой ошибки.
+     * @param stream   true, чтобы выполнять поэлементные операции над текстовыми файлами построчно.
+     * @return Код завершения.
+     */
+    private int runJobFile(String jobFile, boolean failFast, boolean stream) {
+        List<Job> jobs = new ArrayList<>();
+        try {
+            List<String> lines = Files.readAllLines(Paths.get(jobFile), StandardCharsets.UTF_8);
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i).trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    jobs.add(Job.fromLine(line));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Строка " + (i + 1) + " файла заданий: " + e.getMessage(), e);
+                }
+            }
+        } catch (IOException e) {
+            err.println("Ошибка при чтении файла заданий: " + e.getMessage());
+            logger.error("Ошибка при чтении файла заданий: {}", e.getMessage(), e);
+            return EXIT_USAGE;
+        }
+
+        int failed = 0;
+        for (Job job : jobs) {
+            if (!execute(job, stream)) {
+                failed++;
+                if (failFast) {
+                    break;
+                }
+            }
+        }
+        logger.info("Выполнено заданий: {}, с ошибкой: {}", jobs.size(), failed);
+        return failed == 0 ? EXIT_OK : EXIT_FAILURE;
+    }
+
+    /**
+     * Выполняет одно задание и сохраняет или выводит его результат.
+     *
+     * @param job    Задание.
+     * @param stream true, чтобы выполнять поэлементные операции над текстовыми файлами построчно.
+     * @return true, если задание выполнено успешно.
+     */
+    private boolean execute(Job job, boolean stream) {
+        try {
+            if (stream && isStreamable(job)) {
+                executeStreaming(job);
+                logger.info("Задание выполнено построчно: {}", job);
+                return true;
+            }
+            Matrix a = readMatrix(job.a);
+            Matrix b = job.b != null ? readMatrix(job.b) : null;
+            switch (job.operation) {
+                case ADD -> writeResult(matrixOperations.add(a, b), job);
+                case SUBTRACT -> writeResult(matrixOperations.subtract(a, b), job);
+                case MULTIPLY -> writeResult(matrixOperations.multiply(a, b), job);
+                case SCALE -> writeResult(matrixOperations.multiplyByScalar(a, job.scalar), job);
+                case DETERMINANT -> writeDeterminant(matrixOperations.determinant(a), job);
+            }
+            logger.info("Задание выполнено: {}", job);
+            return true;
+        } catch (MatrixException | IOException e) {
+            err.println("Ошибка выполнения задания [" + job + "]: " + e.getMessage());
+            logger.error("Ошибка выполнения задания [{}]: {}", job, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Проверяет, можно ли выполнить задание построчно: операция поэлементная,
+     * входные файлы и результат в текстовом формате.
+     *
+     * @param job Задание.
+     * @return true, если задание выполняется {@link StreamingMatrixProcessor}.
+     * @throws MatrixException Если входной файл не удалось прочитать.
+     */
+    private boolean isStreamable(Job job) throws MatrixException {
+        boolean elementwise = job.operation == Operation.ADD || job.operation == Operation.SUBTRACT
+                || job.operation == Operation.SCALE;
+        return elementwise && job.format == OutputFormat.TEXT && !binaryReader.isBinaryMatrixFile(job.a)
+                && (job.b == null || !binaryReader.isBinaryMatrixFile(job.b));
+    }
+
+    /**
+     * Выполняет поэлементное задание построчно с записью результата в файл или в поток вывода.
+     *
+     * @param job Задание.
+     * @throws MatrixException Если размеры не совпадают, файл имеет неверный формат или произошла ошибка ввода/вывода.
+     */
+    private void executeStreaming(Job job) throws MatrixException {
+        if (job.output == null) {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            switch (job.operation) {
+                case ADD -> streamingProcessor.process(job.a, job.b, Double::sum, writer);
+                case SUBTRACT -> streamingProcessor.process(job.a, job.b, (x, y) -> x - y, writer);
+                default -> streamingProcessor.process(job.a, value -> value * job.scalar, writer);
+            }
+        } else {
+            switch (job.operation) {
+                case ADD -> streamingProcessor.add(job.a, job.b, job.output);
+                case SUBTRACT -> streamingProcessor.subtract(job.a, job.b, job.output);
+                default -> streamingProcessor.multiplyByScalar(job.a, job.scalar, job.output);
+            }
+        }
+    }
+
+    /**
+     * Читает матрицу из файла, определяя формат по сигнатуре.
+     *
+     * @param path Путь к файлу.
+     * @return Прочитанная матрица.
+     * @throws MatrixException Если файл не удалось прочитать.
+     */
+    private Matrix readMatrix(String path) throws MatrixException {
+        if (binaryReader.isBinaryMatrixFile(path)) {
+            return binaryReader.mapMatrixFromFile(path);
+        }
+        return fileReader.readMatrixFromFile(path);
+    }
+
+    /**
+     * Сохраняет матрицу-результат в файл или выводит ее в поток вывода.
+     *
+     * @param result Матрица-результат.
+     * @param job    Задание.
+     * @throws MatrixException Если файл не удалось записать.
+     * @throws IOException     Если не удалось вывести результат.
+     */
+    private void writeResult(Matrix result, Job job) throws MatrixException, IOException {
+        if (job.output == null) {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            textWriter.writeMatrix(result, writer);
+        } else if (job.format == OutputFormat.BINARY) {
+            binaryWriter.writeMatrixToFile(result, job.output);
+        } else {
+            textWriter.writeMatrixToFile(result, job.output);
+        }
+    }
+
+    /**
+     * Сохраняет определитель в текстовый файл или выводит его в поток вывода.
+     *
+     * @param determinant Определитель.
+     * @param job         Задание.
+     * @throws IOException Если файл не удалось записать.
+     */
+    private void writeDeterminant(double determinant, Job job) throws IOException {
+        if (job.output == null) {
+            out.println(determinant);
+        } else {
+            Files.writeString(Paths.get(job.output), determinant + System.lineSeparator(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Выводит сообщение об ошибке аргументов и справку.
+     *
+     * @param message Сообщение об ошибке.
+     * @return {@link #EXIT_USAGE}.
+     */
+    private int usageError(String message) {
+        err.println(message);
+        err.println(USAGE);
+        logger.error("Некорректные аргументы командной строки: {}", message);
+        return EXIT_USAGE;
+    }
+
+    /**
+     * Разбирает аргументы вида {@code --ключ значение}. Флаги без значения: --help, --fail-fast, --stream.
+     *
+     * @param args Аргументы командной строки.
+     * @return Соответствие ключей и значений.
+     * @throws IllegalArgumentException Если аргументы некорректны.
+     */
+    private static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--") || arg.length() == 2) {
+                throw new IllegalArgumentException("Неизвестный аргумент: " + arg);
+            }
+            String key = arg.substring(2);
+            if (key.equals("help") || key.equals("fail-fast") || key.equals("stream")) {
+                options.put(key, "");
+            } else if (Job.KEYS.contains(key) || key.equals("op") || key.equals("job") || key.equals("threads")
+                    || key.equals("metrics") || key.equals("serve") || key.equals("workdir")) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Не указано значение аргумента " + arg);
+                }
+                options.put(key, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Неизвестный аргумент: " + arg);
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Разбирает целое положительное значение аргумента.
+     *
+     * @param value Значение.
+     * @param name  Имя аргумента.
+     * @return Разобранное значение.
+     * @throws IllegalArgumentException Если значение не является положительным целым числом.
+     */
+    private static int parseInt(String value, String name) {
+        try {
+            int result = Integer.parseInt(value);
+            if (result > 0) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // обрабатывается ниже
+        }
+        throw new IllegalArgumentException("Значение " + name + " должно быть положительным целым числом: " + value);
+    }
+
+    /**
+     * Разбирает номер порта.
+     *
+     * @param value Значение аргумента.
+     * @return Номер порта от 1 до 65535.
+     * @throws IllegalArgumentException Если значение не является допустимым номером порта.
+     */
+    private static int parsePort(String value) {
+        int port = parseInt(value, "serve");
+        if (port > 65535) {
+            throw new IllegalArgumentException("Номер порта должен быть от 1 до 65535: " + value);
+        }
+        return port;
+    }
+
+    /**
+     * Операция, выполняемая заданием.
+     */
+    enum Operation {
+        ADD, SUBTRACT, MULTIPLY, SCALE, DETERMINANT;
+
+        static Operation parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Неизвестная операция: " + name);
+            }
+        }
+    }
+
+    /**
+     * Формат файла результата.
+     */
+    enum OutputFormat {
+        TEXT, BINARY;
+
+        static OutputFormat parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Неизвестный формат: " + name);
+            }
+        }
+    }
+
+    /**
+     * Задание: операция и ее параметры.
+     */
+    static final class Job {
+        static final List<String> KEYS = List.of("a", "b", "scalar", "output", "format");
+
+        final Operation operation;
+        final String a;
+        final String b;
+        final double scalar;
+        final String output;
+        final OutputFormat format;
+
+        private Job(Operation operation, Map<String, String> values) {
+            this.operation = operation;
+            this.a = values.get("a");
+            this.b = values.get("b");
+            this.output = values.get("output");
+            this.format = values.containsKey("format") ? OutputFormat.parse(values.get("format")) : OutputFormat.TEXT;
+            if (a == null) {
+                throw new IllegalArgumentException("Не указан файл первой матрицы (a)");
+            }
+            boolean binary = operation == Operation.ADD || operation == Operation.SUBTRACT || operation == Operation.MULTIPLY;
+            if (binary && b == null) {
+                throw new IllegalArgumentException("Для операции " + operation.name().toLowerCase(Locale.ROOT)
+                        + " не указан файл второй матрицы (b)");
+            }
+            if (operation == Operation.SCALE) {
+                if (!values.containsKey("scalar")) {
+                    throw new IllegalArgumentException("Для операции scale не указан скаляр (scalar)");
+                }
+                try {
+                    this.scalar = Double.parseDouble(values.get("scalar"));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Некорректное значение скаляра: " + values.get("scalar"));
+                }
+            } else {
+                this.scalar = 0;
+            }
+            if (operation == Operation.DETERMINANT && format == OutputFormat.BINARY) {
+                throw new IllegalArgumentException("Определитель сохраняется только в текстовом формате");
+            }
+        }
+
+        /**
+         * Создает задание по аргументам командной строки.
+         *
+         * @param options Разобранные аргументы.
+         * @return Задание.
+         * @throws IllegalArgumentException Если аргументы некорректны.
+         */
+        static Job fromOptions(Map<String, String> options) {
+            if (!options.containsKey("op")) {
+                throw new IllegalArgumentException("Не указана операция (--op) или файл заданий (--job)");
+            }
+            return new Job(Operation.parse(options.get("op")), options);
+        }
+
+        /**
+         * Создает задание по строке файла заданий.
+         *
+         * @param line Строка вида {@code <операция> ключ=значение ...}.
+         * @return Задание.
+         * @throws IllegalArgumentException Если строка некорректна.
+         */
+        static Job fromLine(String line) {
+            String[] tokens = line.split("\\s+");
+            Map<String, String> values = new HashMap<>();
+            for (int i = 1; i < tokens.length; i++) {
+                int separator = tokens[i].indexOf('=');
+                String key = separator > 0 ? tokens[i].substring(0, separator) : "";
+                if (!KEYS.contains(key)) {
+                    throw new IllegalArgumentException("Некорректный параметр задания: " + tokens[i]);
+                }
+                values.put(key, tokens[i].substring(separator + 1));
+            }
+            return new Job(Operation.parse(tokens[0]), values);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(operation.name().toLowerCase(Locale.ROOT));
+            builder.append(" a=").append(a);
+            if (b != null) {
+                builder.append(" b=").append(b);
+            }
+            if (operation == Operation.SCALE) {
+                builder.append(" scalar=").append(scalar);
+            }
+            if (output != null) {
+                builder.append(" output=").append(output);
+            }
+            return builder.toString();
+        }
+    }
+}
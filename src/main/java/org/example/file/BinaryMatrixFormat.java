@@ -0,0 +1,192 @@
+package org.example.file;
+
+import org.example.exception.MatrixException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Описание двоичного формата файлов матриц.
+ * <p>
+ *     Файл состоит из заголовка длиной {@value #HEADER_SIZE} байт и следующих за ним элементов
+ *     в порядке байтов little-endian. Заголовок (little-endian):
+ * </p>
+ * <pre>
+ *  смещение  размер  поле
+ *  0         4       сигнатура "MTRX"
+ *  4         2       версия формата
+ *  6         1       тип элементов ({@link #DTYPE_FLOAT64} или {@link #DTYPE_FLOAT32})
+ *  7         1       расположение элементов ({@link #LAYOUT_ROW_MAJOR} или {@link #LAYOUT_TILED})
+ *  8         4       количество строк
+ *  12        4       количество столбцов
+ *  16        4       размер плитки (только для {@link #LAYOUT_TILED}, иначе 0)
+ *  20        12      зарезервировано (нули)
+ * </pre>
+ * <p>
+ *     Размер заголовка кратен 8 байтам, поэтому элементы выровнены для отображения файла в память.
+ *     При расположении {@link #LAYOUT_TILED} матрица разбита на квадратные плитки: плитки хранятся
+ *     по строкам плиток, элементы внутри плитки - по строкам. Крайние плитки дополнены нулями
+ *     до полного размера, поэтому все плитки имеют одинаковую длину и каждая читается одной операцией.
+ * </p>
+ */
+final class BinaryMatrixFormat {
+
+    static final int MAGIC = 'M' | 'T' << 8 | 'R' << 16 | 'X' << 24;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final byte DTYPE_FLOAT64 = 1;
+    static final byte DTYPE_FLOAT32 = 2;
+    static final byte LAYOUT_ROW_MAJOR = 0;
+    static final byte LAYOUT_TILED = 1;
+
+    final byte dtype;
+    final byte layout;
+    final int rows;
+    final int cols;
+    final int tileSize;
+
+    private BinaryMatrixFormat(byte dtype, byte layout, int rows, int cols, int tileSize) {
+        this.dtype = dtype;
+        this.layout = layout;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Возвращает размер элемента в байтах.
+     *
+     * @return Размер одного элемента.
+     */
+    int elementSize() {
+        return elementSize(dtype);
+    }
+
+    /**
+     * Возвращает размер элемента заданного типа в байтах.
+     *
+     * @param dtype Тип элементов.
+     * @return Размер одного элемента.
+     */
+    static int elementSize(byte dtype) {
+        return dtype == DTYPE_FLOAT32 ? Float.BYTES : Double.BYTES;
+    }
+
+    /**
+     * Возвращает размер области элементов в байтах.
+     *
+     * @return Размер данных без заголовка.
+     */
+    long dataSize() {
+        if (layout == LAYOUT_TILED) {
+            long tiles = (long) tileCount(rows, tileSize) * tileCount(cols, tileSize);
+            return tiles * tileSize * tileSize * elementSize();
+        }
+        return (long) rows * cols * elementSize();
+    }
+
+    /**
+     * Возвращает количество плиток, покрывающих заданное количество строк или столбцов.
+     *
+     * @param size     Количество строк или столбцов.
+     * @param tileSize Размер плитки.
+     * @return Количество плиток.
+     */
+    static int tileCount(int size, int tileSize) {
+        return (int) (((long) size + tileSize - 1) / tileSize);
+    }
+
+    /**
+     * Формирует заголовок файла.
+     *
+     * @param dtype Тип элементов.
+     * @param rows  Количество строк.
+     * @param cols  Количество столбцов.
+     * @return Буфер с заголовком, готовый к записи.
+     */
+    static ByteBuffer encodeHeader(byte dtype, int rows, int cols) {
+        return encodeHeader(dtype, LAYOUT_ROW_MAJOR, rows, cols, 0);
+    }
+
+    /**
+     * Формирует заголовок файла с заданным расположением элементов.
+     *
+     * @param dtype    Тип элементов.
+     * @param layout   Расположение элементов.
+     * @param rows     Количество строк.
+     * @param cols     Количество столбцов.
+     * @param tileSize Размер плитки для {@link #LAYOUT_TILED}, иначе 0.
+     * @return Буфер с заголовком, готовый к записи.
+     */
+    static ByteBuffer encodeHeader(byte dtype, byte layout, int rows, int cols, int tileSize) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC)
+                .putShort(VERSION)
+                .put(dtype)
+                .put(layout)
+                .putInt(rows)
+                .putInt(cols)
+                .putInt(tileSize);
+        header.clear();
+        return header;
+    }
+
+    /**
+     * Разбирает и проверяет заголовок файла с построчным расположением элементов.
+     *
+     * @param header   Буфер с заголовком длиной не меньше {@value #HEADER_SIZE} байт.
+     * @param fileSize Размер файла в байтах.
+     * @return Описание содержимого файла.
+     * @throws MatrixException Если заголовок некорректен или размер файла не соответствует заголовку.
+     */
+    static BinaryMatrixFormat decodeHeader(ByteBuffer header, long fileSize) throws MatrixException {
+        return decodeHeader(header, fileSize, LAYOUT_ROW_MAJOR);
+    }
+
+    /**
+     * Разбирает и проверяет заголовок файла с заданным расположением элементов.
+     *
+     * @param header         Буфер с заголовком длиной не меньше {@value #HEADER_SIZE} байт.
+     * @param fileSize       Размер файла в байтах.
+     * @param expectedLayout Ожидаемое расположение элементов.
+     * @return Описание содержимого файла.
+     * @throws MatrixException Если заголовок некорректен, расположение отличается от ожидаемого
+     *                         или размер файла не соответствует заголовку.
+     */
+    static BinaryMatrixFormat decodeHeader(ByteBuffer header, long fileSize, byte expectedLayout)
+            throws MatrixException {
+        if (fileSize < HEADER_SIZE) {
+            throw new MatrixException("Некорректный формат двоичного файла. Файл короче заголовка");
+        }
+        header.order(ByteOrder.LITTLE_ENDIAN);
+        if (header.getInt(0) != MAGIC) {
+            throw new MatrixException("Некорректный формат двоичного файла. Неверная сигнатура");
+        }
+        short version = header.getShort(4);
+        if (version != VERSION) {
+            throw new MatrixException("Неподдерживаемая версия двоичного формата: " + version);
+        }
+        byte dtype = header.get(6);
+        if (dtype != DTYPE_FLOAT64 && dtype != DTYPE_FLOAT32) {
+            throw new MatrixException("Неподдерживаемый тип элементов двоичного файла: " + dtype);
+        }
+        byte layout = header.get(7);
+        if (layout != expectedLayout) {
+            throw new MatrixException("Неподдерживаемое расположение элементов двоичного файла: " + layout);
+        }
+        int rows = header.getInt(8);
+        int cols = header.getInt(12);
+        if (rows <= 0 || cols <= 0) {
+            throw new MatrixException("Некорректный формат двоичного файла. Неверные размеры матрицы");
+        }
+        int tileSize = layout == LAYOUT_TILED ? header.getInt(16) : 0;
+        if (layout == LAYOUT_TILED && tileSize <= 0) {
+            throw new MatrixException("Некорректный формат двоичного файла. Неверный размер плитки");
+        }
+        BinaryMatrixFormat format = new BinaryMatrixFormat(dtype, layout, rows, cols, tileSize);
+        if (fileSize - HEADER_SIZE < format.dataSize()) {
+            throw new MatrixException("Некорректный формат двоичного файла. Файл короче, чем указано в заголовке");
+        }
+        return format;
+    }
+}
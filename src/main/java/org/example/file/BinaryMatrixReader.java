@@ -0,0 +1,172 @@
+package org.example.file;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.DoubleBufferStorage;
+import org.example.matrix.FlatArrayStorage;
+import org.example.matrix.FloatBufferStorage;
+import org.example.matrix.Matrix;
+import org.example.matrix.StorageMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Класс {@code BinaryMatrixReader} загружает матрицы из двоичных файлов формата {@link BinaryMatrixFormat}.
+ * <p>
+ *     Метод {@link #mapMatrixFromFile(String)} отображает файл в память через {@link FileChannel#map}
+ *     и возвращает матрицу-представление без копирования: стоимость загрузки сводится к страничным
+ *     прерываниям при первом обращении к данным.
+ * </p>
+ * <p>
+ *     Файлы с элементами одинарной точности загружаются в матрицы {@link StorageMode#FLOAT32}
+ *     без расширения до double.
+ * </p>
+ */
+public class BinaryMatrixReader {
+
+    /**
+     * Отображает файл в память только для чтения и возвращает матрицу поверх отображения.
+     *
+     * @param filePath путь к двоичному файлу матрицы.
+     * @return матрицу, элементы которой читаются непосредственно из отображенного файла.
+     * @throws MatrixException Если произошла ошибка ввода/вывода, файл имеет неверный формат
+     *                         или слишком велик для одного отображения.
+     */
+    public Matrix mapMatrixFromFile(String filePath) throws MatrixException {
+        return mapMatrixFromFile(filePath, false);
+    }
+
+    /**
+     * Отображает файл в память и возвращает матрицу поверх отображения.
+     *
+     * @param filePath путь к двоичному файлу матрицы.
+     * @param writable true, чтобы изменения элементов матрицы записывались в файл.
+     * @return матрицу, элементы которой хранятся в отображенном файле.
+     * @throws MatrixException Если произошла ошибка ввода/вывода, файл имеет неверный формат
+     *                         или слишком велик для одного отображения.
+     */
+    public Matrix mapMatrixFromFile(String filePath, boolean writable) throws MatrixException {
+        Path path = Paths.get(filePath);
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            BinaryMatrixFormat format = readHeader(channel);
+            if (format.dataSize() > Integer.MAX_VALUE) {
+                throw new MatrixException("Файл слишком велик для отображения в память одним фрагментом");
+            }
+            MappedByteBuffer mapped = channel.map(
+                    writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    BinaryMatrixFormat.HEADER_SIZE, format.dataSize());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (format.dtype == BinaryMatrixFormat.DTYPE_FLOAT32) {
+                return Matrix.wrap(new FloatBufferStorage(mapped.asFloatBuffer(), format.rows, format.cols));
+            }
+            DoubleBuffer data = mapped.asDoubleBuffer();
+            return Matrix.wrap(new DoubleBufferStorage(data, format.rows, format.cols));
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при чтении файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Читает матрицу из двоичного файла в память кучи.
+     *
+     * @param filePath путь к двоичному файлу матрицы.
+     * @return матрицу с непрерывным хранением {@link FlatArrayStorage} или {@link FloatBufferStorage}
+     *         для файла с элементами одинарной точности.
+     * @throws MatrixException Если произошла ошибка ввода/вывода, файл имеет неверный формат
+     *                         или матрица не помещается в один массив.
+     */
+    public Matrix readMatrixFromFile(String filePath) throws MatrixException {
+        Path path = Paths.get(filePath);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BinaryMatrixFormat format = readHeader(channel);
+            boolean single = format.dtype == BinaryMatrixFormat.DTYPE_FLOAT32;
+            Matrix matrix;
+            try {
+                matrix = new Matrix(format.rows, format.cols, single ? StorageMode.FLOAT32 : StorageMode.FLAT);
+            } catch (IllegalArgumentException e) {
+                throw new MatrixException("Матрица слишком велика для загрузки в память", e);
+            }
+            double[] data = single ? null : ((FlatArrayStorage) matrix.getStorage()).getArray();
+            float[] singles = single ? ((FloatBufferStorage) matrix.getStorage()).getBuffer().array() : null;
+            int length = format.rows * format.cols;
+            int elementSize = format.elementSize();
+            ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            long position = BinaryMatrixFormat.HEADER_SIZE;
+            int filled = 0;
+            while (filled < length) {
+                chunk.clear();
+                int remaining = length - filled;
+                if (remaining * (long) elementSize < chunk.capacity()) {
+                    chunk.limit(remaining * elementSize);
+                }
+                int read = channel.read(chunk, position);
+                if (read < 0) {
+                    throw new MatrixException("Некорректный формат двоичного файла. Файл короче, чем указано в заголовке");
+                }
+                position += read;
+                chunk.flip();
+                int count = chunk.remaining() / elementSize;
+                if (single) {
+                    chunk.asFloatBuffer().get(singles, filled, count);
+                } else {
+                    chunk.asDoubleBuffer().get(data, filled, count);
+                }
+                filled += count;
+                // Неполный элемент на границе порции дочитывается следующим вызовом
+                position -= chunk.remaining() % elementSize;
+            }
+            return matrix;
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при чтении файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Проверяет, начинается ли файл с сигнатуры двоичного формата.
+     *
+     * @param filePath путь к файлу.
+     * @return true, если файл записан в двоичном формате матриц.
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public boolean isBinaryMatrixFile(String filePath) throws MatrixException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            int read;
+            do {
+                read = channel.read(magic, magic.position());
+            } while (read >= 0 && magic.hasRemaining());
+            return !magic.hasRemaining() && magic.getInt(0) == BinaryMatrixFormat.MAGIC;
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при чтении файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Читает и проверяет заголовок файла.
+     *
+     * @param channel Открытый канал файла.
+     * @return Описание содержимого файла.
+     * @throws IOException     Если произошла ошибка чтения.
+     * @throws MatrixException Если заголовок некорректен.
+     */
+    private BinaryMatrixFormat readHeader(FileChannel channel) throws IOException, MatrixException {
+        ByteBuffer header = ByteBuffer.allocate(BinaryMatrixFormat.HEADER_SIZE);
+        int read;
+        do {
+            read = channel.read(header, header.position());
+        } while (read >= 0 && header.hasRemaining());
+        return BinaryMatrixFormat.decodeHeader(header, channel.size());
+    }
+}
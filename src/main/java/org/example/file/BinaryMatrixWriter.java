@@ -0,0 +1,117 @@
+package org.example.file;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixStorage;
+import org.example.matrix.StorageMode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Класс {@code BinaryMatrixWriter} сохраняет матрицы в двоичном формате {@link BinaryMatrixFormat},
+ * пригодном для загрузки {@link BinaryMatrixReader} без разбора текста.
+ */
+public class BinaryMatrixWriter {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    /**
+     * Записывает матрицу в двоичный файл. Существующий файл перезаписывается.
+     * Матрицы {@link StorageMode#FLOAT32} записываются с элементами одинарной точности, остальные - двойной.
+     *
+     * @param matrix   Матрица для записи.
+     * @param filePath Путь к файлу.
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public void writeMatrixToFile(Matrix matrix, String filePath) throws MatrixException {
+        writeMatrixToFile(matrix, filePath, matrix.getStorageMode() == StorageMode.FLOAT32);
+    }
+
+    /**
+     * Записывает матрицу в двоичный файл с заданной точностью элементов. Существующий файл перезаписывается.
+     *
+     * @param matrix          Матрица для записи.
+     * @param filePath        Путь к файлу.
+     * @param singlePrecision true, чтобы записать элементы с одинарной точностью (вдвое меньший файл
+     *                        ценой округления до float).
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public void writeMatrixToFile(Matrix matrix, String filePath, boolean singlePrecision) throws MatrixException {
+        Path path = Paths.get(filePath);
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+        MatrixStorage storage = matrix.getStorage();
+        byte dtype = singlePrecision ? BinaryMatrixFormat.DTYPE_FLOAT32 : BinaryMatrixFormat.DTYPE_FLOAT64;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, BinaryMatrixFormat.encodeHeader(dtype, rows, cols));
+
+            ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            int elementSize = BinaryMatrixFormat.elementSize(dtype);
+            int capacity = CHUNK_SIZE / elementSize;
+            DoubleBuffer doubles = singlePrecision ? null : chunk.asDoubleBuffer();
+            FloatBuffer floats = singlePrecision ? chunk.asFloatBuffer() : null;
+            double[] row = new double[cols];
+            int buffered = 0;
+            for (int i = 0; i < rows; i++) {
+                storage.readRow(i, row, 0);
+                int written = 0;
+                while (written < cols) {
+                    int count = Math.min(capacity - buffered, cols - written);
+                    if (singlePrecision) {
+                        for (int j = 0; j < count; j++) {
+                            floats.put(buffered + j, (float) row[written + j]);
+                        }
+                    } else {
+                        doubles.put(buffered, row, written, count);
+                    }
+                    written += count;
+                    buffered += count;
+                    if (buffered == capacity) {
+                        flush(channel, chunk, buffered * elementSize);
+                        buffered = 0;
+                    }
+                }
+            }
+            flush(channel, chunk, buffered * elementSize);
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при записи файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Записывает накопленные элементы в канал.
+     *
+     * @param channel Канал файла.
+     * @param chunk   Байтовый буфер.
+     * @param size    Количество накопленных байт.
+     * @throws IOException Если произошла ошибка записи.
+     */
+    private void flush(FileChannel channel, ByteBuffer chunk, int size) throws IOException {
+        chunk.clear();
+        chunk.limit(size);
+        writeFully(channel, chunk);
+    }
+
+    /**
+     * Записывает буфер в канал целиком.
+     *
+     * @param channel Канал файла.
+     * @param buffer  Буфер для записи.
+     * @throws IOException Если произошла ошибка записи.
+     */
+    private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.file;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Преобразование десятичной записи числа из байтов в значение double без создания строк.
+ * <p>
+ *     Значения с мантиссой до 2<sup>53</sup> и порядком не больше 22 по модулю вычисляются одним
+ *     точным умножением или делением (алгоритм Клингера). Остальные десятичные записи с мантиссой
+ *     до 18 цифр обрабатываются алгоритмом Эйзеля-Лемира по 128-битной таблице степеней пятерки.
+ *     Записи, которые эти алгоритмы не покрывают (NaN, Infinity, шестнадцатеричные числа, суффиксы
+ *     d/f, субнормальные значения, более 18 значащих цифр), разбираются {@link Double#parseDouble(String)}.
+ *     Во всех случаях результат совпадает с {@link Double#parseDouble(String)}.
+ * </p>
+ */
+final class FastDoubleParser {
+
+    private static final long MANTISSA_LIMIT = 100_000_000_000_000_000L;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final int SMALLEST_POWER = -342;
+    private static final int LARGEST_POWER = 308;
+    private static final long[] POWERS_OF_FIVE = powersOfFive();
+
+    private FastDoubleParser() {
+    }
+
+    /**
+     * Преобразует запись числа в значение double.
+     *
+     * @param text   Байты записи числа в кодировке UTF-8.
+     * @param length Длина записи.
+     * @return Значение числа.
+     * @throws NumberFormatException Если запись не является числом.
+     */
+    static double parse(byte[] text, int length) {
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text[0] == '-' || text[0] == '+')) {
+            negative = text[0] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+        boolean truncated = false;
+
+        for (; i < length && isDigit(text[i]); i++) {
+            hasDigits = true;
+            if (mantissa < MANTISSA_LIMIT) {
+                mantissa = mantissa * 10 + (text[i] - '0');
+            } else {
+                truncated = true;
+                exponent++;
+            }
+        }
+        if (i < length && text[i] == '.') {
+            for (i++; i < length && isDigit(text[i]); i++) {
+                hasDigits = true;
+                if (mantissa < MANTISSA_LIMIT) {
+                    mantissa = mantissa * 10 + (text[i] - '0');
+                    exponent--;
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+        if (hasDigits && i < length && (text[i] == 'e' || text[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && (text[i] == '-' || text[i] == '+')) {
+                negativeExponent = text[i] == '-';
+                i++;
+            }
+            int explicitExponent = 0;
+            boolean hasExponentDigits = false;
+            for (; i < length && isDigit(text[i]); i++) {
+                hasExponentDigits = true;
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + (text[i] - '0');
+                }
+            }
+            if (!hasExponentDigits) {
+                return parseSlow(text, length);
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        if (!hasDigits || i != length || truncated) {
+            return parseSlow(text, length);
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            double value = exponent >= 0
+                    ? mantissa * POWERS_OF_TEN[exponent]
+                    : mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -value : value;
+        }
+        long bits = eiselLemire(mantissa, exponent);
+        if (bits < 0) {
+            return parseSlow(text, length);
+        }
+        return Double.longBitsToDouble(negative ? bits | Long.MIN_VALUE : bits);
+    }
+
+    /**
+     * Вычисляет двоичное представление числа mantissa * 10^exponent алгоритмом Эйзеля-Лемира.
+     *
+     * @param mantissa Ненулевая десятичная мантисса (не более 18 цифр).
+     * @param exponent Десятичный порядок.
+     * @return Биты положительного значения double или -1, если значение нужно вычислить медленным путем.
+     */
+    private static long eiselLemire(long mantissa, int exponent) {
+        if (exponent < SMALLEST_POWER || exponent > LARGEST_POWER) {
+            return -1;
+        }
+        int leadingZeros = Long.numberOfLeadingZeros(mantissa);
+        long w = mantissa << leadingZeros;
+        int index = 2 * (exponent - SMALLEST_POWER);
+
+        long high = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index]);
+        long low = w * POWERS_OF_FIVE[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = unsignedMultiplyHigh(w, POWERS_OF_FIVE[index + 1]);
+            long newLow = low + secondHigh;
+            if (Long.compareUnsigned(secondHigh, newLow) > 0) {
+                high++;
+            }
+            low = newLow;
+        }
+
+        int upperBit = (int) (high >>> 63);
+        long resultMantissa = high >>> (upperBit + 9);
+        int power2 = (int) (((152170L + 65536L) * exponent) >> 16) + 63 + upperBit - leadingZeros + 1023;
+        if (power2 <= 0 || power2 >= 0x7FF) {
+            return -1;
+        }
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23
+                && (resultMantissa & 3) == 1
+                && (resultMantissa << (upperBit + 9)) == high) {
+            resultMantissa &= ~1L;
+        }
+        resultMantissa += resultMantissa & 1;
+        resultMantissa >>>= 1;
+        if (resultMantissa >= (2L << 52)) {
+            resultMantissa = 1L << 52;
+            power2++;
+            if (power2 >= 0x7FF) {
+                return -1;
+            }
+        }
+        resultMantissa &= ~(1L << 52);
+        return resultMantissa | ((long) power2 << 52);
+    }
+
+    /**
+     * Возвращает старшие 64 бита беззнакового 128-битного произведения.
+     *
+     * @param a Первый множитель (беззнаковый).
+     * @param b Второй множитель (беззнаковый).
+     * @return Старшие 64 бита произведения.
+     */
+    private static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * Разбирает запись числа стандартными средствами Java.
+     *
+     * @param text   Байты записи числа.
+     * @param length Длина записи.
+     * @return Значение числа.
+     * @throws NumberFormatException Если запись не является числом.
+     */
+    private static double parseSlow(byte[] text, int length) {
+        return Double.parseDouble(new String(text, 0, length, StandardCharsets.UTF_8));
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Строит таблицу 128-битных нормализованных приближений 5^q для q от -342 до 308.
+     * Для каждого q в таблице хранятся старшие и младшие 64 бита.
+     *
+     * @return Таблица степеней пятерки.
+     */
+    private static long[] powersOfFive() {
+        long[] table = new long[2 * (LARGEST_POWER - SMALLEST_POWER + 1)];
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        BigInteger two127 = BigInteger.ONE.shiftLeft(127);
+        int index = 0;
+        for (int q = SMALLEST_POWER; q <= LARGEST_POWER; q++) {
+            BigInteger value;
+            if (q < 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.subtract(BigInteger.ONE).bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                value = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (value.compareTo(two128) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            } else {
+                value = BigInteger.valueOf(5).pow(q);
+                while (value.compareTo(two127) < 0) {
+                    value = value.shiftLeft(1);
+                }
+                while (value.compareTo(two128) >= 0) {
+                    value = value.shiftRight(1);
+                }
+            }
+            table[index++] = value.shiftRight(64).longValue();
+            table[index++] = value.longValue();
+        }
+        return table;
+    }
+}
@@ -1,29 +1,63 @@
 package org.example.file;
 
 import org.example.exception.MatrixException;
+import org.example.matrix.CsrMatrix;
+import org.example.matrix.FlatArrayStorage;
 import org.example.matrix.Matrix;
+import org.example.metrics.MatrixMetrics;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Arrays;
 
 /**
  * Класс {@code FileReader} предоставляет функциональность для чтения матрицы из текстового файла.
  * <p>
  *     Этот класс обрабатывает чтение данных из файла, проверяет формат данных и преобразует их в объект {@link Matrix}.
+ *     Разреженные матрицы читаются из координатного формата в {@link CsrMatrix}.
  * </p>
  */
 public class FileReader {
 
+    /**
+     * Максимальная длина массива, которую гарантированно допускает JVM.
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Начальная емкость буфера элементов при чтении матрицы.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private MatrixMetrics metrics;
+
+    /**
+     * Возвращает набор метрик, в который записывается статистика чтения.
+     *
+     * @return Набор метрик или null, если сбор метрик выключен.
+     */
+    public MatrixMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Включает сбор метрик чтения: длительности, объема разобранного файла и оценки выделенной памяти.
+     *
+     * @param metrics Набор метрик или null, чтобы выключить сбор.
+     */
+    public void setMetrics(MatrixMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     /**
      * Читает матрицу из файла, представленного в виде текстовых данных, где строки матрицы разделены переносами строк,
      * а элементы в строке разделены пробелами.
+     * <p>
+     *     Файл разбирается {@link MatrixTextParser} непосредственно из байтов, элементы сразу записываются
+     *     в непрерывное хранилище {@link FlatArrayStorage} без промежуточных строк и массивов строк.
+     * </p>
      *
      * @param filePath путь к файлу, из которого будет читаться матрица.
      * @return матрицу, созданную на основе данных из файла.
@@ -31,50 +65,202 @@ public class FileReader {
      *                          (например, строки разной длины или нечисловые значения), или если файл пуст.
      */
     public Matrix readMatrixFromFile(String filePath) throws MatrixException {
-        Path path = Paths.get(filePath);
-        List<double[]> matrixRows = new ArrayList<>();
+        try (MatrixTextParser parser = new MatrixTextParser(Paths.get(filePath))) {
+            return readMatrix(parser);
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при чтении файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Читает матрицу в текстовом формате {@link #readMatrixFromFile(String)} из канала,
+     * например из тела сетевого запроса. Канал читается до конца и закрывается.
+     *
+     * @param channel Канал с текстовым представлением матрицы в кодировке UTF-8.
+     * @return матрицу, созданную на основе прочитанных данных.
+     * @throws MatrixException Если произошла ошибка ввода/вывода, если данные имеют неверный формат или пусты.
+     */
+    public Matrix readMatrix(ReadableByteChannel channel) throws MatrixException {
+        try (MatrixTextParser parser = new MatrixTextParser(channel)) {
+            return readMatrix(parser);
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при чтении данных: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Разбирает матрицу и записывает метрики чтения.
+     *
+     * @param parser Парсер текстового представления.
+     * @return Прочитанная матрица.
+     * @throws IOException     Если произошла ошибка чтения.
+     * @throws MatrixException Если данные имеют неверный формат или пусты.
+     */
+    private Matrix readMatrix(MatrixTextParser parser) throws IOException, MatrixException {
+        long start = metrics != null ? System.nanoTime() : 0;
+        double[] data = new double[INITIAL_CAPACITY];
+        long allocated = (long) data.length * Double.BYTES;
+        int size = 0;
+        int rows = 0;
         int expectedColumns = -1;
+        int columns;
+        while ((columns = parser.nextRow()) >= 0) {
+            if (expectedColumns == -1) {
+                expectedColumns = columns;
+            } else if (expectedColumns != columns) {
+                throw new MatrixException("Некорректный формат файла. Строки должны иметь одинаковую длину.");
+            }
+            if (data.length - size < columns) {
+                data = grow(data, size + columns);
+                allocated += (long) data.length * Double.BYTES;
+            }
+            System.arraycopy(parser.row(), 0, data, size, columns);
+            size += columns;
+            rows++;
+        }
+        if (rows == 0) {
+            throw new MatrixException("Файл пустой");
+        }
+        recordRead("readText", start, parser.getBytesRead(), allocated);
+        return Matrix.wrap(new FlatArrayStorage(data, rows, expectedColumns, 0, expectedColumns));
+    }
 
-        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                double[] row = parseLine(line, expectedColumns);
-                if (expectedColumns == -1) {
-                    expectedColumns = row.length;
-                } else if (expectedColumns != row.length) {
-                    throw new MatrixException("Некорректный формат файла. Строки должны иметь одинаковую длину.");
+    /**
+     * Читает разреженную матрицу из текстового файла в координатном формате.
+     * <p>
+     *     Строки, начинающиеся с {@code %}, считаются комментариями (формат совместим с координатным
+     *     форматом Matrix Market). Первая значимая строка содержит количество строк и столбцов
+     *     и, необязательно, количество элементов. Каждая следующая строка описывает один элемент:
+     *     номер строки, номер столбца (нумерация с 1) и значение. Порядок элементов произвольный,
+     *     значения с одинаковыми координатами складываются.
+     * </p>
+     * <p>
+     *     В памяти хранятся только перечисленные элементы, поэтому объем памяти пропорционален
+     *     количеству ненулевых элементов, а не размерам матрицы.
+     * </p>
+     *
+     * @param filePath путь к файлу, из которого будет читаться матрица.
+     * @return разреженную матрицу в формате CSR.
+     * @throws MatrixException Если произошла ошибка ввода/вывода, если файл пуст или имеет неверный формат
+     *                          (некорректный заголовок, индексы за пределами матрицы, нечисловые значения).
+     */
+    public CsrMatrix readSparseMatrixFromFile(String filePath) throws MatrixException {
+        Path path = Paths.get(filePath);
+        long start = metrics != null ? System.nanoTime() : 0;
+
+        try (MatrixTextParser parser = new MatrixTextParser(path)) {
+            parser.setCommentMarker('%');
+            int columns = parser.nextRow();
+            if (columns < 0) {
+                throw new MatrixException("Файл пустой");
+            }
+            double[] header = parser.row();
+            // rows + 1 и cols + 1 указателей строк и столбцов CSR/CSC должны помещаться в массив
+            if ((columns != 2 && columns != 3) || !isIndex(header[0], MAX_ARRAY_SIZE - 1)
+                    || !isIndex(header[1], MAX_ARRAY_SIZE - 1) || (columns == 3 && !isCount(header[2]))) {
+                throw new MatrixException("Некорректный формат файла. Первая строка должна содержать "
+                        + "количество строк и столбцов и, необязательно, количество элементов.");
+            }
+            int rows = (int) header[0];
+            int cols = (int) header[1];
+            int declared = columns == 3 ? (int) header[2] : -1;
+            if (declared > (long) rows * cols) {
+                throw new MatrixException("Некорректный формат файла. Количество элементов в заголовке (" + declared
+                        + ") больше количества элементов матрицы " + rows + "x" + cols);
+            }
+
+            // Заголовку не доверяется выделение памяти: массивы растут по мере чтения элементов
+            int capacity = declared >= 0 ? Math.min(Math.max(declared, 1), INITIAL_CAPACITY) : INITIAL_CAPACITY;
+            int[] rowIndices = new int[capacity];
+            int[] colIndices = new int[capacity];
+            double[] values = new double[capacity];
+            int count = 0;
+            while ((columns = parser.nextRow()) >= 0) {
+                double[] entry = parser.row();
+                if (columns != 3) {
+                    throw new MatrixException("Некорректный формат файла. Каждая строка должна содержать "
+                            + "номер строки, номер столбца и значение.");
+                }
+                if (!isIndex(entry[0], rows) || !isIndex(entry[1], cols)) {
+                    throw new MatrixException("Некорректный формат файла. Индексы элемента за пределами матрицы: "
+                            + entry[0] + " " + entry[1]);
+                }
+                if (count == rowIndices.length) {
+                    if (count >= MAX_ARRAY_SIZE) {
+                        throw new MatrixException("Матрица слишком велика для загрузки в память");
+                    }
+                    int newCapacity = (int) Math.min((long) count + (count >> 1) + 1, MAX_ARRAY_SIZE);
+                    rowIndices = Arrays.copyOf(rowIndices, newCapacity);
+                    colIndices = Arrays.copyOf(colIndices, newCapacity);
+                    values = Arrays.copyOf(values, newCapacity);
                 }
-                matrixRows.add(row);
+                rowIndices[count] = (int) entry[0] - 1;
+                colIndices[count] = (int) entry[1] - 1;
+                values[count++] = entry[2];
             }
-            if (matrixRows.isEmpty()) {
-                throw new MatrixException("Файл пустой");
+            if (declared >= 0 && declared != count) {
+                throw new MatrixException("Некорректный формат файла. Количество элементов не совпадает с заголовком: ожидалось "
+                        + declared + ", прочитано " + count);
             }
-            return new Matrix(matrixRows.toArray(new double[0][]));
+            CsrMatrix matrix = CsrMatrix.fromCoordinates(rows, cols, rowIndices, colIndices, values, count);
+            // Координаты и итоговая матрица CSR; промежуточные увеличения массивов не учитываются
+            recordRead("readSparseText", start, parser.getBytesRead(), (long) rowIndices.length * (2 * Integer.BYTES + Double.BYTES)
+                    + (long) count * (Integer.BYTES + Double.BYTES) + (rows + 1L) * Integer.BYTES);
+            return matrix;
         } catch (IOException e) {
             throw new MatrixException("Ошибка при чтении файла: " + e.getMessage(), e);
         }
     }
 
     /**
-     *  Разбирает строку файла на массив чисел типа double, проверяя длину и числовой формат.
+     * Записывает метрики чтения файла, если сбор метрик включен.
      *
-     * @param line строка для разбора
-     * @param expectedColumns ожидаемое количество столбцов.
-     * @return массив чисел double, представляющий строку матрицы.
-     * @throws MatrixException если строка имеет неверный формат или содержит нечисловые значения.
+     * @param operation Название операции.
+     * @param start     Время начала чтения в наносекундах.
+     * @param bytes     Объем разобранных данных в байтах.
+     * @param allocated Оценка объема выделенной памяти в байтах.
      */
-    private double[] parseLine(String line, int expectedColumns) throws MatrixException {
-        String[] values = line.trim().split("\\s+");
-
-        try {
-            return java.util.Arrays.stream(values)
-                    .mapToDouble(Double::parseDouble)
-                    .toArray();
-
-        } catch (NumberFormatException e) {
-            throw new MatrixException("Некорректный формат файла. Ожидается числовое значение");
+    private void recordRead(String operation, long start, long bytes, long allocated) {
+        MatrixMetrics current = metrics;
+        if (current != null) {
+            current.record(operation, System.nanoTime() - start, 0, bytes, allocated);
         }
+    }
 
+    /**
+     * Проверяет, что значение является целым номером от 1 до max включительно.
+     *
+     * @param value Значение.
+     * @param max   Наибольший допустимый номер.
+     * @return true, если значение является допустимым номером.
+     */
+    private static boolean isIndex(double value, int max) {
+        return value >= 1 && value <= max && value == Math.rint(value);
+    }
 
+    /**
+     * Проверяет, что значение является неотрицательным целым количеством, помещающимся в массив.
+     *
+     * @param value Значение.
+     * @return true, если значение является допустимым количеством.
+     */
+    private static boolean isCount(double value) {
+        return value >= 0 && value <= MAX_ARRAY_SIZE && value == Math.rint(value);
+    }
+
+    /**
+     * Увеличивает буфер элементов не менее чем до заданной емкости.
+     *
+     * @param data        Текущий буфер.
+     * @param minCapacity Требуемая емкость.
+     * @return Новый буфер с сохраненными элементами.
+     * @throws MatrixException Если матрица не помещается в один массив.
+     */
+    private static double[] grow(double[] data, int minCapacity) throws MatrixException {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+            throw new MatrixException("Матрица слишком велика для загрузки в память");
+        }
+        long capacity = Math.max((long) data.length + (data.length >> 1), minCapacity);
+        return Arrays.copyOf(data, (int) Math.min(capacity, MAX_ARRAY_SIZE));
     }
-}
\ No newline at end of file
+}
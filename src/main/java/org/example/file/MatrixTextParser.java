@@ -0,0 +1,219 @@
+package org.example.file;
+
+import org.example.exception.MatrixException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Класс {@code MatrixTextParser} построчно разбирает текстовое представление матрицы непосредственно из байтов канала.
+ * <p>
+ *     Строки разделяются символами {@code \n}, {@code \r} или {@code \r\n}, элементы строки -
+ *     пробельными символами. Числа разбираются {@link FastDoubleParser} без создания промежуточных строк;
+ *     набор допустимых значений и результат разбора совпадают с {@link Double#parseDouble(String)}.
+ *     Если задан символ комментария ({@link #setCommentMarker(char)}), строки, начинающиеся с него, пропускаются.
+ * </p>
+ */
+public class MatrixTextParser implements Closeable {
+
+    /**
+     * Сообщение об ошибке для нечисловых значений и пустых строк.
+     */
+    static final String NUMBER_FORMAT_MESSAGE = "Некорректный формат файла. Ожидается числовое значение";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+    private long bytesRead;
+    private int commentMarker = Integer.MIN_VALUE;
+
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    private double[] row = new double[16];
+    private int rowLength;
+
+    /**
+     * Открывает файл для разбора.
+     *
+     * @param path Путь к файлу.
+     * @throws IOException Если файл не удалось открыть.
+     */
+    public MatrixTextParser(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Создает парсер поверх заданного канала. Канал закрывается методом {@link #close()}.
+     *
+     * @param channel Канал с текстовым представлением матрицы в кодировке UTF-8.
+     */
+    public MatrixTextParser(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.bytes = buffer.array();
+    }
+
+    /**
+     * Задает символ, с которого начинаются строки-комментарии. По умолчанию комментарии не распознаются.
+     *
+     * @param marker Символ комментария (из диапазона ASCII).
+     * @throws IllegalArgumentException Если символ не входит в диапазон ASCII.
+     */
+    public void setCommentMarker(char marker) {
+        if (marker > 0x7F) {
+            throw new IllegalArgumentException("Символ комментария должен быть из диапазона ASCII");
+        }
+        this.commentMarker = marker;
+    }
+
+    /**
+     * Разбирает следующую строку матрицы.
+     *
+     * @return Количество элементов строки или -1, если строки закончились.
+     * @throws IOException     Если произошла ошибка чтения.
+     * @throws MatrixException Если строка пустая или содержит нечисловое значение.
+     */
+    public int nextRow() throws IOException, MatrixException {
+        rowLength = 0;
+        tokenLength = 0;
+        boolean lineStarted = false;
+        boolean comment = false;
+        while (true) {
+            if (position == limit && !fill()) {
+                if (!lineStarted) {
+                    return -1;
+                }
+                return finishRow();
+            }
+            byte c = bytes[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (comment) {
+                if (c == '\n' || c == '\r') {
+                    skipLineFeed = c == '\r';
+                    comment = false;
+                }
+                continue;
+            }
+            if (!lineStarted && c == commentMarker) {
+                comment = true;
+                continue;
+            }
+            lineStarted = true;
+            if (c == '\n' || c == '\r') {
+                skipLineFeed = c == '\r';
+                return finishRow();
+            }
+            if (c == ' ' || c == '\t' || c == 0x0B || c == '\f') {
+                if (tokenLength > 0) {
+                    appendToken();
+                }
+                continue;
+            }
+            if (tokenLength == token.length) {
+                token = Arrays.copyOf(token, tokenLength * 2);
+            }
+            token[tokenLength++] = c;
+        }
+    }
+
+    /**
+     * Возвращает буфер с элементами последней разобранной строки.
+     * Буфер переиспользуется и действителен до следующего вызова {@link #nextRow()}.
+     *
+     * @return Массив, первые {@link #nextRow()} элементов которого составляют строку.
+     */
+    public double[] row() {
+        return row;
+    }
+
+    /**
+     * Возвращает количество байтов, прочитанных из канала.
+     *
+     * @return Количество прочитанных байтов.
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Закрывает канал.
+     *
+     * @throws IOException Если канал не удалось закрыть.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Завершает текущую строку: разбирает последний элемент и проверяет, что строка не пустая.
+     *
+     * @return Количество элементов строки.
+     * @throws MatrixException Если строка пустая или последний элемент не является числом.
+     */
+    private int finishRow() throws MatrixException {
+        if (tokenLength > 0) {
+            appendToken();
+        }
+        if (rowLength == 0) {
+            throw new MatrixException(NUMBER_FORMAT_MESSAGE);
+        }
+        return rowLength;
+    }
+
+    /**
+     * Разбирает накопленный элемент и добавляет его в буфер строки.
+     *
+     * @throws MatrixException Если элемент не является числом.
+     */
+    private void appendToken() throws MatrixException {
+        if (rowLength == row.length) {
+            row = Arrays.copyOf(row, rowLength * 2);
+        }
+        try {
+            row[rowLength++] = FastDoubleParser.parse(token, tokenLength);
+        } catch (NumberFormatException e) {
+            throw new MatrixException(NUMBER_FORMAT_MESSAGE);
+        }
+        tokenLength = 0;
+    }
+
+    /**
+     * Заполняет буфер очередной порцией данных из канала.
+     *
+     * @return false, если данные в канале закончились.
+     * @throws IOException Если произошла ошибка чтения.
+     */
+    private boolean fill() throws IOException {
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        if (read < 0) {
+            position = 0;
+            limit = 0;
+            return false;
+        }
+        bytesRead += read;
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -0,0 +1,306 @@
+package org.example.file;
+
+import org.example.exception.MatrixException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Класс {@code StreamingMatrixProcessor} выполняет поэлементные операции над матрицами в текстовом формате
+ * построчно, не загружая матрицы в память.
+ * <p>
+ *     Строки входных файлов разбираются {@link MatrixTextParser}, результат каждой строки сразу
+ *     записывается в выходной поток. Объем памяти зависит только от длины строки матрицы, поэтому
+ *     обрабатываются файлы любого размера, в том числе больше доступной памяти. Формат входных
+ *     и выходного файлов совпадает с форматом {@link FileReader} и {@link TextMatrixWriter}.
+ * </p>
+ * <p>
+ *     Размеры матриц проверяются по мере чтения, поэтому методы, записывающие результат в файл,
+ *     пишут его во временный файл в том же каталоге и переименовывают в выходной только после
+ *     успешной обработки. При ошибке существующий выходной файл не изменяется, а выходной файл
+ *     может совпадать с входным.
+ * </p>
+ */
+public class StreamingMatrixProcessor {
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final TextMatrixWriter textWriter = new TextMatrixWriter();
+
+    /**
+     * Складывает две матрицы из текстовых файлов и записывает сумму в текстовый файл.
+     *
+     * @param input1 Путь к файлу первой матрицы.
+     * @param input2 Путь к файлу второй матрицы.
+     * @param output Путь к файлу результата. Существующий файл перезаписывается.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если размеры матриц не совпадают, файл имеет неверный формат
+     *                          или произошла ошибка ввода/вывода.
+     */
+    public long add(String input1, String input2, String output) throws MatrixException {
+        return processToFile(input1, input2, Double::sum, output);
+    }
+
+    /**
+     * Вычитает вторую матрицу из первой и записывает разность в текстовый файл.
+     *
+     * @param input1 Путь к файлу уменьшаемого.
+     * @param input2 Путь к файлу вычитаемого.
+     * @param output Путь к файлу результата. Существующий файл перезаписывается.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если размеры матриц не совпадают, файл имеет неверный формат
+     *                          или произошла ошибка ввода/вывода.
+     */
+    public long subtract(String input1, String input2, String output) throws MatrixException {
+        return processToFile(input1, input2, (a, b) -> a - b, output);
+    }
+
+    /**
+     * Умножает матрицу из текстового файла на скаляр и записывает результат в текстовый файл.
+     *
+     * @param input  Путь к файлу матрицы.
+     * @param scalar Скалярное значение.
+     * @param output Путь к файлу результата. Существующий файл перезаписывается.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если файл имеет неверный формат или произошла ошибка ввода/вывода.
+     */
+    public long multiplyByScalar(String input, double scalar, String output) throws MatrixException {
+        return processToFile(input, value -> value * scalar, output);
+    }
+
+    /**
+     * Применяет функцию к каждому элементу матрицы из текстового файла и записывает результат в текстовый файл.
+     *
+     * @param input    Путь к файлу матрицы.
+     * @param function Функция, применяемая к элементам.
+     * @param output   Путь к файлу результата. Существующий файл перезаписывается.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если файл имеет неверный формат или произошла ошибка ввода/вывода.
+     */
+    public long map(String input, DoubleUnaryOperator function, String output) throws MatrixException {
+        return processToFile(input, function, output);
+    }
+
+    /**
+     * Применяет поэлементную операцию к двум матрицам из текстовых файлов и записывает результат в поток.
+     *
+     * @param input1    Путь к файлу первой матрицы.
+     * @param input2    Путь к файлу второй матрицы.
+     * @param operation Операция над соответствующими элементами матриц.
+     * @param output    Поток для записи результата. Не закрывается.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если размеры матриц не совпадают, файл имеет неверный формат
+     *                          или произошла ошибка ввода/вывода.
+     */
+    public long process(String input1, String input2, DoubleBinaryOperator operation, Writer output)
+            throws MatrixException {
+        try (MatrixTextParser parser1 = new MatrixTextParser(Paths.get(input1));
+             MatrixTextParser parser2 = new MatrixTextParser(Paths.get(input2))) {
+            double[] result = new double[0];
+            long rows = 0;
+            int expectedColumns = -1;
+            int columns;
+            while ((columns = parser1.nextRow()) >= 0) {
+                int columns2 = parser2.nextRow();
+                expectedColumns = checkColumns(expectedColumns, columns);
+                if (columns2 != columns) {
+                    throw new MatrixException("Матрицы должны иметь одинаковые размеры для данной операции.");
+                }
+                if (result.length < columns) {
+                    result = new double[columns];
+                }
+                double[] row1 = parser1.row();
+                double[] row2 = parser2.row();
+                for (int j = 0; j < columns; j++) {
+                    result[j] = operation.applyAsDouble(row1[j], row2[j]);
+                }
+                textWriter.writeRow(result, columns, output);
+                rows++;
+            }
+            if (rows == 0) {
+                throw new MatrixException("Файл пустой");
+            }
+            if (parser2.nextRow() >= 0) {
+                throw new MatrixException("Матрицы должны иметь одинаковые размеры для данной операции.");
+            }
+            output.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при потоковой обработке файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Применяет функцию к каждому элементу матрицы из текстового файла и записывает результат в поток.
+     *
+     * @param input    Путь к файлу матрицы.
+     * @param function Функция, применяемая к элементам.
+     * @param output   Поток для записи результата. Не закрывается.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если файл имеет неверный формат или произошла ошибка ввода/вывода.
+     */
+    public long process(String input, DoubleUnaryOperator function, Writer output) throws MatrixException {
+        try (MatrixTextParser parser = new MatrixTextParser(Paths.get(input))) {
+            long rows = 0;
+            int expectedColumns = -1;
+            int columns;
+            while ((columns = parser.nextRow()) >= 0) {
+                expectedColumns = checkColumns(expectedColumns, columns);
+                // Буфер строки парсера переиспользуется: результат записывается на место исходных элементов
+                double[] row = parser.row();
+                for (int j = 0; j < columns; j++) {
+                    row[j] = function.applyAsDouble(row[j]);
+                }
+                textWriter.writeRow(row, columns, output);
+                rows++;
+            }
+            if (rows == 0) {
+                throw new MatrixException("Файл пустой");
+            }
+            output.flush();
+            return rows;
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при потоковой обработке файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Выполняет операцию над двумя матрицами с записью в файл, удаляя файл при ошибке.
+     *
+     * @param input1    Путь к файлу первой матрицы.
+     * @param input2    Путь к файлу второй матрицы.
+     * @param operation Операция над соответствующими элементами матриц.
+     * @param output    Путь к файлу результата.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если обработка или запись завершились ошибкой.
+     */
+    private long processToFile(String input1, String input2, DoubleBinaryOperator operation, String output)
+            throws MatrixException {
+        return writeReplacing(Paths.get(output), writer -> process(input1, input2, operation, writer));
+    }
+
+    /**
+     * Выполняет операцию над матрицей с записью в файл, удаляя файл при ошибке.
+     *
+     * @param input    Путь к файлу матрицы.
+     * @param function Функция, применяемая к элементам.
+     * @param output   Путь к файлу результата.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если обработка или запись завершились ошибкой.
+     */
+    private long processToFile(String input, DoubleUnaryOperator function, String output) throws MatrixException {
+        return writeReplacing(Paths.get(output), writer -> process(input, function, writer));
+    }
+
+    /**
+     * Записывает результат во временный файл рядом с выходным и заменяет им выходной файл после
+     * успешной записи. Входные файлы читаются до замены, поэтому выходной файл может совпадать с входным.
+     *
+     * @param path Путь к файлу результата.
+     * @param task Обработка, записывающая результат в поток.
+     * @return Количество обработанных строк.
+     * @throws MatrixException Если обработка или запись завершились ошибкой. Временный файл в этом случае удаляется.
+     */
+    private static long writeReplacing(Path path, OutputTask task) throws MatrixException {
+        Path target = path.toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+        try {
+            long rows;
+            try (Writer writer = openOutput(temp)) {
+                rows = task.write(writer);
+            }
+            moveReplacing(temp, target);
+            return rows;
+        } catch (MatrixException e) {
+            deleteQuietly(temp);
+            throw e;
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new MatrixException("Ошибка при записи файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Переименовывает временный файл в выходной, заменяя существующий файл.
+     * Если файловая система не поддерживает атомарное переименование, выполняется обычное.
+     *
+     * @param source Временный файл.
+     * @param target Выходной файл.
+     * @throws IOException Если файл не удалось переименовать.
+     */
+    private static void moveReplacing(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Проверяет, что строка имеет ту же длину, что и предыдущие строки файла.
+     *
+     * @param expectedColumns Длина предыдущих строк или -1 для первой строки.
+     * @param columns         Длина текущей строки.
+     * @return Длина строк файла.
+     * @throws MatrixException Если длина строки отличается от предыдущих.
+     */
+    private static int checkColumns(int expectedColumns, int columns) throws MatrixException {
+        if (expectedColumns != -1 && expectedColumns != columns) {
+            throw new MatrixException("Некорректный формат файла. Строки должны иметь одинаковую длину.");
+        }
+        return columns;
+    }
+
+    /**
+     * Создает новый файл и открывает его для записи с буферизацией.
+     *
+     * @param path Путь к файлу.
+     * @return Поток для записи.
+     * @throws IOException Если файл уже существует или его не удалось создать.
+     */
+    private static Writer openOutput(Path path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+                StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+    }
+
+    /**
+     * Удаляет частично записанный временный файл результата.
+     *
+     * @param path Путь к файлу.
+     */
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Исходная ошибка важнее ошибки удаления
+        }
+    }
+
+    /**
+     * Обработка, записывающая результат в поток.
+     */
+    @FunctionalInterface
+    private interface OutputTask {
+        /**
+         * Выполняет обработку.
+         *
+         * @param writer Поток для записи результата.
+         * @return Количество обработанных строк.
+         * @throws MatrixException Если обработка завершилась ошибкой.
+         * @throws IOException     Если запись завершилась ошибкой.
+         */
+        long write(Writer writer) throws MatrixException, IOException;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.file;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixStorage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Класс {@code TextMatrixWriter} сохраняет матрицы в текстовом формате, который читает {@link FileReader}:
+ * строки матрицы разделены переносами строк, элементы строки - пробелами.
+ */
+public class TextMatrixWriter {
+
+    /**
+     * Записывает матрицу в текстовый файл. Существующий файл перезаписывается.
+     *
+     * @param matrix   Матрица для записи.
+     * @param filePath Путь к файлу.
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public void writeMatrixToFile(Matrix matrix, String filePath) throws MatrixException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writeMatrix(matrix, writer);
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при записи файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Записывает матрицу в заданный поток символов.
+     *
+     * @param matrix Матрица для записи.
+     * @param writer Поток для записи. Не закрывается.
+     * @throws IOException Если возникает ошибка при записи.
+     */
+    public void writeMatrix(Matrix matrix, Writer writer) throws IOException {
+        MatrixStorage storage = matrix.getStorage();
+        int cols = matrix.getCols();
+        double[] row = new double[cols];
+        for (int i = 0; i < matrix.getRows(); i++) {
+            storage.readRow(i, row, 0);
+            writeRow(row, cols, writer);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Записывает одну строку матрицы, завершая ее переносом строки.
+     *
+     * @param row    Элементы строки.
+     * @param length Количество элементов строки.
+     * @param writer Поток для записи. Не закрывается и не сбрасывается.
+     * @throws IOException Если возникает ошибка при записи.
+     */
+    public void writeRow(double[] row, int length, Writer writer) throws IOException {
+        for (int j = 0; j < length; j++) {
+            writer.write(String.valueOf(row[j]));
+            if (j < length - 1) {
+                writer.write(' ');
+            }
+        }
+        writer.write(System.lineSeparator());
+    }
+}
@@ -0,0 +1,438 @@
+package org.example.file;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixStorage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Класс {@code TiledMatrixFile} хранит матрицу на диске квадратными плитками
+ * (двоичный формат {@link BinaryMatrixFormat} с расположением {@link BinaryMatrixFormat#LAYOUT_TILED}).
+ * <p>
+ *     Каждая плитка занимает непрерывную область файла и читается или записывается одной операцией,
+ *     поэтому матрица может быть больше доступной памяти: в памяти находятся только обрабатываемые плитки.
+ *     Крайние плитки дополнены нулями до полного размера. Методы чтения и записи плиток можно вызывать
+ *     из нескольких потоков одновременно.
+ * </p>
+ */
+public class TiledMatrixFile implements AutoCloseable {
+
+    /**
+     * Размер плитки по умолчанию: плитка 512 x 512 занимает 2 МБ.
+     */
+    public static final int DEFAULT_TILE_SIZE = 512;
+
+    /**
+     * Наибольший размер плитки: плитка должна помещаться в один буфер.
+     */
+    public static final int MAX_TILE_SIZE = 8192;
+
+    private final FileChannel channel;
+    private final int rows;
+    private final int cols;
+    private final int tileSize;
+    private final int tileRows;
+    private final int tileCols;
+    private final ThreadLocal<ByteBuffer> buffers;
+
+    private TiledMatrixFile(FileChannel channel, int rows, int cols, int tileSize) {
+        this.channel = channel;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        this.tileRows = BinaryMatrixFormat.tileCount(rows, tileSize);
+        this.tileCols = BinaryMatrixFormat.tileCount(cols, tileSize);
+        int tileBytes = tileSize * tileSize * Double.BYTES;
+        this.buffers = ThreadLocal.withInitial(
+                () -> ByteBuffer.allocateDirect(tileBytes).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    /**
+     * Создает файл для матрицы заданного размера, заполненной нулями. Существующий файл перезаписывается.
+     *
+     * @param filePath Путь к файлу.
+     * @param rows     Количество строк.
+     * @param cols     Количество столбцов.
+     * @param tileSize Размер плитки.
+     * @return Открытый для чтения и записи файл.
+     * @throws MatrixException Если размеры некорректны или произошла ошибка ввода/вывода.
+     */
+    public static TiledMatrixFile create(String filePath, int rows, int cols, int tileSize) throws MatrixException {
+        if (rows <= 0 || cols <= 0) {
+            throw new MatrixException("Количество строк и столбцов должно быть больше 0");
+        }
+        if (tileSize <= 0 || tileSize > MAX_TILE_SIZE) {
+            throw new MatrixException("Размер плитки должен быть от 1 до " + MAX_TILE_SIZE);
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            ByteBuffer header = BinaryMatrixFormat.encodeHeader(BinaryMatrixFormat.DTYPE_FLOAT64,
+                    BinaryMatrixFormat.LAYOUT_TILED, rows, cols, tileSize);
+            writeFully(channel, header, 0);
+            TiledMatrixFile file = new TiledMatrixFile(channel, rows, cols, tileSize);
+            // Последний байт задает длину файла; незаписанные области читаются как нули
+            long end = BinaryMatrixFormat.HEADER_SIZE + file.tileOffset(file.tileRows, 0) - 1;
+            writeFully(channel, ByteBuffer.allocate(1), end);
+            return file;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new MatrixException("Ошибка при создании файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Открывает существующий файл с матрицей, хранящейся плитками.
+     *
+     * @param filePath Путь к файлу.
+     * @param writable true, чтобы разрешить запись плиток.
+     * @return Открытый файл.
+     * @throws MatrixException Если произошла ошибка ввода/вывода или файл имеет неверный формат.
+     */
+    public static TiledMatrixFile open(String filePath, boolean writable) throws MatrixException {
+        FileChannel channel = null;
+        try {
+            channel = writable
+                    ? FileChannel.open(Paths.get(filePath), StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+            ByteBuffer header = ByteBuffer.allocate(BinaryMatrixFormat.HEADER_SIZE);
+            readFully(channel, header, 0);
+            BinaryMatrixFormat format = BinaryMatrixFormat.decodeHeader(header, channel.size(),
+                    BinaryMatrixFormat.LAYOUT_TILED);
+            if (format.dtype != BinaryMatrixFormat.DTYPE_FLOAT64) {
+                throw new MatrixException("Неподдерживаемый тип элементов двоичного файла: " + format.dtype);
+            }
+            if (format.tileSize > MAX_TILE_SIZE) {
+                throw new MatrixException("Некорректный формат двоичного файла. Неверный размер плитки");
+            }
+            return new TiledMatrixFile(channel, format.rows, format.cols, format.tileSize);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new MatrixException("Ошибка при чтении файла: " + e.getMessage(), e);
+        } catch (MatrixException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Сохраняет матрицу из памяти в файл плитками.
+     *
+     * @param matrix   Матрица.
+     * @param filePath Путь к файлу.
+     * @param tileSize Размер плитки.
+     * @return Открытый для чтения и записи файл.
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public static TiledMatrixFile fromMatrix(Matrix matrix, String filePath, int tileSize) throws MatrixException {
+        TiledMatrixFile file = create(filePath, matrix.getRows(), matrix.getCols(), tileSize);
+        MatrixStorage storage = matrix.getStorage();
+        double[] tile = new double[tileSize * tileSize];
+        double[] row = new double[matrix.getCols()];
+        try {
+            for (int ti = 0; ti < file.tileRows; ti++) {
+                for (int tj = 0; tj < file.tileCols; tj++) {
+                    Arrays.fill(tile, 0.0);
+                    int rowFrom = ti * tileSize;
+                    int colFrom = tj * tileSize;
+                    int width = Math.min(tileSize, file.cols - colFrom);
+                    for (int i = 0; i < Math.min(tileSize, file.rows - rowFrom); i++) {
+                        storage.readRow(rowFrom + i, row, 0);
+                        System.arraycopy(row, colFrom, tile, i * tileSize, width);
+                    }
+                    file.writeTile(ti, tj, tile);
+                }
+            }
+            return file;
+        } catch (MatrixException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Преобразует двоичный файл матрицы с построчным расположением в файл с плитками.
+     * Исходный файл читается по плиткам, поэтому матрица не загружается в память целиком.
+     * Элементы одинарной точности расширяются до double.
+     *
+     * @param sourcePath Путь к двоичному файлу с построчным расположением.
+     * @param filePath   Путь к создаваемому файлу с плитками.
+     * @param tileSize   Размер плитки.
+     * @return Открытый для чтения и записи файл.
+     * @throws MatrixException Если произошла ошибка ввода/вывода или исходный файл имеет неверный формат.
+     */
+    public static TiledMatrixFile fromBinaryFile(String sourcePath, String filePath, int tileSize) throws MatrixException {
+        try (FileChannel source = FileChannel.open(Paths.get(sourcePath), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(BinaryMatrixFormat.HEADER_SIZE);
+            readFully(source, header, 0);
+            BinaryMatrixFormat format = BinaryMatrixFormat.decodeHeader(header, source.size());
+            TiledMatrixFile file = create(filePath, format.rows, format.cols, tileSize);
+            try {
+                double[] tile = new double[tileSize * tileSize];
+                int elementSize = format.elementSize();
+                ByteBuffer segment = ByteBuffer.allocateDirect(tileSize * elementSize).order(ByteOrder.LITTLE_ENDIAN);
+                float[] singles = format.dtype == BinaryMatrixFormat.DTYPE_FLOAT32 ? new float[tileSize] : null;
+                for (int ti = 0; ti < file.tileRows; ti++) {
+                    for (int tj = 0; tj < file.tileCols; tj++) {
+                        Arrays.fill(tile, 0.0);
+                        int rowFrom = ti * tileSize;
+                        int colFrom = tj * tileSize;
+                        int width = Math.min(tileSize, format.cols - colFrom);
+                        for (int i = 0; i < Math.min(tileSize, format.rows - rowFrom); i++) {
+                            long position = BinaryMatrixFormat.HEADER_SIZE
+                                    + ((long) (rowFrom + i) * format.cols + colFrom) * elementSize;
+                            segment.clear().limit(width * elementSize);
+                            readFully(source, segment, position);
+                            segment.flip();
+                            if (singles == null) {
+                                segment.asDoubleBuffer().get(tile, i * tileSize, width);
+                            } else {
+                                // Плитки хранятся в double: элементы одинарной точности расширяются
+                                segment.asFloatBuffer().get(singles, 0, width);
+                                for (int j = 0; j < width; j++) {
+                                    tile[i * tileSize + j] = singles[j];
+                                }
+                            }
+                        }
+                        file.writeTile(ti, tj, tile);
+                    }
+                }
+                return file;
+            } catch (IOException | MatrixException e) {
+                file.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при чтении файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Сохраняет матрицу в двоичный файл с построчным расположением, который читает {@link BinaryMatrixReader}.
+     * Плитки обрабатываются по одной, поэтому матрица не загружается в память целиком.
+     *
+     * @param filePath Путь к файлу. Существующий файл перезаписывается.
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public void toBinaryFile(String filePath) throws MatrixException {
+        try (FileChannel target = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(target, BinaryMatrixFormat.encodeHeader(BinaryMatrixFormat.DTYPE_FLOAT64, rows, cols), 0);
+            double[] tile = new double[tileSize * tileSize];
+            ByteBuffer segment = ByteBuffer.allocateDirect(tileSize * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int ti = 0; ti < tileRows; ti++) {
+                for (int tj = 0; tj < tileCols; tj++) {
+                    readTile(ti, tj, tile);
+                    int rowFrom = ti * tileSize;
+                    int colFrom = tj * tileSize;
+                    int width = Math.min(tileSize, cols - colFrom);
+                    for (int i = 0; i < Math.min(tileSize, rows - rowFrom); i++) {
+                        segment.clear();
+                        segment.asDoubleBuffer().put(tile, i * tileSize, width);
+                        segment.limit(width * Double.BYTES);
+                        long position = BinaryMatrixFormat.HEADER_SIZE
+                                + ((long) (rowFrom + i) * cols + colFrom) * Double.BYTES;
+                        writeFully(target, segment, position);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при записи файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Загружает матрицу в память.
+     *
+     * @return Матрица с непрерывным хранением.
+     * @throws MatrixException Если произошла ошибка ввода/вывода или матрица не помещается в один массив.
+     */
+    public Matrix toMatrix() throws MatrixException {
+        Matrix matrix;
+        try {
+            matrix = new Matrix(rows, cols);
+        } catch (IllegalArgumentException e) {
+            throw new MatrixException("Матрица слишком велика для загрузки в память", e);
+        }
+        MatrixStorage storage = matrix.getStorage();
+        double[] tile = new double[tileSize * tileSize];
+        for (int ti = 0; ti < tileRows; ti++) {
+            for (int tj = 0; tj < tileCols; tj++) {
+                readTile(ti, tj, tile);
+                int rowFrom = ti * tileSize;
+                int colFrom = tj * tileSize;
+                int width = Math.min(tileSize, cols - colFrom);
+                for (int i = 0; i < Math.min(tileSize, rows - rowFrom); i++) {
+                    System.arraycopy(tile, i * tileSize, storage.rowArray(rowFrom + i),
+                            storage.rowOffset(rowFrom + i) + colFrom, width);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Читает плитку в массив.
+     *
+     * @param tileRow Номер строки плиток.
+     * @param tileCol Номер столбца плиток.
+     * @param target  Массив длиной не меньше tileSize * tileSize; плитка записывается по строкам.
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public void readTile(int tileRow, int tileCol, double[] target) throws MatrixException {
+        ByteBuffer buffer = buffers.get();
+        buffer.clear();
+        try {
+            readFully(channel, buffer, BinaryMatrixFormat.HEADER_SIZE + tileOffset(tileRow, tileCol));
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при чтении плитки: " + e.getMessage(), e);
+        }
+        buffer.flip();
+        buffer.asDoubleBuffer().get(target, 0, tileSize * tileSize);
+    }
+
+    /**
+     * Записывает плитку из массива.
+     *
+     * @param tileRow Номер строки плиток.
+     * @param tileCol Номер столбца плиток.
+     * @param source  Массив длиной не меньше tileSize * tileSize с элементами плитки по строкам.
+     *                Элементы за границей матрицы в крайних плитках должны быть равны нулю.
+     * @throws MatrixException Если произошла ошибка ввода/вывода.
+     */
+    public void writeTile(int tileRow, int tileCol, double[] source) throws MatrixException {
+        ByteBuffer buffer = buffers.get();
+        buffer.clear();
+        buffer.asDoubleBuffer().put(source, 0, tileSize * tileSize);
+        try {
+            writeFully(channel, buffer, BinaryMatrixFormat.HEADER_SIZE + tileOffset(tileRow, tileCol));
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при записи плитки: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Возвращает количество строк матрицы.
+     *
+     * @return Количество строк.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество столбцов матрицы.
+     *
+     * @return Количество столбцов.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Возвращает размер плитки.
+     *
+     * @return Количество строк и столбцов плитки.
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Возвращает количество строк плиток.
+     *
+     * @return Количество плиток по вертикали.
+     */
+    public int getTileRows() {
+        return tileRows;
+    }
+
+    /**
+     * Возвращает количество столбцов плиток.
+     *
+     * @return Количество плиток по горизонтали.
+     */
+    public int getTileCols() {
+        return tileCols;
+    }
+
+    /**
+     * Закрывает файл.
+     *
+     * @throws MatrixException Если файл не удалось закрыть.
+     */
+    @Override
+    public void close() throws MatrixException {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new MatrixException("Ошибка при закрытии файла: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Вычисляет смещение плитки относительно начала области элементов.
+     *
+     * @param tileRow Номер строки плиток.
+     * @param tileCol Номер столбца плиток.
+     * @return Смещение в байтах.
+     */
+    private long tileOffset(int tileRow, int tileCol) {
+        return ((long) tileRow * tileCols + tileCol) * tileSize * tileSize * Double.BYTES;
+    }
+
+    /**
+     * Читает из канала, пока буфер не будет заполнен.
+     *
+     * @param channel  Канал файла.
+     * @param buffer   Буфер.
+     * @param position Позиция в файле.
+     * @throws IOException Если произошла ошибка чтения или файл закончился раньше.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Файл короче, чем указано в заголовке");
+            }
+        }
+    }
+
+    /**
+     * Записывает буфер в канал целиком.
+     *
+     * @param channel  Канал файла.
+     * @param buffer   Буфер.
+     * @param position Позиция в файле.
+     * @throws IOException Если произошла ошибка записи.
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position - buffer.position();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+    }
+
+    /**
+     * Закрывает канал после ошибки, не скрывая исходное исключение.
+     *
+     * @param channel Канал или null.
+     */
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Исходная ошибка важнее ошибки закрытия
+            }
+        }
+    }
+}
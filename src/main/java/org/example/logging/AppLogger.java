@@ -2,6 +2,7 @@ package org.example.logging;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.util.Unbox;
 
 /**
  * Утилитный класс для работы с логированием.
@@ -9,6 +10,14 @@ import org.apache.logging.log4j.Logger;
  * Этот класс предоставляет удобные методы для записи логов разных уровней.
  * Использует Log4j2 в качестве библиотеки логирования.
  * </p>
+ * <p>
+ * Сообщения с параметрами задаются шаблоном с местами подстановки {@code {}}: строка собирается,
+ * только если уровень включен. Методы с фиксированным количеством параметров не создают массив
+ * аргументов, а числовые параметры упаковываются через {@link Unbox} в переиспользуемые буферы
+ * потока, поэтому вызов с выключенным уровнем не выделяет память, а с включенным - не создает
+ * промежуточных строк (в режиме без мусора Log4j2). Если для сообщения нужно вычислить параметры,
+ * вызов следует обернуть проверкой {@link #isDebugEnabled()}.
+ * </p>
  */
 public class AppLogger {
 
@@ -23,6 +32,83 @@ public class AppLogger {
         this.logger = LogManager.getLogger(clazz);
     }
 
+    /**
+     * Проверяет, включен ли отладочный уровень.
+     *
+     * @return true, если отладочные сообщения записываются.
+     */
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    /**
+     * Проверяет, включен ли информационный уровень.
+     *
+     * @return true, если информационные сообщения записываются.
+     */
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    /**
+     * Логирует отладочное сообщение.
+     *
+     * @param message Сообщение для логирования.
+     */
+    public void debug(String message) {
+        logger.debug(message);
+    }
+
+    /**
+     * Логирует отладочное сообщение с одним параметром.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Параметр.
+     */
+    public void debug(String message, Object p0) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message, p0);
+        }
+    }
+
+    /**
+     * Логирует отладочное сообщение с двумя параметрами.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Первый параметр.
+     * @param p1      Второй параметр.
+     */
+    public void debug(String message, Object p0, Object p1) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message, p0, p1);
+        }
+    }
+
+    /**
+     * Логирует отладочное сообщение с числовым параметром без упаковки при выключенном уровне.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Параметр.
+     */
+    public void debug(String message, long p0) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message, Unbox.box(p0));
+        }
+    }
+
+    /**
+     * Логирует отладочное сообщение с двумя числовыми параметрами без упаковки при выключенном уровне.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Первый параметр.
+     * @param p1      Второй параметр.
+     */
+    public void debug(String message, long p0, long p1) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message, Unbox.box(p0), Unbox.box(p1));
+        }
+    }
+
     /**
      * Логирует информационное сообщение.
      *
@@ -32,6 +118,56 @@ public class AppLogger {
         logger.info(message);
     }
 
+    /**
+     * Логирует информационное сообщение с одним параметром.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Параметр.
+     */
+    public void info(String message, Object p0) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message, p0);
+        }
+    }
+
+    /**
+     * Логирует информационное сообщение с двумя параметрами.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Первый параметр.
+     * @param p1      Второй параметр.
+     */
+    public void info(String message, Object p0, Object p1) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message, p0, p1);
+        }
+    }
+
+    /**
+     * Логирует информационное сообщение с числовым параметром без упаковки при выключенном уровне.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Параметр.
+     */
+    public void info(String message, long p0) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message, Unbox.box(p0));
+        }
+    }
+
+    /**
+     * Логирует информационное сообщение с двумя числовыми параметрами без упаковки при выключенном уровне.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Первый параметр.
+     * @param p1      Второй параметр.
+     */
+    public void info(String message, long p0, long p1) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message, Unbox.box(p0), Unbox.box(p1));
+        }
+    }
+
     /**
      * Логирует предупреждающее сообщение.
      *
@@ -41,6 +177,16 @@ public class AppLogger {
         logger.warn(message);
     }
 
+    /**
+     * Логирует предупреждающее сообщение с одним параметром.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Параметр.
+     */
+    public void warn(String message, Object p0) {
+        logger.warn(message, p0);
+    }
+
     /**
      * Логирует предупреждающее сообщение с исключением.
      *
@@ -60,6 +206,16 @@ public class AppLogger {
         logger.error(message);
     }
 
+    /**
+     * Логирует сообщение об ошибке с одним параметром.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Параметр.
+     */
+    public void error(String message, Object p0) {
+        logger.error(message, p0);
+    }
+
     /**
      * Логирует сообщение об ошибке с исключением.
      *
@@ -69,4 +225,28 @@ public class AppLogger {
     public void error(String message, Throwable e) {
         logger.error(message, e);
     }
+
+    /**
+     * Логирует сообщение об ошибке с одним параметром и исключением.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Параметр.
+     * @param e       Исключение, которое будет добавлено в лог.
+     */
+    public void error(String message, Object p0, Throwable e) {
+        // Последний аргумент без места подстановки Log4j2 записывает как исключение
+        logger.error(message, p0, e);
+    }
+
+    /**
+     * Логирует сообщение об ошибке с двумя параметрами и исключением.
+     *
+     * @param message Шаблон сообщения.
+     * @param p0      Первый параметр.
+     * @param p1      Второй параметр.
+     * @param e       Исключение, которое будет добавлено в лог.
+     */
+    public void error(String message, Object p0, Object p1, Throwable e) {
+        logger.error(message, p0, p1, e);
+    }
 }
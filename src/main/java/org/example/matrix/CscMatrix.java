@@ -0,0 +1,152 @@
+package org.example.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Разреженная матрица в формате CSC (compressed sparse column).
+ * <p>
+ *     Представление симметрично {@link CsrMatrix}: ненулевые элементы хранятся по столбцам,
+ *     {@code columnPointers[j]..columnPointers[j + 1]} задает участок столбца j, а номера строк
+ *     внутри столбца строго возрастают. Формат удобен, когда матрица обходится по столбцам,
+ *     например при умножении плотной матрицы на разреженную справа.
+ * </p>
+ * <p>
+ *     Объекты неизменяемы: массивы, переданные в конструктор, не копируются и не должны изменяться после создания.
+ * </p>
+ */
+public final class CscMatrix {
+    private final int rows;
+    private final int cols;
+    private final int[] columnPointers;
+    private final int[] rowIndices;
+    private final double[] values;
+
+    /**
+     * Создает матрицу поверх готовых массивов формата CSC без копирования.
+     *
+     * @param rows           Количество строк. Должно быть больше 0.
+     * @param cols           Количество столбцов. Должно быть больше 0.
+     * @param columnPointers Начала столбцов, длина cols + 1.
+     * @param rowIndices     Номера строк ненулевых элементов.
+     * @param values         Значения ненулевых элементов.
+     * @throws IllegalArgumentException Если массивы не образуют корректную матрицу CSC
+     *                                  (в том числе если их длина не равна количеству элементов).
+     */
+    public CscMatrix(int rows, int cols, int[] columnPointers, int[] rowIndices, double[] values) {
+        CsrMatrix.validate(cols, rows, columnPointers, rowIndices, values);
+        this.rows = rows;
+        this.cols = cols;
+        this.columnPointers = columnPointers;
+        this.rowIndices = rowIndices;
+        this.values = values;
+    }
+
+    /**
+     * Создает разреженную копию плотной матрицы, пропуская нулевые элементы.
+     *
+     * @param matrix Плотная матрица.
+     * @return Матрица CSC с теми же элементами.
+     */
+    public static CscMatrix fromDense(Matrix matrix) {
+        return CsrMatrix.fromDense(matrix).toCsc();
+    }
+
+    /**
+     * Возвращает количество строк.
+     *
+     * @return Количество строк.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество столбцов.
+     *
+     * @return Количество столбцов.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Возвращает количество хранимых (ненулевых) элементов.
+     *
+     * @return Количество ненулевых элементов.
+     */
+    public int getNonZeros() {
+        return columnPointers[cols];
+    }
+
+    /**
+     * Возвращает массив начал столбцов. Массив не копируется и не должен изменяться.
+     *
+     * @return Массив длиной cols + 1.
+     */
+    public int[] getColumnPointers() {
+        return columnPointers;
+    }
+
+    /**
+     * Возвращает номера строк ненулевых элементов. Массив не копируется и не должен изменяться.
+     *
+     * @return Номера строк.
+     */
+    public int[] getRowIndices() {
+        return rowIndices;
+    }
+
+    /**
+     * Возвращает значения ненулевых элементов. Массив не копируется и не должен изменяться.
+     *
+     * @return Значения элементов.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Возвращает значение элемента. Поиск в столбце выполняется двоичным поиском.
+     *
+     * @param row Индекс строки.
+     * @param col Индекс столбца.
+     * @return Значение элемента или 0, если элемент не хранится.
+     * @throws IndexOutOfBoundsException Если индексы выходят за пределы матрицы.
+     */
+    public double getElement(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Индексы за пределами матрицы");
+        }
+        int position = Arrays.binarySearch(rowIndices, columnPointers[col], columnPointers[col + 1], row);
+        return position >= 0 ? values[position] : 0.0;
+    }
+
+    /**
+     * Создает плотную матрицу с теми же элементами.
+     *
+     * @return Плотная матрица с хранилищем {@link StorageMode#FLAT}.
+     */
+    public Matrix toDense() {
+        FlatArrayStorage storage = new FlatArrayStorage(rows, cols);
+        double[] data = storage.getArray();
+        for (int j = 0; j < cols; j++) {
+            for (int p = columnPointers[j]; p < columnPointers[j + 1]; p++) {
+                data[storage.rowOffset(rowIndices[p]) + j] = values[p];
+            }
+        }
+        return Matrix.wrap(storage);
+    }
+
+    /**
+     * Преобразует матрицу в формат CSR.
+     *
+     * @return Матрица CSR с теми же элементами.
+     */
+    public CsrMatrix toCsr() {
+        int[] pointers = new int[rows + 1];
+        int[] indices = new int[getNonZeros()];
+        double[] transposed = new double[getNonZeros()];
+        CsrMatrix.transpose(cols, rows, columnPointers, rowIndices, values, pointers, indices, transposed);
+        return new CsrMatrix(rows, cols, pointers, indices, transposed);
+    }
+}
@@ -0,0 +1,365 @@
+package org.example.matrix;
+
+import java.util.Arrays;
+
+/**
+ * Разреженная матрица в формате CSR (compressed sparse row).
+ * <p>
+ *     Хранятся только ненулевые элементы: значения {@code values} и номера столбцов {@code columnIndices}
+ *     построчно, а {@code rowPointers[i]..rowPointers[i + 1]} задает участок строки i. Внутри строки
+ *     номера столбцов строго возрастают. Память и время операций пропорциональны количеству
+ *     ненулевых элементов, а не произведению размеров.
+ * </p>
+ * <p>
+ *     Объекты неизменяемы: массивы, переданные в конструктор, не копируются и не должны изменяться после создания.
+ * </p>
+ */
+public final class CsrMatrix {
+    private final int rows;
+    private final int cols;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    /**
+     * Создает матрицу поверх готовых массивов формата CSR без копирования.
+     *
+     * @param rows          Количество строк. Должно быть больше 0.
+     * @param cols          Количество столбцов. Должно быть больше 0.
+     * @param rowPointers   Начала строк, длина rows + 1.
+     * @param columnIndices Номера столбцов ненулевых элементов.
+     * @param values        Значения ненулевых элементов.
+     * @throws IllegalArgumentException Если массивы не образуют корректную матрицу CSR
+     *                                  (в том числе если их длина не равна количеству элементов).
+     */
+    public CsrMatrix(int rows, int cols, int[] rowPointers, int[] columnIndices, double[] values) {
+        validate(rows, cols, rowPointers, columnIndices, values);
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    /**
+     * Создает разреженную копию плотной матрицы, пропуская нулевые элементы.
+     *
+     * @param matrix Плотная матрица.
+     * @return Матрица CSR с теми же элементами.
+     */
+    public static CsrMatrix fromDense(Matrix matrix) {
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+        MatrixStorage storage = matrix.getStorage();
+        double[] buffer = new double[cols];
+        int[] pointers = new int[rows + 1];
+        int nonZeros = 0;
+        for (int i = 0; i < rows; i++) {
+            storage.readRow(i, buffer, 0);
+            for (int j = 0; j < cols; j++) {
+                if (buffer[j] != 0.0) {
+                    nonZeros++;
+                }
+            }
+            pointers[i + 1] = nonZeros;
+        }
+        int[] indices = new int[nonZeros];
+        double[] values = new double[nonZeros];
+        int position = 0;
+        for (int i = 0; i < rows; i++) {
+            storage.readRow(i, buffer, 0);
+            for (int j = 0; j < cols; j++) {
+                if (buffer[j] != 0.0) {
+                    indices[position] = j;
+                    values[position++] = buffer[j];
+                }
+            }
+        }
+        return new CsrMatrix(rows, cols, pointers, indices, values);
+    }
+
+    /**
+     * Создает матрицу из списка координат (строка, столбец, значение).
+     * <p>
+     *  Координаты могут идти в любом порядке; значения с одинаковыми координатами складываются,
+     *  а нулевые значения не сохраняются. Сортировка выполняется двумя проходами сортировки подсчетом
+     *  за O(count + rows + cols).
+     * </p>
+     *
+     * @param rows       Количество строк.
+     * @param cols       Количество столбцов.
+     * @param rowIndices Номера строк (с нуля).
+     * @param colIndices Номера столбцов (с нуля).
+     * @param values     Значения.
+     * @param count      Количество координат.
+     * @return Матрица CSR.
+     * @throws IllegalArgumentException  Если количество строк или столбцов меньше или равно 0.
+     * @throws IndexOutOfBoundsException Если координата выходит за пределы матрицы.
+     */
+    public static CsrMatrix fromCoordinates(int rows, int cols, int[] rowIndices, int[] colIndices,
+                                            double[] values, int count) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Количество строк и столбцов должно быть больше 0");
+        }
+        for (int e = 0; e < count; e++) {
+            if (rowIndices[e] < 0 || rowIndices[e] >= rows || colIndices[e] < 0 || colIndices[e] >= cols) {
+                throw new IndexOutOfBoundsException("Индексы за пределами матрицы");
+            }
+        }
+        // Сортировка по столбцам, затем устойчивая сортировка по строкам
+        int[] byColumn = countingOrder(colIndices, null, count, cols);
+        int[] order = countingOrder(rowIndices, byColumn, count, rows);
+
+        int[] pointers = new int[rows + 1];
+        int[] indices = new int[count];
+        double[] compressed = new double[count];
+        int size = 0;
+        int currentRow = 0;
+        for (int e = 0; e < count; e++) {
+            int source = order[e];
+            int row = rowIndices[source];
+            int col = colIndices[source];
+            while (currentRow < row) {
+                pointers[++currentRow] = size;
+            }
+            if (size > pointers[row] && indices[size - 1] == col) {
+                compressed[size - 1] += values[source];
+            } else {
+                indices[size] = col;
+                compressed[size++] = values[source];
+            }
+        }
+        while (currentRow < rows) {
+            pointers[++currentRow] = size;
+        }
+        return fromCompressed(rows, cols, pointers, indices, compressed);
+    }
+
+    /**
+     * Возвращает количество строк.
+     *
+     * @return Количество строк.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество столбцов.
+     *
+     * @return Количество столбцов.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Возвращает количество хранимых (ненулевых) элементов.
+     *
+     * @return Количество ненулевых элементов.
+     */
+    public int getNonZeros() {
+        return rowPointers[rows];
+    }
+
+    /**
+     * Возвращает массив начал строк. Массив не копируется и не должен изменяться.
+     *
+     * @return Массив длиной rows + 1.
+     */
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    /**
+     * Возвращает номера столбцов ненулевых элементов. Массив не копируется и не должен изменяться.
+     *
+     * @return Номера столбцов.
+     */
+    public int[] getColumnIndices() {
+        return columnIndices;
+    }
+
+    /**
+     * Возвращает значения ненулевых элементов. Массив не копируется и не должен изменяться.
+     *
+     * @return Значения элементов.
+     */
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Возвращает значение элемента. Поиск в строке выполняется двоичным поиском.
+     *
+     * @param row Индекс строки.
+     * @param col Индекс столбца.
+     * @return Значение элемента или 0, если элемент не хранится.
+     * @throws IndexOutOfBoundsException Если индексы выходят за пределы матрицы.
+     */
+    public double getElement(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Индексы за пределами матрицы");
+        }
+        int position = Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], col);
+        return position >= 0 ? values[position] : 0.0;
+    }
+
+    /**
+     * Создает плотную матрицу с теми же элементами.
+     *
+     * @return Плотная матрица с хранилищем {@link StorageMode#FLAT}.
+     */
+    public Matrix toDense() {
+        FlatArrayStorage storage = new FlatArrayStorage(rows, cols);
+        double[] data = storage.getArray();
+        for (int i = 0; i < rows; i++) {
+            int rowOffset = storage.rowOffset(i);
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                data[rowOffset + columnIndices[p]] = values[p];
+            }
+        }
+        return Matrix.wrap(storage);
+    }
+
+    /**
+     * Преобразует матрицу в формат CSC.
+     *
+     * @return Матрица CSC с теми же элементами.
+     */
+    public CscMatrix toCsc() {
+        int[] pointers = new int[cols + 1];
+        int[] indices = new int[getNonZeros()];
+        double[] transposed = new double[getNonZeros()];
+        transpose(rows, cols, rowPointers, columnIndices, values, pointers, indices, transposed);
+        return new CscMatrix(rows, cols, pointers, indices, transposed);
+    }
+
+    /**
+     * Транспонирует сжатое представление: строки CSR становятся столбцами и наоборот.
+     * Порядок индексов внутри каждого участка результата возрастающий.
+     *
+     * @param major           Количество участков исходного представления.
+     * @param minor           Количество участков результата.
+     * @param pointers        Начала участков исходного представления.
+     * @param indices         Индексы исходного представления.
+     * @param values          Значения исходного представления.
+     * @param targetPointers  Начала участков результата (длина minor + 1).
+     * @param targetIndices   Индексы результата.
+     * @param targetValues    Значения результата.
+     */
+    static void transpose(int major, int minor, int[] pointers, int[] indices, double[] values,
+                          int[] targetPointers, int[] targetIndices, double[] targetValues) {
+        int nonZeros = pointers[major];
+        for (int p = 0; p < nonZeros; p++) {
+            targetPointers[indices[p] + 1]++;
+        }
+        for (int j = 0; j < minor; j++) {
+            targetPointers[j + 1] += targetPointers[j];
+        }
+        int[] next = Arrays.copyOf(targetPointers, minor);
+        for (int i = 0; i < major; i++) {
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                int position = next[indices[p]]++;
+                targetIndices[position] = i;
+                targetValues[position] = values[p];
+            }
+        }
+    }
+
+    /**
+     * Проверяет согласованность массивов сжатого представления.
+     *
+     * @param major    Количество участков (строк для CSR, столбцов для CSC).
+     * @param minor    Размер второго измерения.
+     * @param pointers Начала участков.
+     * @param indices  Индексы элементов.
+     * @param values   Значения элементов.
+     * @throws IllegalArgumentException Если массивы не согласованы.
+     */
+    static void validate(int major, int minor, int[] pointers, int[] indices, double[] values) {
+        if (major <= 0 || minor <= 0) {
+            throw new IllegalArgumentException("Количество строк и столбцов должно быть больше 0");
+        }
+        if (pointers == null || indices == null || values == null || pointers.length != major + 1
+                || pointers[0] != 0 || indices.length != pointers[major] || values.length != pointers[major]) {
+            throw new IllegalArgumentException("Массивы разреженной матрицы не согласованы с ее размерами");
+        }
+        for (int i = 0; i < major; i++) {
+            if (pointers[i] > pointers[i + 1]) {
+                throw new IllegalArgumentException("Массивы разреженной матрицы не согласованы с ее размерами");
+            }
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                if (indices[p] < 0 || indices[p] >= minor || (p > pointers[i] && indices[p] <= indices[p - 1])) {
+                    throw new IllegalArgumentException("Индексы разреженной матрицы должны возрастать внутри строки");
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает перестановку координат, упорядоченную по ключу сортировкой подсчетом.
+     *
+     * @param keys   Ключи координат.
+     * @param input  Исходный порядок или null для естественного порядка.
+     * @param count  Количество координат.
+     * @param bound  Верхняя граница ключей (не включительно).
+     * @return Номера координат в порядке возрастания ключа (устойчиво относительно input).
+     */
+    private static int[] countingOrder(int[] keys, int[] input, int count, int bound) {
+        int[] starts = new int[bound + 1];
+        for (int e = 0; e < count; e++) {
+            starts[keys[e] + 1]++;
+        }
+        for (int k = 0; k < bound; k++) {
+            starts[k + 1] += starts[k];
+        }
+        int[] order = new int[count];
+        for (int e = 0; e < count; e++) {
+            int source = input == null ? e : input[e];
+            order[starts[keys[source]]++] = source;
+        }
+        return order;
+    }
+
+    /**
+     * Создает матрицу из сжатого представления, в котором могут присутствовать явно сохраненные нули,
+     * а массивы индексов и значений могут быть длиннее количества элементов.
+     * <p>
+     *  Нули удаляются, массивы обрезаются до количества элементов. Переданные массивы
+     *  используются повторно и изменяются.
+     * </p>
+     *
+     * @param rows     Количество строк.
+     * @param cols     Количество столбцов.
+     * @param pointers Начала строк, длина rows + 1.
+     * @param indices  Номера столбцов, возрастающие внутри строки.
+     * @param values   Значения.
+     * @return Матрица CSR без нулевых элементов.
+     * @throws IllegalArgumentException Если массивы не образуют корректную матрицу CSR.
+     */
+    public static CsrMatrix fromCompressed(int rows, int cols, int[] pointers, int[] indices, double[] values) {
+        if (rows <= 0 || pointers == null || pointers.length != rows + 1 || indices == null || values == null
+                || pointers[rows] > indices.length || pointers[rows] > values.length) {
+            throw new IllegalArgumentException("Массивы разреженной матрицы не согласованы с ее размерами");
+        }
+        int size = 0;
+        int start = 0;
+        for (int i = 0; i < rows; i++) {
+            int end = pointers[i + 1];
+            for (int p = start; p < end; p++) {
+                if (values[p] != 0.0) {
+                    indices[size] = indices[p];
+                    values[size++] = values[p];
+                }
+            }
+            start = end;
+            pointers[i + 1] = size;
+        }
+        if (size != indices.length || size != values.length) {
+            indices = Arrays.copyOf(indices, size);
+            values = Arrays.copyOf(values, size);
+        }
+        return new CsrMatrix(rows, cols, pointers, indices, values);
+    }
+}
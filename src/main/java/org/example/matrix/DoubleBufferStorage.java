@@ -0,0 +1,93 @@
+package org.example.matrix;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * Хранилище элементов матрицы в буфере {@link DoubleBuffer} с построчным расположением элементов.
+ * <p>
+ *     Позволяет работать с матрицей, отображенной в память из файла ({@link java.nio.MappedByteBuffer}),
+ *     без копирования элементов в кучу. Индексация буфера ограничена {@link Integer#MAX_VALUE} элементами.
+ * </p>
+ */
+public class DoubleBufferStorage implements MatrixStorage {
+    private final DoubleBuffer buffer;
+    private final int rows;
+    private final int cols;
+
+    /**
+     * Создает хранилище поверх буфера без копирования. Элемент (row, col) находится в позиции
+     * {@code row * cols + col} относительно начала буфера.
+     *
+     * @param buffer Буфер элементов.
+     * @param rows   Количество строк.
+     * @param cols   Количество столбцов.
+     * @throws IllegalArgumentException Если буфер меньше rows * cols элементов.
+     */
+    public DoubleBufferStorage(DoubleBuffer buffer, int rows, int cols) {
+        if ((long) rows * cols > buffer.capacity()) {
+            throw new IllegalArgumentException("Размеры матрицы не соответствуют размеру буфера");
+        }
+        this.buffer = buffer;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        return buffer.get(row * cols + col);
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        buffer.put(row * cols + col, value);
+    }
+
+    @Override
+    public StorageMode getMode() {
+        return StorageMode.BUFFER;
+    }
+
+    @Override
+    public boolean hasArrayAccess() {
+        return false;
+    }
+
+    @Override
+    public double[] rowArray(int row) {
+        throw new UnsupportedOperationException("Хранилище не основано на массиве");
+    }
+
+    @Override
+    public int rowOffset(int row) {
+        throw new UnsupportedOperationException("Хранилище не основано на массиве");
+    }
+
+    @Override
+    public void readRow(int row, double[] target, int offset) {
+        buffer.get(row * cols, target, offset, cols);
+    }
+
+    @Override
+    public void writeRow(int row, double[] source, int offset) {
+        buffer.put(row * cols, source, offset, cols);
+    }
+
+    /**
+     * Возвращает буфер элементов.
+     *
+     * @return Буфер, в котором хранятся элементы матрицы.
+     */
+    public DoubleBuffer getBuffer() {
+        return buffer;
+    }
+}
@@ -0,0 +1,151 @@
+package org.example.matrix;
+
+/**
+ * Хранилище элементов матрицы в одном непрерывном массиве {@code double[]}.
+ * <p>
+ *     Элементы расположены построчно: элемент (row, col) находится в позиции
+ *     {@code offset + row * rowStride + col}. По сравнению с {@code double[][]} такое хранение
+ *     избавляет от отдельного объекта на каждую строку и обеспечивает последовательный обход памяти.
+ * </p>
+ */
+public class FlatArrayStorage implements MatrixStorage {
+    private final double[] data;
+    private final int rows;
+    private final int cols;
+    private final int offset;
+    private final int rowStride;
+
+    /**
+     * Создает новое заполненное нулями хранилище заданного размера.
+     *
+     * @param rows Количество строк.
+     * @param cols Количество столбцов.
+     * @throws IllegalArgumentException Если количество элементов превышает допустимый размер массива.
+     */
+    public FlatArrayStorage(int rows, int cols) {
+        this(new double[checkedSize(rows, cols)], rows, cols, 0, cols);
+    }
+
+    /**
+     * Создает хранилище поверх существующего массива без копирования.
+     *
+     * @param data      Массив элементов.
+     * @param rows      Количество строк.
+     * @param cols      Количество столбцов.
+     * @param offset    Позиция первого элемента в массиве.
+     * @param rowStride Расстояние между началами соседних строк (не меньше cols).
+     * @throws IllegalArgumentException Если параметры не согласованы с длиной массива.
+     */
+    public FlatArrayStorage(double[] data, int rows, int cols, int offset, int rowStride) {
+        if (rowStride < cols || offset < 0
+                || (long) offset + (long) (rows - 1) * rowStride + cols > data.length) {
+            throw new IllegalArgumentException("Размеры матрицы не соответствуют размеру массива");
+        }
+        this.data = data;
+        this.rows = rows;
+        this.cols = cols;
+        this.offset = offset;
+        this.rowStride = rowStride;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        return data[offset + row * rowStride + col];
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        data[offset + row * rowStride + col] = value;
+    }
+
+    @Override
+    public StorageMode getMode() {
+        return StorageMode.FLAT;
+    }
+
+    @Override
+    public boolean hasArrayAccess() {
+        return true;
+    }
+
+    @Override
+    public double[] rowArray(int row) {
+        return data;
+    }
+
+    @Override
+    public int rowOffset(int row) {
+        return offset + row * rowStride;
+    }
+
+    @Override
+    public void readRow(int row, double[] target, int offset) {
+        System.arraycopy(rowArray(row), rowOffset(row), target, offset, getCols());
+    }
+
+    @Override
+    public void writeRow(int row, double[] source, int offset) {
+        System.arraycopy(source, offset, rowArray(row), rowOffset(row), getCols());
+    }
+
+    /**
+     * Возвращает массив элементов.
+     *
+     * @return Массив, в котором хранятся элементы матрицы.
+     */
+    public double[] getArray() {
+        return data;
+    }
+
+    /**
+     * Возвращает позицию первого элемента в массиве.
+     *
+     * @return Смещение первого элемента.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Возвращает шаг строки.
+     *
+     * @return Расстояние между началами соседних строк.
+     */
+    public int getRowStride() {
+        return rowStride;
+    }
+
+    /**
+     * Проверяет, что элементы занимают непрерывный участок массива без промежутков между строками.
+     *
+     * @return true, если шаг строки равен количеству столбцов.
+     */
+    public boolean isContiguous() {
+        return rowStride == cols;
+    }
+
+    /**
+     * Вычисляет количество элементов и проверяет, что оно помещается в массив Java.
+     *
+     * @param rows Количество строк.
+     * @param cols Количество столбцов.
+     * @return Количество элементов.
+     */
+    static int checkedSize(int rows, int cols) {
+        long size = (long) rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Матрица слишком велика для хранения в одном массиве");
+        }
+        return (int) size;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.matrix;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Хранилище элементов матрицы одинарной точности в буфере {@link FloatBuffer} с построчным расположением элементов.
+ * <p>
+ *     Занимает вдвое меньше памяти, чем хранилища типа double, ценой точности около 7 значащих
+ *     десятичных цифр. Значения округляются до float при записи и расширяются до double при чтении,
+ *     поэтому хранилище используется всеми операциями наравне с остальными. Буфер может находиться
+ *     в куче ({@link FloatBuffer#allocate(int)}) или быть отображенным в память файлом.
+ *     Индексация буфера ограничена {@link Integer#MAX_VALUE} элементами.
+ * </p>
+ */
+public class FloatBufferStorage implements MatrixStorage {
+    private final FloatBuffer buffer;
+    private final float[] array;
+    private final int arrayOffset;
+    private final int rows;
+    private final int cols;
+
+    /**
+     * Создает новое заполненное нулями хранилище заданного размера в куче.
+     *
+     * @param rows Количество строк.
+     * @param cols Количество столбцов.
+     * @throws IllegalArgumentException Если количество элементов превышает допустимый размер массива.
+     */
+    public FloatBufferStorage(int rows, int cols) {
+        this(FloatBuffer.allocate(FlatArrayStorage.checkedSize(rows, cols)), rows, cols);
+    }
+
+    /**
+     * Создает хранилище поверх буфера без копирования. Элемент (row, col) находится в позиции
+     * {@code row * cols + col} относительно начала буфера.
+     *
+     * @param buffer Буфер элементов.
+     * @param rows   Количество строк.
+     * @param cols   Количество столбцов.
+     * @throws IllegalArgumentException Если буфер меньше rows * cols элементов.
+     */
+    public FloatBufferStorage(FloatBuffer buffer, int rows, int cols) {
+        if ((long) rows * cols > buffer.capacity()) {
+            throw new IllegalArgumentException("Размеры матрицы не соответствуют размеру буфера");
+        }
+        this.buffer = buffer;
+        // Для буфера в куче строки копируются циклом по массиву без вызовов методов буфера
+        boolean heap = buffer.hasArray() && !buffer.isReadOnly();
+        this.array = heap ? buffer.array() : null;
+        this.arrayOffset = heap ? buffer.arrayOffset() : 0;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        return buffer.get(row * cols + col);
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        buffer.put(row * cols + col, (float) value);
+    }
+
+    @Override
+    public StorageMode getMode() {
+        return StorageMode.FLOAT32;
+    }
+
+    @Override
+    public boolean hasArrayAccess() {
+        return false;
+    }
+
+    @Override
+    public double[] rowArray(int row) {
+        throw new UnsupportedOperationException("Хранилище не основано на массиве double");
+    }
+
+    @Override
+    public int rowOffset(int row) {
+        throw new UnsupportedOperationException("Хранилище не основано на массиве double");
+    }
+
+    @Override
+    public void readRow(int row, double[] target, int offset) {
+        int base = row * cols;
+        if (array != null) {
+            base += arrayOffset;
+            for (int j = 0; j < cols; j++) {
+                target[offset + j] = array[base + j];
+            }
+        } else {
+            for (int j = 0; j < cols; j++) {
+                target[offset + j] = buffer.get(base + j);
+            }
+        }
+    }
+
+    @Override
+    public void writeRow(int row, double[] source, int offset) {
+        int base = row * cols;
+        if (array != null) {
+            base += arrayOffset;
+            for (int j = 0; j < cols; j++) {
+                array[base + j] = (float) source[offset + j];
+            }
+        } else {
+            for (int j = 0; j < cols; j++) {
+                buffer.put(base + j, (float) source[offset + j]);
+            }
+        }
+    }
+
+    /**
+     * Возвращает буфер элементов.
+     *
+     * @return Буфер, в котором хранятся элементы матрицы.
+     */
+    public FloatBuffer getBuffer() {
+        return buffer;
+    }
+}
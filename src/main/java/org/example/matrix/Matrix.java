@@ -1,5 +1,6 @@
 package org.example.matrix;
 
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
@@ -9,9 +10,16 @@ import java.util.stream.Collectors;
  *     Позволяет создавать матрицы, получать и устанавливать значения элементов,
  *     а также получать размеры матрицы и строковое представление матрицы.
  * </p>
+ * <p>
+ *     Элементы хранятся в {@link MatrixStorage}. Новые матрицы по умолчанию используют
+ *     непрерывное построчное хранение ({@link StorageMode#FLAT}); матрицы, созданные из
+ *     готового двумерного массива, хранят его без копирования ({@link StorageMode#ROWS}).
+ *     Матрицы {@link StorageMode#FLOAT32} хранят элементы с одинарной точностью, но принимают
+ *     и возвращают их как double, поэтому обрабатываются теми же операциями.
+ * </p>
  */
 public class Matrix {
-    private final double[][] data;
+    private final MatrixStorage storage;
     private final int rows;
     private final int cols;
 
@@ -30,7 +38,7 @@ public class Matrix {
         // Сравнение элементов матриц
         for (int i = 0; i < this.getRows(); i++) {
             for (int j = 0; j < this.getCols(); j++) {
-                if (Double.compare(this.getData()[i][j], matrix.getData()[i][j]) != 0) {
+                if (Double.compare(storage.get(i, j), matrix.storage.get(i, j)) != 0) {
                     return false;
                 }
             }
@@ -42,9 +50,9 @@ public class Matrix {
     public int hashCode() {
         int result = getRows();
         result = 31 * result + getCols();
-        for (double[] row : getData()) {
-            for (double value : row) {
-                long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                long bits = Double.doubleToLongBits(storage.get(i, j));
                 result = 31 * result + (int) (bits ^ (bits >>> 32));
             }
         }
@@ -53,18 +61,38 @@ public class Matrix {
 
     /**
      * Создает новую матрицу с заданным количеством строк и столбцов.
+     * Элементы хранятся в одном непрерывном массиве ({@link StorageMode#FLAT}).
      *
      * @param rows Количество строк матрицы. Должно быть больше 0.
      * @param cols Количество столбцов матрицы. Должно быть больше 0.
      * @throws IllegalArgumentException Если количество строк или столбцов меньше или равно 0.
      */
     public Matrix(int rows, int cols) {
+        this(rows, cols, StorageMode.FLAT);
+    }
+
+    /**
+     * Создает новую матрицу с заданным количеством строк и столбцов и режимом хранения.
+     *
+     * @param rows Количество строк матрицы. Должно быть больше 0.
+     * @param cols Количество столбцов матрицы. Должно быть больше 0.
+     * @param mode Режим хранения элементов.
+     * @throws IllegalArgumentException Если количество строк или столбцов меньше или равно 0.
+     */
+    public Matrix(int rows, int cols, StorageMode mode) {
         if (rows <= 0 || cols <= 0) {
             throw new IllegalArgumentException("Количество строк и столбцов должно быть больше 0");
         }
         this.rows = rows;
         this.cols = cols;
-        this.data = new double[rows][cols];
+        this.storage = switch (mode) {
+            case ROWS -> new RowArrayStorage(new double[rows][cols]);
+            case FLAT -> new FlatArrayStorage(rows, cols);
+            case BUFFER -> new DoubleBufferStorage(
+                    DoubleBuffer.allocate(FlatArrayStorage.checkedSize(rows, cols)), rows, cols);
+            case FLOAT32 -> new FloatBufferStorage(rows, cols);
+            case OFF_HEAP -> new OffHeapStorage(rows, cols);
+        };
     }
 
     /**
@@ -80,7 +108,32 @@ public class Matrix {
         }
         this.rows = data.length;
         this.cols = data[0].length;
-        this.data = data;
+        this.storage = new RowArrayStorage(data);
+    }
+
+    /**
+     * Создает матрицу поверх заданного хранилища.
+     *
+     * @param storage Хранилище элементов матрицы.
+     */
+    private Matrix(MatrixStorage storage) {
+        this.rows = storage.getRows();
+        this.cols = storage.getCols();
+        this.storage = storage;
+    }
+
+    /**
+     * Создает матрицу поверх заданного хранилища без копирования элементов.
+     *
+     * @param storage Хранилище элементов матрицы.
+     * @return Матрица, использующая заданное хранилище.
+     * @throws IllegalArgumentException Если хранилище равно null или не содержит элементов.
+     */
+    public static Matrix wrap(MatrixStorage storage) {
+        if (storage == null || storage.getRows() <= 0 || storage.getCols() <= 0) {
+            throw new IllegalArgumentException("Матрица не может быть пустой");
+        }
+        return new Matrix(storage);
     }
 
     /**
@@ -111,7 +164,7 @@ public class Matrix {
      */
     public double getElement(int row, int col) {
         validateIndices(row, col);
-        return data[row][col];
+        return storage.get(row, col);
     }
 
     /**
@@ -124,16 +177,135 @@ public class Matrix {
      */
     public void setElement(int row, int col, double value) {
         validateIndices(row, col);
-        data[row][col] = value;
+        storage.set(row, col, value);
     }
 
     /**
-     * Возвращает внутреннее представление матрицы в виде двумерного массива.
-     *ф
+     * Возвращает представление матрицы в виде двумерного массива.
+     * <p>
+     *  Для хранилища {@link StorageMode#ROWS} возвращается внутренний массив. Для остальных
+     *  режимов создается копия элементов, поэтому изменения возвращенного массива на матрицу не влияют.
+     * </p>
+     *
      * @return двумерный массив double, представляющий матрицу.
      */
     public double[][] getData() {
-        return data;
+        if (storage instanceof RowArrayStorage) {
+            return ((RowArrayStorage) storage).getArray();
+        }
+        double[][] copy = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            copyRow(i, copy[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Возвращает хранилище элементов матрицы.
+     *
+     * @return Хранилище элементов.
+     */
+    public MatrixStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Возвращает режим хранения элементов матрицы.
+     *
+     * @return Режим хранения.
+     */
+    public StorageMode getStorageMode() {
+        return storage.getMode();
+    }
+
+    /**
+     * Освобождает память вне кучи, если матрица хранится в {@link StorageMode#OFF_HEAP}.
+     * После освобождения элементы такой матрицы недоступны. Для остальных режимов хранения ничего не делает:
+     * их память освобождает сборщик мусора.
+     */
+    public void release() {
+        if (storage instanceof OffHeapStorage) {
+            ((OffHeapStorage) storage).close();
+        }
+    }
+
+    /**
+     * Возвращает матрицу с непрерывным построчным хранением.
+     * Если матрица уже хранится в таком виде, возвращается она сама, иначе создается копия.
+     *
+     * @return Матрица с хранилищем {@link StorageMode#FLAT}.
+     */
+    public Matrix toFlat() {
+        if (storage.getMode() == StorageMode.FLAT) {
+            return this;
+        }
+        Matrix flat = new Matrix(rows, cols);
+        FlatArrayStorage target = (FlatArrayStorage) flat.storage;
+        for (int i = 0; i < rows; i++) {
+            copyRow(i, target.getArray(), target.rowOffset(i));
+        }
+        return flat;
+    }
+
+    /**
+     * Возвращает матрицу с элементами одинарной точности.
+     * Если матрица уже хранится в таком виде, возвращается она сама, иначе создается копия
+     * с округлением элементов до float.
+     *
+     * @return Матрица с хранилищем {@link StorageMode#FLOAT32}.
+     */
+    public Matrix toFloat32() {
+        if (storage.getMode() == StorageMode.FLOAT32) {
+            return this;
+        }
+        Matrix single = new Matrix(rows, cols, StorageMode.FLOAT32);
+        double[] row = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            copyRow(i, row);
+            single.storage.writeRow(i, row, 0);
+        }
+        return single;
+    }
+
+    /**
+     * Возвращает матрицу с элементами вне кучи.
+     * Если матрица уже хранится в таком виде, возвращается она сама, иначе создается копия,
+     * память которой освобождается методом {@link #release()}.
+     *
+     * @return Матрица с хранилищем {@link StorageMode#OFF_HEAP}.
+     */
+    public Matrix toOffHeap() {
+        if (storage.getMode() == StorageMode.OFF_HEAP) {
+            return this;
+        }
+        Matrix offHeap = new Matrix(rows, cols, StorageMode.OFF_HEAP);
+        double[] row = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            copyRow(i, row);
+            offHeap.storage.writeRow(i, row, 0);
+        }
+        return offHeap;
+    }
+
+    /**
+     * Копирует строку матрицы в заданный массив.
+     *
+     * @param row    Индекс строки.
+     * @param target Массив-приемник длиной не меньше количества столбцов.
+     */
+    private void copyRow(int row, double[] target) {
+        copyRow(row, target, 0);
+    }
+
+    /**
+     * Копирует строку матрицы в заданный массив начиная с указанной позиции.
+     *
+     * @param row    Индекс строки.
+     * @param target Массив-приемник.
+     * @param offset Позиция первого элемента в массиве-приемнике.
+     */
+    private void copyRow(int row, double[] target, int offset) {
+        storage.readRow(row, target, offset);
     }
 
     /**
@@ -157,7 +329,7 @@ public class Matrix {
      */
     @Override
     public String toString() {
-        return Arrays.stream(data)
+        return Arrays.stream(getData())
                 .map(Arrays::toString)
                 .collect(Collectors.joining("\n"));
     }
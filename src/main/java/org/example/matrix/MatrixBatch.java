@@ -0,0 +1,214 @@
+package org.example.matrix;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Пакет из нескольких матриц одинакового размера, хранящихся подряд в одном массиве.
+ * <p>
+ *     Матрица с номером {@code index} занимает участок {@code [index * rows * cols, (index + 1) * rows * cols)}
+ *     массива элементов, элементы каждой матрицы хранятся построчно. Пакет предназначен для большого
+ *     количества маленьких матриц (например, 3x3 или 4x4): вместо отдельного объекта {@link Matrix}
+ *     с хранилищем на каждую матрицу создается один массив, а операции {@code MatrixOperations}
+ *     над пакетом проверяют размеры один раз на весь пакет.
+ * </p>
+ * <p>
+ *     Массив, переданный в конструктор, не копируется; {@link #getData()} возвращает тот же массив.
+ * </p>
+ */
+public final class MatrixBatch {
+    private final int count;
+    private final int rows;
+    private final int cols;
+    private final double[] data;
+
+    /**
+     * Создает пакет нулевых матриц.
+     *
+     * @param count Количество матриц. Должно быть больше 0.
+     * @param rows  Количество строк каждой матрицы. Должно быть больше 0.
+     * @param cols  Количество столбцов каждой матрицы. Должно быть больше 0.
+     * @throws IllegalArgumentException Если размеры меньше или равны 0 или пакет не помещается в один массив.
+     */
+    public MatrixBatch(int count, int rows, int cols) {
+        this(new double[checkedSize(count, rows, cols)], count, rows, cols);
+    }
+
+    /**
+     * Создает пакет поверх существующего массива без копирования.
+     *
+     * @param data  Элементы матриц, матрица за матрицей, каждая построчно.
+     * @param count Количество матриц. Должно быть больше 0.
+     * @param rows  Количество строк каждой матрицы. Должно быть больше 0.
+     * @param cols  Количество столбцов каждой матрицы. Должно быть больше 0.
+     * @throws IllegalArgumentException Если размеры меньше или равны 0 или длина массива не равна count * rows * cols.
+     */
+    public MatrixBatch(double[] data, int count, int rows, int cols) {
+        if (data.length != checkedSize(count, rows, cols)) {
+            throw new IllegalArgumentException("Длина массива не соответствует размерам пакета матриц");
+        }
+        this.count = count;
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    /**
+     * Создает пакет из копий заданных матриц.
+     *
+     * @param matrices Матрицы одинакового размера.
+     * @return Пакет с элементами матриц в заданном порядке.
+     * @throws IllegalArgumentException Если матрицы не заданы или имеют разные размеры.
+     */
+    public static MatrixBatch of(Matrix... matrices) {
+        if (matrices.length == 0) {
+            throw new IllegalArgumentException("Пакет должен содержать хотя бы одну матрицу");
+        }
+        MatrixBatch batch = new MatrixBatch(matrices.length, matrices[0].getRows(), matrices[0].getCols());
+        for (int index = 0; index < matrices.length; index++) {
+            batch.setMatrix(index, matrices[index]);
+        }
+        return batch;
+    }
+
+    /**
+     * Возвращает количество матриц.
+     *
+     * @return Количество матриц.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Возвращает количество строк каждой матрицы.
+     *
+     * @return Количество строк.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество столбцов каждой матрицы.
+     *
+     * @return Количество столбцов.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Возвращает массив элементов без копирования.
+     *
+     * @return Массив элементов пакета.
+     */
+    public double[] getData() {
+        return data;
+    }
+
+    /**
+     * Возвращает позицию первого элемента матрицы в массиве.
+     *
+     * @param index Номер матрицы.
+     * @return Позиция в массиве {@link #getData()}.
+     * @throws IndexOutOfBoundsException Если номер вне диапазона [0, count).
+     */
+    public int offset(int index) {
+        Objects.checkIndex(index, count);
+        return index * rows * cols;
+    }
+
+    /**
+     * Возвращает элемент матрицы пакета.
+     *
+     * @param index Номер матрицы.
+     * @param row   Индекс строки.
+     * @param col   Индекс столбца.
+     * @return Значение элемента.
+     * @throws IndexOutOfBoundsException Если номер или индексы выходят за пределы пакета.
+     */
+    public double get(int index, int row, int col) {
+        return data[position(index, row, col)];
+    }
+
+    /**
+     * Устанавливает элемент матрицы пакета.
+     *
+     * @param index Номер матрицы.
+     * @param row   Индекс строки.
+     * @param col   Индекс столбца.
+     * @param value Новое значение.
+     * @throws IndexOutOfBoundsException Если номер или индексы выходят за пределы пакета.
+     */
+    public void set(int index, int row, int col, double value) {
+        data[position(index, row, col)] = value;
+    }
+
+    /**
+     * Возвращает копию матрицы пакета.
+     *
+     * @param index Номер матрицы.
+     * @return Новая матрица с элементами матрицы пакета.
+     * @throws IndexOutOfBoundsException Если номер вне диапазона [0, count).
+     */
+    public Matrix getMatrix(int index) {
+        int from = offset(index);
+        double[] elements = Arrays.copyOfRange(data, from, from + rows * cols);
+        return Matrix.wrap(new FlatArrayStorage(elements, rows, cols, 0, cols));
+    }
+
+    /**
+     * Копирует элементы матрицы в пакет.
+     *
+     * @param index  Номер матрицы.
+     * @param matrix Матрица того же размера, что и матрицы пакета.
+     * @throws IndexOutOfBoundsException Если номер вне диапазона [0, count).
+     * @throws IllegalArgumentException  Если размер матрицы отличается от размера матриц пакета.
+     */
+    public void setMatrix(int index, Matrix matrix) {
+        if (matrix.getRows() != rows || matrix.getCols() != cols) {
+            throw new IllegalArgumentException("Размер матрицы не совпадает с размером матриц пакета");
+        }
+        int from = offset(index);
+        MatrixStorage storage = matrix.getStorage();
+        for (int i = 0; i < rows; i++) {
+            storage.readRow(i, data, from + i * cols);
+        }
+    }
+
+    /**
+     * Вычисляет позицию элемента в массиве.
+     *
+     * @param index Номер матрицы.
+     * @param row   Индекс строки.
+     * @param col   Индекс столбца.
+     * @return Позиция элемента.
+     * @throws IndexOutOfBoundsException Если номер или индексы выходят за пределы пакета.
+     */
+    private int position(int index, int row, int col) {
+        Objects.checkIndex(row, rows);
+        Objects.checkIndex(col, cols);
+        return offset(index) + row * cols + col;
+    }
+
+    /**
+     * Проверяет размеры пакета и вычисляет количество элементов.
+     *
+     * @param count Количество матриц.
+     * @param rows  Количество строк.
+     * @param cols  Количество столбцов.
+     * @return Количество элементов пакета.
+     * @throws IllegalArgumentException Если размеры меньше или равны 0 или пакет не помещается в один массив.
+     */
+    private static int checkedSize(int count, int rows, int cols) {
+        if (count <= 0 || rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Количество матриц, строк и столбцов должно быть больше 0");
+        }
+        long size = (long) count * rows * cols;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Пакет матриц слишком велик для хранения в одном массиве");
+        }
+        return (int) size;
+    }
+}
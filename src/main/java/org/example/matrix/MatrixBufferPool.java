@@ -0,0 +1,375 @@
+package org.example.matrix;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Пул буферов для временных матриц, разбитый на классы размеров.
+ * <p>
+ *     Буфер матрицы из rows * cols элементов берется из класса ближайшей сверху степени двойки
+ *     (не меньше {@value #MIN_CLASS_ELEMENTS} элементов), поэтому матрицы близких размеров используют
+ *     одни и те же буферы. Возвращенные буферы хранятся в пуле, пока их суммарный объем не превышает
+ *     заданный бюджет; лишние буферы отдаются сборщику мусора. При повторном использовании выделяются
+ *     только небольшие объекты матрицы и хранилища, а не массив элементов, поэтому под постоянной нагрузкой
+ *     паузы сборщика мусора не зависят от размера временных матриц.
+ * </p>
+ * <p>
+ *     Буферы находятся в куче (хранилище {@link FlatArrayStorage}) или вне кучи
+ *     ({@link ByteBuffer#allocateDirect(int)}, хранилище {@link DoubleBufferStorage}).
+ *     Матрицу можно вернуть явно методом {@link #release(Matrix)} или получить через
+ *     {@link Scope}, который возвращает все свои матрицы при закрытии в try-with-resources.
+ *     После возврата матрица не должна использоваться: ее буфер может быть выдан снова.
+ *     Методы пула потокобезопасны.
+ * </p>
+ */
+public final class MatrixBufferPool {
+
+    /**
+     * Бюджет памяти свободных буферов по умолчанию (256 МБ).
+     */
+    public static final long DEFAULT_MAX_POOLED_BYTES = 256L << 20;
+
+    /**
+     * Наименьший класс размеров в элементах.
+     */
+    public static final int MIN_CLASS_ELEMENTS = 16;
+
+    /**
+     * Наибольший класс размеров: буферы большего размера создаются точного размера и не сохраняются в пуле.
+     */
+    private static final int MAX_CLASS_ELEMENTS = 1 << 30;
+
+    private final boolean offHeap;
+    private final long maxPooledBytes;
+    private final ArrayDeque<Object>[] free;
+    private final IdentityHashMap<MatrixStorage, Object> outstanding = new IdentityHashMap<>();
+    private long acquires;
+    private long reuses;
+    private long discards;
+    private long outstandingBytes;
+    private long pooledBytes;
+
+    /**
+     * Создает пул буферов в куче с бюджетом по умолчанию.
+     */
+    public MatrixBufferPool() {
+        this(false, DEFAULT_MAX_POOLED_BYTES);
+    }
+
+    /**
+     * Создает пул буферов.
+     *
+     * @param offHeap        true, чтобы размещать буферы вне кучи.
+     * @param maxPooledBytes Наибольший суммарный объем свободных буферов в пуле в байтах.
+     * @throws IllegalArgumentException Если бюджет отрицательный.
+     */
+    public MatrixBufferPool(boolean offHeap, long maxPooledBytes) {
+        if (maxPooledBytes < 0) {
+            throw new IllegalArgumentException("Объем пула не может быть отрицательным");
+        }
+        this.offHeap = offHeap;
+        this.maxPooledBytes = maxPooledBytes;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArrayDeque<Object>[] queues = new ArrayDeque[Integer.numberOfTrailingZeros(MAX_CLASS_ELEMENTS) + 1];
+        this.free = queues;
+    }
+
+    /**
+     * Проверяет, размещаются ли буферы пула вне кучи.
+     *
+     * @return true для буферов вне кучи.
+     */
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Возвращает бюджет памяти свободных буферов.
+     *
+     * @return Наибольший суммарный объем свободных буферов в байтах.
+     */
+    public long getMaxPooledBytes() {
+        return maxPooledBytes;
+    }
+
+    /**
+     * Выдает матрицу, заполненную нулями, с буфером из пула или новым буфером, если подходящего нет.
+     *
+     * @param rows Количество строк. Должно быть больше 0.
+     * @param cols Количество столбцов. Должно быть больше 0.
+     * @return Матрица {@link StorageMode#FLAT} для пула в куче или {@link StorageMode#BUFFER} для пула вне кучи.
+     * @throws IllegalArgumentException Если размеры меньше или равны 0 или матрица слишком велика для одного буфера.
+     */
+    public Matrix acquire(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Количество строк и столбцов должно быть больше 0");
+        }
+        int size = FlatArrayStorage.checkedSize(rows, cols);
+        int capacity = capacityFor(size);
+        if (offHeap && capacity > Integer.MAX_VALUE / Double.BYTES) {
+            throw new IllegalArgumentException("Матрица слишком велика для буфера вне кучи");
+        }
+        Object buffer = poll(capacity);
+        if (buffer == null) {
+            buffer = offHeap
+                    ? ByteBuffer.allocateDirect(capacity * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer()
+                    : new double[capacity];
+        } else {
+            clear(buffer, size);
+        }
+        MatrixStorage storage = offHeap
+                ? new DoubleBufferStorage((DoubleBuffer) buffer, rows, cols)
+                : new FlatArrayStorage((double[]) buffer, rows, cols, 0, cols);
+        synchronized (this) {
+            outstanding.put(storage, buffer);
+            outstandingBytes += (long) capacity * Double.BYTES;
+        }
+        return Matrix.wrap(storage);
+    }
+
+    /**
+     * Возвращает буфер матрицы в пул. После возврата матрица не должна использоваться.
+     *
+     * @param matrix Матрица, выданная {@link #acquire(int, int)} этого пула.
+     * @throws IllegalArgumentException Если матрица выдана не этим пулом или уже возвращена.
+     */
+    public synchronized void release(Matrix matrix) {
+        Object buffer = outstanding.remove(matrix.getStorage());
+        if (buffer == null) {
+            throw new IllegalArgumentException("Матрица не получена из этого пула или уже возвращена в него");
+        }
+        int capacity = capacityOf(buffer);
+        long bytes = (long) capacity * Double.BYTES;
+        outstandingBytes -= bytes;
+        if (capacity > MAX_CLASS_ELEMENTS || Integer.bitCount(capacity) != 1 || pooledBytes + bytes > maxPooledBytes) {
+            discards++;
+            return;
+        }
+        int index = Integer.numberOfTrailingZeros(capacity);
+        if (free[index] == null) {
+            free[index] = new ArrayDeque<>();
+        }
+        free[index].push(buffer);
+        pooledBytes += bytes;
+    }
+
+    /**
+     * Создает область временных матриц для использования в try-with-resources.
+     *
+     * @return Новая область, возвращающая свои матрицы в этот пул при закрытии.
+     */
+    public Scope scope() {
+        return new Scope();
+    }
+
+    /**
+     * Удаляет все свободные буферы из пула. Выданные матрицы и счетчики статистики сохраняются.
+     */
+    public synchronized void clear() {
+        Arrays.fill(free, null);
+        pooledBytes = 0;
+    }
+
+    /**
+     * Возвращает снимок статистики пула.
+     *
+     * @return Статистика выдачи и заполнения.
+     */
+    public synchronized Statistics getStatistics() {
+        return new Statistics(acquires, reuses, discards, outstanding.size(), outstandingBytes, pooledBytes);
+    }
+
+    /**
+     * Извлекает свободный буфер заданной емкости и обновляет счетчики выдачи.
+     *
+     * @param capacity Емкость буфера в элементах.
+     * @return Буфер или null, если в пуле нет буфера этого класса.
+     */
+    private synchronized Object poll(int capacity) {
+        acquires++;
+        if (capacity > MAX_CLASS_ELEMENTS) {
+            return null;
+        }
+        ArrayDeque<Object> queue = free[Integer.numberOfTrailingZeros(capacity)];
+        Object buffer = queue != null ? queue.poll() : null;
+        if (buffer != null) {
+            reuses++;
+            pooledBytes -= (long) capacity * Double.BYTES;
+        }
+        return buffer;
+    }
+
+    /**
+     * Вычисляет емкость буфера для матрицы: ближайшую сверху степень двойки не меньше
+     * {@value #MIN_CLASS_ELEMENTS} или точный размер для матриц больше наибольшего класса.
+     *
+     * @param size Количество элементов матрицы.
+     * @return Емкость буфера в элементах.
+     */
+    private static int capacityFor(int size) {
+        if (size > MAX_CLASS_ELEMENTS) {
+            return size;
+        }
+        return Math.max(MIN_CLASS_ELEMENTS, Integer.highestOneBit(size - 1) << 1);
+    }
+
+    /**
+     * Возвращает емкость буфера в элементах.
+     *
+     * @param buffer Массив double или буфер {@link DoubleBuffer}.
+     * @return Емкость в элементах.
+     */
+    private static int capacityOf(Object buffer) {
+        return buffer instanceof double[] ? ((double[]) buffer).length : ((DoubleBuffer) buffer).capacity();
+    }
+
+    /**
+     * Заполняет нулями первые size элементов повторно выдаваемого буфера.
+     *
+     * @param buffer Массив double или буфер {@link DoubleBuffer}.
+     * @param size   Количество элементов матрицы.
+     */
+    private static void clear(Object buffer, int size) {
+        if (buffer instanceof double[]) {
+            Arrays.fill((double[]) buffer, 0, size, 0.0);
+        } else {
+            DoubleBuffer doubles = (DoubleBuffer) buffer;
+            for (int i = 0; i < size; i++) {
+                doubles.put(i, 0.0);
+            }
+        }
+    }
+
+    /**
+     * Область временных матриц: все матрицы, полученные через область, возвращаются в пул
+     * при ее закрытии. Область предназначена для использования одним потоком.
+     */
+    public final class Scope implements AutoCloseable {
+        private final List<Matrix> matrices = new ArrayList<>();
+
+        private Scope() {
+        }
+
+        /**
+         * Выдает матрицу, заполненную нулями, которая будет возвращена в пул при закрытии области.
+         *
+         * @param rows Количество строк. Должно быть больше 0.
+         * @param cols Количество столбцов. Должно быть больше 0.
+         * @return Матрица из пула.
+         * @throws IllegalArgumentException Если размеры меньше или равны 0 или матрица слишком велика для одного буфера.
+         */
+        public Matrix acquire(int rows, int cols) {
+            Matrix matrix = MatrixBufferPool.this.acquire(rows, cols);
+            matrices.add(matrix);
+            return matrix;
+        }
+
+        /**
+         * Возвращает в пул все матрицы области. Повторное закрытие ничего не делает.
+         */
+        @Override
+        public void close() {
+            for (int i = matrices.size() - 1; i >= 0; i--) {
+                release(matrices.get(i));
+            }
+            matrices.clear();
+        }
+    }
+
+    /**
+     * Снимок статистики пула.
+     */
+    public static final class Statistics {
+        private final long acquires;
+        private final long reuses;
+        private final long discards;
+        private final int outstanding;
+        private final long outstandingBytes;
+        private final long pooledBytes;
+
+        Statistics(long acquires, long reuses, long discards, int outstanding, long outstandingBytes, long pooledBytes) {
+            this.acquires = acquires;
+            this.reuses = reuses;
+            this.discards = discards;
+            this.outstanding = outstanding;
+            this.outstandingBytes = outstandingBytes;
+            this.pooledBytes = pooledBytes;
+        }
+
+        /**
+         * Возвращает количество выданных матриц.
+         *
+         * @return Количество вызовов {@link MatrixBufferPool#acquire(int, int)}.
+         */
+        public long getAcquires() {
+            return acquires;
+        }
+
+        /**
+         * Возвращает количество выдач, для которых использован буфер из пула.
+         *
+         * @return Количество повторных использований.
+         */
+        public long getReuses() {
+            return reuses;
+        }
+
+        /**
+         * Возвращает количество возвращенных буферов, не сохраненных в пуле из-за бюджета или размера.
+         *
+         * @return Количество отброшенных буферов.
+         */
+        public long getDiscards() {
+            return discards;
+        }
+
+        /**
+         * Возвращает количество выданных и еще не возвращенных матриц.
+         *
+         * @return Количество матриц.
+         */
+        public int getOutstanding() {
+            return outstanding;
+        }
+
+        /**
+         * Возвращает объем буферов выданных и еще не возвращенных матриц.
+         *
+         * @return Объем в байтах.
+         */
+        public long getOutstandingBytes() {
+            return outstandingBytes;
+        }
+
+        /**
+         * Возвращает объем свободных буферов в пуле.
+         *
+         * @return Объем в байтах.
+         */
+        public long getPooledBytes() {
+            return pooledBytes;
+        }
+
+        /**
+         * Возвращает долю выдач, обслуженных буфером из пула.
+         *
+         * @return Доля повторных использований от 0 до 1 (0, если выдач не было).
+         */
+        public double getReuseRate() {
+            return acquires == 0 ? 0.0 : (double) reuses / acquires;
+        }
+
+        @Override
+        public String toString() {
+            return "acquires=" + acquires + ", reuses=" + reuses + ", discards=" + discards
+                    + ", outstanding=" + outstanding + ", outstandingBytes=" + outstandingBytes
+                    + ", pooledBytes=" + pooledBytes;
+        }
+    }
+}
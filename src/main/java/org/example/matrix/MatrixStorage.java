@@ -0,0 +1,105 @@
+package org.example.matrix;
+
+/**
+ * Интерфейс {@code MatrixStorage} описывает хранилище элементов матрицы.
+ * <p>
+ *     Методы доступа к элементам не проверяют индексы: проверку выполняет {@link Matrix}.
+ *     Хранилища на основе массивов Java дополнительно предоставляют прямой доступ к массиву строки,
+ *     что позволяет вычислительным ядрам работать без накладных расходов на вызовы {@link #get(int, int)}.
+ * </p>
+ */
+public interface MatrixStorage {
+
+    /**
+     * Возвращает количество строк.
+     *
+     * @return Количество строк.
+     */
+    int getRows();
+
+    /**
+     * Возвращает количество столбцов.
+     *
+     * @return Количество столбцов.
+     */
+    int getCols();
+
+    /**
+     * Возвращает значение элемента без проверки индексов.
+     *
+     * @param row Индекс строки.
+     * @param col Индекс столбца.
+     * @return Значение элемента.
+     */
+    double get(int row, int col);
+
+    /**
+     * Устанавливает значение элемента без проверки индексов.
+     *
+     * @param row   Индекс строки.
+     * @param col   Индекс столбца.
+     * @param value Новое значение.
+     */
+    void set(int row, int col, double value);
+
+    /**
+     * Возвращает режим хранения.
+     *
+     * @return Режим хранения.
+     */
+    StorageMode getMode();
+
+    /**
+     * Проверяет, предоставляет ли хранилище прямой доступ к массивам строк.
+     *
+     * @return true, если методы {@link #rowArray(int)} и {@link #rowOffset(int)} поддерживаются.
+     */
+    boolean hasArrayAccess();
+
+    /**
+     * Возвращает массив, в котором хранится заданная строка.
+     * Элемент (row, col) находится в позиции {@code rowOffset(row) + col}.
+     *
+     * @param row Индекс строки.
+     * @return Массив, содержащий строку.
+     * @throws UnsupportedOperationException Если хранилище не основано на массивах Java.
+     */
+    double[] rowArray(int row);
+
+    /**
+     * Возвращает смещение начала строки в массиве {@link #rowArray(int)}.
+     *
+     * @param row Индекс строки.
+     * @return Смещение первого элемента строки.
+     * @throws UnsupportedOperationException Если хранилище не основано на массивах Java.
+     */
+    int rowOffset(int row);
+
+    /**
+     * Копирует строку в заданный массив.
+     *
+     * @param row    Индекс строки.
+     * @param target Массив-приемник.
+     * @param offset Позиция первого элемента в массиве-приемнике.
+     */
+    default void readRow(int row, double[] target, int offset) {
+        int cols = getCols();
+        for (int j = 0; j < cols; j++) {
+            target[offset + j] = get(row, j);
+        }
+    }
+
+    /**
+     * Записывает строку из заданного массива.
+     *
+     * @param row    Индекс строки.
+     * @param source Массив-источник.
+     * @param offset Позиция первого элемента в массиве-источнике.
+     */
+    default void writeRow(int row, double[] source, int offset) {
+        int cols = getCols();
+        for (int j = 0; j < cols; j++) {
+            set(row, j, source[offset + j]);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package org.example.matrix;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
+/**
+ * Хранилище элементов матрицы вне кучи с построчным расположением элементов и индексацией типа long.
+ * <p>
+ *     Элементы размещаются в сегментах прямых буферов ({@link ByteBuffer#allocateDirect(int)}) одинакового
+ *     размера; элемент (row, col) имеет номер {@code (long) row * cols + col}, старшие биты номера выбирают
+ *     сегмент, младшие - позицию в нем. Поэтому количество элементов не ограничено {@link Integer#MAX_VALUE},
+ *     а память не входит в кучу и не увеличивает время полной сборки мусора. Строки, пересекающие
+ *     границу сегмента, читаются и записываются двумя частями.
+ * </p>
+ * <p>
+ *     Память освобождается явно методом {@link #close()} (или {@link Matrix#release()}); без этого она
+ *     освобождается сборщиком мусора вместе с буферами. После освобождения обращение к элементам
+ *     завершается {@link IllegalStateException}. Освобождение во время операции над матрицей
+ *     в другом потоке недопустимо.
+ * </p>
+ */
+public class OffHeapStorage implements MatrixStorage, AutoCloseable {
+
+    /**
+     * Размер сегмента по умолчанию в элементах: 2^27 элементов (1 ГБ).
+     */
+    public static final int DEFAULT_SEGMENT_ELEMENTS = 1 << 27;
+
+    /**
+     * Метод {@code sun.misc.Unsafe.invokeCleaner} для немедленного освобождения прямых буферов
+     * или null, если он недоступен.
+     */
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method invokeCleaner = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Буферы будут освобождены сборщиком мусора
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        INVOKE_CLEANER = invokeCleaner;
+        UNSAFE = unsafe;
+    }
+
+    private final int rows;
+    private final int cols;
+    private final int shift;
+    private final int mask;
+    private ByteBuffer[] memory;
+    private DoubleBuffer[] segments;
+
+    /**
+     * Создает новое заполненное нулями хранилище заданного размера с сегментами по умолчанию.
+     *
+     * @param rows Количество строк. Должно быть больше 0.
+     * @param cols Количество столбцов. Должно быть больше 0.
+     * @throws IllegalArgumentException Если количество строк или столбцов меньше или равно 0.
+     */
+    public OffHeapStorage(int rows, int cols) {
+        this(rows, cols, DEFAULT_SEGMENT_ELEMENTS);
+    }
+
+    /**
+     * Создает новое заполненное нулями хранилище заданного размера.
+     *
+     * @param rows            Количество строк. Должно быть больше 0.
+     * @param cols            Количество столбцов. Должно быть больше 0.
+     * @param segmentElements Размер сегмента в элементах: степень двойки не больше {@link #DEFAULT_SEGMENT_ELEMENTS}.
+     * @throws IllegalArgumentException Если размеры меньше или равны 0 или размер сегмента недопустим.
+     */
+    public OffHeapStorage(int rows, int cols, int segmentElements) {
+        if (rows <= 0 || cols <= 0) {
+            throw new IllegalArgumentException("Количество строк и столбцов должно быть больше 0");
+        }
+        if (segmentElements <= 0 || Integer.bitCount(segmentElements) != 1 || segmentElements > DEFAULT_SEGMENT_ELEMENTS) {
+            throw new IllegalArgumentException("Размер сегмента должен быть степенью двойки не больше " + DEFAULT_SEGMENT_ELEMENTS);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.shift = Integer.numberOfTrailingZeros(segmentElements);
+        this.mask = segmentElements - 1;
+        long size = (long) rows * cols;
+        int count = (int) ((size + mask) >>> shift);
+        this.memory = new ByteBuffer[count];
+        this.segments = new DoubleBuffer[count];
+        for (int s = 0; s < count; s++) {
+            // Последний сегмент занимает только остаток элементов
+            int elements = (int) Math.min(segmentElements, size - ((long) s << shift));
+            memory[s] = ByteBuffer.allocateDirect(elements * Double.BYTES).order(ByteOrder.nativeOrder());
+            segments[s] = memory[s].asDoubleBuffer();
+        }
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Возвращает количество элементов.
+     *
+     * @return Произведение количества строк и столбцов.
+     */
+    public long getSize() {
+        return (long) rows * cols;
+    }
+
+    /**
+     * Проверяет, освобождена ли память хранилища.
+     *
+     * @return true после вызова {@link #close()}.
+     */
+    public boolean isReleased() {
+        return segments == null;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        long index = (long) row * cols + col;
+        return segments()[(int) (index >>> shift)].get((int) index & mask);
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        long index = (long) row * cols + col;
+        segments()[(int) (index >>> shift)].put((int) index & mask, value);
+    }
+
+    @Override
+    public StorageMode getMode() {
+        return StorageMode.OFF_HEAP;
+    }
+
+    @Override
+    public boolean hasArrayAccess() {
+        return false;
+    }
+
+    @Override
+    public double[] rowArray(int row) {
+        throw new UnsupportedOperationException("Хранилище не основано на массиве");
+    }
+
+    @Override
+    public int rowOffset(int row) {
+        throw new UnsupportedOperationException("Хранилище не основано на массиве");
+    }
+
+    @Override
+    public void readRow(int row, double[] target, int offset) {
+        DoubleBuffer[] buffers = segments();
+        long index = (long) row * cols;
+        int done = 0;
+        while (done < cols) {
+            int position = (int) index & mask;
+            int length = Math.min(cols - done, mask + 1 - position);
+            buffers[(int) (index >>> shift)].get(position, target, offset + done, length);
+            done += length;
+            index += length;
+        }
+    }
+
+    @Override
+    public void writeRow(int row, double[] source, int offset) {
+        DoubleBuffer[] buffers = segments();
+        long index = (long) row * cols;
+        int done = 0;
+        while (done < cols) {
+            int position = (int) index & mask;
+            int length = Math.min(cols - done, mask + 1 - position);
+            buffers[(int) (index >>> shift)].put(position, source, offset + done, length);
+            done += length;
+            index += length;
+        }
+    }
+
+    /**
+     * Освобождает память хранилища. Повторный вызов ничего не делает.
+     */
+    @Override
+    public synchronized void close() {
+        ByteBuffer[] released = memory;
+        if (released == null) {
+            return;
+        }
+        segments = null;
+        memory = null;
+        if (INVOKE_CLEANER != null) {
+            for (ByteBuffer buffer : released) {
+                try {
+                    INVOKE_CLEANER.invoke(UNSAFE, buffer);
+                } catch (ReflectiveOperationException e) {
+                    // Буфер будет освобожден сборщиком мусора
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает сегменты хранилища.
+     *
+     * @return Сегменты элементов.
+     * @throws IllegalStateException Если память хранилища освобождена.
+     */
+    private DoubleBuffer[] segments() {
+        DoubleBuffer[] current = segments;
+        if (current == null) {
+            throw new IllegalStateException("Память матрицы вне кучи освобождена");
+        }
+        return current;
+    }
+}
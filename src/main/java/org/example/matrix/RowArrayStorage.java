@@ -0,0 +1,81 @@
+package org.example.matrix;
+
+/**
+ * Хранилище элементов матрицы в виде массива строк {@code double[][]}.
+ * <p>
+ *     Используется для матриц, созданных из готового двумерного массива: массив не копируется.
+ * </p>
+ */
+public class RowArrayStorage implements MatrixStorage {
+    private final double[][] data;
+    private final int cols;
+
+    /**
+     * Создает хранилище поверх заданного двумерного массива без копирования.
+     *
+     * @param data Двумерный массив с одинаковой длиной строк.
+     */
+    public RowArrayStorage(double[][] data) {
+        this.data = data;
+        this.cols = data[0].length;
+    }
+
+    @Override
+    public int getRows() {
+        return data.length;
+    }
+
+    @Override
+    public int getCols() {
+        return cols;
+    }
+
+    @Override
+    public double get(int row, int col) {
+        return data[row][col];
+    }
+
+    @Override
+    public void set(int row, int col, double value) {
+        data[row][col] = value;
+    }
+
+    @Override
+    public StorageMode getMode() {
+        return StorageMode.ROWS;
+    }
+
+    @Override
+    public boolean hasArrayAccess() {
+        return true;
+    }
+
+    @Override
+    public double[] rowArray(int row) {
+        return data[row];
+    }
+
+    @Override
+    public int rowOffset(int row) {
+        return 0;
+    }
+
+    @Override
+    public void readRow(int row, double[] target, int offset) {
+        System.arraycopy(rowArray(row), rowOffset(row), target, offset, getCols());
+    }
+
+    @Override
+    public void writeRow(int row, double[] source, int offset) {
+        System.arraycopy(source, offset, rowArray(row), rowOffset(row), getCols());
+    }
+
+    /**
+     * Возвращает исходный двумерный массив.
+     *
+     * @return Двумерный массив элементов.
+     */
+    public double[][] getArray() {
+        return data;
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.matrix;
+
+/**
+ * Режим хранения элементов матрицы.
+ */
+public enum StorageMode {
+    /**
+     * Массив строк {@code double[][]}: каждая строка - отдельный объект в куче.
+     */
+    ROWS,
+    /**
+     * Один непрерывный массив {@code double[]} с построчным расположением элементов и явным шагом строки.
+     */
+    FLAT,
+    /**
+     * Буфер {@link java.nio.DoubleBuffer}, в том числе отображенный в память файл.
+     */
+    BUFFER,
+    /**
+     * Буфер {@link java.nio.FloatBuffer} с элементами одинарной точности: вдвое меньше памяти
+     * ценой округления значений до float при записи.
+     */
+    FLOAT32,
+    /**
+     * Сегменты прямых буферов вне кучи ({@link OffHeapStorage}) с индексацией типа long:
+     * количество элементов не ограничено размером массива, память освобождается явно.
+     */
+    OFF_HEAP
+}
@@ -0,0 +1,145 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма длительностей в наносекундах с логарифмическими корзинами.
+ * <p>
+ *     Каждая степень двойки делится на {@value #SUB_BUCKETS} корзины, поэтому относительная погрешность
+ *     оценки перцентиля не превышает 25%, а гистограмма занимает фиксированные ~2 КБ при любом
+ *     количестве измерений. Запись выполняется без блокировок и может вызываться из нескольких потоков;
+ *     чтение во время записи возвращает согласованное с точностью до нескольких последних измерений состояние.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS * (Long.SIZE - SUB_BUCKET_BITS);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Добавляет измерение.
+     *
+     * @param nanos Длительность в наносекундах. Отрицательные значения считаются нулем.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Возвращает количество измерений.
+     *
+     * @return Количество измерений.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Возвращает суммарную длительность всех измерений.
+     *
+     * @return Сумма в наносекундах.
+     */
+    public long getTotalNanos() {
+        return total.get();
+    }
+
+    /**
+     * Возвращает наибольшую длительность.
+     *
+     * @return Максимум в наносекундах или 0, если измерений нет.
+     */
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Возвращает среднюю длительность.
+     *
+     * @return Среднее в наносекундах или 0, если измерений нет.
+     */
+    public long getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : total.get() / n;
+    }
+
+    /**
+     * Оценивает перцентиль длительности верхней границей корзины, в которую он попадает.
+     *
+     * @param percentile Перцентиль от 0 до 100.
+     * @return Оценка в наносекундах (не больше максимума) или 0, если измерений нет.
+     * @throws IllegalArgumentException Если перцентиль вне диапазона [0, 100].
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Перцентиль должен быть в диапазоне от 0 до 100");
+        }
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Сбрасывает все измерения.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Вычисляет номер корзины для значения: старший бит задает степень двойки,
+     * следующие {@value #SUB_BUCKET_BITS} бита - корзину внутри нее.
+     *
+     * @param value Неотрицательное значение.
+     * @return Номер корзины.
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return SUB_BUCKETS * (shift + 1) + sub;
+    }
+
+    /**
+     * Возвращает наибольшее значение, попадающее в корзину.
+     *
+     * @param index Номер корзины.
+     * @return Верхняя граница корзины включительно.
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
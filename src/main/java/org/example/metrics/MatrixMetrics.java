@@ -0,0 +1,212 @@
+package org.example.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Класс {@code MatrixMetrics} собирает статистику выполнения операций над матрицами по названиям операций.
+ * <p>
+ *     Источники метрик ({@link org.example.operations.MatrixOperations}, {@link org.example.file.FileReader})
+ *     записывают длительность, количество операций с плавающей точкой, объем данных и оценку выделенной
+ *     памяти каждого вызова в {@link OperationStats}. Статистика доступна через JMX
+ *     ({@link #registerMBeans()}) и в виде текстового или JSON-отчета ({@link #dumpText()}, {@link #dumpJson()}).
+ * </p>
+ * <p>
+ *     Запись выполняется без блокировок; стоимость одного измерения - два вызова {@link System#nanoTime()}
+ *     и несколько атомарных сложений, что пренебрежимо мало по сравнению с операциями над матрицами.
+ * </p>
+ */
+public class MatrixMetrics implements MatrixMetricsMXBean {
+
+    /**
+     * Домен имен JMX для метрик.
+     */
+    public static final String JMX_DOMAIN = "org.example.matrix";
+
+    private final Map<String, OperationStats> operations = new ConcurrentSkipListMap<>();
+    private final Map<String, ObjectName> registered = new ConcurrentHashMap<>();
+    private volatile MBeanServer server;
+    private ObjectName metricsName;
+
+    /**
+     * Добавляет результат одного выполнения операции.
+     *
+     * @param operation      Название операции.
+     * @param nanos          Длительность в наносекундах.
+     * @param flops          Количество операций с плавающей точкой.
+     * @param bytes          Объем прочитанных и записанных данных в байтах.
+     * @param allocatedBytes Оценка объема выделенной памяти в байтах.
+     */
+    public void record(String operation, long nanos, long flops, long bytes, long allocatedBytes) {
+        stats(operation).record(nanos, flops, bytes, allocatedBytes);
+    }
+
+    /**
+     * Возвращает статистику операции, создавая ее при первом обращении.
+     *
+     * @param operation Название операции.
+     * @return Статистика операции.
+     */
+    public OperationStats stats(String operation) {
+        OperationStats stats = operations.get(operation);
+        if (stats == null) {
+            stats = operations.computeIfAbsent(operation, OperationStats::new);
+            MBeanServer current = server;
+            if (current != null) {
+                register(current, stats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Регистрирует метрики в платформенном сервере JMX: сам набор под именем
+     * {@code org.example.matrix:type=Metrics} и статистику каждой операции под именем
+     * {@code org.example.matrix:type=Operation,name=<операция>}, в том числе операций, появившихся позже.
+     *
+     * @throws IllegalStateException Если метрики с такими именами уже зарегистрированы.
+     */
+    public void registerMBeans() {
+        MBeanServer platform = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Metrics");
+            platform.registerMBean(this, name);
+            metricsName = name;
+        } catch (InstanceAlreadyExistsException e) {
+            throw new IllegalStateException("Метрики уже зарегистрированы в JMX", e);
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать метрики в JMX: " + e.getMessage(), e);
+        }
+        server = platform;
+        for (OperationStats stats : operations.values()) {
+            register(platform, stats);
+        }
+    }
+
+    /**
+     * Удаляет метрики из сервера JMX. Повторный вызов ничего не делает.
+     */
+    public void unregisterMBeans() {
+        MBeanServer current = server;
+        server = null;
+        if (current == null) {
+            return;
+        }
+        List<ObjectName> names = new ArrayList<>(registered.values());
+        names.add(metricsName);
+        registered.clear();
+        metricsName = null;
+        for (ObjectName name : names) {
+            try {
+                current.unregisterMBean(name);
+            } catch (InstanceNotFoundException ignored) {
+                // Уже удалено извне
+            } catch (JMException e) {
+                throw new IllegalStateException("Не удалось удалить метрики из JMX: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public String[] getOperationNames() {
+        return operations.keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public String dumpText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "%-22s %8s %12s %10s %10s %10s %10s %9s %12s %12s%n",
+                "operation", "count", "total_ms", "mean_us", "p50_us", "p99_us", "max_us",
+                "gflop/s", "mbytes", "alloc_mb"));
+        for (OperationStats stats : operations.values()) {
+            if (stats.getCount() == 0) {
+                continue;
+            }
+            text.append(String.format(Locale.ROOT, "%-22s %8d %12.3f %10d %10d %10d %10d %9.3f %12.3f %12.3f%n",
+                    stats.getName(), stats.getCount(), stats.getLatency().getTotalNanos() / 1e6,
+                    stats.getMeanMicros(), stats.getP50Micros(), stats.getP99Micros(), stats.getMaxMicros(),
+                    stats.getGflopsPerSecond(), stats.getBytes() / 1e6, stats.getAllocatedBytes() / 1e6));
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String dumpJson() {
+        List<String> entries = new ArrayList<>();
+        for (OperationStats stats : operations.values()) {
+            if (stats.getCount() == 0) {
+                continue;
+            }
+            LatencyHistogram latency = stats.getLatency();
+            entries.add(String.format(Locale.ROOT,
+                    "{\"name\":\"%s\",\"count\":%d,\"totalNanos\":%d,\"meanNanos\":%d,\"p50Nanos\":%d,"
+                            + "\"p90Nanos\":%d,\"p99Nanos\":%d,\"maxNanos\":%d,\"flops\":%d,\"bytes\":%d,"
+                            + "\"allocatedBytes\":%d}",
+                    escapeJson(stats.getName()), stats.getCount(), latency.getTotalNanos(), latency.getMeanNanos(),
+                    latency.getPercentileNanos(50), latency.getPercentileNanos(90), latency.getPercentileNanos(99),
+                    latency.getMaxNanos(), stats.getFlops(), stats.getBytes(), stats.getAllocatedBytes()));
+        }
+        return "{\"operations\":[" + String.join(",", entries) + "]}";
+    }
+
+    @Override
+    public void reset() {
+        for (OperationStats stats : operations.values()) {
+            stats.reset();
+        }
+    }
+
+    /**
+     * Регистрирует статистику операции в сервере JMX, если она еще не зарегистрирована.
+     *
+     * @param target Сервер JMX.
+     * @param stats  Статистика операции.
+     */
+    private void register(MBeanServer target, OperationStats stats) {
+        try {
+            ObjectName name = new ObjectName(JMX_DOMAIN + ":type=Operation,name=" + ObjectName.quote(stats.getName()));
+            if (registered.putIfAbsent(stats.getName(), name) == null) {
+                target.registerMBean(stats, name);
+            }
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Недопустимое название операции: " + stats.getName(), e);
+        } catch (InstanceAlreadyExistsException e) {
+            // Операция с тем же названием уже зарегистрирована другим набором метрик: ее не удаляем
+            registered.remove(stats.getName());
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать метрики в JMX: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Экранирует строку для вставки в JSON.
+     *
+     * @param value Строка.
+     * @return Экранированная строка без кавычек по краям.
+     */
+    private static String escapeJson(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20) {
+                escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
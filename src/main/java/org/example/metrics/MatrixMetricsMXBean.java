@@ -0,0 +1,33 @@
+package org.example.metrics;
+
+/**
+ * Интерфейс управления JMX набора метрик операций над матрицами.
+ */
+public interface MatrixMetricsMXBean {
+
+    /**
+     * Возвращает названия операций, для которых собрана статистика.
+     *
+     * @return Названия операций в алфавитном порядке.
+     */
+    String[] getOperationNames();
+
+    /**
+     * Формирует отчет по всем операциям в виде текстовой таблицы.
+     *
+     * @return Текстовый отчет.
+     */
+    String dumpText();
+
+    /**
+     * Формирует отчет по всем операциям в формате JSON.
+     *
+     * @return Отчет в формате JSON.
+     */
+    String dumpJson();
+
+    /**
+     * Сбрасывает статистику всех операций.
+     */
+    void reset();
+}
@@ -0,0 +1,121 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Статистика одной операции над матрицами: гистограмма длительностей, количество операций
+ * с плавающей точкой, объем обработанных данных и оценка объема выделенной памяти.
+ * <p>
+ *     Объем данных и операций оценивается вызывающей стороной по размерам операндов
+ *     (например, 2mkn операций для умножения m x k на k x n), а не измеряется счетчиками процессора.
+ *     Методы потокобезопасны.
+ * </p>
+ */
+public final class OperationStats implements OperationStatsMXBean {
+
+    private static final long NANOS_PER_MICRO = 1_000;
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder flops = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    /**
+     * Создает пустую статистику операции.
+     *
+     * @param name Название операции.
+     */
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Добавляет результат одного выполнения операции.
+     *
+     * @param nanos          Длительность в наносекундах.
+     * @param flops          Количество операций с плавающей точкой.
+     * @param bytes          Объем прочитанных и записанных данных в байтах.
+     * @param allocatedBytes Оценка объема выделенной памяти в байтах.
+     */
+    void record(long nanos, long flops, long bytes, long allocatedBytes) {
+        latency.record(nanos);
+        this.flops.add(flops);
+        this.bytes.add(bytes);
+        this.allocatedBytes.add(allocatedBytes);
+    }
+
+    /**
+     * Возвращает гистограмму длительностей.
+     *
+     * @return Гистограмма в наносекундах.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getTotalMicros() {
+        return latency.getTotalNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getMeanMicros() {
+        return latency.getMeanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getP50Micros() {
+        return latency.getPercentileNanos(50) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getP99Micros() {
+        return latency.getPercentileNanos(99) / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return latency.getMaxNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getFlops() {
+        return flops.sum();
+    }
+
+    @Override
+    public double getGflopsPerSecond() {
+        long nanos = latency.getTotalNanos();
+        // Операций на наносекунду - это миллиарды операций в секунду
+        return nanos == 0 ? 0 : (double) flops.sum() / nanos;
+    }
+
+    @Override
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        flops.reset();
+        bytes.reset();
+        allocatedBytes.reset();
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.metrics;
+
+/**
+ * Интерфейс управления JMX статистики одной операции над матрицами.
+ * Длительности возвращаются в микросекундах, объемы - в байтах.
+ */
+public interface OperationStatsMXBean {
+
+    /**
+     * Возвращает название операции.
+     *
+     * @return Название операции.
+     */
+    String getName();
+
+    /**
+     * Возвращает количество выполненных операций.
+     *
+     * @return Количество вызовов.
+     */
+    long getCount();
+
+    /**
+     * Возвращает суммарное время выполнения.
+     *
+     * @return Время в микросекундах.
+     */
+    long getTotalMicros();
+
+    /**
+     * Возвращает среднее время выполнения.
+     *
+     * @return Время в микросекундах.
+     */
+    long getMeanMicros();
+
+    /**
+     * Возвращает оценку медианы времени выполнения.
+     *
+     * @return Время в микросекундах.
+     */
+    long getP50Micros();
+
+    /**
+     * Возвращает оценку 99-го перцентиля времени выполнения.
+     *
+     * @return Время в микросекундах.
+     */
+    long getP99Micros();
+
+    /**
+     * Возвращает наибольшее время выполнения.
+     *
+     * @return Время в микросекундах.
+     */
+    long getMaxMicros();
+
+    /**
+     * Возвращает суммарное количество операций с плавающей точкой.
+     *
+     * @return Количество операций с плавающей точкой.
+     */
+    long getFlops();
+
+    /**
+     * Возвращает среднюю производительность за все время выполнения.
+     *
+     * @return Миллиарды операций с плавающей точкой в секунду.
+     */
+    double getGflopsPerSecond();
+
+    /**
+     * Возвращает суммарный объем прочитанных и записанных данных.
+     *
+     * @return Объем в байтах.
+     */
+    long getBytes();
+
+    /**
+     * Возвращает оценку суммарного объема выделенной памяти.
+     *
+     * @return Объем в байтах.
+     */
+    long getAllocatedBytes();
+
+    /**
+     * Сбрасывает статистику операции.
+     */
+    void reset();
+}
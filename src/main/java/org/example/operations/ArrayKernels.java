@@ -0,0 +1,100 @@
+package org.example.operations;
+
+/**
+ * Интерфейс {@code ArrayKernels} описывает базовые вычислительные ядра над участками массивов.
+ * <p>
+ *     Существуют две реализации: скалярная, работающая на любой JVM, и векторная на основе
+ *     {@code jdk.incubator.vector}. Векторная реализация загружается только при наличии модуля
+ *     в загрузочном слое JVM (параметр {@code --add-modules jdk.incubator.vector}),
+ *     иначе автоматически используется скалярная.
+ * </p>
+ */
+interface ArrayKernels {
+
+    /**
+     * Системное свойство, включающее векторные ядра по умолчанию.
+     */
+    String SIMD_PROPERTY = "matrix.simd";
+
+    /**
+     * Вычисляет c[i] = a[i] + b[i].
+     */
+    void add(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length);
+
+    /**
+     * Вычисляет c[i] = a[i] - b[i].
+     */
+    void subtract(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length);
+
+    /**
+     * Вычисляет c[i] = a[i] * scalar.
+     */
+    void scale(double[] a, int aOffset, double scalar, double[] c, int cOffset, int length);
+
+    /**
+     * Вычисляет y[i] += alpha * x[i] (внутренний цикл умножения матриц).
+     */
+    void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length);
+
+    /**
+     * Возвращает сумму элементов участка массива.
+     */
+    double sum(double[] a, int offset, int length);
+
+    /**
+     * Возвращает сумму квадратов элементов участка массива.
+     */
+    double sumOfSquares(double[] a, int offset, int length);
+
+    /**
+     * Проверяет, использует ли реализация векторные инструкции.
+     *
+     * @return true для векторной реализации.
+     */
+    boolean isVectorized();
+
+    /**
+     * Возвращает набор ядер: векторный, если он запрошен и доступен, иначе скалярный.
+     *
+     * @param vectorized Запрошены ли векторные ядра.
+     * @return Набор ядер.
+     */
+    static ArrayKernels select(boolean vectorized) {
+        if (vectorized && VectorHolder.INSTANCE != null) {
+            return VectorHolder.INSTANCE;
+        }
+        return ScalarArrayKernels.INSTANCE;
+    }
+
+    /**
+     * Проверяет, доступны ли векторные ядра в текущей JVM.
+     *
+     * @return true, если модуль {@code jdk.incubator.vector} загружен.
+     */
+    static boolean isVectorAvailable() {
+        return VectorHolder.INSTANCE != null;
+    }
+
+    /**
+     * Отложенная загрузка векторной реализации.
+     */
+    final class VectorHolder {
+        private static final ArrayKernels INSTANCE = load();
+
+        private VectorHolder() {
+        }
+
+        private static ArrayKernels load() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                return null;
+            }
+            try {
+                return (ArrayKernels) Class.forName("org.example.operations.VectorArrayKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,639 @@
+package org.example.operations;
+
+/**
+ * Вычислительные ядра операций над пакетами маленьких матриц {@link org.example.matrix.MatrixBatch}.
+ * <p>
+ *     Ядра обрабатывают матрицы пакета с номерами в диапазоне [from, to) и не проверяют размеры:
+ *     размеры проверяются в {@link MatrixOperations}. Для квадратных матриц 2x2, 3x3 и 4x4 ядра
+ *     развернуты полностью: элементы матрицы читаются в локальные переменные, результат вычисляется
+ *     явными формулами без циклов и обращений к массиву внутри вычисления. Для размеров от 5 до 8
+ *     умножение выполняется отдельным ядром на каждый размер с размером-константой в циклах:
+ *     JIT-компилятор знает количество итераций и полностью разворачивает внутренние циклы
+ *     (размер, переданный параметром, такой оптимизации не допускает). Остальные размеры
+ *     обрабатываются общими циклами.
+ * </p>
+ * <p>
+ *     Обращение 2x2-4x4 выполняется по формулам через алгебраические дополнения, а определитель -
+ *     разложением по строке; это точно для целочисленных данных и достаточно устойчиво для хорошо
+ *     обусловленных матриц. Для больших размеров используется исключение Гаусса с частичным
+ *     выбором ведущего элемента.
+ * </p>
+ */
+final class BatchKernels {
+
+    private BatchKernels() {
+    }
+
+    /**
+     * Перемножает матрицы пакетов попарно: C[p] = A[p] * B[p].
+     *
+     * @param a    Элементы пакета A (матрицы m x k).
+     * @param b    Элементы пакета B (матрицы k x n).
+     * @param c    Элементы пакета результата (матрицы m x n).
+     * @param m    Количество строк матриц A.
+     * @param k    Количество столбцов A и строк B.
+     * @param n    Количество столбцов матриц B.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    static void multiply(double[] a, double[] b, double[] c, int m, int k, int n, int from, int to) {
+        if (m == k && k == n) {
+            switch (n) {
+                case 2 -> multiply2(a, b, c, from, to);
+                case 3 -> multiply3(a, b, c, from, to);
+                case 4 -> multiply4(a, b, c, from, to);
+                case 5 -> multiply5(a, b, c, from, to);
+                case 6 -> multiply6(a, b, c, from, to);
+                case 7 -> multiply7(a, b, c, from, to);
+                case 8 -> multiply8(a, b, c, from, to);
+                default -> multiplyGeneral(a, b, c, m, k, n, from, to);
+            }
+        } else {
+            multiplyGeneral(a, b, c, m, k, n, from, to);
+        }
+    }
+
+    /**
+     * Вычисляет определители квадратных матриц пакета.
+     *
+     * @param a    Элементы пакета (матрицы n x n).
+     * @param n    Размер матриц.
+     * @param out  Массив определителей, по одному на матрицу пакета.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    static void determinant(double[] a, int n, double[] out, int from, int to) {
+        switch (n) {
+            case 1 -> System.arraycopy(a, from, out, from, to - from);
+            case 2 -> {
+                for (int p = from; p < to; p++) {
+                    out[p] = determinant2(a, p * 4);
+                }
+            }
+            case 3 -> {
+                for (int p = from; p < to; p++) {
+                    out[p] = determinant3(a, p * 9);
+                }
+            }
+            case 4 -> {
+                for (int p = from; p < to; p++) {
+                    out[p] = determinant4(a, p * 16);
+                }
+            }
+            default -> {
+                double[] scratch = new double[n * n];
+                for (int p = from; p < to; p++) {
+                    System.arraycopy(a, p * n * n, scratch, 0, n * n);
+                    out[p] = eliminate(scratch, null, n, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Обращает квадратные матрицы пакета.
+     *
+     * @param a    Элементы пакета (матрицы n x n).
+     * @param c    Элементы пакета результата.
+     * @param n    Размер матриц.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     * @return Номер первой вырожденной матрицы в диапазоне или -1, если все матрицы обратимы.
+     *         Обработка диапазона прекращается на первой вырожденной матрице.
+     */
+    static int inverse(double[] a, double[] c, int n, int from, int to) {
+        switch (n) {
+            case 2 -> {
+                return inverse2(a, c, from, to);
+            }
+            case 3 -> {
+                return inverse3(a, c, from, to);
+            }
+            case 4 -> {
+                return inverse4(a, c, from, to);
+            }
+            default -> {
+                int size = n * n;
+                double[] scratch = new double[size];
+                for (int p = from; p < to; p++) {
+                    int o = p * size;
+                    System.arraycopy(a, o, scratch, 0, size);
+                    for (int i = 0; i < size; i++) {
+                        c[o + i] = 0.0;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        c[o + i * n + i] = 1.0;
+                    }
+                    if (eliminate(scratch, c, n, o) == 0.0) {
+                        return p;
+                    }
+                }
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Перемножает пары матриц 2x2.
+     *
+     * @param a    Элементы пакета A.
+     * @param b    Элементы пакета B.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiply2(double[] a, double[] b, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 4;
+            double a00 = a[o], a01 = a[o + 1], a10 = a[o + 2], a11 = a[o + 3];
+            double b00 = b[o], b01 = b[o + 1], b10 = b[o + 2], b11 = b[o + 3];
+            c[o] = a00 * b00 + a01 * b10;
+            c[o + 1] = a00 * b01 + a01 * b11;
+            c[o + 2] = a10 * b00 + a11 * b10;
+            c[o + 3] = a10 * b01 + a11 * b11;
+        }
+    }
+
+    /**
+     * Перемножает пары матриц 3x3.
+     *
+     * @param a    Элементы пакета A.
+     * @param b    Элементы пакета B.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiply3(double[] a, double[] b, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 9;
+            double b00 = b[o], b01 = b[o + 1], b02 = b[o + 2];
+            double b10 = b[o + 3], b11 = b[o + 4], b12 = b[o + 5];
+            double b20 = b[o + 6], b21 = b[o + 7], b22 = b[o + 8];
+
+            double a0 = a[o], a1 = a[o + 1], a2 = a[o + 2];
+            c[o] = a0 * b00 + a1 * b10 + a2 * b20;
+            c[o + 1] = a0 * b01 + a1 * b11 + a2 * b21;
+            c[o + 2] = a0 * b02 + a1 * b12 + a2 * b22;
+
+            a0 = a[o + 3];
+            a1 = a[o + 4];
+            a2 = a[o + 5];
+            c[o + 3] = a0 * b00 + a1 * b10 + a2 * b20;
+            c[o + 4] = a0 * b01 + a1 * b11 + a2 * b21;
+            c[o + 5] = a0 * b02 + a1 * b12 + a2 * b22;
+
+            a0 = a[o + 6];
+            a1 = a[o + 7];
+            a2 = a[o + 8];
+            c[o + 6] = a0 * b00 + a1 * b10 + a2 * b20;
+            c[o + 7] = a0 * b01 + a1 * b11 + a2 * b21;
+            c[o + 8] = a0 * b02 + a1 * b12 + a2 * b22;
+        }
+    }
+
+    /**
+     * Перемножает пары матриц 4x4.
+     *
+     * @param a    Элементы пакета A.
+     * @param b    Элементы пакета B.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiply4(double[] a, double[] b, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 16;
+            double b00 = b[o], b01 = b[o + 1], b02 = b[o + 2], b03 = b[o + 3];
+            double b10 = b[o + 4], b11 = b[o + 5], b12 = b[o + 6], b13 = b[o + 7];
+            double b20 = b[o + 8], b21 = b[o + 9], b22 = b[o + 10], b23 = b[o + 11];
+            double b30 = b[o + 12], b31 = b[o + 13], b32 = b[o + 14], b33 = b[o + 15];
+
+            double a0 = a[o], a1 = a[o + 1], a2 = a[o + 2], a3 = a[o + 3];
+            c[o] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            c[o + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            c[o + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            c[o + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+
+            a0 = a[o + 4];
+            a1 = a[o + 5];
+            a2 = a[o + 6];
+            a3 = a[o + 7];
+            c[o + 4] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            c[o + 5] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            c[o + 6] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            c[o + 7] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+
+            a0 = a[o + 8];
+            a1 = a[o + 9];
+            a2 = a[o + 10];
+            a3 = a[o + 11];
+            c[o + 8] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            c[o + 9] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            c[o + 10] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            c[o + 11] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+
+            a0 = a[o + 12];
+            a1 = a[o + 13];
+            a2 = a[o + 14];
+            a3 = a[o + 15];
+            c[o + 12] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            c[o + 13] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            c[o + 14] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            c[o + 15] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+    }
+
+    /**
+     * Перемножает пары матриц 5x5.
+     *
+     * @param a    Элементы пакета A.
+     * @param b    Элементы пакета B.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiply5(double[] a, double[] b, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 25;
+            for (int i = o; i < o + 25; i += 5) {
+                double factor = a[i];
+                for (int j = 0; j < 5; j++) {
+                    c[i + j] = factor * b[o + j];
+                }
+                for (int k = 1; k < 5; k++) {
+                    factor = a[i + k];
+                    int bRow = o + k * 5;
+                    for (int j = 0; j < 5; j++) {
+                        c[i + j] += factor * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Перемножает пары матриц 6x6.
+     *
+     * @param a    Элементы пакета A.
+     * @param b    Элементы пакета B.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiply6(double[] a, double[] b, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 36;
+            for (int i = o; i < o + 36; i += 6) {
+                double factor = a[i];
+                for (int j = 0; j < 6; j++) {
+                    c[i + j] = factor * b[o + j];
+                }
+                for (int k = 1; k < 6; k++) {
+                    factor = a[i + k];
+                    int bRow = o + k * 6;
+                    for (int j = 0; j < 6; j++) {
+                        c[i + j] += factor * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Перемножает пары матриц 7x7.
+     *
+     * @param a    Элементы пакета A.
+     * @param b    Элементы пакета B.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiply7(double[] a, double[] b, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 49;
+            for (int i = o; i < o + 49; i += 7) {
+                double factor = a[i];
+                for (int j = 0; j < 7; j++) {
+                    c[i + j] = factor * b[o + j];
+                }
+                for (int k = 1; k < 7; k++) {
+                    factor = a[i + k];
+                    int bRow = o + k * 7;
+                    for (int j = 0; j < 7; j++) {
+                        c[i + j] += factor * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Перемножает пары матриц 8x8.
+     *
+     * @param a    Элементы пакета A.
+     * @param b    Элементы пакета B.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiply8(double[] a, double[] b, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 64;
+            for (int i = o; i < o + 64; i += 8) {
+                double factor = a[i];
+                for (int j = 0; j < 8; j++) {
+                    c[i + j] = factor * b[o + j];
+                }
+                for (int k = 1; k < 8; k++) {
+                    factor = a[i + k];
+                    int bRow = o + k * 8;
+                    for (int j = 0; j < 8; j++) {
+                        c[i + j] += factor * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Перемножает пары матриц произвольного размера.
+     *
+     * @param a    Элементы пакета A (матрицы m x k).
+     * @param b    Элементы пакета B (матрицы k x n).
+     * @param c    Элементы пакета результата (матрицы m x n).
+     * @param m    Количество строк матриц A.
+     * @param k    Количество столбцов A и строк B.
+     * @param n    Количество столбцов матриц B.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     */
+    private static void multiplyGeneral(double[] a, double[] b, double[] c, int m, int k, int n, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int ao = p * m * k;
+            int bo = p * k * n;
+            int co = p * m * n;
+            for (int i = 0; i < m; i++) {
+                int cRow = co + i * n;
+                for (int j = 0; j < n; j++) {
+                    c[cRow + j] = 0.0;
+                }
+                for (int l = 0; l < k; l++) {
+                    double factor = a[ao + i * k + l];
+                    int bRow = bo + l * n;
+                    for (int j = 0; j < n; j++) {
+                        c[cRow + j] += factor * b[bRow + j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Вычисляет определитель матрицы 2x2.
+     *
+     * @param a Элементы пакета.
+     * @param o Позиция первого элемента матрицы.
+     * @return Определитель.
+     */
+    private static double determinant2(double[] a, int o) {
+        return a[o] * a[o + 3] - a[o + 1] * a[o + 2];
+    }
+
+    /**
+     * Вычисляет определитель матрицы 3x3 разложением по первой строке.
+     *
+     * @param a Элементы пакета.
+     * @param o Позиция первого элемента матрицы.
+     * @return Определитель.
+     */
+    private static double determinant3(double[] a, int o) {
+        double a00 = a[o], a01 = a[o + 1], a02 = a[o + 2];
+        double a10 = a[o + 3], a11 = a[o + 4], a12 = a[o + 5];
+        double a20 = a[o + 6], a21 = a[o + 7], a22 = a[o + 8];
+        return a00 * (a11 * a22 - a12 * a21) - a01 * (a10 * a22 - a12 * a20) + a02 * (a10 * a21 - a11 * a20);
+    }
+
+    /**
+     * Вычисляет определитель матрицы 4x4 разложением по первой строке
+     * с общими минорами 2x2 двух нижних строк.
+     *
+     * @param a Элементы пакета.
+     * @param o Позиция первого элемента матрицы.
+     * @return Определитель.
+     */
+    private static double determinant4(double[] a, int o) {
+        double a00 = a[o], a01 = a[o + 1], a02 = a[o + 2], a03 = a[o + 3];
+        double a10 = a[o + 4], a11 = a[o + 5], a12 = a[o + 6], a13 = a[o + 7];
+        double a20 = a[o + 8], a21 = a[o + 9], a22 = a[o + 10], a23 = a[o + 11];
+        double a30 = a[o + 12], a31 = a[o + 13], a32 = a[o + 14], a33 = a[o + 15];
+        double s0 = a20 * a31 - a21 * a30;
+        double s1 = a20 * a32 - a22 * a30;
+        double s2 = a20 * a33 - a23 * a30;
+        double s3 = a21 * a32 - a22 * a31;
+        double s4 = a21 * a33 - a23 * a31;
+        double s5 = a22 * a33 - a23 * a32;
+        return a00 * (a11 * s5 - a12 * s4 + a13 * s3)
+                - a01 * (a10 * s5 - a12 * s2 + a13 * s1)
+                + a02 * (a10 * s4 - a11 * s2 + a13 * s0)
+                - a03 * (a10 * s3 - a11 * s1 + a12 * s0);
+    }
+
+    /**
+     * Обращает матрицы 2x2.
+     *
+     * @param a    Элементы пакета.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     * @return Номер первой вырожденной матрицы или -1.
+     */
+    private static int inverse2(double[] a, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 4;
+            double a00 = a[o], a01 = a[o + 1], a10 = a[o + 2], a11 = a[o + 3];
+            double det = a00 * a11 - a01 * a10;
+            if (det == 0.0) {
+                return p;
+            }
+            double inv = 1.0 / det;
+            c[o] = a11 * inv;
+            c[o + 1] = -a01 * inv;
+            c[o + 2] = -a10 * inv;
+            c[o + 3] = a00 * inv;
+        }
+        return -1;
+    }
+
+    /**
+     * Обращает матрицы 3x3 через присоединенную матрицу.
+     *
+     * @param a    Элементы пакета.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     * @return Номер первой вырожденной матрицы или -1.
+     */
+    private static int inverse3(double[] a, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 9;
+            double a00 = a[o], a01 = a[o + 1], a02 = a[o + 2];
+            double a10 = a[o + 3], a11 = a[o + 4], a12 = a[o + 5];
+            double a20 = a[o + 6], a21 = a[o + 7], a22 = a[o + 8];
+            double c00 = a11 * a22 - a12 * a21;
+            double c01 = a12 * a20 - a10 * a22;
+            double c02 = a10 * a21 - a11 * a20;
+            double det = a00 * c00 + a01 * c01 + a02 * c02;
+            if (det == 0.0) {
+                return p;
+            }
+            double inv = 1.0 / det;
+            c[o] = c00 * inv;
+            c[o + 1] = (a02 * a21 - a01 * a22) * inv;
+            c[o + 2] = (a01 * a12 - a02 * a11) * inv;
+            c[o + 3] = c01 * inv;
+            c[o + 4] = (a00 * a22 - a02 * a20) * inv;
+            c[o + 5] = (a02 * a10 - a00 * a12) * inv;
+            c[o + 6] = c02 * inv;
+            c[o + 7] = (a01 * a20 - a00 * a21) * inv;
+            c[o + 8] = (a00 * a11 - a01 * a10) * inv;
+        }
+        return -1;
+    }
+
+    /**
+     * Обращает матрицы 4x4 через присоединенную матрицу: миноры 2x2 двух верхних (s)
+     * и двух нижних (t) строк используются повторно для всех алгебраических дополнений.
+     *
+     * @param a    Элементы пакета.
+     * @param c    Элементы пакета результата.
+     * @param from Первая матрица (включительно).
+     * @param to   Последняя матрица (не включительно).
+     * @return Номер первой вырожденной матрицы или -1.
+     */
+    private static int inverse4(double[] a, double[] c, int from, int to) {
+        for (int p = from; p < to; p++) {
+            int o = p * 16;
+            double a00 = a[o], a01 = a[o + 1], a02 = a[o + 2], a03 = a[o + 3];
+            double a10 = a[o + 4], a11 = a[o + 5], a12 = a[o + 6], a13 = a[o + 7];
+            double a20 = a[o + 8], a21 = a[o + 9], a22 = a[o + 10], a23 = a[o + 11];
+            double a30 = a[o + 12], a31 = a[o + 13], a32 = a[o + 14], a33 = a[o + 15];
+            double s0 = a00 * a11 - a10 * a01;
+            double s1 = a00 * a12 - a10 * a02;
+            double s2 = a00 * a13 - a10 * a03;
+            double s3 = a01 * a12 - a11 * a02;
+            double s4 = a01 * a13 - a11 * a03;
+            double s5 = a02 * a13 - a12 * a03;
+            double t0 = a20 * a31 - a30 * a21;
+            double t1 = a20 * a32 - a30 * a22;
+            double t2 = a20 * a33 - a30 * a23;
+            double t3 = a21 * a32 - a31 * a22;
+            double t4 = a21 * a33 - a31 * a23;
+            double t5 = a22 * a33 - a32 * a23;
+            double det = s0 * t5 - s1 * t4 + s2 * t3 + s3 * t2 - s4 * t1 + s5 * t0;
+            if (det == 0.0) {
+                return p;
+            }
+            double inv = 1.0 / det;
+            c[o] = (a11 * t5 - a12 * t4 + a13 * t3) * inv;
+            c[o + 1] = (-a01 * t5 + a02 * t4 - a03 * t3) * inv;
+            c[o + 2] = (a31 * s5 - a32 * s4 + a33 * s3) * inv;
+            c[o + 3] = (-a21 * s5 + a22 * s4 - a23 * s3) * inv;
+            c[o + 4] = (-a10 * t5 + a12 * t2 - a13 * t1) * inv;
+            c[o + 5] = (a00 * t5 - a02 * t2 + a03 * t1) * inv;
+            c[o + 6] = (-a30 * s5 + a32 * s2 - a33 * s1) * inv;
+            c[o + 7] = (a20 * s5 - a22 * s2 + a23 * s1) * inv;
+            c[o + 8] = (a10 * t4 - a11 * t2 + a13 * t0) * inv;
+            c[o + 9] = (-a00 * t4 + a01 * t2 - a03 * t0) * inv;
+            c[o + 10] = (a30 * s4 - a31 * s2 + a33 * s0) * inv;
+            c[o + 11] = (-a20 * s4 + a21 * s2 - a23 * s0) * inv;
+            c[o + 12] = (-a10 * t3 + a11 * t1 - a12 * t0) * inv;
+            c[o + 13] = (a00 * t3 - a01 * t1 + a02 * t0) * inv;
+            c[o + 14] = (-a30 * s3 + a31 * s1 - a32 * s0) * inv;
+            c[o + 15] = (a20 * s3 - a21 * s1 + a22 * s0) * inv;
+        }
+        return -1;
+    }
+
+    /**
+     * Приводит матрицу к единичной исключением Гаусса-Жордана с частичным выбором ведущего элемента,
+     * применяя те же преобразования строк к правой части, и вычисляет определитель.
+     * Если правая часть равна null, выполняется только прямой ход.
+     *
+     * @param m         Матрица n x n построчно; изменяется.
+     * @param rhs       Массив с правой частью n x n или null.
+     * @param n         Размер матрицы.
+     * @param rhsOffset Позиция правой части в массиве rhs.
+     * @return Определитель или 0, если матрица вырождена (тогда правая часть не определена).
+     */
+    private static double eliminate(double[] m, double[] rhs, int n, int rhsOffset) {
+        double det = 1.0;
+        for (int k = 0; k < n; k++) {
+            int pivot = k;
+            double max = Math.abs(m[k * n + k]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(m[i * n + k]);
+                if (value > max) {
+                    max = value;
+                    pivot = i;
+                }
+            }
+            if (max == 0.0) {
+                return 0.0;
+            }
+            if (pivot != k) {
+                swapRows(m, 0, n, k, pivot);
+                if (rhs != null) {
+                    swapRows(rhs, rhsOffset, n, k, pivot);
+                }
+                det = -det;
+            }
+            double pivotValue = m[k * n + k];
+            det *= pivotValue;
+            if (rhs == null) {
+                // Прямой ход: исключение только ниже ведущего элемента
+                for (int i = k + 1; i < n; i++) {
+                    double factor = m[i * n + k] / pivotValue;
+                    for (int j = k + 1; j < n; j++) {
+                        m[i * n + j] -= factor * m[k * n + j];
+                    }
+                }
+                continue;
+            }
+            double inv = 1.0 / pivotValue;
+            for (int j = 0; j < n; j++) {
+                m[k * n + j] *= inv;
+                rhs[rhsOffset + k * n + j] *= inv;
+            }
+            for (int i = 0; i < n; i++) {
+                double factor = m[i * n + k];
+                if (i == k || factor == 0.0) {
+                    continue;
+                }
+                for (int j = 0; j < n; j++) {
+                    m[i * n + j] -= factor * m[k * n + j];
+                    rhs[rhsOffset + i * n + j] -= factor * rhs[rhsOffset + k * n + j];
+                }
+            }
+        }
+        return det;
+    }
+
+    /**
+     * Меняет местами две строки матрицы n x n.
+     *
+     * @param m      Массив с матрицей.
+     * @param offset Позиция матрицы в массиве.
+     * @param n      Размер матрицы.
+     * @param row1   Первая строка.
+     * @param row2   Вторая строка.
+     */
+    private static void swapRows(double[] m, int offset, int n, int row1, int row2) {
+        int first = offset + row1 * n;
+        int second = offset + row2 * n;
+        for (int j = 0; j < n; j++) {
+            double tmp = m[first + j];
+            m[first + j] = m[second + j];
+            m[second + j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.operations;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+
+/**
+ * Класс {@code CholeskyDecomposition} выполняет разложение Холецкого A = LLᵀ симметричной
+ * положительно определенной матрицы.
+ * <p>
+ *     Разложение требует около n³/3 операций (вдвое меньше LU-разложения) и не нуждается в выборе
+ *     ведущего элемента. Исходная матрица не изменяется. Как и {@link LUDecomposition}, один объект
+ *     разложения используется для решения систем с любым количеством правых частей.
+ * </p>
+ */
+public class CholeskyDecomposition {
+
+    /**
+     * Допустимая относительная асимметрия элементов: |a(i, j) - a(j, i)| не больше этой доли
+     * наибольшего по модулю элемента матрицы.
+     */
+    private static final double SYMMETRY_TOLERANCE = 1e-12;
+
+    private final double[][] l;
+    private final int n;
+
+    /**
+     * Выполняет разложение Холецкого заданной матрицы.
+     *
+     * @param matrix Симметричная положительно определенная матрица.
+     * @throws MatrixException Если матрица не является квадратной, симметричной или положительно определенной.
+     */
+    public CholeskyDecomposition(Matrix matrix) throws MatrixException {
+        if (matrix.getRows() != matrix.getCols()) {
+            throw new MatrixException("Разложение Холецкого можно выполнить только для квадратной матрицы.");
+        }
+        this.n = matrix.getRows();
+        double[][] a = LUDecomposition.copyOf(matrix);
+        checkSymmetric(a);
+        this.l = decompose(a);
+    }
+
+    /**
+     * Выполняет разложение по строкам: элементы L вычисляются на месте нижнего треугольника рабочей копии.
+     *
+     * @param a Рабочая копия матрицы.
+     * @return Нижняя треугольная матрица L (элементы над диагональю равны нулю).
+     * @throws MatrixException Если матрица не является положительно определенной.
+     */
+    private double[][] decompose(double[][] a) throws MatrixException {
+        for (int i = 0; i < n; i++) {
+            double[] rowI = a[i];
+            for (int j = 0; j <= i; j++) {
+                double[] rowJ = a[j];
+                double sum = rowI[j];
+                for (int k = 0; k < j; k++) {
+                    sum -= rowI[k] * rowJ[k];
+                }
+                if (i == j) {
+                    if (!(sum > 0.0)) {
+                        throw new MatrixException("Матрица не является положительно определенной.");
+                    }
+                    rowI[i] = Math.sqrt(sum);
+                } else {
+                    rowI[j] = sum / rowJ[j];
+                }
+            }
+            for (int j = i + 1; j < n; j++) {
+                rowI[j] = 0.0;
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Решает систему AX = B.
+     *
+     * @param b Матрица правых частей с количеством строк, равным размеру A.
+     * @return Матрица решений X того же размера, что и B.
+     * @throws MatrixException Если количество строк B не равно размеру A.
+     */
+    public Matrix solve(Matrix b) throws MatrixException {
+        if (b.getRows() != n) {
+            throw new MatrixException("Количество строк правой части должно быть равно размеру матрицы системы.");
+        }
+        double[][] x = LUDecomposition.copyOf(b);
+        int cols = b.getCols();
+        // Прямой ход: LY = B
+        for (int k = 0; k < n; k++) {
+            double[] xk = x[k];
+            double diagonal = l[k][k];
+            for (int j = 0; j < cols; j++) {
+                xk[j] /= diagonal;
+            }
+            for (int i = k + 1; i < n; i++) {
+                LUDecomposition.subtractScaledRow(x[i], l[i][k], xk);
+            }
+        }
+        // Обратный ход: LᵀX = Y
+        for (int k = n - 1; k >= 0; k--) {
+            double[] xk = x[k];
+            double diagonal = l[k][k];
+            for (int j = 0; j < cols; j++) {
+                xk[j] /= diagonal;
+            }
+            double[] lk = l[k];
+            for (int i = 0; i < k; i++) {
+                LUDecomposition.subtractScaledRow(x[i], lk[i], xk);
+            }
+        }
+        return new Matrix(x);
+    }
+
+    /**
+     * Вычисляет обратную матрицу.
+     *
+     * @return Обратная матрица.
+     * @throws MatrixException Если решение системы завершилось ошибкой.
+     */
+    public Matrix inverse() throws MatrixException {
+        return solve(LUDecomposition.identity(n));
+    }
+
+    /**
+     * Возвращает определитель исходной матрицы как квадрат произведения диагональных элементов L.
+     *
+     * @return Определитель матрицы.
+     */
+    public double determinant() {
+        double product = 1.0;
+        for (int i = 0; i < n; i++) {
+            product *= l[i][i];
+        }
+        return product * product;
+    }
+
+    /**
+     * Возвращает нижнюю треугольную матрицу L.
+     *
+     * @return Копия матрицы L.
+     */
+    public Matrix getL() {
+        double[][] copy = new double[n][];
+        for (int i = 0; i < n; i++) {
+            copy[i] = l[i].clone();
+        }
+        return new Matrix(copy);
+    }
+
+    /**
+     * Проверяет симметричность матрицы с допуском {@link #SYMMETRY_TOLERANCE}.
+     *
+     * @param a Элементы матрицы.
+     * @throws MatrixException Если матрица не симметрична.
+     */
+    private void checkSymmetric(double[][] a) throws MatrixException {
+        double max = 0.0;
+        for (double[] row : a) {
+            for (double value : row) {
+                max = Math.max(max, Math.abs(value));
+            }
+        }
+        double tolerance = SYMMETRY_TOLERANCE * max;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                if (!(Math.abs(a[i][j] - a[j][i]) <= tolerance)) {
+                    throw new MatrixException("Разложение Холецкого можно выполнить только для симметричной матрицы.");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.operations;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Класс {@code ComputePool} распределяет вычисления над диапазоном индексов по ядрам процессора.
+ * <p>
+ *     Диапазон рекурсивно делится пополам до порции заданного размера, порции выполняются
+ *     задачами {@link ForkJoinPool}. Пул, созданный конструктором, принадлежит объекту
+ *     и завершается методом {@link #close()}; общий пул JVM не завершается.
+ * </p>
+ */
+public class ComputePool implements AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final boolean owned;
+
+    /**
+     * Создает пул с заданным количеством потоков.
+     *
+     * @param parallelism Количество потоков. Должно быть больше 0.
+     * @throws IllegalArgumentException Если количество потоков меньше или равно 0.
+     */
+    public ComputePool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Количество потоков должно быть больше 0");
+        }
+        this.pool = new ForkJoinPool(parallelism);
+        this.owned = true;
+    }
+
+    /**
+     * Создает обертку над существующим пулом без передачи владения.
+     *
+     * @param pool Пул потоков.
+     */
+    private ComputePool(ForkJoinPool pool) {
+        this.pool = pool;
+        this.owned = false;
+    }
+
+    /**
+     * Возвращает обертку над общим пулом {@link ForkJoinPool#commonPool()}.
+     *
+     * @return Пул, использующий общий пул JVM.
+     */
+    public static ComputePool common() {
+        return new ComputePool(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Возвращает количество потоков пула.
+     *
+     * @return Уровень параллелизма.
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Выполняет задачу над диапазоном [from, to), разбивая его на порции не больше grain элементов.
+     * Метод возвращает управление после завершения всех порций.
+     *
+     * @param from  Начало диапазона (включительно).
+     * @param to    Конец диапазона (не включительно).
+     * @param grain Максимальный размер порции. Должен быть больше 0.
+     * @param task  Задача, выполняемая над каждой порцией.
+     */
+    public void forRange(int from, int to, int grain, RangeTask task) {
+        if (to - from <= grain) {
+            task.run(from, to);
+            return;
+        }
+        pool.invoke(new RangeAction(from, to, Math.max(1, grain), task));
+    }
+
+    /**
+     * Выполняет независимые задачи параллельно и возвращает управление после завершения всех задач.
+     * Вызов из потока этого же пула не блокирует поток: задачи выполняются как вложенные задачи пула.
+     *
+     * @param tasks Задачи.
+     */
+    public void invokeAll(Runnable... tasks) {
+        ForkJoinTask<?>[] actions = new ForkJoinTask<?>[tasks.length];
+        for (int i = 0; i < tasks.length; i++) {
+            actions[i] = ForkJoinTask.adapt(tasks[i]);
+        }
+        if (ForkJoinTask.getPool() == pool) {
+            ForkJoinTask.invokeAll(actions);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(actions)));
+        }
+    }
+
+    /**
+     * Вычисляет размер порции так, чтобы на каждый поток приходилось несколько порций.
+     *
+     * @param size     Размер диапазона.
+     * @param minGrain Минимальный размер порции.
+     * @return Размер порции.
+     */
+    public int grainFor(int size, int minGrain) {
+        int chunks = getParallelism() * 4;
+        return Math.max(Math.max(1, minGrain), (size + chunks - 1) / chunks);
+    }
+
+    /**
+     * Завершает пул, если он был создан этим объектом.
+     */
+    @Override
+    public void close() {
+        if (owned) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Задача, выполняемая над порцией диапазона индексов.
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+        /**
+         * Обрабатывает индексы в диапазоне [from, to).
+         *
+         * @param from Начало порции (включительно).
+         * @param to   Конец порции (не включительно).
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * Рекурсивное деление диапазона индексов.
+     */
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeTask task;
+
+        RangeAction(int from, int to, int grain, RangeTask task) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                task.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeAction(from, mid, grain, task), new RangeAction(mid, to, grain, task));
+        }
+    }
+}
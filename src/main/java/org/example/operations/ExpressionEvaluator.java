@@ -0,0 +1,392 @@
+package org.example.operations;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.FlatArrayStorage;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixStorage;
+import org.example.matrix.StorageMode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Вычисление графа {@link MatrixExpression} с объединением поэлементных операций.
+ * <p>
+ *     Узлы графа делятся на материализуемые (листья, матричные произведения, корень и узлы
+ *     с несколькими потребителями) и объединяемые: поэлементный узел с единственным поэлементным
+ *     потребителем вычисляется внутри прохода потребителя. Каждая группа объединенных узлов
+ *     вычисляется одним проходом по строкам (или порциям непрерывных массивов); промежуточные значения
+ *     группы хранятся в буферах размером со строку, которые переиспользуются от строки к строке.
+ * </p>
+ * <p>
+ *     Материализованные промежуточные матрицы освобождаются после последнего чтения и используются повторно
+ *     как результат следующих групп того же размера. Поэлементные операции читают и пишут элементы с одинаковыми
+ *     индексами, поэтому результат группы может занимать матрицу ее же освобождаемого операнда.
+ *     Повторно используются только непрерывные матрицы {@link StorageMode#FLAT}; остальные промежуточные
+ *     матрицы (например, произведения матриц {@link StorageMode#FLOAT32} или {@link StorageMode#OFF_HEAP})
+ *     освобождаются методом {@link Matrix#release()} после завершения операции, прочитавшей их последней.
+ * </p>
+ */
+final class ExpressionEvaluator {
+
+    /**
+     * Длина порции при обработке непрерывных массивов: буферы порции помещаются в кэш L1/L2.
+     */
+    private static final int CHUNK_SIZE = 2048;
+
+    private final MatrixOperations operations;
+    private final ArrayKernels kernels;
+
+    private final List<MatrixExpression> order = new ArrayList<>();
+    private final Map<MatrixExpression, Integer> consumers = new IdentityHashMap<>();
+    private final Set<MatrixExpression> materialized = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<MatrixExpression, Integer> pendingReads = new IdentityHashMap<>();
+    private final Map<MatrixExpression, Matrix> values = new IdentityHashMap<>();
+    private final Set<Matrix> owned = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<Long, ArrayDeque<Matrix>> freeMatrices = new HashMap<>();
+    private final List<Matrix> retired = new ArrayList<>();
+
+    /**
+     * Создает вычислитель, использующий настройки заданного объекта операций.
+     *
+     * @param operations Операции над матрицами (умножение и параллельное выполнение).
+     * @param kernels    Ядра операций над массивами.
+     */
+    ExpressionEvaluator(MatrixOperations operations, ArrayKernels kernels) {
+        this.operations = operations;
+        this.kernels = kernels;
+    }
+
+    /**
+     * Вычисляет выражение.
+     *
+     * @param root Корень выражения.
+     * @return Значение выражения. Для выражения-листа возвращается исходная матрица.
+     * @throws MatrixException Если операция над матрицами завершилась ошибкой.
+     */
+    Matrix evaluate(MatrixExpression root) throws MatrixException {
+        collect(root);
+        for (MatrixExpression node : order) {
+            if (node.kind == MatrixExpression.Kind.MATRIX) {
+                values.put(node, node.matrix);
+            } else if (node == root || materialized.contains(node)) {
+                values.put(node, node.kind == MatrixExpression.Kind.MULTIPLY
+                        ? multiply(node)
+                        : evaluateFused(node));
+            }
+        }
+        return values.get(root);
+    }
+
+    /**
+     * Обходит граф в обратном порядке (операнды раньше операций), считает потребителей
+     * и определяет материализуемые узлы. Обход выполняется без рекурсии, чтобы длинные цепочки
+     * операций не переполняли стек.
+     *
+     * @param root Корень выражения.
+     */
+    private void collect(MatrixExpression root) {
+        ArrayDeque<MatrixExpression> stack = new ArrayDeque<>();
+        ArrayDeque<Boolean> expanded = new ArrayDeque<>();
+        Set<MatrixExpression> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        stack.push(root);
+        expanded.push(false);
+        while (!stack.isEmpty()) {
+            MatrixExpression node = stack.pop();
+            boolean childrenDone = expanded.pop();
+            if (childrenDone) {
+                order.add(node);
+                continue;
+            }
+            if (!visited.add(node)) {
+                continue;
+            }
+            stack.push(node);
+            expanded.push(true);
+            for (MatrixExpression child : new MatrixExpression[]{node.right, node.left}) {
+                if (child != null) {
+                    consumers.merge(child, 1, Integer::sum);
+                    if (!node.kind.isElementwise()) {
+                        materialized.add(child);
+                    }
+                    stack.push(child);
+                    expanded.push(false);
+                }
+            }
+        }
+        materialized.add(root);
+        for (MatrixExpression node : order) {
+            int count = consumers.getOrDefault(node, 0);
+            if (!node.kind.isElementwise() || count > 1) {
+                materialized.add(node);
+            }
+            if (materialized.contains(node)) {
+                pendingReads.put(node, count);
+            }
+        }
+    }
+
+    /**
+     * Вычисляет матричное произведение и освобождает операнды, которые больше не нужны.
+     *
+     * @param node Узел произведения.
+     * @return Произведение.
+     * @throws MatrixException Если операция умножения завершилась ошибкой.
+     */
+    private Matrix multiply(MatrixExpression node) throws MatrixException {
+        Matrix result = operations.multiply(values.get(node.left), values.get(node.right));
+        owned.add(result);
+        release(node.left);
+        release(node.right);
+        releaseRetired();
+        return result;
+    }
+
+    /**
+     * Вычисляет группу объединенных поэлементных операций одним проходом.
+     *
+     * @param root Корень группы.
+     * @return Матрица с результатом группы.
+     */
+    private Matrix evaluateFused(MatrixExpression root) {
+        List<Step> steps = new ArrayList<>();
+        List<MatrixExpression> inputs = new ArrayList<>();
+        compile(root, root, steps, inputs);
+
+        // Операнды освобождаются до выделения результата: результат может занять матрицу операнда
+        for (MatrixExpression input : inputs) {
+            release(input);
+        }
+        Matrix result = allocate(root.rows, root.cols);
+        FlatArrayStorage output = (FlatArrayStorage) result.getStorage();
+
+        Step[] program = steps.toArray(new Step[0]);
+        boolean contiguous = true;
+        for (Step step : program) {
+            if (step.input != null && !isContiguous(step.input)) {
+                contiguous = false;
+            }
+        }
+        int rows = root.rows;
+        int cols = root.cols;
+        if (contiguous) {
+            operations.forEachElementChunk(rows * cols, (from, to) -> {
+                Segment segment = new Segment(program, Math.min(CHUNK_SIZE, to - from));
+                for (int start = from; start < to; start += CHUNK_SIZE) {
+                    segment.runChunk(start, Math.min(CHUNK_SIZE, to - start), output);
+                }
+            });
+        } else {
+            operations.forEachRowBand(rows, cols, (from, to) -> {
+                Segment segment = new Segment(program, cols);
+                for (int i = from; i < to; i++) {
+                    segment.runRow(i, cols, output);
+                }
+            });
+        }
+        releaseRetired();
+        return result;
+    }
+
+    /**
+     * Переводит группу объединенных узлов в последовательность шагов (операнды раньше операций).
+     *
+     * @param node   Текущий узел.
+     * @param root   Корень группы.
+     * @param steps  Список шагов.
+     * @param inputs Материализованные узлы, читаемые группой (по одному на каждое чтение).
+     * @return Номер шага, вычисляющего значение узла.
+     */
+    private int compile(MatrixExpression node, MatrixExpression root, List<Step> steps, List<MatrixExpression> inputs) {
+        if (node != root && materialized.contains(node)) {
+            inputs.add(node);
+            steps.add(new Step(null, -1, -1, 0, null, values.get(node).getStorage()));
+            return steps.size() - 1;
+        }
+        int left = compile(node.left, root, steps, inputs);
+        int right = node.right != null ? compile(node.right, root, steps, inputs) : -1;
+        steps.add(new Step(node.kind, left, right, node.scalar, node.function, null));
+        return steps.size() - 1;
+    }
+
+    /**
+     * Отмечает одно чтение материализованного узла и освобождает его матрицу после последнего чтения.
+     * Непрерывная матрица {@link StorageMode#FLAT} становится доступной для повторного использования,
+     * остальные матрицы откладываются до {@link #releaseRetired()}: операция, вызвавшая освобождение,
+     * может еще читать их.
+     *
+     * @param node Материализованный узел.
+     */
+    private void release(MatrixExpression node) {
+        int remaining = pendingReads.merge(node, -1, Integer::sum);
+        Matrix matrix = values.get(node);
+        if (remaining == 0 && owned.remove(matrix)) {
+            if (isReusable(matrix)) {
+                freeMatrices.computeIfAbsent(sizeKey(matrix.getRows(), matrix.getCols()), key -> new ArrayDeque<>())
+                        .push(matrix);
+            } else {
+                retired.add(matrix);
+            }
+        }
+    }
+
+    /**
+     * Освобождает отложенные промежуточные матрицы после завершения операции, прочитавшей их последней.
+     */
+    private void releaseRetired() {
+        for (Matrix matrix : retired) {
+            matrix.release();
+        }
+        retired.clear();
+    }
+
+    /**
+     * Возвращает освобожденную матрицу заданного размера или создает новую.
+     *
+     * @param rows Количество строк.
+     * @param cols Количество столбцов.
+     * @return Матрица с непрерывным хранилищем.
+     */
+    private Matrix allocate(int rows, int cols) {
+        ArrayDeque<Matrix> free = freeMatrices.get(sizeKey(rows, cols));
+        Matrix matrix = free != null && !free.isEmpty() ? free.pop() : new Matrix(rows, cols);
+        owned.add(matrix);
+        return matrix;
+    }
+
+    /**
+     * Проверяет, может ли промежуточная матрица служить результатом объединенного прохода.
+     *
+     * @param matrix Промежуточная матрица.
+     * @return true для непрерывной матрицы {@link StorageMode#FLAT}.
+     */
+    private static boolean isReusable(Matrix matrix) {
+        return matrix.getStorageMode() == StorageMode.FLAT && isContiguous(matrix.getStorage());
+    }
+
+    private static long sizeKey(int rows, int cols) {
+        return ((long) rows << 32) | cols;
+    }
+
+    private static boolean isContiguous(MatrixStorage storage) {
+        return storage instanceof FlatArrayStorage && ((FlatArrayStorage) storage).isContiguous();
+    }
+
+    /**
+     * Шаг объединенного прохода: чтение операнда или поэлементная операция над результатами предыдущих шагов.
+     */
+    private static final class Step {
+        final MatrixExpression.Kind kind;
+        final int left;
+        final int right;
+        final double scalar;
+        final DoubleUnaryOperator function;
+        final MatrixStorage input;
+
+        Step(MatrixExpression.Kind kind, int left, int right, double scalar, DoubleUnaryOperator function,
+             MatrixStorage input) {
+            this.kind = kind;
+            this.left = left;
+            this.right = right;
+            this.scalar = scalar;
+            this.function = function;
+            this.input = input;
+        }
+    }
+
+    /**
+     * Состояние прохода одного потока: буферы промежуточных значений и положения операндов текущего участка.
+     */
+    private final class Segment {
+        private final Step[] program;
+        private final double[][] buffers;
+        private final double[][] arrays;
+        private final int[] offsets;
+
+        Segment(Step[] program, int length) {
+            this.program = program;
+            this.buffers = new double[program.length][];
+            this.arrays = new double[program.length][];
+            this.offsets = new int[program.length];
+            for (int s = 0; s < program.length - 1; s++) {
+                Step step = program[s];
+                if (step.input == null || !step.input.hasArrayAccess()) {
+                    buffers[s] = new double[length];
+                }
+            }
+        }
+
+        /**
+         * Вычисляет участок непрерывных массивов [start, start + length).
+         */
+        void runChunk(int start, int length, FlatArrayStorage output) {
+            for (int s = 0; s < program.length; s++) {
+                Step step = program[s];
+                if (step.input != null) {
+                    FlatArrayStorage input = (FlatArrayStorage) step.input;
+                    arrays[s] = input.getArray();
+                    offsets[s] = input.getOffset() + start;
+                } else {
+                    apply(s, length, output.getArray(), output.getOffset() + start);
+                }
+            }
+        }
+
+        /**
+         * Вычисляет строку row.
+         */
+        void runRow(int row, int length, FlatArrayStorage output) {
+            for (int s = 0; s < program.length; s++) {
+                Step step = program[s];
+                if (step.input == null) {
+                    apply(s, length, output.getArray(), output.rowOffset(row));
+                } else if (step.input.hasArrayAccess()) {
+                    arrays[s] = step.input.rowArray(row);
+                    offsets[s] = step.input.rowOffset(row);
+                } else {
+                    step.input.readRow(row, buffers[s], 0);
+                    arrays[s] = buffers[s];
+                    offsets[s] = 0;
+                }
+            }
+        }
+
+        /**
+         * Выполняет операцию шага s. Последний шаг пишет сразу в результат, остальные - в свои буферы.
+         */
+        private void apply(int s, int length, double[] outputArray, int outputOffset) {
+            Step step = program[s];
+            double[] target;
+            int targetOffset;
+            if (s == program.length - 1) {
+                target = outputArray;
+                targetOffset = outputOffset;
+            } else {
+                target = buffers[s];
+                targetOffset = 0;
+            }
+            double[] a = arrays[step.left];
+            int aOffset = offsets[step.left];
+            switch (step.kind) {
+                case ADD -> kernels.add(a, aOffset, arrays[step.right], offsets[step.right], target, targetOffset, length);
+                case SUBTRACT -> kernels.subtract(a, aOffset, arrays[step.right], offsets[step.right], target, targetOffset, length);
+                case SCALE -> kernels.scale(a, aOffset, step.scalar, target, targetOffset, length);
+                case MAP -> {
+                    for (int k = 0; k < length; k++) {
+                        target[targetOffset + k] = step.function.applyAsDouble(a[aOffset + k]);
+                    }
+                }
+                default -> throw new IllegalStateException("Неожиданный вид шага: " + step.kind);
+            }
+            arrays[s] = target;
+            offsets[s] = targetOffset;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.operations;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixStorage;
+
+/**
+ * Класс {@code LUDecomposition} выполняет LU-разложение квадратной матрицы с частичным выбором
+ * ведущего элемента (PA = LU).
+ * <p>
+ *     Разложение выполняется за O(n³) операций над рабочей копией исходной матрицы,
+ *     поэтому исходная матрица не изменяется. Нижняя треугольная матрица L (с единичной диагональю)
+ *     и верхняя треугольная матрица U хранятся совместно в одном массиве.
+ * </p>
+ * <p>
+ *     Один объект разложения можно использовать для решения систем с любым количеством правых частей:
+ *     каждое решение стоит O(n²) операций на правую часть вместо повторного разложения.
+ * </p>
+ */
+public class LUDecomposition {
+    private final double[][] lu;
+    private final int[] pivot;
+    private final int n;
+    private int pivotSign;
+    private boolean singular;
+
+    /**
+     * Выполняет LU-разложение заданной матрицы.
+     *
+     * @param matrix Исходная квадратная матрица.
+     * @throws MatrixException Если матрица не является квадратной.
+     */
+    public LUDecomposition(Matrix matrix) throws MatrixException {
+        if (matrix.getRows() != matrix.getCols()) {
+            throw new MatrixException("LU-разложение можно выполнить только для квадратной матрицы.");
+        }
+        this.n = matrix.getRows();
+        this.lu = copyOf(matrix);
+        this.pivot = new int[n];
+        this.pivotSign = 1;
+        decompose();
+    }
+
+    /**
+     * Выполняет разложение на месте по алгоритму Гаусса с частичным выбором ведущего элемента.
+     */
+    private void decompose() {
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+        for (int k = 0; k < n; k++) {
+            // Поиск ведущего элемента в столбце k
+            int p = k;
+            double max = Math.abs(lu[k][k]);
+            for (int i = k + 1; i < n; i++) {
+                double value = Math.abs(lu[i][k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (p != k) {
+                double[] tmpRow = lu[p];
+                lu[p] = lu[k];
+                lu[k] = tmpRow;
+                int tmpIndex = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = tmpIndex;
+                pivotSign = -pivotSign;
+            }
+            if (max == 0.0) {
+                singular = true;
+                continue;
+            }
+
+            // Исключение элементов ниже ведущего
+            double[] pivotRow = lu[k];
+            double pivotValue = pivotRow[k];
+            for (int i = k + 1; i < n; i++) {
+                double[] row = lu[i];
+                double factor = row[k] / pivotValue;
+                row[k] = factor;
+                if (factor != 0.0) {
+                    for (int j = k + 1; j < n; j++) {
+                        row[j] -= factor * pivotRow[j];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Возвращает определитель исходной матрицы как произведение диагональных элементов U
+     * с учетом знака перестановки строк.
+     *
+     * @return Определитель матрицы.
+     */
+    public double determinant() {
+        if (singular) {
+            return 0.0;
+        }
+        double det = pivotSign;
+        for (int i = 0; i < n; i++) {
+            det *= lu[i][i];
+        }
+        return det;
+    }
+
+    /**
+     * Проверяет, является ли исходная матрица вырожденной.
+     *
+     * @return true, если при разложении встретился нулевой ведущий элемент, иначе false.
+     */
+    public boolean isSingular() {
+        return singular;
+    }
+
+    /**
+     * Возвращает вектор перестановки строк: i-я строка U соответствует строке pivot[i] исходной матрицы.
+     *
+     * @return Копия вектора перестановки.
+     */
+    public int[] getPivot() {
+        return pivot.clone();
+    }
+
+    /**
+     * Решает систему AX = B, где A - исходная матрица, а столбцы B - правые части.
+     *
+     * @param b Матрица правых частей с количеством строк, равным размеру A.
+     * @return Матрица решений X того же размера, что и B.
+     * @throws MatrixException Если размеры не согласованы или исходная матрица вырождена.
+     */
+    public Matrix solve(Matrix b) throws MatrixException {
+        if (b.getRows() != n) {
+            throw new MatrixException("Количество строк правой части должно быть равно размеру матрицы системы.");
+        }
+        if (singular) {
+            throw new MatrixException("Матрица вырождена, система не имеет единственного решения.");
+        }
+        // Перестановка строк правой части: X = PB
+        MatrixStorage storage = b.getStorage();
+        int cols = b.getCols();
+        double[][] x = new double[n][cols];
+        for (int i = 0; i < n; i++) {
+            storage.readRow(pivot[i], x[i], 0);
+        }
+        // Прямой ход: LY = PB
+        for (int k = 0; k < n; k++) {
+            double[] xk = x[k];
+            for (int i = k + 1; i < n; i++) {
+                subtractScaledRow(x[i], lu[i][k], xk);
+            }
+        }
+        // Обратный ход: UX = Y
+        for (int k = n - 1; k >= 0; k--) {
+            double[] xk = x[k];
+            double diagonal = lu[k][k];
+            for (int j = 0; j < cols; j++) {
+                xk[j] /= diagonal;
+            }
+            for (int i = 0; i < k; i++) {
+                subtractScaledRow(x[i], lu[i][k], xk);
+            }
+        }
+        return new Matrix(x);
+    }
+
+    /**
+     * Вычисляет обратную матрицу решением системы с единичной правой частью.
+     *
+     * @return Обратная матрица.
+     * @throws MatrixException Если исходная матрица вырождена.
+     */
+    public Matrix inverse() throws MatrixException {
+        return solve(identity(n));
+    }
+
+    /**
+     * Вычитает из строки target строку source, умноженную на factor.
+     *
+     * @param target Изменяемая строка.
+     * @param factor Множитель.
+     * @param source Вычитаемая строка.
+     */
+    static void subtractScaledRow(double[] target, double factor, double[] source) {
+        if (factor == 0.0) {
+            return;
+        }
+        for (int j = 0; j < target.length; j++) {
+            target[j] -= factor * source[j];
+        }
+    }
+
+    /**
+     * Создает единичную матрицу.
+     *
+     * @param n Размер матрицы.
+     * @return Единичная матрица n x n.
+     */
+    static Matrix identity(int n) {
+        Matrix identity = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            identity.setElement(i, i, 1.0);
+        }
+        return identity;
+    }
+
+    /**
+     * Копирует элементы матрицы в рабочий двумерный массив.
+     *
+     * @param matrix Исходная матрица.
+     * @return Копия элементов матрицы.
+     */
+    static double[][] copyOf(Matrix matrix) {
+        MatrixStorage storage = matrix.getStorage();
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+        double[][] copy = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            storage.readRow(i, copy[i], 0);
+        }
+        return copy;
+    }
+}
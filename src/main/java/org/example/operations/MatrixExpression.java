@@ -0,0 +1,167 @@
+package org.example.operations;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Класс {@code MatrixExpression} описывает отложенное выражение над матрицами.
+ * <p>
+ *     Методы построения ({@link #add}, {@link #subtract}, {@link #scale}, {@link #map}, {@link #multiply})
+ *     не выполняют вычислений, а добавляют узел в граф выражения; размеры операндов проверяются сразу.
+ *     Выражение вычисляется методом {@link MatrixOperations#evaluate(MatrixExpression)}: цепочки поэлементных
+ *     операций объединяются в один проход без промежуточных матриц, а буферы промежуточных результатов
+ *     переиспользуются. Один узел может входить в выражение несколько раз и вычисляется однократно.
+ * </p>
+ * <p>
+ *     Выражения неизменяемы. Матрицы-листья не копируются, поэтому их не следует изменять до вычисления.
+ * </p>
+ */
+public final class MatrixExpression {
+
+    /**
+     * Вид узла выражения.
+     */
+    enum Kind {
+        MATRIX, ADD, SUBTRACT, SCALE, MAP, MULTIPLY;
+
+        /**
+         * Проверяет, является ли операция поэлементной.
+         *
+         * @return true для операций, которые могут быть объединены в один проход.
+         */
+        boolean isElementwise() {
+            return this == ADD || this == SUBTRACT || this == SCALE || this == MAP;
+        }
+    }
+
+    final Kind kind;
+    final int rows;
+    final int cols;
+    final Matrix matrix;
+    final MatrixExpression left;
+    final MatrixExpression right;
+    final double scalar;
+    final DoubleUnaryOperator function;
+
+    private MatrixExpression(Kind kind, int rows, int cols, Matrix matrix, MatrixExpression left,
+                             MatrixExpression right, double scalar, DoubleUnaryOperator function) {
+        this.kind = kind;
+        this.rows = rows;
+        this.cols = cols;
+        this.matrix = matrix;
+        this.left = left;
+        this.right = right;
+        this.scalar = scalar;
+        this.function = function;
+    }
+
+    /**
+     * Создает выражение, значением которого является заданная матрица.
+     *
+     * @param matrix Матрица.
+     * @return Выражение-лист.
+     * @throws IllegalArgumentException Если матрица равна null.
+     */
+    public static MatrixExpression of(Matrix matrix) {
+        if (matrix == null) {
+            throw new IllegalArgumentException("Матрица не может быть null");
+        }
+        return new MatrixExpression(Kind.MATRIX, matrix.getRows(), matrix.getCols(), matrix, null, null, 0, null);
+    }
+
+    /**
+     * Возвращает выражение суммы этого выражения и заданного.
+     *
+     * @param other Второе слагаемое.
+     * @return Выражение суммы.
+     * @throws MatrixException Если выражения имеют разные размеры.
+     */
+    public MatrixExpression add(MatrixExpression other) throws MatrixException {
+        validateSameSize(other);
+        return new MatrixExpression(Kind.ADD, rows, cols, null, this, other, 0, null);
+    }
+
+    /**
+     * Возвращает выражение разности этого выражения и заданного.
+     *
+     * @param other Вычитаемое.
+     * @return Выражение разности.
+     * @throws MatrixException Если выражения имеют разные размеры.
+     */
+    public MatrixExpression subtract(MatrixExpression other) throws MatrixException {
+        validateSameSize(other);
+        return new MatrixExpression(Kind.SUBTRACT, rows, cols, null, this, other, 0, null);
+    }
+
+    /**
+     * Возвращает выражение произведения этого выражения на скаляр.
+     *
+     * @param scalar Скалярное значение.
+     * @return Выражение произведения на скаляр.
+     */
+    public MatrixExpression scale(double scalar) {
+        return new MatrixExpression(Kind.SCALE, rows, cols, null, this, null, scalar, null);
+    }
+
+    /**
+     * Возвращает выражение применения функции к каждому элементу.
+     * Функция должна быть чистой: при параллельном вычислении она вызывается из нескольких потоков.
+     *
+     * @param function Функция, применяемая к каждому элементу.
+     * @return Выражение с примененной функцией.
+     * @throws IllegalArgumentException Если функция равна null.
+     */
+    public MatrixExpression map(DoubleUnaryOperator function) {
+        if (function == null) {
+            throw new IllegalArgumentException("Функция не может быть null");
+        }
+        return new MatrixExpression(Kind.MAP, rows, cols, null, this, null, 0, function);
+    }
+
+    /**
+     * Возвращает выражение матричного произведения этого выражения на заданное.
+     * Произведение не объединяется с поэлементными операциями: его операнды вычисляются полностью.
+     *
+     * @param other Второй множитель.
+     * @return Выражение произведения.
+     * @throws MatrixException Если количество столбцов этого выражения не равно количеству строк второго.
+     */
+    public MatrixExpression multiply(MatrixExpression other) throws MatrixException {
+        if (cols != other.rows) {
+            throw new MatrixException("Количество столбцов первой матрицы должно быть равно количеству строк второй матрицы для умножения.");
+        }
+        return new MatrixExpression(Kind.MULTIPLY, rows, other.cols, null, this, other, 0, null);
+    }
+
+    /**
+     * Возвращает количество строк значения выражения.
+     *
+     * @return Количество строк.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Возвращает количество столбцов значения выражения.
+     *
+     * @return Количество столбцов.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Проверяет, что выражения имеют одинаковые размеры.
+     *
+     * @param other Второе выражение.
+     * @throws MatrixException Если размеры различаются.
+     */
+    private void validateSameSize(MatrixExpression other) throws MatrixException {
+        if (rows != other.rows || cols != other.cols) {
+            throw new MatrixException("Матрицы должны иметь одинаковые размеры для данной операции.");
+        }
+    }
+}
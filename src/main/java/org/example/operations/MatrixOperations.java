@@ -1,7 +1,23 @@
 package org.example.operations;
 
 import org.example.exception.MatrixException;
+import org.example.logging.AppLogger;
+import org.example.matrix.CscMatrix;
+import org.example.matrix.CsrMatrix;
+import org.example.matrix.FlatArrayStorage;
 import org.example.matrix.Matrix;
+import org.example.matrix.MatrixBatch;
+import org.example.matrix.MatrixBufferPool;
+import org.example.matrix.MatrixStorage;
+import org.example.matrix.StorageMode;
+import org.example.metrics.MatrixMetrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Класс {@code MatrixOperations} предоставляет набор статических методов
@@ -10,6 +26,324 @@ import org.example.matrix.Matrix;
  */
 public class MatrixOperations {
 
+    private static final AppLogger logger = new AppLogger(MatrixOperations.class);
+
+    /**
+     * Максимальный размер матрицы, для которого определитель вычисляется разложением по строке.
+     * Для таких маленьких матриц рекурсивный путь дешевле LU-разложения и точен на целочисленных данных.
+     */
+    private static final int RECURSIVE_DETERMINANT_MAX_SIZE = 3;
+
+    /**
+     * Размер плитки блочного умножения по умолчанию.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+
+    /**
+     * Размер квадратных матриц по умолчанию, начиная с которого (не включительно) алгоритм
+     * {@link MultiplyAlgorithm#STRASSEN} переходит от блочного ядра к рекурсии.
+     */
+    public static final int DEFAULT_STRASSEN_THRESHOLD = 128;
+
+    /**
+     * Порог параллельного выполнения по умолчанию: количество элементарных операций,
+     * начиная с которого работа распределяется по потокам.
+     */
+    public static final long DEFAULT_PARALLEL_THRESHOLD = 1L << 20;
+
+    /**
+     * Размер буферов в куче по умолчанию при умножении матриц вне кучи: 2^20 элементов (8 МБ) на буфер.
+     */
+    public static final int DEFAULT_OFF_HEAP_BAND_SIZE = 1 << 20;
+
+    /**
+     * Минимальное количество элементов в порции при параллельном выполнении поэлементных операций.
+     */
+    private static final int ELEMENTWISE_MIN_GRAIN = 1 << 14;
+
+    private MultiplyAlgorithm multiplyAlgorithm = MultiplyAlgorithm.BLOCKED;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private int strassenThreshold = DEFAULT_STRASSEN_THRESHOLD;
+    private int offHeapBandSize = DEFAULT_OFF_HEAP_BAND_SIZE;
+    private ComputePool computePool;
+    private long parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private ArrayKernels kernels = ArrayKernels.select(Boolean.getBoolean(ArrayKernels.SIMD_PROPERTY));
+    private MatrixMetrics metrics;
+    private MatrixBufferPool bufferPool;
+
+    /**
+     * Поэлементное сложение.
+     */
+    private final MatrixElementOperation addOperation = new MatrixElementOperation() {
+        @Override
+        public double apply(double a, double b) {
+            return a + b;
+        }
+
+        @Override
+        public void applyRange(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+            kernels.add(a, aOffset, b, bOffset, c, cOffset, length);
+        }
+    };
+
+    /**
+     * Поэлементное вычитание.
+     */
+    private final MatrixElementOperation subtractOperation = new MatrixElementOperation() {
+        @Override
+        public double apply(double a, double b) {
+            return a - b;
+        }
+
+        @Override
+        public void applyRange(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+            kernels.subtract(a, aOffset, b, bOffset, c, cOffset, length);
+        }
+    };
+
+    /**
+     * Умножение элемента на скаляр.
+     */
+    private final MatrixElementOperation scaleOperation = new MatrixElementOperation() {
+        @Override
+        public double apply(double a, double b) {
+            return a * b;
+        }
+
+        @Override
+        public void applyScalarRange(double[] a, int aOffset, double scalar, double[] c, int cOffset, int length) {
+            kernels.scale(a, aOffset, scalar, c, cOffset, length);
+        }
+    };
+
+    /**
+     * Возвращает алгоритм умножения матриц.
+     *
+     * @return Текущий алгоритм умножения.
+     */
+    public MultiplyAlgorithm getMultiplyAlgorithm() {
+        return multiplyAlgorithm;
+    }
+
+    /**
+     * Задает алгоритм умножения матриц.
+     *
+     * @param multiplyAlgorithm Алгоритм умножения.
+     * @throws IllegalArgumentException Если алгоритм равен null.
+     */
+    public void setMultiplyAlgorithm(MultiplyAlgorithm multiplyAlgorithm) {
+        if (multiplyAlgorithm == null) {
+            throw new IllegalArgumentException("Алгоритм умножения не может быть null");
+        }
+        this.multiplyAlgorithm = multiplyAlgorithm;
+    }
+
+    /**
+     * Возвращает размер плитки блочного умножения.
+     *
+     * @return Размер плитки.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Задает размер плитки блочного умножения.
+     *
+     * @param blockSize Размер плитки. Должен быть больше 0.
+     * @throws IllegalArgumentException Если размер плитки меньше или равен 0.
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Размер блока должен быть больше 0");
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Возвращает размер перехода алгоритма Штрассена к блочному ядру.
+     *
+     * @return Наибольший размер квадратных матриц, умножаемых без рекурсии.
+     */
+    public int getStrassenThreshold() {
+        return strassenThreshold;
+    }
+
+    /**
+     * Задает размер перехода алгоритма Штрассена к блочному ядру.
+     * Подматрицы этого размера и меньше умножаются блочным ядром.
+     *
+     * @param strassenThreshold Размер перехода. Должен быть больше 0.
+     * @throws IllegalArgumentException Если размер меньше или равен 0.
+     */
+    public void setStrassenThreshold(int strassenThreshold) {
+        if (strassenThreshold <= 0) {
+            throw new IllegalArgumentException("Порог алгоритма Штрассена должен быть больше 0");
+        }
+        this.strassenThreshold = strassenThreshold;
+    }
+
+    /**
+     * Возвращает размер буферов в куче при умножении матриц вне кучи.
+     *
+     * @return Наибольшее количество элементов в буфере полосы или панели.
+     */
+    public int getOffHeapBandSize() {
+        return offHeapBandSize;
+    }
+
+    /**
+     * Задает размер буферов в куче при умножении матриц вне кучи. Полоса строк первой матрицы,
+     * панель строк второй матрицы и полоса строк произведения занимают не больше заданного количества
+     * элементов, но не меньше одной строки.
+     *
+     * @param offHeapBandSize Количество элементов в буфере. Должно быть больше 0.
+     * @throws IllegalArgumentException Если размер меньше или равен 0.
+     */
+    public void setOffHeapBandSize(int offHeapBandSize) {
+        if (offHeapBandSize <= 0) {
+            throw new IllegalArgumentException("Размер полосы умножения вне кучи должен быть больше 0");
+        }
+        this.offHeapBandSize = offHeapBandSize;
+    }
+
+    /**
+     * Возвращает пул потоков для параллельного выполнения операций.
+     *
+     * @return Пул потоков или null, если параллельный режим выключен.
+     */
+    public ComputePool getComputePool() {
+        return computePool;
+    }
+
+    /**
+     * Включает параллельный режим с заданным пулом потоков.
+     * Владение пулом не передается: вызывающая сторона закрывает его сама.
+     *
+     * @param computePool Пул потоков или null для последовательного выполнения.
+     */
+    public void setComputePool(ComputePool computePool) {
+        this.computePool = computePool;
+    }
+
+    /**
+     * Возвращает порог параллельного выполнения.
+     *
+     * @return Количество элементарных операций, начиная с которого используется пул потоков.
+     */
+    public long getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Задает порог параллельного выполнения. Операции меньшего объема выполняются последовательно.
+     *
+     * @param parallelThreshold Количество элементарных операций. Не может быть отрицательным.
+     * @throws IllegalArgumentException Если порог отрицательный.
+     */
+    public void setParallelThreshold(long parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Порог параллельного выполнения не может быть отрицательным");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Проверяет, используются ли векторные ядра (SIMD).
+     *
+     * @return true, если операции выполняются векторными ядрами.
+     */
+    public boolean isVectorized() {
+        return kernels.isVectorized();
+    }
+
+    /**
+     * Включает или выключает векторные ядра на основе {@code jdk.incubator.vector}.
+     * <p>
+     *  Значение по умолчанию задается системным свойством {@code matrix.simd}. Если модуль
+     *  {@code jdk.incubator.vector} не подключен к JVM, используются скалярные ядра.
+     * </p>
+     *
+     * @param vectorized true, чтобы использовать векторные ядра при их доступности.
+     * @return true, если векторные ядра включены.
+     */
+    public boolean setVectorized(boolean vectorized) {
+        this.kernels = ArrayKernels.select(vectorized);
+        return kernels.isVectorized();
+    }
+
+    /**
+     * Проверяет, доступны ли векторные ядра в текущей JVM.
+     *
+     * @return true, если модуль {@code jdk.incubator.vector} подключен.
+     */
+    public static boolean isVectorSupported() {
+        return ArrayKernels.isVectorAvailable();
+    }
+
+    /**
+     * Возвращает набор метрик, в который записывается статистика операций.
+     *
+     * @return Набор метрик или null, если сбор метрик выключен.
+     */
+    public MatrixMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Включает сбор метрик операций: длительности, количества операций с плавающей точкой,
+     * объема данных и оценки выделенной памяти. Один набор метрик может использоваться несколькими объектами.
+     *
+     * @param metrics Набор метрик или null, чтобы выключить сбор.
+     */
+    public void setMetrics(MatrixMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Возвращает пул буферов для временных матриц.
+     *
+     * @return Пул буферов или null, если временные матрицы создаются заново.
+     */
+    public MatrixBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Задает пул буферов для временных матриц умножения: копий операндов без прямого доступа к массивам
+     * (например, {@link StorageMode#FLOAT32} и {@link StorageMode#BUFFER}) и промежуточного произведения
+     * в double. Временные матрицы возвращаются в пул до завершения операции, а возвращаемые результаты
+     * из пула не берутся. Один пул может использоваться несколькими объектами и потоками.
+     *
+     * @param bufferPool Пул буферов в куче или null, чтобы создавать временные матрицы заново.
+     * @throws IllegalArgumentException Если буферы пула размещаются вне кучи: ядрам умножения нужны массивы.
+     */
+    public void setBufferPool(MatrixBufferPool bufferPool) {
+        if (bufferPool != null && bufferPool.isOffHeap()) {
+            throw new IllegalArgumentException("Пул временных матриц операций должен размещать буферы в куче");
+        }
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Возвращает ядра поэлементных операций, выбранные для этого объекта.
+     *
+     * @return Скалярные или векторные ядра.
+     */
+    ArrayKernels kernels() {
+        return kernels;
+    }
+
+    /**
+     * Проверяет, нужно ли выполнять операцию заданного объема параллельно.
+     *
+     * @param work Количество элементарных операций.
+     * @return true, если включен параллельный режим и объем не меньше порога.
+     */
+    boolean isParallel(long work) {
+        return computePool != null && computePool.getParallelism() > 1 && work >= parallelThreshold;
+    }
+
     /**
      * Складывает две матрицы.
      * <p>
@@ -23,7 +357,45 @@ public class MatrixOperations {
      */
     public Matrix add(Matrix matrix1, Matrix matrix2) throws MatrixException {
         validateMatricesForAdditionAndSubtraction(matrix1, matrix2);
-        return performMatrixOperation(matrix1, matrix2, (a, b) -> a + b);
+        long start = startTiming();
+        Matrix result = newResult(matrix1.getRows(), matrix1.getCols(), matrix1, matrix2);
+        performMatrixOperation(matrix1, matrix2, addOperation, result);
+        recordElementwise("add", start, result, true, matrix1, matrix2);
+        return result;
+    }
+
+    /**
+     * Складывает две матрицы и записывает сумму в заданную матрицу без создания новой.
+     * <p>
+     *  Матрица результата может совпадать с любым из операндов; частичное перекрытие хранилищ
+     *  результата и операнда не допускается.
+     * </p>
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @param result  Матрица для результата того же размера, что и операнды.
+     * @return Матрица result.
+     * @throws MatrixException Если размеры матриц не совпадают или хранилище результата частично перекрывается с операндом.
+     */
+    public Matrix add(Matrix matrix1, Matrix matrix2, Matrix result) throws MatrixException {
+        validateMatricesForAdditionAndSubtraction(matrix1, matrix2);
+        validateElementwiseDestination(result, matrix1, matrix2);
+        long start = startTiming();
+        performMatrixOperation(matrix1, matrix2, addOperation, result);
+        recordElementwise("add", start, result, false, matrix1, matrix2);
+        return result;
+    }
+
+    /**
+     * Прибавляет матрицу к заданной на месте: target = target + other.
+     *
+     * @param target Изменяемая матрица.
+     * @param other  Прибавляемая матрица того же размера.
+     * @return Матрица target.
+     * @throws MatrixException Если размеры матриц не совпадают или хранилища матриц частично перекрываются.
+     */
+    public Matrix addInPlace(Matrix target, Matrix other) throws MatrixException {
+        return add(target, other, target);
     }
 
     /**
@@ -39,73 +411,744 @@ public class MatrixOperations {
      */
     public Matrix subtract(Matrix matrix1, Matrix matrix2) throws MatrixException {
         validateMatricesForAdditionAndSubtraction(matrix1, matrix2);
-        return performMatrixOperation(matrix1, matrix2, (a, b) -> a - b);
+        long start = startTiming();
+        Matrix result = newResult(matrix1.getRows(), matrix1.getCols(), matrix1, matrix2);
+        performMatrixOperation(matrix1, matrix2, subtractOperation, result);
+        recordElementwise("subtract", start, result, true, matrix1, matrix2);
+        return result;
+    }
+
+    /**
+     * Вычитает одну матрицу из другой и записывает разность в заданную матрицу без создания новой.
+     * <p>
+     *  Матрица результата может совпадать с любым из операндов; частичное перекрытие хранилищ
+     *  результата и операнда не допускается.
+     * </p>
+     *
+     * @param matrix1 Первая матрица (уменьшаемое).
+     * @param matrix2 Вторая матрица (вычитаемое).
+     * @param result  Матрица для результата того же размера, что и операнды.
+     * @return Матрица result.
+     * @throws MatrixException Если размеры матриц не совпадают или хранилище результата частично перекрывается с операндом.
+     */
+    public Matrix subtract(Matrix matrix1, Matrix matrix2, Matrix result) throws MatrixException {
+        validateMatricesForAdditionAndSubtraction(matrix1, matrix2);
+        validateElementwiseDestination(result, matrix1, matrix2);
+        long start = startTiming();
+        performMatrixOperation(matrix1, matrix2, subtractOperation, result);
+        recordElementwise("subtract", start, result, false, matrix1, matrix2);
+        return result;
+    }
+
+    /**
+     * Вычитает матрицу из заданной на месте: target = target - other.
+     *
+     * @param target Изменяемая матрица.
+     * @param other  Вычитаемая матрица того же размера.
+     * @return Матрица target.
+     * @throws MatrixException Если размеры матриц не совпадают или хранилища матриц частично перекрываются.
+     */
+    public Matrix subtractInPlace(Matrix target, Matrix other) throws MatrixException {
+        return subtract(target, other, target);
     }
 
     /**
      * Умножает матрицу на скалярное значение.
      *
-     * @param matrix Исходная матрица.
-     * @param scalar  Скалярное значение, на которое умножается каждый элемент матрицы.
-     * @return Результирующая матрица - произведение matrix и scalar.
-     * @throws MatrixException Если возникла ошибка при создании матрицы.
+     * @param matrix Исходная матрица.
+     * @param scalar  Скалярное значение, на которое умножается каждый элемент матрицы.
+     * @return Результирующая матрица - произведение matrix и scalar.
+     * @throws MatrixException Если возникла ошибка при создании матрицы.
+     */
+    public Matrix multiplyByScalar(Matrix matrix, double scalar) throws MatrixException {
+        long start = startTiming();
+        Matrix result = newResult(matrix.getRows(), matrix.getCols(), matrix);
+        performScalarOperation(matrix, scalar, scaleOperation, result);
+        recordElementwise("multiplyByScalar", start, result, true, matrix);
+        return result;
+    }
+
+    /**
+     * Умножает матрицу на скалярное значение и записывает результат в заданную матрицу без создания новой.
+     *
+     * @param matrix Исходная матрица.
+     * @param scalar Скалярное значение, на которое умножается каждый элемент матрицы.
+     * @param result Матрица для результата того же размера. Может совпадать с matrix.
+     * @return Матрица result.
+     * @throws MatrixException Если размер result отличается от размера matrix или их хранилища частично перекрываются.
+     */
+    public Matrix multiplyByScalar(Matrix matrix, double scalar, Matrix result) throws MatrixException {
+        validateElementwiseDestination(result, matrix);
+        long start = startTiming();
+        performScalarOperation(matrix, scalar, scaleOperation, result);
+        recordElementwise("multiplyByScalar", start, result, false, matrix);
+        return result;
+    }
+
+    /**
+     * Умножает каждый элемент матрицы на скалярное значение на месте.
+     *
+     * @param target Изменяемая матрица.
+     * @param scalar Скалярное значение.
+     * @return Матрица target.
+     * @throws MatrixException Если возникла ошибка при выполнении операции.
+     */
+    public Matrix scaleInPlace(Matrix target, double scalar) throws MatrixException {
+        return multiplyByScalar(target, scalar, target);
+    }
+
+    /**
+     * Применяет функцию к каждому элементу матрицы.
+     *
+     * @param matrix   Исходная матрица.
+     * @param function Функция, применяемая к каждому элементу.
+     * @return Результирующая матрица, элементы которой равны значениям функции от элементов matrix.
+     * @throws MatrixException Если возникла ошибка при создании матрицы.
+     */
+    public Matrix map(Matrix matrix, DoubleUnaryOperator function) throws MatrixException {
+        long start = startTiming();
+        Matrix result = newResult(matrix.getRows(), matrix.getCols(), matrix);
+        performUnaryOperation(matrix, function::applyAsDouble, result);
+        recordElementwise("map", start, result, true, matrix);
+        return result;
+    }
+
+    /**
+     * Применяет функцию к каждому элементу матрицы и записывает результат в заданную матрицу без создания новой.
+     *
+     * @param matrix   Исходная матрица.
+     * @param function Функция, применяемая к каждому элементу.
+     * @param result   Матрица для результата того же размера. Может совпадать с matrix.
+     * @return Матрица result.
+     * @throws MatrixException Если размер result отличается от размера matrix или их хранилища частично перекрываются.
+     */
+    public Matrix map(Matrix matrix, DoubleUnaryOperator function, Matrix result) throws MatrixException {
+        validateElementwiseDestination(result, matrix);
+        long start = startTiming();
+        performUnaryOperation(matrix, function::applyAsDouble, result);
+        recordElementwise("map", start, result, false, matrix);
+        return result;
+    }
+
+    /**
+     * Применяет функцию к каждому элементу матрицы на месте.
+     *
+     * @param target   Изменяемая матрица.
+     * @param function Функция, применяемая к каждому элементу.
+     * @return Матрица target.
+     * @throws MatrixException Если возникла ошибка при выполнении операции.
+     */
+    public Matrix mapInPlace(Matrix target, DoubleUnaryOperator function) throws MatrixException {
+        return map(target, function, target);
+    }
+
+    /**
+     * Вычисляет сумму всех элементов матрицы.
+     *
+     * @param matrix Исходная матрица.
+     * @return Сумма элементов.
+     */
+    public double sum(Matrix matrix) {
+        long start = startTiming();
+        MatrixStorage storage = matrix.getStorage();
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+        double[] buffer = storage.hasArrayAccess() ? null : new double[cols];
+        double sum = 0;
+        for (int i = 0; i < rows; i++) {
+            if (storage.hasArrayAccess()) {
+                sum += kernels.sum(storage.rowArray(i), storage.rowOffset(i), cols);
+            } else {
+                storage.readRow(i, buffer, 0);
+                sum += kernels.sum(buffer, 0, cols);
+            }
+        }
+        record("sum", start, (long) rows * cols, sizeInBytes(matrix), 0);
+        return sum;
+    }
+
+    /**
+     * Вычисляет норму Фробениуса матрицы (корень из суммы квадратов элементов).
+     *
+     * @param matrix Исходная матрица.
+     * @return Норма Фробениуса.
+     */
+    public double frobeniusNorm(Matrix matrix) {
+        long start = startTiming();
+        MatrixStorage storage = matrix.getStorage();
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+        double[] buffer = storage.hasArrayAccess() ? null : new double[cols];
+        double sum = 0;
+        for (int i = 0; i < rows; i++) {
+            if (storage.hasArrayAccess()) {
+                sum += kernels.sumOfSquares(storage.rowArray(i), storage.rowOffset(i), cols);
+            } else {
+                storage.readRow(i, buffer, 0);
+                sum += kernels.sumOfSquares(buffer, 0, cols);
+            }
+        }
+        record("frobeniusNorm", start, 2L * rows * cols, sizeInBytes(matrix), 0);
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Умножает две матрицы.
+     * <p>
+     *  Количество столбцов первой матрицы должно быть равно количеству строк второй матрицы.
+     *  Используемое ядро задается {@link #setMultiplyAlgorithm(MultiplyAlgorithm)}.
+     *  Произведение матриц одинарной точности вычисляется в double и возвращается как {@link StorageMode#FLOAT32},
+     *  произведение матриц вне кучи вычисляется полосами строк блочным ядром и записывается сразу
+     *  в матрицу {@link StorageMode#OFF_HEAP} без копий операндов в куче (см. {@link #setOffHeapBandSize(int)}).
+     *  В остальных случаях операнды без прямого доступа к массивам на время умножения копируются в кучу.
+     * </p>
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @return Результирующая матрица - произведение matrix1 и matrix2.
+     * @throws MatrixException Если матрицы имеют несовместимые размеры (количество столбцов первой матрицы не равно количеству строк второй матрицы).
+     */
+    public Matrix multiply(Matrix matrix1, Matrix matrix2) throws MatrixException {
+        validateMultiplicationSizes(matrix1.getCols(), matrix2.getRows());
+
+        long start = startTiming();
+        int rows1 = matrix1.getRows();
+        int cols1 = matrix1.getCols();
+        int cols2 = matrix2.getCols();
+
+        StorageMode mode = resultMode(matrix1, matrix2);
+        if (mode == StorageMode.OFF_HEAP) {
+            Matrix product = new Matrix(rows1, cols2, StorageMode.OFF_HEAP);
+            long buffers = multiplyBanded(matrix1.getStorage(), matrix2.getStorage(), product.getStorage());
+            record("multiply", start, 2L * rows1 * cols1 * cols2,
+                    sizeInBytes(matrix1) + sizeInBytes(matrix2) + sizeInBytes(product), sizeInBytes(product) + buffers);
+            return product;
+        }
+
+        // Создание матрицы для результата
+        // Произведение накапливается в массиве double и переводится в режим FLOAT32,
+        // только если в этом режиме хранятся оба операнда
+        try (MatrixBufferPool.Scope scope = bufferPool != null ? bufferPool.scope() : null) {
+            boolean pooled = mode != StorageMode.FLAT && scope != null;
+            Matrix result = pooled ? scope.acquire(rows1, cols2) : new Matrix(rows1, cols2);
+            long copied = multiplyStorages(matrix1, matrix2, result.getStorage(), scope);
+            Matrix product = mode == StorageMode.FLOAT32 ? result.toFloat32() : result;
+            if (metrics != null) {
+                // Копии операндов без доступа к массивам и результат double учитываются как выделенная память
+                long allocated = (pooled ? 0 : sizeInBytes(result)) + (product != result ? sizeInBytes(product) : 0) + copied;
+                record("multiply", start, 2L * rows1 * cols1 * cols2,
+                        sizeInBytes(matrix1) + sizeInBytes(matrix2) + sizeInBytes(product), allocated);
+            }
+            return product;
+        }
+    }
+
+    /**
+     * Умножает две матрицы и записывает произведение в заданную матрицу.
+     * <p>
+     *  Предыдущее содержимое result не используется. Если хранилище result поддерживает прямой доступ
+     *  к массивам, а операнды хранятся в массивах, блочное и простое ядра не создают новых объектов,
+     *  поэтому повторные умножения в итерационных алгоритмах не нагружают сборщик мусора
+     *  (алгоритм Штрассена по-прежнему выделяет память под четверти матриц). Для хранилищ без прямого
+     *  доступа (в том числе {@link StorageMode#FLOAT32}) произведение накапливается во временной матрице
+     *  double и затем записывается в result; в матрицу {@link StorageMode#OFF_HEAP} произведение записывается
+     *  полосами строк без временной матрицы размером с result.
+     * </p>
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @param result  Матрица для результата размером rows(matrix1) x cols(matrix2). Не должна использовать
+     *                хранилище ни одного из операндов: каждый элемент произведения зависит от целой строки
+     *                и целого столбца операндов.
+     * @return Матрица result.
+     * @throws MatrixException Если матрицы имеют несовместимые размеры, размер result не равен размеру
+     *                         произведения или result использует хранилище операнда.
+     */
+    public Matrix multiply(Matrix matrix1, Matrix matrix2, Matrix result) throws MatrixException {
+        validateMultiplicationSizes(matrix1.getCols(), matrix2.getRows());
+        validateDestinationSize(result, matrix1.getRows(), matrix2.getCols());
+        MatrixStorage c = result.getStorage();
+        if (overlaps(c, matrix1.getStorage()) || overlaps(c, matrix2.getStorage())) {
+            throw new MatrixException("Матрица результата умножения не должна совпадать или перекрываться с операндом.");
+        }
+
+        long start = startTiming();
+        long allocated;
+        try (MatrixBufferPool.Scope scope = bufferPool != null ? bufferPool.scope() : null) {
+            if (c.hasArrayAccess()) {
+                // Ядра накапливают сумму в результате, поэтому он предварительно обнуляется
+                for (int i = 0; i < result.getRows(); i++) {
+                    int offset = c.rowOffset(i);
+                    Arrays.fill(c.rowArray(i), offset, offset + result.getCols(), 0.0);
+                }
+                allocated = multiplyStorages(matrix1, matrix2, c, scope);
+            } else if (c.getMode() == StorageMode.OFF_HEAP) {
+                allocated = multiplyBanded(matrix1.getStorage(), matrix2.getStorage(), c);
+            } else {
+                Matrix product = scope != null
+                        ? scope.acquire(result.getRows(), result.getCols())
+                        : new Matrix(result.getRows(), result.getCols());
+                MatrixStorage p = product.getStorage();
+                allocated = (scope != null ? 0 : sizeInBytes(product)) + multiplyStorages(matrix1, matrix2, p, scope);
+                for (int i = 0; i < result.getRows(); i++) {
+                    c.writeRow(i, p.rowArray(i), p.rowOffset(i));
+                }
+            }
+        }
+        if (metrics != null) {
+            record("multiply", start, 2L * matrix1.getRows() * matrix1.getCols() * matrix2.getCols(),
+                    sizeInBytes(matrix1) + sizeInBytes(matrix2) + sizeInBytes(result), allocated);
+        }
+        return result;
+    }
+
+    /**
+     * Умножает матрицы выбранным алгоритмом и добавляет произведение к хранилищу результата.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @param c       Хранилище результата с прямым доступом к массивам, заполненное нулями.
+     * @param scope   Область пула буферов для копий операндов или null, чтобы создавать новые матрицы.
+     * @return Объем новых копий операндов без прямого доступа к массивам в байтах.
+     */
+    private long multiplyStorages(Matrix matrix1, Matrix matrix2, MatrixStorage c, MatrixBufferPool.Scope scope) {
+        int rows1 = matrix1.getRows();
+        int cols1 = matrix1.getCols();
+        int cols2 = matrix2.getCols();
+
+        // Операнды без прямого доступа к массивам копируются в кучу: O(n²) против O(n³) умножения
+        MatrixStorage a = arrayStorage(matrix1, scope);
+        MatrixStorage b = arrayStorage(matrix2, scope);
+
+        // Процесс умножения матриц
+        if (multiplyAlgorithm == MultiplyAlgorithm.STRASSEN && rows1 == cols1 && cols1 == cols2
+                && rows1 > strassenThreshold) {
+            ComputePool pool = isParallel((long) rows1 * cols1 * cols2) ? computePool : null;
+            new StrassenMultiplier(strassenThreshold, blockSize, kernels, pool, parallelThreshold)
+                    .multiply(a, b, c, rows1);
+        } else if (isParallel((long) rows1 * cols1 * cols2)) {
+            int grain = computePool.grainFor(rows1, 1);
+            computePool.forRange(0, rows1, grain, (from, to) -> multiplyRows(a, b, c, from, to));
+        } else {
+            multiplyRows(a, b, c, 0, rows1);
+        }
+        if (scope != null) {
+            return 0;
+        }
+        return (a != matrix1.getStorage() ? (long) rows1 * cols1 * Double.BYTES : 0)
+                + (b != matrix2.getStorage() ? (long) cols1 * cols2 * Double.BYTES : 0);
+    }
+
+    /**
+     * Умножает матрицы полосами строк и записывает произведение в хранилище без прямого доступа к массивам.
+     * <p>
+     *  Строки полосы первой матрицы читаются в буфер в куче, вторая матрица проходится панелями строк,
+     *  произведение полосы накапливается блочным ядром в буфере и записывается в результат построчно.
+     *  Каждый буфер занимает не больше {@link #getOffHeapBandSize()} элементов (но не меньше одной строки),
+     *  поэтому количество элементов матриц не ограничено размером массива. Вторая матрица, помещающаяся
+     *  в одну панель, читается один раз; иначе она читается заново для каждой полосы.
+     *  Суммирование по k выполняется в том же порядке, что и в блочном ядре для матриц в куче.
+     * </p>
+     *
+     * @param a Хранилище первой матрицы.
+     * @param b Хранилище второй матрицы.
+     * @param c Хранилище результата.
+     * @return Объем буферов в куче в байтах.
+     */
+    private long multiplyBanded(MatrixStorage a, MatrixStorage b, MatrixStorage c) {
+        int rows1 = a.getRows();
+        int inner = a.getCols();
+        int cols2 = b.getCols();
+        int bandRows = Math.min(rows1, Math.max(1, offHeapBandSize / Math.max(inner, cols2)));
+        int panelRows = Math.min(inner, Math.max(1, offHeapBandSize / cols2));
+        double[] aBand = new double[bandRows * inner];
+        double[] cBand = new double[bandRows * cols2];
+        double[] bPanel = new double[panelRows * cols2];
+        boolean singlePanel = panelRows == inner;
+        if (singlePanel) {
+            readRows(b, 0, inner, bPanel);
+        }
+        for (int i0 = 0; i0 < rows1; i0 += bandRows) {
+            int count = Math.min(bandRows, rows1 - i0);
+            readRows(a, i0, count, aBand);
+            Arrays.fill(cBand, 0, count * cols2, 0.0);
+            FlatArrayStorage cView = new FlatArrayStorage(cBand, count, cols2, 0, cols2);
+            for (int k0 = 0; k0 < inner; k0 += panelRows) {
+                int kCount = Math.min(panelRows, inner - k0);
+                if (!singlePanel) {
+                    readRows(b, k0, kCount, bPanel);
+                }
+                FlatArrayStorage aView = new FlatArrayStorage(aBand, count, kCount, k0, inner);
+                FlatArrayStorage bView = new FlatArrayStorage(bPanel, kCount, cols2, 0, cols2);
+                if (isParallel((long) count * kCount * cols2)) {
+                    computePool.forRange(0, count, computePool.grainFor(count, 1), (from, to) ->
+                            MultiplyKernels.multiplyBlocked(aView, bView, cView, from, to, blockSize, kernels));
+                } else {
+                    MultiplyKernels.multiplyBlocked(aView, bView, cView, 0, count, blockSize, kernels);
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                c.writeRow(i0 + i, cBand, i * cols2);
+            }
+        }
+        return ((long) aBand.length + cBand.length + bPanel.length) * Double.BYTES;
+    }
+
+    /**
+     * Читает подряд идущие строки хранилища в непрерывный массив.
+     *
+     * @param storage Хранилище.
+     * @param from    Первая строка.
+     * @param count   Количество строк.
+     * @param target  Массив, в который строки записываются одна за другой.
+     */
+    private static void readRows(MatrixStorage storage, int from, int count, double[] target) {
+        int cols = storage.getCols();
+        for (int i = 0; i < count; i++) {
+            storage.readRow(from + i, target, i * cols);
+        }
+    }
+
+    /**
+     * Возвращает хранилище матрицы с прямым доступом к массивам, копируя элементы при необходимости.
+     *
+     * @param matrix Матрица.
+     * @param scope  Область пула буферов для копии или null, чтобы создать новую матрицу.
+     * @return Хранилище матрицы, если оно поддерживает прямой доступ к массивам, иначе хранилище копии.
+     */
+    private static MatrixStorage arrayStorage(Matrix matrix, MatrixBufferPool.Scope scope) {
+        MatrixStorage storage = matrix.getStorage();
+        if (storage.hasArrayAccess()) {
+            return storage;
+        }
+        if (scope == null) {
+            return matrix.toFlat().getStorage();
+        }
+        MatrixStorage copy = scope.acquire(matrix.getRows(), matrix.getCols()).getStorage();
+        for (int i = 0; i < matrix.getRows(); i++) {
+            storage.readRow(i, copy.rowArray(i), copy.rowOffset(i));
+        }
+        return copy;
+    }
+
+    /**
+     * Умножает полосу строк [rowFrom, rowTo) выбранным ядром.
+     *
+     * @param a       Хранилище первой матрицы.
+     * @param b       Хранилище второй матрицы.
+     * @param c       Хранилище результата.
+     * @param rowFrom Первая строка полосы (включительно).
+     * @param rowTo   Последняя строка полосы (не включительно).
+     */
+    private void multiplyRows(MatrixStorage a, MatrixStorage b, MatrixStorage c, int rowFrom, int rowTo) {
+        if (multiplyAlgorithm == MultiplyAlgorithm.NAIVE) {
+            MultiplyKernels.multiplyNaive(a, b, c, rowFrom, rowTo);
+        } else {
+            MultiplyKernels.multiplyBlocked(a, b, c, rowFrom, rowTo, blockSize, kernels);
+        }
+    }
+
+    /**
+     * Вычисляет отложенное выражение над матрицами.
+     * <p>
+     *  Цепочки поэлементных операций (сложение, вычитание, умножение на скаляр, применение функции)
+     *  вычисляются одним проходом без промежуточных матриц; матричные произведения выполняются
+     *  {@link #multiply(Matrix, Matrix)} с текущими настройками. Используются настройки параллельного
+     *  выполнения и векторные ядра этого объекта.
+     * </p>
+     *
+     * @param expression Выражение.
+     * @return Значение выражения. Для выражения, состоящего из одной матрицы, возвращается эта матрица.
+     * @throws MatrixException Если операция над матрицами завершилась ошибкой.
+     */
+    public Matrix evaluate(MatrixExpression expression) throws MatrixException {
+        long start = startTiming();
+        Matrix result = new ExpressionEvaluator(this, kernels).evaluate(expression);
+        // Поэлементные шаги не оцениваются: умножения внутри выражения учитываются как отдельные операции
+        record("evaluate", start, 0, sizeInBytes(result), 0);
+        return result;
+    }
+
+    /**
+     * Умножает разреженную матрицу на плотную.
+     * <p>
+     *  Обходятся только ненулевые элементы первой матрицы, поэтому сложность равна
+     *  O(nnz(matrix1) * cols(matrix2)) вместо O(rows * inner * cols).
+     * </p>
+     *
+     * @param matrix1 Разреженная матрица в формате CSR.
+     * @param matrix2 Плотная матрица.
+     * @return Плотная матрица - произведение matrix1 и matrix2.
+     * @throws MatrixException Если количество столбцов первой матрицы не равно количеству строк второй матрицы.
+     */
+    public Matrix multiply(CsrMatrix matrix1, Matrix matrix2) throws MatrixException {
+        validateMultiplicationSizes(matrix1.getCols(), matrix2.getRows());
+        long start = startTiming();
+        int rows = matrix1.getRows();
+        int cols = matrix2.getCols();
+        Matrix result = new Matrix(rows, cols);
+        MatrixStorage b = matrix2.getStorage().hasArrayAccess() ? matrix2.getStorage() : matrix2.toFlat().getStorage();
+        MatrixStorage c = result.getStorage();
+        if (isParallel((long) matrix1.getNonZeros() * cols)) {
+            computePool.forRange(0, rows, computePool.grainFor(rows, 1),
+                    (from, to) -> SparseKernels.multiplySparseDense(matrix1, b, c, from, to, kernels));
+        } else {
+            SparseKernels.multiplySparseDense(matrix1, b, c, 0, rows, kernels);
+        }
+        record("multiplySparseDense", start, 2L * matrix1.getNonZeros() * cols,
+                sizeInBytes(matrix1) + sizeInBytes(matrix2) + sizeInBytes(result), sizeInBytes(result));
+        return result;
+    }
+
+    /**
+     * Умножает плотную матрицу на разреженную.
+     *
+     * @param matrix1 Плотная матрица.
+     * @param matrix2 Разреженная матрица в формате CSC.
+     * @return Плотная матрица - произведение matrix1 и matrix2.
+     * @throws MatrixException Если количество столбцов первой матрицы не равно количеству строк второй матрицы.
+     */
+    public Matrix multiply(Matrix matrix1, CscMatrix matrix2) throws MatrixException {
+        validateMultiplicationSizes(matrix1.getCols(), matrix2.getRows());
+        long start = startTiming();
+        int rows = matrix1.getRows();
+        Matrix result = new Matrix(rows, matrix2.getCols());
+        MatrixStorage a = matrix1.getStorage().hasArrayAccess() ? matrix1.getStorage() : matrix1.toFlat().getStorage();
+        MatrixStorage c = result.getStorage();
+        if (isParallel((long) rows * matrix2.getNonZeros())) {
+            computePool.forRange(0, rows, computePool.grainFor(rows, 1),
+                    (from, to) -> SparseKernels.multiplyDenseSparse(a, matrix2, c, from, to));
+        } else {
+            SparseKernels.multiplyDenseSparse(a, matrix2, c, 0, rows);
+        }
+        record("multiplyDenseSparse", start, 2L * rows * matrix2.getNonZeros(),
+                sizeInBytes(matrix1) + sizeInBytes(matrix2) + sizeInBytes(result), sizeInBytes(result));
+        return result;
+    }
+
+    /**
+     * Умножает две разреженные матрицы. Результат также хранится в формате CSR.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @return Произведение matrix1 и matrix2.
+     * @throws MatrixException Если количество столбцов первой матрицы не равно количеству строк второй матрицы.
+     */
+    public CsrMatrix multiply(CsrMatrix matrix1, CsrMatrix matrix2) throws MatrixException {
+        validateMultiplicationSizes(matrix1.getCols(), matrix2.getRows());
+        long start = startTiming();
+        CsrMatrix result = SparseKernels.multiplySparseSparse(matrix1, matrix2);
+        // Количество операций зависит от структуры матриц и не оценивается
+        record("multiplySparse", start, 0,
+                sizeInBytes(matrix1) + sizeInBytes(matrix2) + sizeInBytes(result), sizeInBytes(result));
+        return result;
+    }
+
+    /**
+     * Складывает две разреженные матрицы, обходя только ненулевые элементы.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @return Сумма matrix1 и matrix2 в формате CSR.
+     * @throws MatrixException Если матрицы имеют несовместимые размеры.
+     */
+    public CsrMatrix add(CsrMatrix matrix1, CsrMatrix matrix2) throws MatrixException {
+        validateSparseSizes(matrix1, matrix2);
+        long start = startTiming();
+        CsrMatrix result = SparseKernels.addSparse(matrix1, matrix2, 1.0);
+        recordSparse("addSparse", start, result, matrix1, matrix2);
+        return result;
+    }
+
+    /**
+     * Вычитает одну разреженную матрицу из другой, обходя только ненулевые элементы.
+     *
+     * @param matrix1 Первая матрица (уменьшаемое).
+     * @param matrix2 Вторая матрица (вычитаемое).
+     * @return Разность matrix1 и matrix2 в формате CSR.
+     * @throws MatrixException Если матрицы имеют несовместимые размеры.
+     */
+    public CsrMatrix subtract(CsrMatrix matrix1, CsrMatrix matrix2) throws MatrixException {
+        validateSparseSizes(matrix1, matrix2);
+        long start = startTiming();
+        CsrMatrix result = SparseKernels.addSparse(matrix1, matrix2, -1.0);
+        recordSparse("subtractSparse", start, result, matrix1, matrix2);
+        return result;
+    }
+
+    /**
+     * Умножает разреженную матрицу на скаляр.
+     *
+     * @param matrix Исходная матрица.
+     * @param scalar Скалярное значение.
+     * @return Произведение matrix и scalar в формате CSR.
+     */
+    public CsrMatrix multiplyByScalar(CsrMatrix matrix, double scalar) {
+        long start = startTiming();
+        CsrMatrix result = SparseKernels.scaleSparse(matrix, scalar);
+        recordSparse("multiplyByScalarSparse", start, result, matrix);
+        return result;
+    }
+
+    /**
+     * Попарно перемножает матрицы двух пакетов: результат с номером p равен matrix1[p] * matrix2[p].
+     * <p>
+     *  Размеры проверяются один раз на весь пакет. Для квадратных матриц от 2x2 до 8x8 используются
+     *  специализированные ядра, большие пакеты распределяются по потокам по номерам матриц.
+     * </p>
+     *
+     * @param matrix1 Пакет левых множителей.
+     * @param matrix2 Пакет правых множителей.
+     * @return Пакет произведений.
+     * @throws MatrixException Если количество матриц в пакетах различается или размеры матриц несовместимы.
+     */
+    public MatrixBatch multiply(MatrixBatch matrix1, MatrixBatch matrix2) throws MatrixException {
+        validateBatchMultiplication(matrix1, matrix2);
+        long start = startTiming();
+        MatrixBatch result = new MatrixBatch(matrix1.getCount(), matrix1.getRows(), matrix2.getCols());
+        multiplyBatch(matrix1, matrix2, result, start, true);
+        return result;
+    }
+
+    /**
+     * Попарно перемножает матрицы двух пакетов и записывает произведения в заданный пакет без создания нового.
+     *
+     * @param matrix1 Пакет левых множителей.
+     * @param matrix2 Пакет правых множителей.
+     * @param result  Пакет для произведений с тем же количеством матриц размером rows(matrix1) x cols(matrix2).
+     *                Не должен совпадать с пакетами множителей.
+     * @return Пакет result.
+     * @throws MatrixException Если количество матриц в пакетах различается, размеры матриц несовместимы
+     *                         или result использует массив одного из множителей.
+     */
+    public MatrixBatch multiply(MatrixBatch matrix1, MatrixBatch matrix2, MatrixBatch result) throws MatrixException {
+        validateBatchMultiplication(matrix1, matrix2);
+        validateBatchDestination(result, matrix1.getCount(), matrix1.getRows(), matrix2.getCols());
+        if (result.getData() == matrix1.getData() || result.getData() == matrix2.getData()) {
+            throw new MatrixException("Пакет результата умножения не должен совпадать с пакетом множителей.");
+        }
+        multiplyBatch(matrix1, matrix2, result, startTiming(), false);
+        return result;
+    }
+
+    /**
+     * Перемножает матрицы пакетов после проверки размеров и записывает метрики операции.
+     *
+     * @param matrix1   Пакет левых множителей.
+     * @param matrix2   Пакет правых множителей.
+     * @param result    Пакет для произведений.
+     * @param start     Отметка времени, возвращенная {@link #startTiming()}.
+     * @param allocated true, если пакет результата создан операцией.
+     */
+    private void multiplyBatch(MatrixBatch matrix1, MatrixBatch matrix2, MatrixBatch result, long start, boolean allocated) {
+        int m = matrix1.getRows();
+        int k = matrix1.getCols();
+        int n = matrix2.getCols();
+        double[] a = matrix1.getData();
+        double[] b = matrix2.getData();
+        double[] c = result.getData();
+        forEachBatchChunk(matrix1.getCount(), (long) m * k * n,
+                (from, to) -> BatchKernels.multiply(a, b, c, m, k, n, from, to));
+        record("multiplyBatch", start, 2L * matrix1.getCount() * m * k * n,
+                (long) (a.length + b.length + c.length) * Double.BYTES, allocated ? (long) c.length * Double.BYTES : 0);
+    }
+
+    /**
+     * Вычисляет определители всех матриц пакета.
+     *
+     * @param batch Пакет квадратных матриц.
+     * @return Массив определителей в порядке матриц пакета.
+     * @throws MatrixException Если матрицы пакета не квадратные.
+     */
+    public double[] determinant(MatrixBatch batch) throws MatrixException {
+        if (batch.getRows() != batch.getCols()) {
+            throw new MatrixException("Определитель можно вычислить только для квадратной матрицы.");
+        }
+        long start = startTiming();
+        int n = batch.getRows();
+        double[] a = batch.getData();
+        double[] result = new double[batch.getCount()];
+        forEachBatchChunk(batch.getCount(), (long) n * n * n,
+                (from, to) -> BatchKernels.determinant(a, n, result, from, to));
+        record("determinantBatch", start, batch.getCount() * luFlops(n),
+                (long) (a.length + result.length) * Double.BYTES, (long) result.length * Double.BYTES);
+        return result;
+    }
+
+    /**
+     * Обращает все матрицы пакета.
+     *
+     * @param batch Пакет квадратных невырожденных матриц.
+     * @return Пакет обратных матриц.
+     * @throws MatrixException Если матрицы пакета не квадратные или хотя бы одна из них вырождена
+     *                         (сообщение содержит номер первой найденной вырожденной матрицы).
      */
-    public Matrix multiplyByScalar(Matrix matrix, double scalar) throws MatrixException {
-        int rows = matrix.getRows();
-        int cols = matrix.getCols();
-
-        // Создание матрицы для результата
-        Matrix result = new Matrix(rows, cols);
-
-        // Процесс умножения на скаляр
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                result.setElement(i, j, matrix.getElement(i, j) * scalar);
-            }
+    public MatrixBatch inverse(MatrixBatch batch) throws MatrixException {
+        if (batch.getRows() != batch.getCols()) {
+            throw new MatrixException("Обратную матрицу можно вычислить только для квадратной матрицы.");
         }
+        long start = startTiming();
+        MatrixBatch result = new MatrixBatch(batch.getCount(), batch.getRows(), batch.getCols());
+        inverseBatch(batch, result, start, true);
         return result;
     }
 
     /**
-     * Умножает две матрицы.
+     * Обращает все матрицы пакета и записывает обратные матрицы в заданный пакет без создания нового.
      * <p>
-     *  Количество столбцов первой матрицы должно быть равно количеству строк второй матрицы.
+     *  Пакет результата может совпадать с исходным: каждая матрица полностью читается до записи
+     *  обратной к ней. Если хотя бы одна матрица вырождена, содержимое result не определено.
      * </p>
      *
-     * @param matrix1 Первая матрица.
-     * @param matrix2 Вторая матрица.
-     * @return Результирующая матрица - произведение matrix1 и matrix2.
-     * @throws MatrixException Если матрицы имеют несовместимые размеры (количество столбцов первой матрицы не равно количеству строк второй матрицы).
+     * @param batch  Пакет квадратных невырожденных матриц.
+     * @param result Пакет для обратных матриц того же размера. Может совпадать с batch.
+     * @return Пакет result.
+     * @throws MatrixException Если матрицы пакета не квадратные, размер result отличается от размера batch
+     *                         или хотя бы одна матрица вырождена.
      */
-    public Matrix multiply(Matrix matrix1, Matrix matrix2) throws MatrixException {
-        if (matrix1.getCols() != matrix2.getRows()) {
-            throw new MatrixException("Количество столбцов первой матрицы должно быть равно количеству строк второй матрицы для умножения.");
+    public MatrixBatch inverse(MatrixBatch batch, MatrixBatch result) throws MatrixException {
+        if (batch.getRows() != batch.getCols()) {
+            throw new MatrixException("Обратную матрицу можно вычислить только для квадратной матрицы.");
         }
+        validateBatchDestination(result, batch.getCount(), batch.getRows(), batch.getCols());
+        inverseBatch(batch, result, startTiming(), false);
+        return result;
+    }
 
-        int rows1 = matrix1.getRows();
-        int cols1 = matrix1.getCols();
-        int cols2 = matrix2.getCols();
-
-        // Создание матрицы для результата
-        Matrix result = new Matrix(rows1, cols2);
-
-        // Процесс умножения матриц
-        for (int i = 0; i < rows1; i++) {
-            for (int j = 0; j < cols2; j++) {
-                double sum = 0;
-                for (int k = 0; k < cols1; k++) {
-                    sum += matrix1.getElement(i, k) * matrix2.getElement(k, j);
-                }
-                result.setElement(i, j, sum);
+    /**
+     * Обращает матрицы пакета после проверки размеров и записывает метрики операции.
+     *
+     * @param batch     Пакет квадратных матриц.
+     * @param result    Пакет для обратных матриц.
+     * @param start     Отметка времени, возвращенная {@link #startTiming()}.
+     * @param allocated true, если пакет результата создан операцией.
+     * @throws MatrixException Если хотя бы одна матрица вырождена.
+     */
+    private void inverseBatch(MatrixBatch batch, MatrixBatch result, long start, boolean allocated) throws MatrixException {
+        int n = batch.getRows();
+        double[] a = batch.getData();
+        double[] c = result.getData();
+        AtomicInteger singular = new AtomicInteger(Integer.MAX_VALUE);
+        forEachBatchChunk(batch.getCount(), (long) n * n * n, (from, to) -> {
+            int index = BatchKernels.inverse(a, c, n, from, to);
+            if (index >= 0) {
+                singular.accumulateAndGet(index, Math::min);
             }
+        });
+        if (singular.get() != Integer.MAX_VALUE) {
+            throw new MatrixException("Матрица " + singular.get() + " пакета вырождена, обратной матрицы не существует.");
         }
-        return result;
+        long count = batch.getCount();
+        record("inverseBatch", start, count * 2L * n * n * n,
+                (long) (a.length + c.length) * Double.BYTES, allocated ? (long) c.length * Double.BYTES : 0);
     }
 
     /**
      * Вычисляет определитель матрицы.
      * <p>
      * Матрица должна быть квадратной (иметь одинаковое количество строк и столбцов).
+     *  Для матриц размером больше {@value #RECURSIVE_DETERMINANT_MAX_SIZE} используется
+     *  {@link LUDecomposition} с частичным выбором ведущего элемента (O(n³)).
      * </p>
      *
      * @param matrix Исходная матрица.
@@ -116,18 +1159,103 @@ public class MatrixOperations {
         if (!isSquareMatrix(matrix)) {
             throw new MatrixException("Определитель можно вычислить только для квадратной матрицы.");
         }
-        return determinantRecursive(matrix.getData());
+        long start = startTiming();
+        int n = matrix.getRows();
+        logger.debug("Вычисление определителя для матрицы размера: {}x{}", n, n);
+        double determinant;
+        if (n <= RECURSIVE_DETERMINANT_MAX_SIZE) {
+            determinant = determinantRecursive(matrix.getData());
+        } else {
+            determinant = new LUDecomposition(matrix).determinant();
+        }
+        record("determinant", start, luFlops(n), sizeInBytes(matrix), (long) n * n * Double.BYTES);
+        return determinant;
+    }
+
+    /**
+     * Решает систему линейных уравнений AX = B с помощью {@link LUDecomposition}.
+     * <p>
+     *  Для многократного решения систем с одной матрицей A выгоднее один раз создать разложение
+     *  ({@link LUDecomposition}, {@link CholeskyDecomposition} для симметричных положительно определенных
+     *  матриц или {@link QRDecomposition}) и вызывать его метод {@code solve}.
+     * </p>
+     *
+     * @param matrix Квадратная матрица системы A.
+     * @param rightHandSide Матрица правых частей B (по одной правой части в столбце).
+     * @return Матрица решений X.
+     * @throws MatrixException Если матрица не квадратная, вырождена или размеры не согласованы.
+     */
+    public Matrix solve(Matrix matrix, Matrix rightHandSide) throws MatrixException {
+        long start = startTiming();
+        Matrix result = new LUDecomposition(matrix).solve(rightHandSide);
+        int n = matrix.getRows();
+        record("solve", start, luFlops(n) + 2L * n * n * rightHandSide.getCols(),
+                sizeInBytes(matrix) + sizeInBytes(rightHandSide) + sizeInBytes(result),
+                (long) n * n * Double.BYTES + sizeInBytes(result));
+        return result;
+    }
+
+    /**
+     * Решает систему линейных уравнений AX = B в смешанной точности с помощью {@link MixedPrecisionSolver}:
+     * разложение выполняется в float, решение уточняется итерациями в double.
+     * <p>
+     *  Для хорошо обусловленных систем результат совпадает по точности с {@link #solve(Matrix, Matrix)},
+     *  а разложение обрабатывает вдвое меньший объем данных. Если уточнение не сходится,
+     *  система решается в двойной точности.
+     * </p>
+     *
+     * @param matrix Квадратная матрица системы A.
+     * @param rightHandSide Матрица правых частей B (по одной правой части в столбце).
+     * @return Матрица решений X.
+     * @throws MatrixException Если матрица не квадратная, вырождена или размеры не согласованы.
+     */
+    public Matrix solveMixedPrecision(Matrix matrix, Matrix rightHandSide) throws MatrixException {
+        long start = startTiming();
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(matrix);
+        Matrix result = solver.solve(rightHandSide);
+        if (metrics != null) {
+            // Каждая итерация: невязка и решение с готовым разложением, по 2n² на правую часть
+            long n = matrix.getRows();
+            long perSolve = 2L * n * n * rightHandSide.getCols();
+            long flops = luFlops(matrix.getRows()) + perSolve * (1 + 2L * solver.getIterations())
+                    + (solver.isFallbackUsed() ? luFlops(matrix.getRows()) + perSolve : 0);
+            long allocated = n * n * (Double.BYTES + Float.BYTES) + sizeInBytes(result)
+                    + (solver.isFallbackUsed() ? n * n * Double.BYTES : 0);
+            record("solveMixedPrecision", start, flops,
+                    sizeInBytes(matrix) + sizeInBytes(rightHandSide) + sizeInBytes(result), allocated);
+        }
+        return result;
+    }
+
+    /**
+     * Вычисляет обратную матрицу с помощью {@link LUDecomposition}.
+     *
+     * @param matrix Квадратная невырожденная матрица.
+     * @return Обратная матрица.
+     * @throws MatrixException Если матрица не квадратная или вырождена.
+     */
+    public Matrix inverse(Matrix matrix) throws MatrixException {
+        long start = startTiming();
+        Matrix result = new LUDecomposition(matrix).inverse();
+        long n = matrix.getRows();
+        // Разложение и решение с n правыми частями единичной матрицы
+        record("inverse", start, luFlops(matrix.getRows()) + 2 * n * n * n,
+                sizeInBytes(matrix) + sizeInBytes(result), 3 * n * n * Double.BYTES);
+        return result;
     }
 
     /**
-     * Рекурсивно вычисляет определитель матрицы.
+     * Рекурсивно вычисляет определитель матрицы разложением по первой строке.
+     * <p>
+     *  Сложность O(n!), поэтому метод используется только для маленьких матриц
+     *  и как эталон при проверке LU-разложения.
+     * </p>
      *
      * @param matrix Исходная матрица в виде двумерного массива.
      * @return Определитель матрицы.
      */
     private double determinantRecursive(double[][] matrix) {
         int n = matrix.length;
-        System.out.println("Вычисление определителя для матрицы размера: " + n + "x" + n);
         if (n == 1) {
             return matrix[0][0];
         }
@@ -185,30 +1313,502 @@ public class MatrixOperations {
         }
     }
 
+    /**
+     * Проверяет, что разреженные матрицы имеют одинаковые размеры.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @throws MatrixException Если размеры матриц не совпадают.
+     */
+    private void validateSparseSizes(CsrMatrix matrix1, CsrMatrix matrix2) throws MatrixException {
+        if (matrix1.getRows() != matrix2.getRows() || matrix1.getCols() != matrix2.getCols()) {
+            throw new MatrixException("Матрицы должны иметь одинаковые размеры для данной операции.");
+        }
+    }
+
+    /**
+     * Проверяет, что матрицы можно перемножить.
+     *
+     * @param cols1 Количество столбцов первой матрицы.
+     * @param rows2 Количество строк второй матрицы.
+     * @throws MatrixException Если количество столбцов первой матрицы не равно количеству строк второй.
+     */
+    private void validateMultiplicationSizes(int cols1, int rows2) throws MatrixException {
+        if (cols1 != rows2) {
+            throw new MatrixException("Количество столбцов первой матрицы должно быть равно количеству строк второй матрицы для умножения.");
+        }
+    }
+
+    /**
+     * Проверяет, что пакеты матриц можно попарно перемножить.
+     *
+     * @param matrix1 Пакет левых множителей.
+     * @param matrix2 Пакет правых множителей.
+     * @throws MatrixException Если количество матриц в пакетах различается или размеры матриц несовместимы.
+     */
+    private void validateBatchMultiplication(MatrixBatch matrix1, MatrixBatch matrix2) throws MatrixException {
+        if (matrix1.getCount() != matrix2.getCount()) {
+            throw new MatrixException("Количество матриц в пакетах должно совпадать.");
+        }
+        validateMultiplicationSizes(matrix1.getCols(), matrix2.getRows());
+    }
+
+    /**
+     * Проверяет размеры пакета, переданного для записи результата.
+     *
+     * @param result Пакет для результата.
+     * @param count  Ожидаемое количество матриц.
+     * @param rows   Ожидаемое количество строк каждой матрицы.
+     * @param cols   Ожидаемое количество столбцов каждой матрицы.
+     * @throws MatrixException Если размеры пакета отличаются от ожидаемых.
+     */
+    private void validateBatchDestination(MatrixBatch result, int count, int rows, int cols) throws MatrixException {
+        if (result.getCount() != count || result.getRows() != rows || result.getCols() != cols) {
+            throw new MatrixException("Пакет результата должен содержать " + count + " матриц размером " + rows + "x" + cols + ".");
+        }
+    }
+
+    /**
+     * Проверяет размер матрицы, переданной для записи результата.
+     *
+     * @param result Матрица для результата.
+     * @param rows   Ожидаемое количество строк.
+     * @param cols   Ожидаемое количество столбцов.
+     * @throws MatrixException Если размер матрицы отличается от ожидаемого.
+     */
+    private void validateDestinationSize(Matrix result, int rows, int cols) throws MatrixException {
+        if (result.getRows() != rows || result.getCols() != cols) {
+            throw new MatrixException("Матрица результата должна иметь размер " + rows + "x" + cols + ".");
+        }
+    }
+
+    /**
+     * Проверяет матрицу для результата поэлементной операции: размер совпадает с размером операндов,
+     * а хранилище либо совпадает с хранилищем операнда элемент в элемент, либо не пересекается с ним.
+     * При частичном перекрытии элемент операнда мог бы быть перезаписан раньше, чем прочитан.
+     *
+     * @param result   Матрица для результата.
+     * @param operands Операнды операции одинакового размера.
+     * @throws MatrixException Если размер результата отличается от размера операндов или хранилища частично перекрываются.
+     */
+    private void validateElementwiseDestination(Matrix result, Matrix... operands) throws MatrixException {
+        validateDestinationSize(result, operands[0].getRows(), operands[0].getCols());
+        for (Matrix operand : operands) {
+            if (!sameElements(result.getStorage(), operand.getStorage())
+                    && overlaps(result.getStorage(), operand.getStorage())) {
+                throw new MatrixException("Матрица результата частично перекрывается с операндом.");
+            }
+        }
+    }
+
     /**
      * Выполняет операцию над двумя матрицами, применяя заданную функцию.
      *
      * @param matrix1   Первая матрица.
      * @param matrix2   Вторая матрица.
      * @param operation Функция для выполнения операции над элементами матриц.
-     * @return Результирующая матрица.
-     * @throws MatrixException Если ошибка при создании матрицы.
+     * @param result    Матрица для результата того же размера. Может совпадать с одним из операндов.
      */
-    private Matrix performMatrixOperation(Matrix matrix1, Matrix matrix2, MatrixElementOperation operation) throws MatrixException {
+    private void performMatrixOperation(Matrix matrix1, Matrix matrix2, MatrixElementOperation operation, Matrix result) {
         int rows = matrix1.getRows();
         int cols = matrix1.getCols();
 
-        // Создание матрицы для результата
-        Matrix result = new Matrix(rows, cols);
+        MatrixStorage a = matrix1.getStorage();
+        MatrixStorage b = matrix2.getStorage();
+        MatrixStorage c = result.getStorage();
 
         // Процесс выполнения операции
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                double value = operation.apply(matrix1.getElement(i, j), matrix2.getElement(i, j));
-                result.setElement(i, j, value);
+        if (!a.hasArrayAccess() || !b.hasArrayAccess() || !c.hasArrayAccess()) {
+            forEachRowBand(rows, cols, (from, to) -> {
+                double[] aRow = new double[cols];
+                double[] bRow = new double[cols];
+                double[] cRow = c.hasArrayAccess() ? null : new double[cols];
+                for (int i = from; i < to; i++) {
+                    a.readRow(i, aRow, 0);
+                    b.readRow(i, bRow, 0);
+                    if (cRow == null) {
+                        operation.applyRange(aRow, 0, bRow, 0, c.rowArray(i), c.rowOffset(i), cols);
+                    } else {
+                        operation.applyRange(aRow, 0, bRow, 0, cRow, 0, cols);
+                        c.writeRow(i, cRow, 0);
+                    }
+                }
+            });
+        } else if (isContiguous(a) && isContiguous(b) && isContiguous(c)) {
+            double[] aData = a.rowArray(0);
+            double[] bData = b.rowArray(0);
+            double[] cData = c.rowArray(0);
+            int aBase = a.rowOffset(0);
+            int bBase = b.rowOffset(0);
+            int cBase = c.rowOffset(0);
+            forEachElementChunk(rows * cols, (from, to) -> operation.applyRange(
+                    aData, aBase + from, bData, bBase + from, cData, cBase + from, to - from));
+        } else {
+            forEachRowBand(rows, cols, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    operation.applyRange(a.rowArray(i), a.rowOffset(i), b.rowArray(i), b.rowOffset(i),
+                            c.rowArray(i), c.rowOffset(i), cols);
+                }
+            });
+        }
+    }
+
+    /**
+     * Выполняет операцию над каждым элементом матрицы и скаляром.
+     *
+     * @param matrix    Исходная матрица.
+     * @param scalar    Скалярное значение, передаваемое вторым аргументом операции.
+     * @param operation Функция для выполнения операции над элементом и скаляром.
+     * @param result    Матрица для результата того же размера. Может совпадать с исходной матрицей.
+     */
+    private void performScalarOperation(Matrix matrix, double scalar, MatrixElementOperation operation, Matrix result) {
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+
+        MatrixStorage a = matrix.getStorage();
+        MatrixStorage c = result.getStorage();
+
+        // Процесс выполнения операции
+        if (!a.hasArrayAccess() || !c.hasArrayAccess()) {
+            forEachRowBand(rows, cols, (from, to) -> {
+                double[] aRow = new double[cols];
+                for (int i = from; i < to; i++) {
+                    a.readRow(i, aRow, 0);
+                    if (c.hasArrayAccess()) {
+                        operation.applyScalarRange(aRow, 0, scalar, c.rowArray(i), c.rowOffset(i), cols);
+                    } else {
+                        // Результат записывается на место прочитанной строки
+                        operation.applyScalarRange(aRow, 0, scalar, aRow, 0, cols);
+                        c.writeRow(i, aRow, 0);
+                    }
+                }
+            });
+        } else if (isContiguous(a) && isContiguous(c)) {
+            double[] aData = a.rowArray(0);
+            double[] cData = c.rowArray(0);
+            int aBase = a.rowOffset(0);
+            int cBase = c.rowOffset(0);
+            forEachElementChunk(rows * cols, (from, to) -> operation.applyScalarRange(
+                    aData, aBase + from, scalar, cData, cBase + from, to - from));
+        } else {
+            forEachRowBand(rows, cols, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    operation.applyScalarRange(a.rowArray(i), a.rowOffset(i), scalar, c.rowArray(i), c.rowOffset(i), cols);
+                }
+            });
+        }
+    }
+
+    /**
+     * Применяет унарную операцию к каждому элементу матрицы.
+     *
+     * @param matrix    Исходная матрица.
+     * @param operation Функция, применяемая к каждому элементу.
+     * @param result    Матрица для результата того же размера. Может совпадать с исходной матрицей.
+     */
+    private void performUnaryOperation(Matrix matrix, MatrixUnaryOperation operation, Matrix result) {
+        int rows = matrix.getRows();
+        int cols = matrix.getCols();
+
+        MatrixStorage a = matrix.getStorage();
+        MatrixStorage c = result.getStorage();
+
+        // Процесс выполнения операции
+        if (!a.hasArrayAccess() || !c.hasArrayAccess()) {
+            forEachRowBand(rows, cols, (from, to) -> {
+                double[] aRow = new double[cols];
+                for (int i = from; i < to; i++) {
+                    a.readRow(i, aRow, 0);
+                    if (c.hasArrayAccess()) {
+                        operation.applyRange(aRow, 0, c.rowArray(i), c.rowOffset(i), cols);
+                    } else {
+                        // Результат записывается на место прочитанной строки
+                        operation.applyRange(aRow, 0, aRow, 0, cols);
+                        c.writeRow(i, aRow, 0);
+                    }
+                }
+            });
+        } else if (isContiguous(a) && isContiguous(c)) {
+            double[] aData = a.rowArray(0);
+            double[] cData = c.rowArray(0);
+            int aBase = a.rowOffset(0);
+            int cBase = c.rowOffset(0);
+            forEachElementChunk(rows * cols, (from, to) -> operation.applyRange(
+                    aData, aBase + from, cData, cBase + from, to - from));
+        } else {
+            forEachRowBand(rows, cols, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    operation.applyRange(a.rowArray(i), a.rowOffset(i), c.rowArray(i), c.rowOffset(i), cols);
+                }
+            });
+        }
+    }
+
+    /**
+     * Выполняет задачу над диапазоном строк, распределяя полосы строк по потокам для больших матриц.
+     *
+     * @param rows Количество строк.
+     * @param cols Количество столбцов.
+     * @param task Задача, обрабатывающая полосу строк [from, to).
+     */
+    void forEachRowBand(int rows, int cols, ComputePool.RangeTask task) {
+        if (isParallel((long) rows * cols)) {
+            int minRows = Math.max(1, ELEMENTWISE_MIN_GRAIN / cols);
+            computePool.forRange(0, rows, computePool.grainFor(rows, minRows), task);
+        } else {
+            task.run(0, rows);
+        }
+    }
+
+    /**
+     * Выполняет задачу над диапазоном элементов непрерывного хранилища,
+     * распределяя порции по потокам для больших матриц.
+     *
+     * @param size Количество элементов.
+     * @param task Задача, обрабатывающая элементы [from, to).
+     */
+    void forEachElementChunk(int size, ComputePool.RangeTask task) {
+        if (isParallel(size)) {
+            computePool.forRange(0, size, computePool.grainFor(size, ELEMENTWISE_MIN_GRAIN), task);
+        } else {
+            task.run(0, size);
+        }
+    }
+
+    /**
+     * Выполняет задачу над диапазоном номеров матриц пакета, распределяя порции по потокам для больших пакетов.
+     *
+     * @param count         Количество матриц пакета.
+     * @param workPerMatrix Количество элементарных операций на одну матрицу.
+     * @param task          Задача, обрабатывающая матрицы [from, to).
+     */
+    private void forEachBatchChunk(int count, long workPerMatrix, ComputePool.RangeTask task) {
+        if (isParallel(count * workPerMatrix)) {
+            int minMatrices = (int) Math.max(1, ELEMENTWISE_MIN_GRAIN / workPerMatrix);
+            computePool.forRange(0, count, computePool.grainFor(count, minMatrices), task);
+        } else {
+            task.run(0, count);
+        }
+    }
+
+    /**
+     * Начинает измерение длительности операции.
+     *
+     * @return Отметка времени в наносекундах или {@link Long#MIN_VALUE}, если сбор метрик выключен.
+     */
+    private long startTiming() {
+        return metrics != null ? System.nanoTime() : Long.MIN_VALUE;
+    }
+
+    /**
+     * Записывает результат выполнения операции в набор метрик, если сбор метрик включен.
+     *
+     * @param operation Название операции.
+     * @param start     Отметка времени, возвращенная {@link #startTiming()}.
+     * @param flops     Количество операций с плавающей точкой.
+     * @param bytes     Объем прочитанных и записанных данных в байтах.
+     * @param allocated Оценка объема выделенной памяти в байтах.
+     */
+    private void record(String operation, long start, long flops, long bytes, long allocated) {
+        MatrixMetrics current = metrics;
+        if (current != null && start != Long.MIN_VALUE) {
+            current.record(operation, System.nanoTime() - start, flops, bytes, allocated);
+        }
+    }
+
+    /**
+     * Записывает метрики поэлементной операции: одна операция на элемент результата,
+     * операнды читаются и результат записывается по одному разу.
+     *
+     * @param operation Название операции.
+     * @param start     Отметка времени, возвращенная {@link #startTiming()}.
+     * @param result    Результат операции.
+     * @param allocated true, если матрица результата создана операцией, а не передана вызывающим кодом.
+     * @param operands  Операнды.
+     */
+    private void recordElementwise(String operation, long start, Matrix result, boolean allocated, Matrix... operands) {
+        if (metrics == null) {
+            return;
+        }
+        long bytes = sizeInBytes(result);
+        for (Matrix operand : operands) {
+            bytes += sizeInBytes(operand);
+        }
+        record(operation, start, (long) result.getRows() * result.getCols(), bytes, allocated ? sizeInBytes(result) : 0);
+    }
+
+    /**
+     * Записывает метрики поэлементной операции над разреженными матрицами:
+     * одна операция на каждый ненулевой элемент операндов.
+     *
+     * @param operation Название операции.
+     * @param start     Отметка времени, возвращенная {@link #startTiming()}.
+     * @param result    Результат операции.
+     * @param operands  Операнды.
+     */
+    private void recordSparse(String operation, long start, CsrMatrix result, CsrMatrix... operands) {
+        if (metrics == null) {
+            return;
+        }
+        long flops = 0;
+        long bytes = sizeInBytes(result);
+        for (CsrMatrix operand : operands) {
+            flops += operand.getNonZeros();
+            bytes += sizeInBytes(operand);
+        }
+        record(operation, start, flops, bytes, sizeInBytes(result));
+    }
+
+    /**
+     * Оценивает количество операций с плавающей точкой LU-разложения: 2n³/3.
+     *
+     * @param n Размер матрицы.
+     * @return Количество операций.
+     */
+    private static long luFlops(int n) {
+        return 2L * n * n * n / 3;
+    }
+
+    /**
+     * Оценивает объем элементов плотной матрицы.
+     *
+     * @param matrix Матрица.
+     * @return Объем в байтах.
+     */
+    private static long sizeInBytes(Matrix matrix) {
+        int elementSize = matrix.getStorageMode() == StorageMode.FLOAT32 ? Float.BYTES : Double.BYTES;
+        return (long) matrix.getRows() * matrix.getCols() * elementSize;
+    }
+
+    /**
+     * Оценивает объем разреженной матрицы: значения, индексы столбцов и указатели строк.
+     *
+     * @param matrix Матрица в формате CSR.
+     * @return Объем в байтах.
+     */
+    private static long sizeInBytes(CsrMatrix matrix) {
+        return (long) matrix.getNonZeros() * (Double.BYTES + Integer.BYTES) + (matrix.getRows() + 1L) * Integer.BYTES;
+    }
+
+    /**
+     * Оценивает объем разреженной матрицы: значения, индексы строк и указатели столбцов.
+     *
+     * @param matrix Матрица в формате CSC.
+     * @return Объем в байтах.
+     */
+    private static long sizeInBytes(CscMatrix matrix) {
+        return (long) matrix.getNonZeros() * (Double.BYTES + Integer.BYTES) + (matrix.getCols() + 1L) * Integer.BYTES;
+    }
+
+    /**
+     * Создает матрицу для результата поэлементной операции. Если все операнды хранятся с одинарной
+     * точностью ({@link StorageMode#FLOAT32}) или вне кучи ({@link StorageMode#OFF_HEAP}), результат
+     * хранится так же, иначе - в непрерывном массиве double.
+     *
+     * @param rows     Количество строк.
+     * @param cols     Количество столбцов.
+     * @param operands Операнды операции.
+     * @return Матрица для результата, заполненная нулями.
+     */
+    private static Matrix newResult(int rows, int cols, Matrix... operands) {
+        return new Matrix(rows, cols, resultMode(operands));
+    }
+
+    /**
+     * Выбирает режим хранения результата операции над матрицами: {@link StorageMode#FLOAT32}
+     * или {@link StorageMode#OFF_HEAP}, если в этом режиме хранятся все операнды, иначе {@link StorageMode#FLAT}.
+     * Этим же правилом пользуются обертки операций, например кэш результатов.
+     *
+     * @param operands Операнды операции (хотя бы один).
+     * @return Режим хранения результата.
+     */
+    public static StorageMode resultMode(Matrix... operands) {
+        StorageMode mode = operands[0].getStorageMode();
+        if (mode != StorageMode.FLOAT32 && mode != StorageMode.OFF_HEAP) {
+            return StorageMode.FLAT;
+        }
+        for (Matrix operand : operands) {
+            if (operand.getStorageMode() != mode) {
+                return StorageMode.FLAT;
             }
         }
-        return result;
+        return mode;
+    }
+
+    /**
+     * Проверяет, что элементы хранилища занимают непрерывный участок одного массива.
+     *
+     * @param storage Хранилище матрицы.
+     * @return true, если все элементы расположены подряд в одном массиве.
+     */
+    private static boolean isContiguous(MatrixStorage storage) {
+        return storage instanceof FlatArrayStorage && ((FlatArrayStorage) storage).isContiguous();
+    }
+
+    /**
+     * Проверяет, что хранилища одинакового размера хранят каждый элемент в одном и том же месте одного массива.
+     *
+     * @param x Первое хранилище.
+     * @param y Второе хранилище того же размера.
+     * @return true, если хранилища совпадают элемент в элемент.
+     */
+    private static boolean sameElements(MatrixStorage x, MatrixStorage y) {
+        if (x == y) {
+            return true;
+        }
+        if (!x.hasArrayAccess() || !y.hasArrayAccess()) {
+            return false;
+        }
+        for (int i = 0; i < x.getRows(); i++) {
+            if (x.rowArray(i) != y.rowArray(i) || x.rowOffset(i) != y.rowOffset(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Проверяет, могут ли хранилища использовать общие элементы. Для хранилищ без прямого доступа
+     * к массивам общими считаются только совпадающие хранилища.
+     *
+     * @param x Первое хранилище.
+     * @param y Второе хранилище.
+     * @return true, если участки массивов хранилищ пересекаются.
+     */
+    private static boolean overlaps(MatrixStorage x, MatrixStorage y) {
+        if (x == y) {
+            return true;
+        }
+        if (!x.hasArrayAccess() || !y.hasArrayAccess()) {
+            return false;
+        }
+        if (x instanceof FlatArrayStorage && y instanceof FlatArrayStorage) {
+            FlatArrayStorage fx = (FlatArrayStorage) x;
+            FlatArrayStorage fy = (FlatArrayStorage) y;
+            return fx.getArray() == fy.getArray()
+                    && fx.getOffset() < spanEnd(fy) && fy.getOffset() < spanEnd(fx);
+        }
+        // Строки хранилища ROWS - отдельные массивы, поэтому сравниваются массивы всех строк
+        Set<double[]> arrays = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < x.getRows(); i++) {
+            arrays.add(x.rowArray(i));
+        }
+        for (int i = 0; i < y.getRows(); i++) {
+            if (arrays.contains(y.rowArray(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Вычисляет позицию за последним элементом хранилища в его массиве.
+     *
+     * @param storage Хранилище в одном массиве.
+     * @return Позиция за последним элементом последней строки.
+     */
+    private static int spanEnd(FlatArrayStorage storage) {
+        return storage.getOffset() + (storage.getRows() - 1) * storage.getRowStride() + storage.getCols();
     }
 
     /**
@@ -223,9 +1823,39 @@ public class MatrixOperations {
 
     /**
      * Функциональный интерфейс для выполнения операций над элементами матриц.
+     * <p>
+     *  Методы обработки диапазонов по умолчанию применяют {@link #apply(double, double)} в цикле;
+     *  часто используемые операции переопределяют их циклами без косвенных вызовов.
+     * </p>
      */
     @FunctionalInterface
     private interface MatrixElementOperation {
         double apply(double a, double b);
+
+        default void applyRange(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                c[cOffset + i] = apply(a[aOffset + i], b[bOffset + i]);
+            }
+        }
+
+        default void applyScalarRange(double[] a, int aOffset, double scalar, double[] c, int cOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                c[cOffset + i] = apply(a[aOffset + i], scalar);
+            }
+        }
+    }
+
+    /**
+     * Функциональный интерфейс для выполнения унарных операций над элементами матриц.
+     */
+    @FunctionalInterface
+    private interface MatrixUnaryOperation {
+        double apply(double a);
+
+        default void applyRange(double[] a, int aOffset, double[] c, int cOffset, int length) {
+            for (int i = 0; i < length; i++) {
+                c[cOffset + i] = apply(a[aOffset + i]);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,331 @@
+package org.example.operations;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+
+/**
+ * Класс {@code MixedPrecisionSolver} решает системы AX = B смешанной точности: LU-разложение
+ * с частичным выбором ведущего элемента выполняется в одинарной точности (float), а решение
+ * уточняется итерациями в двойной точности.
+ * <p>
+ *     Разложение стоит O(n³) и выполняется над массивами float: данные занимают вдвое меньше памяти,
+ *     а в векторный регистр помещается вдвое больше элементов. Каждая итерация уточнения стоит O(n²)
+ *     на правую часть: невязка R = B - AX вычисляется в double по исходной матрице, поправка находится
+ *     с помощью разложения в float и прибавляется к X. Для матриц с числом обусловленности заметно
+ *     меньше 1/ε(float) ≈ 10⁷ за несколько итераций достигается точность решения в double.
+ * </p>
+ * <p>
+ *     Итерации прекращаются, когда норма невязки не превышает ||X|| * ||A|| * ε(double) * √n
+ *     (критерий LAPACK {@code dsgesv}). Если критерий не выполнен за отведенное число итераций,
+ *     разложение в float вырождено или выходит за диапазон float, система решается обычным
+ *     {@link LUDecomposition} в двойной точности. Объект хранит сведения о последнем решении,
+ *     поэтому не предназначен для одновременного использования из нескольких потоков.
+ * </p>
+ */
+public class MixedPrecisionSolver {
+    /**
+     * Наибольшее количество итераций уточнения по умолчанию.
+     */
+    public static final int DEFAULT_MAX_ITERATIONS = 30;
+
+    private static final double EPSILON = Math.ulp(1.0) / 2;
+
+    private final double[][] matrix;
+    private final float[][] lu;
+    private final int[] pivot;
+    private final int n;
+    private final int maxIterations;
+    private final double norm;
+    private final boolean singleUsable;
+    private LUDecomposition fallback;
+    private int iterations;
+    private boolean fallbackUsed;
+
+    /**
+     * Выполняет разложение заданной матрицы в одинарной точности
+     * с количеством итераций уточнения по умолчанию.
+     *
+     * @param matrix Исходная квадратная матрица.
+     * @throws MatrixException Если матрица не является квадратной.
+     */
+    public MixedPrecisionSolver(Matrix matrix) throws MatrixException {
+        this(matrix, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Выполняет разложение заданной матрицы в одинарной точности.
+     *
+     * @param matrix        Исходная квадратная матрица.
+     * @param maxIterations Наибольшее количество итераций уточнения.
+     * @throws MatrixException          Если матрица не является квадратной.
+     * @throws IllegalArgumentException Если количество итераций меньше 1.
+     */
+    public MixedPrecisionSolver(Matrix matrix, int maxIterations) throws MatrixException {
+        if (matrix.getRows() != matrix.getCols()) {
+            throw new MatrixException("LU-разложение можно выполнить только для квадратной матрицы.");
+        }
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Количество итераций уточнения должно быть больше 0");
+        }
+        this.n = matrix.getRows();
+        this.maxIterations = maxIterations;
+        this.matrix = LUDecomposition.copyOf(matrix);
+        this.norm = infinityNorm(this.matrix);
+        this.lu = new float[n][n];
+        this.pivot = new int[n];
+        this.singleUsable = toSingle(this.matrix, lu) && decompose();
+    }
+
+    /**
+     * Выполняет разложение в одинарной точности на месте.
+     *
+     * @return true, если разложение не вырождено, иначе false.
+     */
+    private boolean decompose() {
+        for (int i = 0; i < n; i++) {
+            pivot[i] = i;
+        }
+        for (int k = 0; k < n; k++) {
+            // Поиск ведущего элемента в столбце k
+            int p = k;
+            float max = Math.abs(lu[k][k]);
+            for (int i = k + 1; i < n; i++) {
+                float value = Math.abs(lu[i][k]);
+                if (value > max) {
+                    max = value;
+                    p = i;
+                }
+            }
+            if (max == 0.0f) {
+                return false;
+            }
+            if (p != k) {
+                float[] tmpRow = lu[p];
+                lu[p] = lu[k];
+                lu[k] = tmpRow;
+                int tmpIndex = pivot[p];
+                pivot[p] = pivot[k];
+                pivot[k] = tmpIndex;
+            }
+
+            // Исключение элементов ниже ведущего
+            float[] pivotRow = lu[k];
+            float pivotValue = pivotRow[k];
+            for (int i = k + 1; i < n; i++) {
+                float[] row = lu[i];
+                float factor = row[k] / pivotValue;
+                row[k] = factor;
+                if (factor != 0.0f) {
+                    for (int j = k + 1; j < n; j++) {
+                        row[j] -= factor * pivotRow[j];
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Решает систему AX = B, где A - исходная матрица, а столбцы B - правые части.
+     *
+     * @param b Матрица правых частей с количеством строк, равным размеру A.
+     * @return Матрица решений X того же размера, что и B, в двойной точности.
+     * @throws MatrixException Если размеры не согласованы или исходная матрица вырождена.
+     */
+    public Matrix solve(Matrix b) throws MatrixException {
+        if (b.getRows() != n) {
+            throw new MatrixException("Количество строк правой части должно быть равно размеру матрицы системы.");
+        }
+        iterations = 0;
+        fallbackUsed = false;
+        if (singleUsable) {
+            int cols = b.getCols();
+            double[][] rhs = LUDecomposition.copyOf(b);
+            // Рабочие массивы создаются один раз: итерации уточнения не выделяют память
+            float[][] work = new float[n][cols];
+            double[][] x = new double[n][cols];
+            if (solveSingle(rhs, work, x)) {
+                double tolerance = norm * EPSILON * Math.sqrt(n);
+                double[][] residual = new double[n][cols];
+                double[][] correction = new double[n][cols];
+                while (true) {
+                    for (int i = 0; i < n; i++) {
+                        residualRow(i, rhs[i], x, residual[i]);
+                    }
+                    if (maxAbs(residual) <= maxAbs(x) * tolerance) {
+                        return new Matrix(x);
+                    }
+                    if (iterations == maxIterations) {
+                        break;
+                    }
+                    if (!solveSingle(residual, work, correction)) {
+                        break;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        LUDecomposition.subtractScaledRow(x[i], -1.0, correction[i]);
+                    }
+                    iterations++;
+                }
+            }
+        }
+        // Уточнение не сошлось: решение в двойной точности
+        fallbackUsed = true;
+        if (fallback == null) {
+            fallback = new LUDecomposition(new Matrix(matrix));
+        }
+        return fallback.solve(b);
+    }
+
+    /**
+     * Возвращает количество итераций уточнения, выполненных при последнем решении.
+     *
+     * @return Количество итераций.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Проверяет, было ли последнее решение получено разложением в двойной точности
+     * из-за того, что уточнение не сошлось.
+     *
+     * @return true, если использовано разложение в двойной точности.
+     */
+    public boolean isFallbackUsed() {
+        return fallbackUsed;
+    }
+
+    /**
+     * Решает систему с разложением в одинарной точности.
+     *
+     * @param rhs    Правые части в двойной точности (n строк).
+     * @param x      Рабочий массив в одинарной точности того же размера, что и rhs.
+     * @param result Массив для решения в двойной точности того же размера, что и rhs.
+     * @return true, если решение записано в result, или false, если значения вышли за диапазон float.
+     */
+    private boolean solveSingle(double[][] rhs, float[][] x, double[][] result) {
+        int cols = rhs[0].length;
+        // Перестановка строк правой части: X = PB
+        for (int i = 0; i < n; i++) {
+            double[] source = rhs[pivot[i]];
+            float[] target = x[i];
+            for (int j = 0; j < cols; j++) {
+                target[j] = (float) source[j];
+            }
+        }
+        // Прямой ход: LY = PB
+        for (int k = 0; k < n; k++) {
+            float[] xk = x[k];
+            for (int i = k + 1; i < n; i++) {
+                subtractScaledRow(x[i], lu[i][k], xk);
+            }
+        }
+        // Обратный ход: UX = Y
+        for (int k = n - 1; k >= 0; k--) {
+            float[] xk = x[k];
+            float diagonal = lu[k][k];
+            for (int j = 0; j < cols; j++) {
+                xk[j] /= diagonal;
+            }
+            for (int i = 0; i < k; i++) {
+                subtractScaledRow(x[i], lu[i][k], xk);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < cols; j++) {
+                double value = x[i][j];
+                if (!Double.isFinite(value)) {
+                    return false;
+                }
+                result[i][j] = value;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Вычисляет строку невязки R = B - AX в двойной точности.
+     *
+     * @param row      Индекс строки.
+     * @param b        Строка правых частей.
+     * @param x        Текущее решение.
+     * @param residual Массив для строки невязки той же длины, что и b.
+     */
+    private void residualRow(int row, double[] b, double[][] x, double[] residual) {
+        System.arraycopy(b, 0, residual, 0, b.length);
+        double[] a = matrix[row];
+        for (int k = 0; k < n; k++) {
+            LUDecomposition.subtractScaledRow(residual, a[k], x[k]);
+        }
+    }
+
+    /**
+     * Вычитает из строки target строку source, умноженную на factor, в одинарной точности.
+     *
+     * @param target Изменяемая строка.
+     * @param factor Множитель.
+     * @param source Вычитаемая строка.
+     */
+    private static void subtractScaledRow(float[] target, float factor, float[] source) {
+        if (factor == 0.0f) {
+            return;
+        }
+        for (int j = 0; j < target.length; j++) {
+            target[j] -= factor * source[j];
+        }
+    }
+
+    /**
+     * Округляет элементы матрицы до одинарной точности.
+     *
+     * @param source Матрица в двойной точности.
+     * @param target Массив-приемник того же размера.
+     * @return true, если все элементы представимы конечными значениями float, иначе false.
+     */
+    private static boolean toSingle(double[][] source, float[][] target) {
+        for (int i = 0; i < source.length; i++) {
+            for (int j = 0; j < source[i].length; j++) {
+                float value = (float) source[i][j];
+                if (!Float.isFinite(value)) {
+                    return false;
+                }
+                target[i][j] = value;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Вычисляет норму матрицы, индуцированную максимум-нормой: наибольшую сумму модулей элементов строки.
+     *
+     * @param matrix Матрица.
+     * @return Норма матрицы.
+     */
+    private static double infinityNorm(double[][] matrix) {
+        double max = 0;
+        for (double[] row : matrix) {
+            double sum = 0;
+            for (double value : row) {
+                sum += Math.abs(value);
+            }
+            max = Math.max(max, sum);
+        }
+        return max;
+    }
+
+    /**
+     * Вычисляет наибольший модуль элемента матрицы.
+     *
+     * @param matrix Матрица.
+     * @return Наибольший модуль элемента.
+     */
+    private static double maxAbs(double[][] matrix) {
+        double max = 0;
+        for (double[] row : matrix) {
+            for (double value : row) {
+                max = Math.max(max, Math.abs(value));
+            }
+        }
+        return max;
+    }
+}
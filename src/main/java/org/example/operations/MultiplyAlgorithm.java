@@ -0,0 +1,23 @@
+package org.example.operations;
+
+/**
+ * Алгоритм умножения матриц, используемый {@link MatrixOperations#multiply}.
+ */
+public enum MultiplyAlgorithm {
+    /**
+     * Классический цикл i-j-k со скалярным произведением строки на столбец.
+     * Сохранен для сравнения производительности и проверки результатов.
+     */
+    NAIVE,
+    /**
+     * Блочный цикл i-k-j: матрицы обходятся плитками размера blockSize, а внутренний цикл
+     * последовательно проходит по строкам второй матрицы и результата.
+     */
+    BLOCKED,
+    /**
+     * Рекурсивная схема Штрассена-Винограда для квадратных матриц размером больше
+     * {@link MatrixOperations#getStrassenThreshold()}: O(n^2.81) вместо O(n³).
+     * Прямоугольные и небольшие матрицы умножаются блочным алгоритмом.
+     */
+    STRASSEN
+}
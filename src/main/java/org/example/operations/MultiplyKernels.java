@@ -0,0 +1,115 @@
+package org.example.operations;
+
+import org.example.matrix.MatrixStorage;
+
+/**
+ * Вычислительные ядра умножения матриц.
+ * <p>
+ *     Ядра работают непосредственно с массивами хранилищ и не проверяют индексы:
+ *     размеры операндов проверяются в {@link MatrixOperations}. Результирующее хранилище
+ *     должно быть заполнено нулями.
+ * </p>
+ */
+final class MultiplyKernels {
+
+    private MultiplyKernels() {
+    }
+
+    /**
+     * Умножает матрицы классическим циклом i-j-k для строк результата в диапазоне [rowFrom, rowTo).
+     *
+     * @param a       Хранилище первой матрицы.
+     * @param b       Хранилище второй матрицы.
+     * @param c       Хранилище результата.
+     * @param rowFrom Первая строка результата (включительно).
+     * @param rowTo   Последняя строка результата (не включительно).
+     */
+    static void multiplyNaive(MatrixStorage a, MatrixStorage b, MatrixStorage c, int rowFrom, int rowTo) {
+        int inner = a.getCols();
+        int cols = b.getCols();
+        if (!a.hasArrayAccess() || !b.hasArrayAccess() || !c.hasArrayAccess()) {
+            multiplyGeneric(a, b, c, rowFrom, rowTo);
+            return;
+        }
+        for (int i = rowFrom; i < rowTo; i++) {
+            double[] aRow = a.rowArray(i);
+            int aOffset = a.rowOffset(i);
+            double[] cRow = c.rowArray(i);
+            int cOffset = c.rowOffset(i);
+            for (int j = 0; j < cols; j++) {
+                double sum = 0;
+                for (int k = 0; k < inner; k++) {
+                    sum += aRow[aOffset + k] * b.rowArray(k)[b.rowOffset(k) + j];
+                }
+                cRow[cOffset + j] = sum;
+            }
+        }
+    }
+
+    /**
+     * Умножает матрицы блочным циклом i-k-j для строк результата в диапазоне [rowFrom, rowTo).
+     * <p>
+     *  Порядок суммирования по k совпадает с классическим алгоритмом, поэтому результаты
+     *  обоих ядер совпадают поэлементно.
+     * </p>
+     *
+     * @param a         Хранилище первой матрицы.
+     * @param b         Хранилище второй матрицы.
+     * @param c         Хранилище результата.
+     * @param rowFrom   Первая строка результата (включительно).
+     * @param rowTo     Последняя строка результата (не включительно).
+     * @param blockSize Размер плитки.
+     * @param kernels   Ядра для внутреннего цикла по строке плитки.
+     */
+    static void multiplyBlocked(MatrixStorage a, MatrixStorage b, MatrixStorage c,
+                                int rowFrom, int rowTo, int blockSize, ArrayKernels kernels) {
+        int inner = a.getCols();
+        int cols = b.getCols();
+        if (!a.hasArrayAccess() || !b.hasArrayAccess() || !c.hasArrayAccess()) {
+            multiplyGeneric(a, b, c, rowFrom, rowTo);
+            return;
+        }
+        for (int ii = rowFrom; ii < rowTo; ii += blockSize) {
+            int iEnd = Math.min(ii + blockSize, rowTo);
+            for (int kk = 0; kk < inner; kk += blockSize) {
+                int kEnd = Math.min(kk + blockSize, inner);
+                for (int jj = 0; jj < cols; jj += blockSize) {
+                    int jEnd = Math.min(jj + blockSize, cols);
+                    for (int i = ii; i < iEnd; i++) {
+                        double[] aRow = a.rowArray(i);
+                        int aOffset = a.rowOffset(i);
+                        double[] cRow = c.rowArray(i);
+                        int cOffset = c.rowOffset(i);
+                        for (int k = kk; k < kEnd; k++) {
+                            kernels.axpy(aRow[aOffset + k], b.rowArray(k), b.rowOffset(k) + jj,
+                                    cRow, cOffset + jj, jEnd - jj);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Умножает матрицы через методы доступа хранилища для хранилищ без прямого доступа к массивам.
+     *
+     * @param a       Хранилище первой матрицы.
+     * @param b       Хранилище второй матрицы.
+     * @param c       Хранилище результата.
+     * @param rowFrom Первая строка результата (включительно).
+     * @param rowTo   Последняя строка результата (не включительно).
+     */
+    static void multiplyGeneric(MatrixStorage a, MatrixStorage b, MatrixStorage c, int rowFrom, int rowTo) {
+        int inner = a.getCols();
+        int cols = b.getCols();
+        for (int i = rowFrom; i < rowTo; i++) {
+            for (int j = 0; j < cols; j++) {
+                double sum = 0;
+                for (int k = 0; k < inner; k++) {
+                    sum += a.get(i, k) * b.get(k, j);
+                }
+                c.set(i, j, sum);
+            }
+        }
+    }
+}
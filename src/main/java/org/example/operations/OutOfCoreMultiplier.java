@@ -0,0 +1,404 @@
+package org.example.operations;
+
+import org.example.exception.MatrixException;
+import org.example.file.TiledMatrixFile;
+import org.example.matrix.FlatArrayStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Класс {@code OutOfCoreMultiplier} умножает матрицы, хранящиеся на диске плитками ({@link TiledMatrixFile}),
+ * с ограниченным объемом памяти.
+ * <p>
+ *     Результат вычисляется панелями p x q плиток, которые остаются в памяти, пока по k перебираются
+ *     столбец плиток первой матрицы (p плиток) и строка плиток второй матрицы (q плиток). Размер панели
+ *     выбирается по объему кэша плиток так, чтобы минимизировать количество чтений: каждая плитка первой
+ *     матрицы читается ceil(nj / q) раз, второй - ceil(ni / p) раз. Панели обходятся змейкой, а направление
+ *     перебора k чередуется, поэтому плитки последнего шага панели повторно используются первым шагом
+ *     следующей панели.
+ * </p>
+ * <p>
+ *     Плитки следующего шага читаются отдельным потоком ввода/вывода, пока вычисляется текущий шаг
+ *     (двойная буферизация). Произведения плиток шага распределяются по потокам {@link ComputePool}
+ *     объекта {@link MatrixOperations}, если он задан. Кэш плиток включает панель результата и по два
+ *     набора плиток операндов; дополнительно каждый поток ввода/вывода использует буфер размером в одну плитку.
+ * </p>
+ */
+public class OutOfCoreMultiplier {
+
+    private final MatrixOperations operations;
+    private final long cacheBytes;
+    private long tilesRead;
+    private long tilesWritten;
+
+    /**
+     * Создает умножитель с заданным объемом кэша плиток.
+     *
+     * @param operations Операции, настройки которых (ядра, размер блока, пул потоков) используются
+     *                   для умножения плиток.
+     * @param cacheBytes Наибольший объем памяти под плитки в байтах.
+     * @throws IllegalArgumentException Если объем кэша меньше или равен 0.
+     */
+    public OutOfCoreMultiplier(MatrixOperations operations, long cacheBytes) {
+        if (cacheBytes <= 0) {
+            throw new IllegalArgumentException("Объем кэша плиток должен быть больше 0");
+        }
+        this.operations = operations;
+        this.cacheBytes = cacheBytes;
+    }
+
+    /**
+     * Умножает матрицы и сохраняет результат в новый файл с тем же размером плитки.
+     *
+     * @param matrix1    Первая матрица.
+     * @param matrix2    Вторая матрица.
+     * @param resultPath Путь к файлу результата. Существующий файл перезаписывается.
+     * @return Открытый файл результата.
+     * @throws MatrixException Если размеры несовместимы, кэш слишком мал или произошла ошибка ввода/вывода.
+     */
+    public TiledMatrixFile multiply(TiledMatrixFile matrix1, TiledMatrixFile matrix2, String resultPath)
+            throws MatrixException {
+        validate(matrix1, matrix2);
+        TiledMatrixFile result = TiledMatrixFile.create(resultPath, matrix1.getRows(), matrix2.getCols(),
+                matrix1.getTileSize());
+        try {
+            multiply(matrix1, matrix2, result);
+            return result;
+        } catch (MatrixException e) {
+            result.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Умножает матрицы и записывает результат в заданный файл. Все плитки результата перезаписываются.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @param result  Файл результата, открытый для записи.
+     * @throws MatrixException Если размеры несовместимы, кэш слишком мал или произошла ошибка ввода/вывода.
+     */
+    public void multiply(TiledMatrixFile matrix1, TiledMatrixFile matrix2, TiledMatrixFile result)
+            throws MatrixException {
+        validate(matrix1, matrix2);
+        if (result.getRows() != matrix1.getRows() || result.getCols() != matrix2.getCols()
+                || result.getTileSize() != matrix1.getTileSize()) {
+            throw new MatrixException("Размеры файла результата не соответствуют произведению матриц.");
+        }
+        int tileSize = matrix1.getTileSize();
+        int tileLength = tileSize * tileSize;
+        long cacheTiles = cacheBytes / ((long) tileLength * Double.BYTES);
+        int ni = matrix1.getTileRows();
+        int nk = matrix1.getTileCols();
+        int nj = matrix2.getTileCols();
+        int[] shape = panelShape(cacheTiles, ni, nj);
+        int p = shape[0];
+        int q = shape[1];
+
+        // Порядок панелей - змейкой, чтобы соседние панели имели общую строку или общий столбец
+        List<int[]> panels = new ArrayList<>();
+        for (int ip = 0, row = 0; ip < ni; ip += p, row++) {
+            for (int c = 0; c < (nj + q - 1) / q; c++) {
+                int jp = (row % 2 == 0 ? c : (nj + q - 1) / q - 1 - c) * q;
+                panels.add(new int[]{ip, jp});
+            }
+        }
+
+        double[][] accumulators = new double[p * q][tileLength];
+        double[][][] aSets = new double[2][p][tileLength];
+        double[][][] bSets = new double[2][q][tileLength];
+        ExecutorService io = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matrix-tile-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            int steps = panels.size() * nk;
+            int aSet = 0;
+            int bSet = 0;
+            Future<?> pending = io.submit(loadTask(matrix1, matrix2, panels, nk, p, q, 0,
+                    aSets[0], bSets[0], true, true));
+            for (int s = 0; s < steps; s++) {
+                await(pending);
+                // Чтение плиток следующего шага в свободный набор буферов, пока вычисляется текущий шаг
+                int nextA = aSet;
+                int nextB = bSet;
+                if (s + 1 < steps) {
+                    boolean sameA = aKey(panels, nk, s) == aKey(panels, nk, s + 1);
+                    boolean sameB = bKey(panels, nk, s) == bKey(panels, nk, s + 1);
+                    nextA = sameA ? aSet : 1 - aSet;
+                    nextB = sameB ? bSet : 1 - bSet;
+                    pending = io.submit(loadTask(matrix1, matrix2, panels, nk, p, q, s + 1,
+                            aSets[nextA], bSets[nextB], !sameA, !sameB));
+                }
+                int[] panel = panels.get(s / nk);
+                computeStep(panel, ni, nj, p, q, tileSize, aSets[aSet], bSets[bSet], accumulators);
+                if (s % nk == nk - 1) {
+                    storePanel(result, panel, ni, nj, q, accumulators);
+                }
+                aSet = nextA;
+                bSet = nextB;
+            }
+        } finally {
+            io.shutdownNow();
+        }
+    }
+
+    /**
+     * Возвращает количество плиток, прочитанных всеми умножениями этого объекта.
+     *
+     * @return Количество прочитанных плиток.
+     */
+    public long getTilesRead() {
+        return tilesRead;
+    }
+
+    /**
+     * Возвращает количество плиток, записанных всеми умножениями этого объекта.
+     *
+     * @return Количество записанных плиток.
+     */
+    public long getTilesWritten() {
+        return tilesWritten;
+    }
+
+    /**
+     * Возвращает объем кэша плиток.
+     *
+     * @return Объем памяти под плитки в байтах.
+     */
+    public long getCacheBytes() {
+        return cacheBytes;
+    }
+
+    /**
+     * Проверяет совместимость размеров и плиток операндов.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @throws MatrixException Если размеры или размеры плиток несовместимы.
+     */
+    private static void validate(TiledMatrixFile matrix1, TiledMatrixFile matrix2) throws MatrixException {
+        if (matrix1.getCols() != matrix2.getRows()) {
+            throw new MatrixException("Количество столбцов первой матрицы должно быть равно количеству строк второй матрицы для умножения.");
+        }
+        if (matrix1.getTileSize() != matrix2.getTileSize()) {
+            throw new MatrixException("Размеры плиток матриц должны совпадать.");
+        }
+    }
+
+    /**
+     * Выбирает размер панели результата p x q, минимизирующий количество чтений плиток
+     * (пропорционально 1/p + 1/q) при условии p*q + 2p + 2q не больше объема кэша в плитках.
+     *
+     * @param cacheTiles Объем кэша в плитках.
+     * @param ni         Количество строк плиток результата.
+     * @param nj         Количество столбцов плиток результата.
+     * @return Массив {p, q}.
+     * @throws MatrixException Если в кэш не помещается минимальная панель 1 x 1 (5 плиток).
+     */
+    static int[] panelShape(long cacheTiles, int ni, int nj) throws MatrixException {
+        if (cacheTiles < 5) {
+            throw new MatrixException("Объем кэша плиток слишком мал: требуется не меньше 5 плиток.");
+        }
+        int bestP = 1;
+        int bestQ = 1;
+        double bestCost = 2.0;
+        for (int p = 1; p <= ni && p * 3L + 2 <= cacheTiles; p++) {
+            long q = Math.min(nj, (cacheTiles - 2L * p) / (p + 2));
+            double cost = 1.0 / p + 1.0 / q;
+            if (cost < bestCost || (cost == bestCost && p * q > (long) bestP * bestQ)) {
+                bestP = p;
+                bestQ = (int) q;
+                bestCost = cost;
+            }
+        }
+        return new int[]{bestP, bestQ};
+    }
+
+    /**
+     * Возвращает ключ столбца плиток первой матрицы, используемых шагом: строку панели и номер k.
+     *
+     * @param panels Панели результата в порядке обхода.
+     * @param nk     Количество шагов k в панели.
+     * @param step   Номер шага.
+     * @return Ключ; у шагов с одинаковыми плитками первой матрицы ключи совпадают.
+     */
+    private static long aKey(List<int[]> panels, int nk, int step) {
+        return ((long) panels.get(step / nk)[0] << 32) | kOf(nk, step);
+    }
+
+    /**
+     * Возвращает ключ строки плиток второй матрицы, используемых шагом: столбец панели и номер k.
+     *
+     * @param panels Панели результата в порядке обхода.
+     * @param nk     Количество шагов k в панели.
+     * @param step   Номер шага.
+     * @return Ключ; у шагов с одинаковыми плитками второй матрицы ключи совпадают.
+     */
+    private static long bKey(List<int[]> panels, int nk, int step) {
+        return ((long) panels.get(step / nk)[1] << 32) | kOf(nk, step);
+    }
+
+    /**
+     * Возвращает номер k шага: в четных панелях k возрастает, в нечетных - убывает.
+     *
+     * @param nk   Количество шагов k в панели.
+     * @param step Номер шага.
+     * @return Номер столбца плиток первой матрицы (строки плиток второй матрицы).
+     */
+    private static int kOf(int nk, int step) {
+        int index = step % nk;
+        return (step / nk) % 2 == 0 ? index : nk - 1 - index;
+    }
+
+    /**
+     * Создает задачу чтения плиток шага в заданные наборы буферов.
+     *
+     * @param matrix1 Первая матрица.
+     * @param matrix2 Вторая матрица.
+     * @param panels  Панели результата в порядке обхода.
+     * @param nk      Количество шагов k в панели.
+     * @param p       Количество строк плиток в панели.
+     * @param q       Количество столбцов плиток в панели.
+     * @param step    Номер шага.
+     * @param aTiles  Буферы плиток первой матрицы.
+     * @param bTiles  Буферы плиток второй матрицы.
+     * @param loadA   false, если плитки первой матрицы уже находятся в буферах.
+     * @param loadB   false, если плитки второй матрицы уже находятся в буферах.
+     * @return Задача для потока ввода/вывода.
+     */
+    private Runnable loadTask(TiledMatrixFile matrix1, TiledMatrixFile matrix2, List<int[]> panels, int nk,
+                              int p, int q, int step, double[][] aTiles, double[][] bTiles,
+                              boolean loadA, boolean loadB) {
+        int[] panel = panels.get(step / nk);
+        int k = kOf(nk, step);
+        int pc = Math.min(p, matrix1.getTileRows() - panel[0]);
+        int qc = Math.min(q, matrix2.getTileCols() - panel[1]);
+        tilesRead += (loadA ? pc : 0) + (loadB ? qc : 0);
+        return () -> {
+            try {
+                if (loadA) {
+                    for (int i = 0; i < pc; i++) {
+                        matrix1.readTile(panel[0] + i, k, aTiles[i]);
+                    }
+                }
+                if (loadB) {
+                    for (int j = 0; j < qc; j++) {
+                        matrix2.readTile(k, panel[1] + j, bTiles[j]);
+                    }
+                }
+            } catch (MatrixException e) {
+                throw new TileIoException(e);
+            }
+        };
+    }
+
+    /**
+     * Ожидает завершения чтения плиток.
+     *
+     * @param pending Задача чтения.
+     * @throws MatrixException Если чтение завершилось ошибкой или было прервано.
+     */
+    private static void await(Future<?> pending) throws MatrixException {
+        try {
+            pending.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TileIoException) {
+                throw (MatrixException) e.getCause().getCause();
+            }
+            throw new MatrixException("Ошибка при чтении плиток: " + e.getCause(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MatrixException("Чтение плиток прервано", e);
+        }
+    }
+
+    /**
+     * Добавляет к панели результата произведения плиток шага.
+     *
+     * @param panel        Первая строка и первый столбец плиток панели.
+     * @param ni           Количество строк плиток результата.
+     * @param nj           Количество столбцов плиток результата.
+     * @param p            Количество строк плиток в панели.
+     * @param q            Количество столбцов плиток в панели.
+     * @param tileSize     Размер плитки.
+     * @param aTiles       Плитки первой матрицы.
+     * @param bTiles       Плитки второй матрицы.
+     * @param accumulators Плитки панели результата.
+     */
+    private void computeStep(int[] panel, int ni, int nj, int p, int q, int tileSize,
+                             double[][] aTiles, double[][] bTiles, double[][] accumulators) {
+        int pc = Math.min(p, ni - panel[0]);
+        int qc = Math.min(q, nj - panel[1]);
+        int count = pc * qc;
+        ArrayKernels kernels = operations.kernels();
+        int blockSize = operations.getBlockSize();
+        ComputePool.RangeTask task = (from, to) -> {
+            for (int index = from; index < to; index++) {
+                int i = index / qc;
+                int j = index % qc;
+                MultiplyKernels.multiplyBlocked(tile(aTiles[i], tileSize), tile(bTiles[j], tileSize),
+                        tile(accumulators[i * q + j], tileSize), 0, tileSize, blockSize, kernels);
+            }
+        };
+        if (operations.isParallel((long) count * tileSize * tileSize * tileSize)) {
+            operations.getComputePool().forRange(0, count, 1, task);
+        } else {
+            task.run(0, count);
+        }
+    }
+
+    /**
+     * Записывает панель результата и обнуляет ее для следующей панели.
+     *
+     * @param result       Файл результата.
+     * @param panel        Первая строка и первый столбец плиток панели.
+     * @param ni           Количество строк плиток результата.
+     * @param nj           Количество столбцов плиток результата.
+     * @param q            Количество столбцов плиток в панели.
+     * @param accumulators Плитки панели результата.
+     * @throws MatrixException Если плитку не удалось записать.
+     */
+    private void storePanel(TiledMatrixFile result, int[] panel, int ni, int nj, int q,
+                            double[][] accumulators) throws MatrixException {
+        int pc = Math.min(accumulators.length / q, ni - panel[0]);
+        int qc = Math.min(q, nj - panel[1]);
+        for (int i = 0; i < pc; i++) {
+            for (int j = 0; j < qc; j++) {
+                double[] accumulator = accumulators[i * q + j];
+                result.writeTile(panel[0] + i, panel[1] + j, accumulator);
+                Arrays.fill(accumulator, 0.0);
+                tilesWritten++;
+            }
+        }
+    }
+
+    /**
+     * Создает хранилище-представление плитки.
+     *
+     * @param data     Элементы плитки.
+     * @param tileSize Размер плитки.
+     * @return Хранилище поверх массива плитки.
+     */
+    private static FlatArrayStorage tile(double[] data, int tileSize) {
+        return new FlatArrayStorage(data, tileSize, tileSize, 0, tileSize);
+    }
+
+    /**
+     * Непроверяемая обертка, передающая ошибку чтения плитки из потока ввода/вывода.
+     */
+    private static final class TileIoException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TileIoException(MatrixException cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.operations;
+
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+
+import java.util.Arrays;
+
+/**
+ * Класс {@code QRDecomposition} выполняет QR-разложение матрицы m x n (m ≥ n) отражениями Хаусхолдера.
+ * <p>
+ *     Векторы отражений хранятся под диагональю рабочей копии, верхний треугольник содержит R
+ *     (кроме диагонали, которая хранится отдельно). Разложение устойчиво без выбора ведущего элемента
+ *     и позволяет решать переопределенные системы методом наименьших квадратов.
+ *     Один объект разложения используется для любого количества правых частей.
+ * </p>
+ */
+public class QRDecomposition {
+    private final double[][] qr;
+    private final double[] rDiagonal;
+    private final int m;
+    private final int n;
+
+    /**
+     * Выполняет QR-разложение заданной матрицы.
+     *
+     * @param matrix Матрица, количество строк которой не меньше количества столбцов.
+     * @throws MatrixException Если строк меньше, чем столбцов.
+     */
+    public QRDecomposition(Matrix matrix) throws MatrixException {
+        if (matrix.getRows() < matrix.getCols()) {
+            throw new MatrixException("QR-разложение требует, чтобы количество строк было не меньше количества столбцов.");
+        }
+        this.m = matrix.getRows();
+        this.n = matrix.getCols();
+        this.qr = LUDecomposition.copyOf(matrix);
+        this.rDiagonal = new double[n];
+        decompose();
+    }
+
+    /**
+     * Строит отражения Хаусхолдера для каждого столбца.
+     */
+    private void decompose() {
+        for (int k = 0; k < n; k++) {
+            // Норма k-го столбца ниже диагонали без переполнения
+            double norm = 0;
+            for (int i = k; i < m; i++) {
+                norm = Math.hypot(norm, qr[i][k]);
+            }
+            if (norm != 0.0) {
+                if (qr[k][k] < 0) {
+                    norm = -norm;
+                }
+                for (int i = k; i < m; i++) {
+                    qr[i][k] /= norm;
+                }
+                qr[k][k] += 1.0;
+
+                // Применение отражения к оставшимся столбцам
+                for (int j = k + 1; j < n; j++) {
+                    double s = 0.0;
+                    for (int i = k; i < m; i++) {
+                        s += qr[i][k] * qr[i][j];
+                    }
+                    s = -s / qr[k][k];
+                    for (int i = k; i < m; i++) {
+                        qr[i][j] += s * qr[i][k];
+                    }
+                }
+            }
+            rDiagonal[k] = -norm;
+        }
+    }
+
+    /**
+     * Проверяет, имеет ли исходная матрица полный ранг по столбцам.
+     *
+     * @return true, если все диагональные элементы R отличны от нуля.
+     */
+    public boolean isFullRank() {
+        for (double value : rDiagonal) {
+            if (value == 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Решает систему AX = B методом наименьших квадратов: X минимизирует ||AX - B||.
+     * Для квадратной невырожденной матрицы результат - точное решение.
+     *
+     * @param b Матрица правых частей с количеством строк, равным количеству строк A.
+     * @return Матрица решений размером n x (количество столбцов B).
+     * @throws MatrixException Если размеры не согласованы или матрица не имеет полного ранга.
+     */
+    public Matrix solve(Matrix b) throws MatrixException {
+        if (b.getRows() != m) {
+            throw new MatrixException("Количество строк правой части должно быть равно количеству строк матрицы системы.");
+        }
+        if (!isFullRank()) {
+            throw new MatrixException("Матрица не имеет полного ранга, система не имеет единственного решения.");
+        }
+        double[][] x = LUDecomposition.copyOf(b);
+        int cols = b.getCols();
+        double[] s = new double[cols];
+        // Вычисление QᵀB: отражения применяются ко всем правым частям сразу, обход по строкам
+        for (int k = 0; k < n; k++) {
+            Arrays.fill(s, 0.0);
+            for (int i = k; i < m; i++) {
+                double factor = qr[i][k];
+                double[] xi = x[i];
+                for (int j = 0; j < cols; j++) {
+                    s[j] += factor * xi[j];
+                }
+            }
+            double diagonal = qr[k][k];
+            for (int j = 0; j < cols; j++) {
+                s[j] = -s[j] / diagonal;
+            }
+            for (int i = k; i < m; i++) {
+                double factor = qr[i][k];
+                double[] xi = x[i];
+                for (int j = 0; j < cols; j++) {
+                    xi[j] += s[j] * factor;
+                }
+            }
+        }
+        // Обратный ход: RX = QᵀB
+        for (int k = n - 1; k >= 0; k--) {
+            double[] xk = x[k];
+            for (int j = 0; j < cols; j++) {
+                xk[j] /= rDiagonal[k];
+            }
+            for (int i = 0; i < k; i++) {
+                LUDecomposition.subtractScaledRow(x[i], qr[i][k], xk);
+            }
+        }
+        double[][] solution = new double[n][];
+        System.arraycopy(x, 0, solution, 0, n);
+        return new Matrix(solution);
+    }
+
+    /**
+     * Вычисляет обратную матрицу для квадратной матрицы полного ранга.
+     *
+     * @return Обратная матрица.
+     * @throws MatrixException Если матрица не квадратная или не имеет полного ранга.
+     */
+    public Matrix inverse() throws MatrixException {
+        if (m != n) {
+            throw new MatrixException("Обратную матрицу можно вычислить только для квадратной матрицы.");
+        }
+        return solve(LUDecomposition.identity(n));
+    }
+
+    /**
+     * Возвращает верхнюю треугольную матрицу R размером n x n.
+     *
+     * @return Матрица R.
+     */
+    public Matrix getR() {
+        double[][] r = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            r[i][i] = rDiagonal[i];
+            for (int j = i + 1; j < n; j++) {
+                r[i][j] = qr[i][j];
+            }
+        }
+        return new Matrix(r);
+    }
+}
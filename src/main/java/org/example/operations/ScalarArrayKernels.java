@@ -0,0 +1,64 @@
+package org.example.operations;
+
+/**
+ * Скалярная реализация {@link ArrayKernels}, доступная на любой JVM.
+ */
+final class ScalarArrayKernels implements ArrayKernels {
+
+    static final ScalarArrayKernels INSTANCE = new ScalarArrayKernels();
+
+    private ScalarArrayKernels() {
+    }
+
+    @Override
+    public void add(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] + b[bOffset + i];
+        }
+    }
+
+    @Override
+    public void subtract(double[] a, int aOffset, double[] b, int bOffset, double[] c, int cOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] - b[bOffset + i];
+        }
+    }
+
+    @Override
+    public void scale(double[] a, int aOffset, double scalar, double[] c, int cOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            c[cOffset + i] = a[aOffset + i] * scalar;
+        }
+    }
+
+    @Override
+    public void axpy(double alpha, double[] x, int xOffset, double[] y, int yOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yOffset + i] += alpha * x[xOffset + i];
+        }
+    }
+
+    @Override
+    public double sum(double[] a, int offset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += a[offset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfSquares(double[] a, int offset, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            double value = a[offset + i];
+            sum += value * value;
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.operations;
+
+import org.example.matrix.CscMatrix;
+import org.example.matrix.CsrMatrix;
+import org.example.matrix.MatrixStorage;
+
+import java.util.Arrays;
+
+/**
+ * Вычислительные ядра операций над разреженными матрицами.
+ * <p>
+ *     Ядра обходят только хранимые элементы и не проверяют размеры операндов:
+ *     размеры проверяются в {@link MatrixOperations}. Плотные хранилища должны иметь
+ *     прямой доступ к массивам, результирующее плотное хранилище должно быть заполнено нулями.
+ * </p>
+ */
+final class SparseKernels {
+
+    private SparseKernels() {
+    }
+
+    /**
+     * Умножает разреженную матрицу CSR на плотную для строк результата в диапазоне [rowFrom, rowTo):
+     * каждая ненулевая a(i, k) добавляет a(i, k) * B[k, :] к строке i результата.
+     *
+     * @param a       Разреженная матрица.
+     * @param b       Хранилище плотной матрицы.
+     * @param c       Хранилище результата.
+     * @param rowFrom Первая строка результата (включительно).
+     * @param rowTo   Последняя строка результата (не включительно).
+     * @param kernels Ядра операций над массивами.
+     */
+    static void multiplySparseDense(CsrMatrix a, MatrixStorage b, MatrixStorage c, int rowFrom, int rowTo,
+                                    ArrayKernels kernels) {
+        int[] pointers = a.getRowPointers();
+        int[] indices = a.getColumnIndices();
+        double[] values = a.getValues();
+        int cols = b.getCols();
+        for (int i = rowFrom; i < rowTo; i++) {
+            double[] cRow = c.rowArray(i);
+            int cOffset = c.rowOffset(i);
+            for (int p = pointers[i]; p < pointers[i + 1]; p++) {
+                int k = indices[p];
+                kernels.axpy(values[p], b.rowArray(k), b.rowOffset(k), cRow, cOffset, cols);
+            }
+        }
+    }
+
+    /**
+     * Умножает плотную матрицу на разреженную матрицу CSC для строк результата в диапазоне [rowFrom, rowTo):
+     * элемент (i, j) равен скалярному произведению строки i на хранимые элементы столбца j.
+     *
+     * @param a       Хранилище плотной матрицы.
+     * @param b       Разреженная матрица.
+     * @param c       Хранилище результата.
+     * @param rowFrom Первая строка результата (включительно).
+     * @param rowTo   Последняя строка результата (не включительно).
+     */
+    static void multiplyDenseSparse(MatrixStorage a, CscMatrix b, MatrixStorage c, int rowFrom, int rowTo) {
+        int[] pointers = b.getColumnPointers();
+        int[] indices = b.getRowIndices();
+        double[] values = b.getValues();
+        int cols = b.getCols();
+        for (int i = rowFrom; i < rowTo; i++) {
+            double[] aRow = a.rowArray(i);
+            int aOffset = a.rowOffset(i);
+            double[] cRow = c.rowArray(i);
+            int cOffset = c.rowOffset(i);
+            for (int j = 0; j < cols; j++) {
+                double sum = 0;
+                for (int p = pointers[j]; p < pointers[j + 1]; p++) {
+                    sum += aRow[aOffset + indices[p]] * values[p];
+                }
+                cRow[cOffset + j] = sum;
+            }
+        }
+    }
+
+    /**
+     * Умножает две разреженные матрицы CSR алгоритмом Густавсона: строка результата накапливается
+     * в плотном аккумуляторе, а список затронутых столбцов позволяет не обходить нулевые позиции.
+     *
+     * @param a Первая матрица.
+     * @param b Вторая матрица.
+     * @return Произведение в формате CSR.
+     */
+    static CsrMatrix multiplySparseSparse(CsrMatrix a, CsrMatrix b) {
+        int rows = a.getRows();
+        int cols = b.getCols();
+        int[] aPointers = a.getRowPointers();
+        int[] aIndices = a.getColumnIndices();
+        double[] aValues = a.getValues();
+        int[] bPointers = b.getRowPointers();
+        int[] bIndices = b.getColumnIndices();
+        double[] bValues = b.getValues();
+
+        double[] accumulator = new double[cols];
+        int[] marker = new int[cols];
+        Arrays.fill(marker, -1);
+        int[] touched = new int[cols];
+
+        int[] pointers = new int[rows + 1];
+        int capacity = Math.max(16, a.getNonZeros() + b.getNonZeros());
+        int[] indices = new int[capacity];
+        double[] values = new double[capacity];
+        int size = 0;
+        for (int i = 0; i < rows; i++) {
+            int touchedCount = 0;
+            for (int p = aPointers[i]; p < aPointers[i + 1]; p++) {
+                int k = aIndices[p];
+                double aValue = aValues[p];
+                for (int q = bPointers[k]; q < bPointers[k + 1]; q++) {
+                    int j = bIndices[q];
+                    if (marker[j] != i) {
+                        marker[j] = i;
+                        accumulator[j] = 0;
+                        touched[touchedCount++] = j;
+                    }
+                    accumulator[j] += aValue * bValues[q];
+                }
+            }
+            Arrays.sort(touched, 0, touchedCount);
+            if (capacity - size < touchedCount) {
+                capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max((long) capacity * 2, (long) size + touchedCount));
+                indices = Arrays.copyOf(indices, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                int j = touched[t];
+                indices[size] = j;
+                values[size++] = accumulator[j];
+            }
+            pointers[i + 1] = size;
+        }
+        return CsrMatrix.fromCompressed(rows, cols, pointers, indices, values);
+    }
+
+    /**
+     * Складывает две разреженные матрицы CSR слиянием упорядоченных строк: result = a + sign * b.
+     *
+     * @param a    Первая матрица.
+     * @param b    Вторая матрица.
+     * @param sign Множитель второй матрицы (1 для сложения, -1 для вычитания).
+     * @return Сумма в формате CSR.
+     */
+    static CsrMatrix addSparse(CsrMatrix a, CsrMatrix b, double sign) {
+        int rows = a.getRows();
+        int[] aPointers = a.getRowPointers();
+        int[] aIndices = a.getColumnIndices();
+        double[] aValues = a.getValues();
+        int[] bPointers = b.getRowPointers();
+        int[] bIndices = b.getColumnIndices();
+        double[] bValues = b.getValues();
+
+        int capacity = a.getNonZeros() + b.getNonZeros();
+        int[] pointers = new int[rows + 1];
+        int[] indices = new int[capacity];
+        double[] values = new double[capacity];
+        int size = 0;
+        for (int i = 0; i < rows; i++) {
+            int p = aPointers[i];
+            int pEnd = aPointers[i + 1];
+            int q = bPointers[i];
+            int qEnd = bPointers[i + 1];
+            while (p < pEnd || q < qEnd) {
+                int aCol = p < pEnd ? aIndices[p] : Integer.MAX_VALUE;
+                int bCol = q < qEnd ? bIndices[q] : Integer.MAX_VALUE;
+                if (aCol == bCol) {
+                    indices[size] = aCol;
+                    values[size++] = aValues[p++] + sign * bValues[q++];
+                } else if (aCol < bCol) {
+                    indices[size] = aCol;
+                    values[size++] = aValues[p++];
+                } else {
+                    indices[size] = bCol;
+                    values[size++] = sign * bValues[q++];
+                }
+            }
+            pointers[i + 1] = size;
+        }
+        return CsrMatrix.fromCompressed(a.getRows(), a.getCols(), pointers, indices, values);
+    }
+
+    /**
+     * Умножает хранимые элементы разреженной матрицы на скаляр.
+     *
+     * @param a      Исходная матрица.
+     * @param scalar Скаляр.
+     * @return Произведение в формате CSR.
+     */
+    static CsrMatrix scaleSparse(CsrMatrix a, double scalar) {
+        double[] values = a.getValues();
+        double[] scaled = new double[values.length];
+        for (int p = 0; p < values.length; p++) {
+            scaled[p] = values[p] * scalar;
+        }
+        return CsrMatrix.fromCompressed(a.getRows(), a.getCols(), a.getRowPointers().clone(),
+                a.getColumnIndices().clone(), scaled);
+    }
+}
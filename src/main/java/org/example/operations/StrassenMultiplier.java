@@ -0,0 +1,180 @@
+package org.example.operations;
+
+import org.example.matrix.FlatArrayStorage;
+import org.example.matrix.MatrixStorage;
+
+/**
+ * Умножение квадратных матриц по схеме Штрассена-Винограда: 7 умножений половинного размера
+ * и 15 сложений на уровень рекурсии вместо 8 умножений, то есть O(n^2.81) вместо O(n³).
+ * <p>
+ *     Матрицы размером не больше порога умножаются блочным ядром {@link MultiplyKernels#multiplyBlocked}:
+ *     на малых размерах лишние сложения и копирование дороже сэкономленного умножения.
+ *     Нечетный размер дополняется нулевой строкой и столбцом на том уровне, где он встретился,
+ *     поэтому размер не обязан быть степенью двойки. Семь подпроизведений уровня выполняются
+ *     параллельно, если задан пул и объем подпроизведения не меньше порога параллельного выполнения.
+ * </p>
+ * <p>
+ *     Порядок суммирования отличается от классического алгоритма, поэтому результат совпадает
+ *     с ним только с точностью до погрешности округления, растущей с глубиной рекурсии.
+ *     Хранилища должны предоставлять прямой доступ к массивам, результат должен быть заполнен нулями.
+ * </p>
+ */
+final class StrassenMultiplier {
+
+    private final int threshold;
+    private final int blockSize;
+    private final ArrayKernels kernels;
+    private final ComputePool pool;
+    private final long parallelThreshold;
+
+    /**
+     * Создает умножитель с заданными настройками.
+     *
+     * @param threshold         Размер, начиная с которого (не включительно) используется рекурсия.
+     * @param blockSize         Размер плитки блочного ядра.
+     * @param kernels           Ядра поэлементных операций.
+     * @param pool              Пул потоков или null для последовательного выполнения.
+     * @param parallelThreshold Наименьший объем подпроизведения (n³), выполняемого в пуле.
+     */
+    StrassenMultiplier(int threshold, int blockSize, ArrayKernels kernels, ComputePool pool, long parallelThreshold) {
+        this.threshold = threshold;
+        this.blockSize = blockSize;
+        this.kernels = kernels;
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Умножает квадратные матрицы размером n x n.
+     *
+     * @param a Хранилище первой матрицы.
+     * @param b Хранилище второй матрицы.
+     * @param c Хранилище результата, заполненное нулями.
+     * @param n Размер матриц.
+     */
+    void multiply(MatrixStorage a, MatrixStorage b, MatrixStorage c, int n) {
+        if (n <= threshold) {
+            MultiplyKernels.multiplyBlocked(a, b, c, 0, n, blockSize, kernels);
+            return;
+        }
+        int h = (n + 1) >>> 1;
+        int size = h * h;
+
+        double[] a11 = quadrant(a, 0, 0, n, h);
+        double[] a12 = quadrant(a, 0, h, n, h);
+        double[] a21 = quadrant(a, h, 0, n, h);
+        double[] a22 = quadrant(a, h, h, n, h);
+        double[] b11 = quadrant(b, 0, 0, n, h);
+        double[] b12 = quadrant(b, 0, h, n, h);
+        double[] b21 = quadrant(b, h, 0, n, h);
+        double[] b22 = quadrant(b, h, h, n, h);
+
+        // Суммы Винограда
+        double[] s1 = new double[size];
+        double[] s2 = new double[size];
+        double[] s3 = new double[size];
+        double[] s4 = new double[size];
+        kernels.add(a21, 0, a22, 0, s1, 0, size);
+        kernels.subtract(s1, 0, a11, 0, s2, 0, size);
+        kernels.subtract(a11, 0, a21, 0, s3, 0, size);
+        kernels.subtract(a12, 0, s2, 0, s4, 0, size);
+        double[] t1 = new double[size];
+        double[] t2 = new double[size];
+        double[] t3 = new double[size];
+        double[] t4 = new double[size];
+        kernels.subtract(b12, 0, b11, 0, t1, 0, size);
+        kernels.subtract(b22, 0, t1, 0, t2, 0, size);
+        kernels.subtract(b22, 0, b12, 0, t3, 0, size);
+        kernels.subtract(t2, 0, b21, 0, t4, 0, size);
+
+        double[] p1 = new double[size];
+        double[] p2 = new double[size];
+        double[] p3 = new double[size];
+        double[] p4 = new double[size];
+        double[] p5 = new double[size];
+        double[] p6 = new double[size];
+        double[] p7 = new double[size];
+        Runnable[] products = {
+                () -> multiply(a11, b11, p1, h),
+                () -> multiply(a12, b21, p2, h),
+                () -> multiply(s4, b22, p3, h),
+                () -> multiply(a22, t4, p4, h),
+                () -> multiply(s1, t1, p5, h),
+                () -> multiply(s2, t2, p6, h),
+                () -> multiply(s3, t3, p7, h)
+        };
+        if (pool != null && (long) h * h * h >= parallelThreshold) {
+            pool.invokeAll(products);
+        } else {
+            for (Runnable product : products) {
+                product.run();
+            }
+        }
+
+        // Сборка результата на месте подпроизведений:
+        // C11 = P1 + P2, C12 = P1 + P6 + P5 + P3, C21 = P1 + P6 + P7 - P4, C22 = P1 + P6 + P7 + P5
+        kernels.add(p1, 0, p2, 0, p2, 0, size);
+        kernels.add(p1, 0, p6, 0, p6, 0, size);
+        kernels.add(p6, 0, p7, 0, p7, 0, size);
+        kernels.add(p6, 0, p5, 0, p6, 0, size);
+        kernels.add(p6, 0, p3, 0, p3, 0, size);
+        kernels.subtract(p7, 0, p4, 0, p4, 0, size);
+        kernels.add(p7, 0, p5, 0, p5, 0, size);
+        store(p2, c, 0, 0, n, h);
+        store(p3, c, 0, h, n, h);
+        store(p4, c, h, 0, n, h);
+        store(p5, c, h, h, n, h);
+    }
+
+    /**
+     * Умножает непрерывные массивы размером h x h.
+     *
+     * @param a Первая матрица.
+     * @param b Вторая матрица.
+     * @param c Результат, заполненный нулями.
+     * @param h Размер матриц.
+     */
+    private void multiply(double[] a, double[] b, double[] c, int h) {
+        multiply(new FlatArrayStorage(a, h, h, 0, h), new FlatArrayStorage(b, h, h, 0, h),
+                new FlatArrayStorage(c, h, h, 0, h), h);
+    }
+
+    /**
+     * Копирует четверть матрицы в новый массив h x h. Элементы за границей матрицы остаются нулями.
+     *
+     * @param matrix  Хранилище матрицы.
+     * @param rowFrom Первая строка четверти.
+     * @param colFrom Первый столбец четверти.
+     * @param n       Размер матрицы.
+     * @param h       Размер четверти.
+     * @return Непрерывный массив четверти.
+     */
+    private static double[] quadrant(MatrixStorage matrix, int rowFrom, int colFrom, int n, int h) {
+        double[] quadrant = new double[h * h];
+        int rows = Math.min(h, n - rowFrom);
+        int cols = Math.min(h, n - colFrom);
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(matrix.rowArray(rowFrom + i), matrix.rowOffset(rowFrom + i) + colFrom,
+                    quadrant, i * h, cols);
+        }
+        return quadrant;
+    }
+
+    /**
+     * Записывает четверть результата в хранилище, отбрасывая дополнение за границей матрицы.
+     *
+     * @param quadrant Непрерывный массив четверти h x h.
+     * @param matrix   Хранилище результата.
+     * @param rowFrom  Первая строка четверти.
+     * @param colFrom  Первый столбец четверти.
+     * @param n        Размер матрицы.
+     * @param h        Размер четверти.
+     */
+    private static void store(double[] quadrant, MatrixStorage matrix, int rowFrom, int colFrom, int n, int h) {
+        int rows = Math.min(h, n - rowFrom);
+        int cols = Math.min(h, n - colFrom);
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(quadrant, i * h, matrix.rowArray(rowFrom + i), matrix.rowOffset(rowFrom + i) + colFrom, cols);
+        }
+    }
+}
@@ -0,0 +1,626 @@
+package org.example.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.cache.CachingMatrixOperations;
+import org.example.cache.ResultCache;
+import org.example.exception.MatrixException;
+import org.example.file.BinaryMatrixReader;
+import org.example.file.BinaryMatrixWriter;
+import org.example.file.FileReader;
+import org.example.file.TextMatrixWriter;
+import org.example.logging.AppLogger;
+import org.example.matrix.Matrix;
+import org.example.metrics.MatrixMetrics;
+import org.example.operations.MatrixOperations;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Класс {@code MatrixServer} выполняет операции {@link MatrixOperations} по HTTP-запросам в одном
+ * долго работающем процессе.
+ * <p>
+ *     Запуск JVM и прогрев JIT-компилятора оплачиваются один раз, а кэш результатов {@link ResultCache}
+ *     общий для всех запросов, поэтому повторные вычисления над теми же данными стоят O(n²).
+ *     Сервер принимает соединения только с локального адреса: операнды могут задаваться путями к файлам
+ *     на машине сервера. Чтобы страница в браузере не могла отправить запрос на локальный порт, запросы
+ *     с заголовком {@code Origin} или с заголовком {@code Host}, отличным от локального адреса (подмена DNS),
+ *     отклоняются с кодом 403. Пути к файлам разрешаются относительно рабочей директории сервера и не могут
+ *     выходить за ее пределы, в том числе через символические ссылки.
+ * </p>
+ * <p>
+ *     Запрос {@code POST /<операция>?<параметры>} повторяет строку файла заданий пакетного режима:
+ *     операции add, subtract, multiply, scale, determinant, solve и inverse, параметры
+ *     {@code a}, {@code b} (пути к файлам в текстовом или двоичном формате), {@code scalar},
+ *     {@code output} и {@code format}. Операнды, для которых не указан файл, передаются в теле
+ *     запроса в текстовом формате и отделяются друг от друга пустой строкой. Ответ содержит
+ *     матрицу-результат в текстовом формате или число; если указан {@code output}, результат
+ *     записывается в файл, а тело ответа пустое. {@code GET /metrics} возвращает отчет о метриках
+ *     (в JSON с параметром {@code format=json}), {@code GET /health} - строку {@code OK}.
+ * </p>
+ * <p>
+ *     Коды ответа: 200 - успех, 400 - некорректный запрос, 404 - неизвестный путь, 405 - неверный метод,
+ *     403 - запрос не с локальной страницы или путь вне рабочей директории, 413 - слишком большое тело запроса, 422 - ошибка операции (размеры, вырожденность, чтение файла),
+ *     500 - внутренняя ошибка; тело ответа с ошибкой содержит ее описание.
+ * </p>
+ * <p>
+ *     Запросы обрабатываются фиксированным пулом потоков, а параллельные операции внутри запроса
+ *     выполняются в пуле {@link org.example.operations.ComputePool}, заданном в {@link MatrixOperations},
+ *     поэтому количество потоков ограничено при любом количестве одновременных соединений:
+ *     запросы сверх размера пула ожидают в очереди.
+ * </p>
+ */
+public class MatrixServer implements AutoCloseable {
+
+    /**
+     * Объем кэша результатов по умолчанию в байтах.
+     */
+    public static final long DEFAULT_CACHE_BYTES = 256L << 20;
+
+    /**
+     * Наибольший размер тела запроса с матрицами в байтах.
+     */
+    public static final int MAX_BODY_BYTES = 64 << 20;
+
+    private static final Set<String> OPERATION_KEYS = Set.of("a", "b", "scalar", "output", "format");
+
+    private static final Set<String> LOOPBACK_HOSTS = Set.of("localhost", "127.0.0.1", "::1");
+
+    private static final AppLogger logger = new AppLogger(MatrixServer.class);
+
+    private final MatrixOperations operations;
+    private final CachingMatrixOperations cachingOperations;
+    private final FileReader fileReader = new FileReader();
+    private final BinaryMatrixReader binaryReader = new BinaryMatrixReader();
+    private final BinaryMatrixWriter binaryWriter = new BinaryMatrixWriter();
+    private final TextMatrixWriter textWriter = new TextMatrixWriter();
+    private final Path workingDirectory;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Создает сервер с кэшем результатов объема {@link #DEFAULT_CACHE_BYTES}, работающий с файлами
+     * текущей директории процесса.
+     *
+     * @param operations     Операции над матрицами, общие для всех запросов.
+     * @param port           Порт на локальном адресе или 0, чтобы выбрать свободный порт.
+     * @param handlerThreads Количество потоков обработки запросов.
+     * @throws IOException              Если порт не удалось занять.
+     * @throws IllegalArgumentException Если количество потоков меньше или равно 0.
+     */
+    public MatrixServer(MatrixOperations operations, int port, int handlerThreads) throws IOException {
+        this(operations, port, handlerThreads, new ResultCache(DEFAULT_CACHE_BYTES));
+    }
+
+    /**
+     * Создает сервер, работающий с файлами текущей директории процесса.
+     *
+     * @param operations     Операции над матрицами, общие для всех запросов.
+     * @param port           Порт на локальном адресе или 0, чтобы выбрать свободный порт.
+     * @param handlerThreads Количество потоков обработки запросов.
+     * @param cache          Кэш результатов операций.
+     * @throws IOException              Если порт не удалось занять.
+     * @throws IllegalArgumentException Если количество потоков меньше или равно 0.
+     */
+    public MatrixServer(MatrixOperations operations, int port, int handlerThreads, ResultCache cache)
+            throws IOException {
+        this(operations, port, handlerThreads, cache, Paths.get(""));
+    }
+
+    /**
+     * Создает сервер. Сервер начинает принимать запросы после вызова {@link #start()}.
+     *
+     * @param operations       Операции над матрицами, общие для всех запросов.
+     * @param port             Порт на локальном адресе или 0, чтобы выбрать свободный порт.
+     * @param handlerThreads   Количество потоков обработки запросов.
+     * @param cache            Кэш результатов операций.
+     * @param workingDirectory Директория, относительно которой разрешаются пути a, b и output;
+     *                         файлы вне ее недоступны.
+     * @throws IOException              Если порт не удалось занять или рабочая директория не существует.
+     * @throws IllegalArgumentException Если количество потоков меньше или равно 0 или рабочая директория
+     *                                  не является директорией.
+     */
+    public MatrixServer(MatrixOperations operations, int port, int handlerThreads, ResultCache cache,
+                        Path workingDirectory) throws IOException {
+        if (handlerThreads <= 0) {
+            throw new IllegalArgumentException("Количество потоков должно быть больше 0");
+        }
+        this.workingDirectory = workingDirectory.toRealPath();
+        if (!Files.isDirectory(this.workingDirectory)) {
+            throw new IllegalArgumentException("Рабочая директория сервера не является директорией: " + workingDirectory);
+        }
+        this.operations = operations;
+        this.cachingOperations = new CachingMatrixOperations(operations, cache);
+        this.fileReader.setMetrics(operations.getMetrics());
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.handlers = Executors.newFixedThreadPool(handlerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "matrix-server-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Начинает прием запросов.
+     */
+    public void start() {
+        server.start();
+        logger.info("Сервер запущен на порту {}", getPort());
+    }
+
+    /**
+     * Возвращает порт, на котором сервер принимает запросы.
+     *
+     * @return Номер порта.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Возвращает рабочую директорию сервера.
+     *
+     * @return Абсолютный путь без символических ссылок.
+     */
+    public Path getWorkingDirectory() {
+        return workingDirectory;
+    }
+
+    /**
+     * Ожидает остановки сервера методом {@link #close()}.
+     *
+     * @throws InterruptedException Если ожидающий поток прерван.
+     */
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Останавливает сервер: перестает принимать соединения и ожидает завершения потоков обработки.
+     * Повторный вызов ничего не делает.
+     */
+    @Override
+    public synchronized void close() {
+        if (stopped.getCount() == 0) {
+            return;
+        }
+        server.stop(0);
+        handlers.shutdown();
+        try {
+            handlers.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopped.countDown();
+        logger.info("Сервер остановлен");
+    }
+
+    /**
+     * Обрабатывает запрос и отправляет ответ. Ответ отправляется и соединение закрывается при любой ошибке;
+     * {@link Error} (например, {@link OutOfMemoryError}) после этого выбрасывается повторно.
+     *
+     * @param exchange Запрос и ответ HTTP.
+     */
+    private void handle(HttpExchange exchange) {
+        int status = 200;
+        byte[] body;
+        Error fatal = null;
+        try {
+            body = dispatch(exchange);
+        } catch (RequestException e) {
+            status = e.status;
+            body = message(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = message(e.getMessage());
+        } catch (MatrixException e) {
+            status = 422;
+            body = message(e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            status = 500;
+            body = message("Внутренняя ошибка сервера: " + e.getMessage());
+            logger.error("Ошибка обработки запроса {}", exchange.getRequestURI(), e);
+        } catch (Error e) {
+            // Ответ отправляется и соединение закрывается до повторного выбрасывания, иначе клиент ожидает бесконечно
+            fatal = e;
+            status = 500;
+            body = message("Внутренняя ошибка сервера: " + e);
+            logger.error("Ошибка обработки запроса {}", exchange.getRequestURI(), e);
+        }
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Не удалось отправить ответ: {}", e.getMessage());
+        } finally {
+            exchange.close();
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Запрос {} выполнен с кодом {}", exchange.getRequestURI(), status);
+        }
+        if (fatal != null) {
+            throw fatal;
+        }
+    }
+
+    /**
+     * Выбирает обработчик по пути и методу запроса.
+     *
+     * @param exchange Запрос и ответ HTTP.
+     * @return Тело ответа.
+     * @throws RequestException Если запрос не с локальной страницы, путь неизвестен, метод неверен,
+     *                          тело запроса слишком большое или путь к файлу вне рабочей директории.
+     * @throws MatrixException  Если операция завершилась ошибкой.
+     * @throws IOException      Если не удалось прочитать запрос или записать результат.
+     */
+    private byte[] dispatch(HttpExchange exchange) throws RequestException, MatrixException, IOException {
+        checkLocalRequest(exchange.getRequestHeaders());
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if (path.equals("/health") || path.equals("/metrics")) {
+            if (!method.equals("GET")) {
+                throw new RequestException(405, "Метод не поддерживается: " + method);
+            }
+            if (path.equals("/health")) {
+                return message("OK");
+            }
+            return metrics(parseQuery(exchange.getRequestURI().getRawQuery(), Set.of("format")));
+        }
+        String operation = path.startsWith("/") ? path.substring(1) : path;
+        if (!isOperation(operation)) {
+            throw new RequestException(404, "Неизвестный путь: " + path);
+        }
+        if (!method.equals("POST")) {
+            throw new RequestException(405, "Метод не поддерживается: " + method);
+        }
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery(), OPERATION_KEYS);
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            throw new RequestException(413, "Размер тела запроса превышает " + MAX_BODY_BYTES + " байт");
+        }
+        return execute(operation, params, parseInline(body));
+    }
+
+    /**
+     * Отклоняет запросы, которые могла отправить страница в браузере: с заголовком {@code Origin}
+     * или с заголовком {@code Host}, отличным от локального адреса. Запрос без {@code Host} браузер
+     * отправить не может, поэтому он принимается.
+     *
+     * @param headers Заголовки запроса.
+     * @throws RequestException Если запрос содержит {@code Origin} или {@code Host} не локального адреса.
+     */
+    private static void checkLocalRequest(Headers headers) throws RequestException {
+        if (headers.containsKey("Origin")) {
+            throw new RequestException(403, "Запросы с заголовком Origin не принимаются");
+        }
+        String host = headers.getFirst("Host");
+        if (host == null) {
+            return;
+        }
+        String name = host.strip();
+        if (name.startsWith("[")) {
+            int end = name.indexOf(']');
+            name = end > 0 ? name.substring(1, end) : name;
+        } else if (name.indexOf(':') >= 0) {
+            name = name.substring(0, name.indexOf(':'));
+        }
+        if (!LOOPBACK_HOSTS.contains(name.toLowerCase(Locale.ROOT))) {
+            throw new RequestException(403, "Недопустимый заголовок Host: " + host);
+        }
+    }
+
+    /**
+     * Проверяет, что имя является поддерживаемой операцией.
+     *
+     * @param operation Имя операции.
+     * @return true, если операция поддерживается.
+     */
+    private static boolean isOperation(String operation) {
+        return switch (operation) {
+            case "add", "subtract", "multiply", "scale", "determinant", "solve", "inverse" -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Выполняет операцию и формирует тело ответа или записывает результат в файл.
+     *
+     * @param operation Имя операции.
+     * @param params    Параметры запроса.
+     * @param inline    Матрицы из тела запроса.
+     * @return Тело ответа.
+     * @throws RequestException Если путь к файлу вне рабочей директории.
+     * @throws MatrixException  Если операция завершилась ошибкой или файл не удалось прочитать или записать.
+     * @throws IOException      Если не удалось записать определитель в файл.
+     */
+    private byte[] execute(String operation, Map<String, String> params, List<Matrix> inline)
+            throws RequestException, MatrixException, IOException {
+        Path output = params.containsKey("output") ? resolveFile(params.get("output"), "output") : null;
+        String format = params.getOrDefault("format", "text");
+        if (!format.equals("text") && !format.equals("binary")) {
+            throw new IllegalArgumentException("Неизвестный формат: " + format);
+        }
+        if (output == null && format.equals("binary")) {
+            throw new IllegalArgumentException("Двоичный формат доступен только для результата в файле (output)");
+        }
+        int next = 0;
+        Matrix a = params.containsKey("a")
+                ? readMatrix(resolveFile(params.get("a"), "a"))
+                : inlineOperand(inline, next++, "a");
+        Matrix b = null;
+        boolean binary = switch (operation) {
+            case "add", "subtract", "multiply", "solve" -> true;
+            default -> false;
+        };
+        if (binary) {
+            b = params.containsKey("b")
+                    ? readMatrix(resolveFile(params.get("b"), "b"))
+                    : inlineOperand(inline, next++, "b");
+        } else if (params.containsKey("b")) {
+            throw new IllegalArgumentException("Операция " + operation + " не использует вторую матрицу (b)");
+        }
+        if (inline.size() > next) {
+            throw new IllegalArgumentException("Тело запроса содержит лишние матрицы: " + (inline.size() - next));
+        }
+        if (!operation.equals("scale") && params.containsKey("scalar")) {
+            throw new IllegalArgumentException("Операция " + operation + " не использует скаляр (scalar)");
+        }
+
+        if (operation.equals("determinant")) {
+            if (format.equals("binary")) {
+                throw new IllegalArgumentException("Определитель сохраняется только в текстовом формате");
+            }
+            double determinant = cachingOperations.determinant(a);
+            String text = determinant + System.lineSeparator();
+            if (output == null) {
+                return text.getBytes(StandardCharsets.UTF_8);
+            }
+            Files.writeString(output, text, StandardCharsets.UTF_8);
+            return new byte[0];
+        }
+        Matrix result = switch (operation) {
+            case "add" -> cachingOperations.add(a, b);
+            case "subtract" -> cachingOperations.subtract(a, b);
+            case "multiply" -> cachingOperations.multiply(a, b);
+            case "scale" -> cachingOperations.multiplyByScalar(a, parseScalar(params.get("scalar")));
+            case "solve" -> operations.solve(a, b);
+            default -> operations.inverse(a);
+        };
+        if (output == null) {
+            return toText(result);
+        }
+        if (format.equals("binary")) {
+            binaryWriter.writeMatrixToFile(result, output.toString());
+        } else {
+            textWriter.writeMatrixToFile(result, output.toString());
+        }
+        return new byte[0];
+    }
+
+    /**
+     * Разрешает путь к файлу относительно рабочей директории и проверяет, что файл находится в ней.
+     * Символические ссылки разрешаются для существующей части пути, поэтому ссылка за пределы
+     * рабочей директории не обходит проверку.
+     *
+     * @param value Значение параметра.
+     * @param name  Имя параметра для сообщения об ошибке.
+     * @return Путь к файлу.
+     * @throws RequestException         Если путь выходит за пределы рабочей директории.
+     * @throws IllegalArgumentException Если путь некорректен.
+     */
+    private Path resolveFile(String value, String name) throws RequestException {
+        Path path;
+        try {
+            path = workingDirectory.resolve(value).normalize();
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Некорректный путь к файлу (" + name + "): " + value);
+        }
+        // Несуществующая часть пути после normalize() не содержит "..", поэтому достаточно проверить
+        // существующую часть с разрешенными символическими ссылками
+        Path existing = path;
+        while (existing != null && !Files.exists(existing, LinkOption.NOFOLLOW_LINKS)) {
+            existing = existing.getParent();
+        }
+        boolean inside;
+        try {
+            inside = existing != null && existing.toRealPath().startsWith(workingDirectory);
+        } catch (IOException e) {
+            inside = false;
+        }
+        if (!inside) {
+            throw new RequestException(403, "Путь к файлу (" + name + ") вне рабочей директории сервера: " + value);
+        }
+        return path;
+    }
+
+    /**
+     * Возвращает очередную матрицу из тела запроса.
+     *
+     * @param inline Матрицы из тела запроса.
+     * @param index  Номер матрицы.
+     * @param name   Имя операнда для сообщения об ошибке.
+     * @return Матрица.
+     * @throws IllegalArgumentException Если в теле запроса недостаточно матриц.
+     */
+    private static Matrix inlineOperand(List<Matrix> inline, int index, String name) {
+        if (index >= inline.size()) {
+            throw new IllegalArgumentException("Не указан файл матрицы (" + name + ") и матрица не передана в теле запроса");
+        }
+        return inline.get(index);
+    }
+
+    /**
+     * Разбирает значение скаляра.
+     *
+     * @param value Значение параметра.
+     * @return Скаляр.
+     * @throws IllegalArgumentException Если значение не указано или не является числом.
+     */
+    private static double parseScalar(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Для операции scale не указан скаляр (scalar)");
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Некорректное значение скаляра: " + value);
+        }
+    }
+
+    /**
+     * Формирует отчет о метриках операций.
+     *
+     * @param params Параметры запроса.
+     * @return Тело ответа.
+     * @throws RequestException Если сбор метрик выключен.
+     */
+    private byte[] metrics(Map<String, String> params) throws RequestException {
+        MatrixMetrics metrics = operations.getMetrics();
+        if (metrics == null) {
+            throw new RequestException(404, "Сбор метрик выключен");
+        }
+        String format = params.getOrDefault("format", "text");
+        return switch (format) {
+            case "text" -> metrics.dumpText().getBytes(StandardCharsets.UTF_8);
+            case "json" -> message(metrics.dumpJson());
+            default -> throw new IllegalArgumentException("Неизвестный формат метрик: " + format);
+        };
+    }
+
+    /**
+     * Читает матрицу из файла, определяя формат по сигнатуре.
+     *
+     * @param path Путь к файлу.
+     * @return Прочитанная матрица.
+     * @throws MatrixException Если файл не удалось прочитать.
+     */
+    private Matrix readMatrix(Path path) throws MatrixException {
+        String file = path.toString();
+        if (binaryReader.isBinaryMatrixFile(file)) {
+            return binaryReader.mapMatrixFromFile(file);
+        }
+        return fileReader.readMatrixFromFile(file);
+    }
+
+    /**
+     * Разбирает матрицы из тела запроса: матрицы в текстовом формате, разделенные пустыми строками.
+     *
+     * @param body Тело запроса.
+     * @return Матрицы в порядке следования.
+     * @throws MatrixException Если матрица имеет неверный формат.
+     */
+    private List<Matrix> parseInline(byte[] body) throws MatrixException {
+        List<Matrix> matrices = new ArrayList<>();
+        String text = new String(body, StandardCharsets.UTF_8).strip();
+        if (text.isEmpty()) {
+            return matrices;
+        }
+        for (String block : text.split("\\R[ \\t]*\\R\\s*")) {
+            byte[] bytes = block.getBytes(StandardCharsets.UTF_8);
+            matrices.add(fileReader.readMatrix(Channels.newChannel(new ByteArrayInputStream(bytes))));
+        }
+        return matrices;
+    }
+
+    /**
+     * Разбирает строку запроса вида {@code ключ=значение&...}.
+     *
+     * @param query   Строка запроса без декодирования или null.
+     * @param allowed Допустимые ключи.
+     * @return Соответствие ключей и декодированных значений.
+     * @throws IllegalArgumentException Если ключ недопустим или повторяется.
+     */
+    private static Map<String, String> parseQuery(String query, Set<String> allowed) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = URLDecoder.decode(separator >= 0 ? pair.substring(0, separator) : pair, StandardCharsets.UTF_8);
+            String value = separator >= 0 ? URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8) : "";
+            if (!allowed.contains(key)) {
+                throw new IllegalArgumentException("Некорректный параметр запроса: " + key);
+            }
+            if (params.put(key, value) != null) {
+                throw new IllegalArgumentException("Параметр запроса указан несколько раз: " + key);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Записывает матрицу в текстовом формате.
+     *
+     * @param matrix Матрица.
+     * @return Текстовое представление в кодировке UTF-8.
+     * @throws IOException Если не удалось записать матрицу.
+     */
+    private byte[] toText(Matrix matrix) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(bytes, StandardCharsets.UTF_8));
+        textWriter.writeMatrix(matrix, writer);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Кодирует сообщение с переносом строки.
+     *
+     * @param text Сообщение.
+     * @return Сообщение в кодировке UTF-8.
+     */
+    private static byte[] message(String text) {
+        return (text + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Ошибка запроса с заданным кодом ответа.
+     */
+    private static final class RequestException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
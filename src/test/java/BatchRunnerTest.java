@@ -0,0 +1,195 @@
+import org.example.cli.BatchRunner;
+import org.example.exception.MatrixException;
+import org.example.file.BinaryMatrixReader;
+import org.example.file.BinaryMatrixWriter;
+import org.example.file.FileReader;
+import org.example.matrix.Matrix;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link BatchRunner}.
+ * <p>
+ * Проверяет выполнение операций по аргументам командной строки и из файла заданий, а также коды завершения.
+ * </p>
+ */
+class BatchRunnerTest {
+
+    private ByteArrayOutputStream out;
+    private ByteArrayOutputStream err;
+    private BatchRunner runner;
+
+    /**
+     * Временная директория, создаваемая JUnit для тестов.
+     */
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        out = new ByteArrayOutputStream();
+        err = new ByteArrayOutputStream();
+        runner = new BatchRunner(new MatrixOperations(),
+                new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Тест проверяет сложение матриц из текстового и двоичного файлов с записью результата в текстовый файл.
+     *
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     * @throws MatrixException если возникает ошибка при чтении результата.
+     */
+    @Test
+    void add_mixedFormats_writesTextResult() throws IOException, MatrixException {
+        String a = writeText("a.txt", "1 2\n3 4\n");
+        String b = tempDir.resolve("b.bin").toString();
+        new BinaryMatrixWriter().writeMatrixToFile(new Matrix(new double[][]{{10, 20}, {30, 40}}), b);
+        String result = tempDir.resolve("result.txt").toString();
+
+        int code = runner.run(new String[]{"--op", "add", "--a", a, "--b", b, "--output", result});
+
+        assertEquals(BatchRunner.EXIT_OK, code, err.toString(StandardCharsets.UTF_8));
+        assertEquals(new Matrix(new double[][]{{11, 22}, {33, 44}}), new FileReader().readMatrixFromFile(result));
+    }
+
+    /**
+     * Тест проверяет вывод результата в стандартный поток и запись в двоичном формате.
+     *
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     * @throws MatrixException если возникает ошибка при чтении результата.
+     */
+    @Test
+    void scale_stdoutAndBinaryOutput() throws IOException, MatrixException {
+        String a = writeText("a.txt", "1 2\n3 4\n");
+
+        assertEquals(BatchRunner.EXIT_OK, runner.run(new String[]{"--op", "scale", "--a", a, "--scalar", "2"}));
+        String printed = out.toString(StandardCharsets.UTF_8);
+        assertEquals("2.0 4.0" + System.lineSeparator() + "6.0 8.0" + System.lineSeparator(), printed);
+
+        String result = tempDir.resolve("result.bin").toString();
+        int code = runner.run(new String[]{"--op", "scale", "--a", a, "--scalar", "-1",
+                "--output", result, "--format", "binary", "--threads", "2"});
+        assertEquals(BatchRunner.EXIT_OK, code);
+        assertEquals(new Matrix(new double[][]{{-1, -2}, {-3, -4}}), new BinaryMatrixReader().readMatrixFromFile(result));
+    }
+
+    /**
+     * Тест проверяет построчное выполнение поэлементных операций с флагом --stream.
+     *
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     * @throws MatrixException если возникает ошибка при чтении результата.
+     */
+    @Test
+    void stream_elementwiseOperations() throws IOException, MatrixException {
+        String a = writeText("a.txt", "1 2\n3 4\n");
+        String b = writeText("b.txt", "10 20\n30 40\n");
+        String result = tempDir.resolve("result.txt").toString();
+
+        int code = runner.run(new String[]{"--op", "subtract", "--a", b, "--b", a, "--output", result, "--stream"});
+        assertEquals(BatchRunner.EXIT_OK, code, err.toString(StandardCharsets.UTF_8));
+        assertEquals(new Matrix(new double[][]{{9, 18}, {27, 36}}), new FileReader().readMatrixFromFile(result));
+
+        assertEquals(BatchRunner.EXIT_OK, runner.run(new String[]{"--op", "scale", "--a", a, "--scalar", "2", "--stream"}));
+        assertEquals("2.0 4.0" + System.lineSeparator() + "6.0 8.0" + System.lineSeparator(),
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Тест проверяет выполнение файла заданий: все задания выполняются, а ошибка одного из них
+     * приводит к коду завершения {@link BatchRunner#EXIT_FAILURE}.
+     *
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     * @throws MatrixException если возникает ошибка при чтении результата.
+     */
+    @Test
+    void jobFile_runsAllJobsAndReportsFailure() throws IOException, MatrixException {
+        String a = writeText("a.txt", "1 2\n3 4\n");
+        String c = writeText("c.txt", "1 2 3\n");
+        String product = tempDir.resolve("product.txt").toString();
+        String det = tempDir.resolve("det.txt").toString();
+        String jobs = writeText("jobs.txt", String.join("\n",
+                "# комментарий",
+                "multiply a=" + a + " b=" + a + " output=" + product,
+                "",
+                "add a=" + a + " b=" + c,
+                "determinant a=" + a + " output=" + det));
+
+        int code = runner.run(new String[]{"--job", jobs});
+
+        assertEquals(BatchRunner.EXIT_FAILURE, code);
+        assertEquals(new Matrix(new double[][]{{7, 10}, {15, 22}}), new FileReader().readMatrixFromFile(product));
+        assertEquals(-2.0, Double.parseDouble(Files.readString(Path.of(det)).trim()), 1e-12);
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("add"));
+    }
+
+    /**
+     * Тест проверяет, что с флагом --fail-fast задания после первой ошибки не выполняются.
+     *
+     * @throws IOException если возникает ошибка при работе с файлами.
+     */
+    @Test
+    void jobFile_failFastStopsAfterFirstError() throws IOException {
+        String a = writeText("a.txt", "1 2\n3 4\n");
+        String result = tempDir.resolve("result.txt").toString();
+        String jobs = writeText("jobs.txt", String.join("\n",
+                "add a=" + tempDir.resolve("missing.txt") + " b=" + a,
+                "add a=" + a + " b=" + a + " output=" + result));
+
+        assertEquals(BatchRunner.EXIT_FAILURE, runner.run(new String[]{"--job", jobs, "--fail-fast"}));
+        assertFalse(Files.exists(Path.of(result)), "Задания после ошибки не должны выполняться");
+    }
+
+    /**
+     * Тест проверяет код завершения при некорректных аргументах.
+     *
+     * @throws IOException если возникает ошибка при работе с файлами.
+     */
+    @Test
+    void invalidArguments_returnUsageCode() throws IOException {
+        String a = writeText("a.txt", "1 2\n3 4\n");
+        String jobs = writeText("jobs.txt", "invert a=" + a);
+
+        assertEquals(BatchRunner.EXIT_USAGE, runner.run(new String[]{"--unknown"}));
+        assertEquals(BatchRunner.EXIT_USAGE, runner.run(new String[]{"--op", "add", "--a", a}));
+        assertEquals(BatchRunner.EXIT_USAGE, runner.run(new String[]{"--op", "scale", "--a", a, "--scalar", "x"}));
+        assertEquals(BatchRunner.EXIT_USAGE, runner.run(new String[]{"--job", jobs}));
+        assertEquals(BatchRunner.EXIT_OK, runner.run(new String[]{"--help"}));
+    }
+
+    /**
+     * Тест проверяет вывод статистики операций в формате JSON в поток ошибок с флагом --metrics.
+     *
+     * @throws IOException если возникает ошибка при работе с файлами.
+     */
+    @Test
+    void metrics_dumpedToErrorStream() throws IOException {
+        String a = writeText("a.txt", "1 2\n3 4\n");
+
+        int code = runner.run(new String[]{"--op", "multiply", "--a", a, "--b", a, "--metrics", "json"});
+
+        assertEquals(BatchRunner.EXIT_OK, code);
+        String report = err.toString(StandardCharsets.UTF_8);
+        assertTrue(report.contains("\"name\":\"multiply\",\"count\":1,"), report);
+        assertTrue(report.contains("\"name\":\"readText\",\"count\":2,"), report);
+        assertEquals(BatchRunner.EXIT_USAGE,
+                runner.run(new String[]{"--op", "add", "--a", a, "--b", a, "--metrics", "xml"}));
+    }
+
+    private String writeText(String name, String content) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path.toString();
+    }
+}
@@ -0,0 +1,128 @@
+import org.example.exception.MatrixException;
+import org.example.file.BinaryMatrixReader;
+import org.example.file.BinaryMatrixWriter;
+import org.example.matrix.Matrix;
+import org.example.matrix.StorageMode;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link BinaryMatrixReader} и {@link BinaryMatrixWriter}.
+ * <p>
+ * Проверяет запись и чтение матриц в двоичном формате, в том числе через отображение файла в память.
+ * </p>
+ */
+class BinaryMatrixFileTest {
+
+    private BinaryMatrixReader reader;
+    private BinaryMatrixWriter writer;
+
+    /**
+     * Временная директория, создаваемая JUnit для тестов.
+     */
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        reader = new BinaryMatrixReader();
+        writer = new BinaryMatrixWriter();
+    }
+
+    /**
+     * Тест проверяет, что матрица, записанная в двоичный файл, читается без изменений
+     * как копированием в кучу, так и отображением в память.
+     *
+     * @throws MatrixException если возникает ошибка при записи или чтении матрицы.
+     */
+    @Test
+    void writeAndRead_roundTrip() throws MatrixException {
+        Matrix matrix = new Matrix(300, 70);
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                matrix.setElement(i, j, i * 1000.5 - j);
+            }
+        }
+        String file = tempDir.resolve("matrix.bin").toString();
+
+        writer.writeMatrixToFile(matrix, file);
+
+        Matrix loaded = reader.readMatrixFromFile(file);
+        Matrix mapped = reader.mapMatrixFromFile(file);
+        assertEquals(matrix, loaded, "Прочитанная матрица должна совпадать с записанной");
+        assertEquals(matrix, mapped, "Отображенная матрица должна совпадать с записанной");
+        assertEquals(StorageMode.BUFFER, mapped.getStorageMode());
+    }
+
+    /**
+     * Тест проверяет, что операции над отображенной матрицей дают тот же результат, что и над матрицей в куче.
+     *
+     * @throws MatrixException если возникает ошибка при работе с матрицами.
+     */
+    @Test
+    void mappedMatrix_supportsOperations() throws MatrixException {
+        Matrix matrix = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        String file = tempDir.resolve("small.bin").toString();
+        writer.writeMatrixToFile(matrix, file);
+        Matrix mapped = reader.mapMatrixFromFile(file);
+        MatrixOperations operations = new MatrixOperations();
+
+        assertEquals(operations.add(matrix, matrix), operations.add(mapped, mapped));
+        assertEquals(operations.multiplyByScalar(matrix, 3), operations.multiplyByScalar(mapped, 3));
+        assertEquals(operations.multiply(matrix, matrix), operations.multiply(mapped, mapped));
+        assertEquals(-2, operations.determinant(mapped), 1e-12);
+    }
+
+    /**
+     * Тест проверяет, что изменения отображенной с правом записи матрицы сохраняются в файле.
+     *
+     * @throws MatrixException если возникает ошибка при работе с файлом.
+     */
+    @Test
+    void mapWritable_persistsChanges() throws MatrixException {
+        String file = tempDir.resolve("writable.bin").toString();
+        writer.writeMatrixToFile(new Matrix(new double[][]{{1, 2}, {3, 4}}), file);
+
+        reader.mapMatrixFromFile(file, true).setElement(1, 0, 42);
+
+        assertEquals(42, reader.readMatrixFromFile(file).getElement(1, 0));
+    }
+
+    /**
+     * Тест проверяет выбрасывание исключения {@link MatrixException} для файла с неверной сигнатурой.
+     *
+     * @throws IOException если возникает ошибка при создании временного файла.
+     */
+    @Test
+    void read_invalidMagic() throws IOException {
+        Path file = tempDir.resolve("text.bin");
+        Files.writeString(file, "1.0 2.0\n3.0 4.0\n....................");
+
+        MatrixException exception = assertThrows(MatrixException.class, () -> reader.mapMatrixFromFile(file.toString()));
+        assertEquals("Некорректный формат двоичного файла. Неверная сигнатура", exception.getMessage());
+    }
+
+    /**
+     * Тест проверяет выбрасывание исключения {@link MatrixException} для обрезанного файла.
+     *
+     * @throws IOException     если возникает ошибка при работе с временным файлом.
+     * @throws MatrixException если возникает ошибка при записи матрицы.
+     */
+    @Test
+    void read_truncatedFile() throws IOException, MatrixException {
+        Path file = tempDir.resolve("truncated.bin");
+        writer.writeMatrixToFile(new Matrix(new double[][]{{1, 2}, {3, 4}}), file.toString());
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(MatrixException.class, () -> reader.readMatrixFromFile(file.toString()));
+    }
+}
@@ -0,0 +1,146 @@
+import org.example.cache.CachingMatrixOperations;
+import org.example.cache.ResultCache;
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.StorageMode;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link CachingMatrixOperations} и {@link ResultCache}.
+ * <p>
+ * Проверяет попадания по содержимому операндов, статистику и вытеснение по бюджету памяти.
+ * </p>
+ */
+class CachingMatrixOperationsTest {
+
+    private MatrixOperations matrixOperations;
+    private Matrix matrix1;
+    private Matrix matrix2;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+        matrix1 = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        matrix2 = new Matrix(new double[][]{{5, 6}, {7, 8}});
+    }
+
+    /**
+     * Тест проверяет, что повторный запрос с равными по содержимому операндами берется из кэша,
+     * а изменение возвращенной матрицы не портит сохраненный результат.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void repeatedRequest_hitsByContent() throws MatrixException {
+        CachingMatrixOperations cached = new CachingMatrixOperations(matrixOperations, 1 << 20);
+        Matrix expected = matrixOperations.multiply(matrix1, matrix2);
+
+        Matrix first = cached.multiply(matrix1, matrix2);
+        first.setElement(0, 0, -1);
+        Matrix sameContent = new Matrix(2, 2, StorageMode.FLAT);
+        for (int i = 0; i < 2; i++) {
+            for (int j = 0; j < 2; j++) {
+                sameContent.setElement(i, j, matrix1.getElement(i, j));
+            }
+        }
+        Matrix second = cached.multiply(sameContent, matrix2);
+
+        assertEquals(expected, second);
+        assertEquals(-2.0, cached.determinant(matrix1));
+        assertEquals(-2.0, cached.determinant(matrix1));
+
+        ResultCache.Statistics statistics = cached.getCache().getStatistics();
+        assertEquals(2, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(2, statistics.getEntries());
+        assertEquals(0.5, statistics.getHitRate());
+    }
+
+    /**
+     * Тест проверяет, что результат из кэша хранится в том же режиме, что и результат, вычисленный
+     * для тех же операндов, даже если сохранен результат для операндов в другом режиме.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void hit_keepsStorageMode() throws MatrixException {
+        CachingMatrixOperations cached = new CachingMatrixOperations(matrixOperations, 1 << 20);
+        for (StorageMode mode : new StorageMode[]{StorageMode.FLOAT32, StorageMode.OFF_HEAP, StorageMode.ROWS}) {
+            Matrix a = new Matrix(2, 2, mode);
+            Matrix b = new Matrix(2, 2, mode);
+            for (int i = 0; i < 2; i++) {
+                for (int j = 0; j < 2; j++) {
+                    a.setElement(i, j, matrix1.getElement(i, j));
+                    b.setElement(i, j, matrix2.getElement(i, j));
+                }
+            }
+            Matrix first = cached.multiply(a, b);
+            Matrix hit = cached.multiply(a, b);
+            StorageMode expected = mode == StorageMode.ROWS ? StorageMode.FLAT : mode;
+            assertNotSame(first, hit);
+            assertEquals(expected, first.getStorageMode(), "Режим " + mode);
+            assertEquals(expected, hit.getStorageMode(), "Режим " + mode);
+            assertEquals(first, hit, "Режим " + mode);
+        }
+        // Матрицы ROWS совпадают по ключу с матрицами OFF_HEAP того же содержимого, поэтому оба запроса - попадания
+        assertEquals(4, cached.getCache().getStatistics().getHits());
+    }
+
+    /**
+     * Тест проверяет, что операции и их параметры различаются ключами.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void differentOperations_doNotCollide() throws MatrixException {
+        CachingMatrixOperations cached = new CachingMatrixOperations(matrixOperations, 1 << 20);
+
+        assertEquals(matrixOperations.add(matrix1, matrix2), cached.add(matrix1, matrix2));
+        assertEquals(matrixOperations.subtract(matrix1, matrix2), cached.subtract(matrix1, matrix2));
+        assertEquals(matrixOperations.multiplyByScalar(matrix1, 2), cached.multiplyByScalar(matrix1, 2));
+        assertEquals(matrixOperations.multiplyByScalar(matrix1, 3), cached.multiplyByScalar(matrix1, 3));
+        assertEquals(matrixOperations.add(matrix2, matrix1), cached.add(matrix2, matrix1));
+
+        assertEquals(0, cached.getCache().getStatistics().getHits());
+        assertEquals(5, cached.getCache().getStatistics().getEntries());
+    }
+
+    /**
+     * Тест проверяет вытеснение давно не использованных записей при превышении бюджета
+     * и отказ от сохранения записей больше бюджета.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void budgetExceeded_evictsLeastRecentlyUsed() throws MatrixException {
+        Matrix a = new Matrix(10, 10);
+        Matrix b = new Matrix(10, 10);
+        b.setElement(0, 0, 1);
+        Matrix c = new Matrix(10, 10);
+        c.setElement(0, 0, 2);
+        // Бюджет на две записи по 10x10 элементов
+        CachingMatrixOperations cached = new CachingMatrixOperations(matrixOperations, 2 * (800 + 200));
+
+        cached.multiplyByScalar(a, 1);
+        cached.multiplyByScalar(b, 1);
+        cached.multiplyByScalar(a, 1);   // a становится недавно использованной
+        cached.multiplyByScalar(c, 1);   // вытесняет b
+        ResultCache.Statistics statistics = cached.getCache().getStatistics();
+        assertEquals(1, statistics.getEvictions());
+        assertEquals(2, statistics.getEntries());
+        assertTrue(statistics.getBytes() <= cached.getCache().getMaxBytes());
+
+        cached.multiplyByScalar(a, 1);
+        assertEquals(2, cached.getCache().getStatistics().getHits(), "Недавно использованная запись должна остаться");
+        cached.multiplyByScalar(b, 1);
+        assertEquals(2, cached.getCache().getStatistics().getHits(), "Вытесненная запись должна вычисляться заново");
+
+        cached.multiply(new Matrix(30, 30), new Matrix(30, 30));
+        assertTrue(cached.getCache().getStatistics().getBytes() <= cached.getCache().getMaxBytes(),
+                "Результат больше бюджета не должен сохраняться");
+    }
+}
@@ -0,0 +1,110 @@
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.operations.CholeskyDecomposition;
+import org.example.operations.LUDecomposition;
+import org.example.operations.MatrixOperations;
+import org.example.operations.QRDecomposition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для решения систем линейных уравнений и обращения матриц
+ * с помощью {@link LUDecomposition}, {@link CholeskyDecomposition} и {@link QRDecomposition}.
+ */
+class DecompositionTest {
+
+    private MatrixOperations matrixOperations;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет, что решения всех трех разложений удовлетворяют AX = B для нескольких правых частей.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void solve_multipleRightHandSides() throws MatrixException {
+        Matrix base = TestMatrices.randomMatrix(40, 40, 1);
+        // AᵀA + nI - симметричная положительно определенная матрица
+        Matrix a = matrixOperations.add(
+                matrixOperations.multiply(transpose(base), base),
+                matrixOperations.multiplyByScalar(TestMatrices.identity(40), 40));
+        Matrix b = TestMatrices.randomMatrix(40, 7, 2);
+
+        TestMatrices.assertMatrixEquals(b, matrixOperations.multiply(a, matrixOperations.solve(a, b)), 1e-9);
+        TestMatrices.assertMatrixEquals(b, matrixOperations.multiply(a, new CholeskyDecomposition(a).solve(b)), 1e-9);
+        TestMatrices.assertMatrixEquals(b, matrixOperations.multiply(a, new QRDecomposition(a).solve(b)), 1e-9);
+    }
+
+    /**
+     * Тест проверяет, что произведение матрицы на обратную дает единичную матрицу.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void inverse_productIsIdentity() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{
+                {0, 2, 1},
+                {1, 1, 0},
+                {3, 0, 4}
+        });
+        Matrix expected = TestMatrices.identity(3);
+
+        TestMatrices.assertMatrixEquals(expected, matrixOperations.multiply(a, matrixOperations.inverse(a)), 1e-12);
+        TestMatrices.assertMatrixEquals(expected, matrixOperations.multiply(a, new QRDecomposition(a).inverse()), 1e-12);
+
+        Matrix spd = new Matrix(new double[][]{{4, 2}, {2, 3}});
+        CholeskyDecomposition cholesky = new CholeskyDecomposition(spd);
+        TestMatrices.assertMatrixEquals(TestMatrices.identity(2), matrixOperations.multiply(spd, cholesky.inverse()), 1e-12);
+        assertEquals(8.0, cholesky.determinant(), 1e-12);
+    }
+
+    /**
+     * Тест проверяет решение переопределенной системы методом наименьших квадратов.
+     * Для точек (0; 1.5), (1; 2.5), (2; 5.5), (3; 6.5) прямая наименьших квадратов - y = 1.3 + 1.8x.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void qrSolve_leastSquares() throws MatrixException {
+        Matrix a = new Matrix(new double[][]{{1, 0}, {1, 1}, {1, 2}, {1, 3}});
+        Matrix b = new Matrix(new double[][]{{1.5}, {2.5}, {5.5}, {6.5}});
+
+        Matrix x = new QRDecomposition(a).solve(b);
+
+        assertEquals(2, x.getRows());
+        assertEquals(1.3, x.getElement(0, 0), 1e-12);
+        assertEquals(1.8, x.getElement(1, 0), 1e-12);
+    }
+
+    /**
+     * Тест проверяет ошибки для вырожденной, несимметричной и не положительно определенной матриц,
+     * а также для несогласованных размеров.
+     */
+    @Test
+    void invalidInput_throwsException() {
+        Matrix singular = new Matrix(new double[][]{{1, 2}, {2, 4}});
+        assertThrows(MatrixException.class, () -> matrixOperations.solve(singular, TestMatrices.identity(2)));
+        assertThrows(MatrixException.class, () -> matrixOperations.inverse(singular));
+        assertThrows(MatrixException.class, () -> new QRDecomposition(singular).inverse());
+        assertThrows(MatrixException.class, () -> new CholeskyDecomposition(new Matrix(new double[][]{{1, 2}, {0, 1}})));
+        assertThrows(MatrixException.class, () -> new CholeskyDecomposition(new Matrix(new double[][]{{1, 2}, {2, 1}})));
+        assertThrows(MatrixException.class, () -> new QRDecomposition(new Matrix(2, 3)));
+        assertThrows(MatrixException.class, () -> matrixOperations.solve(TestMatrices.identity(3), TestMatrices.identity(2)));
+    }
+
+    private static Matrix transpose(Matrix matrix) {
+        Matrix result = new Matrix(matrix.getCols(), matrix.getRows());
+        for (int i = 0; i < matrix.getRows(); i++) {
+            for (int j = 0; j < matrix.getCols(); j++) {
+                result.setElement(j, i, matrix.getElement(i, j));
+            }
+        }
+        return result;
+    }
+}
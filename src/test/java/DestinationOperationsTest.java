@@ -0,0 +1,153 @@
+import org.example.exception.MatrixException;
+import org.example.matrix.FlatArrayStorage;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixBatch;
+import org.example.matrix.StorageMode;
+import org.example.metrics.MatrixMetrics;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для операций {@link MatrixOperations}, записывающих результат в заданную матрицу,
+ * и операций на месте.
+ */
+class DestinationOperationsTest {
+
+    private MatrixOperations matrixOperations;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет, что поэлементные операции с матрицей результата и на месте
+     * дают те же значения, что и операции, создающие новую матрицу, для разных режимов хранения.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void elementwise_matchAllocatingOperations() throws MatrixException {
+        for (StorageMode mode : StorageMode.values()) {
+            Matrix a = filled(3, 4, mode, 1);
+            Matrix b = filled(3, 4, StorageMode.FLAT, 2);
+            Matrix result = new Matrix(3, 4, mode);
+
+            assertSame(result, matrixOperations.add(a, b, result));
+            assertEquals(matrixOperations.add(a, b), result, "Режим " + mode);
+            matrixOperations.subtract(a, b, result);
+            assertEquals(matrixOperations.subtract(a, b), result, "Режим " + mode);
+            matrixOperations.map(a, Math::abs, result);
+            assertEquals(matrixOperations.map(a, Math::abs), result, "Режим " + mode);
+
+            Matrix expected = matrixOperations.multiplyByScalar(matrixOperations.add(a, b), 2);
+            matrixOperations.addInPlace(a, b);
+            assertSame(a, matrixOperations.scaleInPlace(a, 2));
+            assertEquals(expected, a, "Режим " + mode);
+            matrixOperations.subtractInPlace(a, a);
+            assertEquals(new Matrix(3, 4), a, "Режим " + mode);
+        }
+    }
+
+    /**
+     * Тест проверяет поэлементные операции над непрерывными операндами FLAT с результатом
+     * в другом расположении: массив строк ROWS и представление FLAT с шагом строки больше количества столбцов.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void elementwise_nonContiguousDestination() throws MatrixException {
+        Matrix a = filled(3, 4, StorageMode.FLAT, 1);
+        Matrix b = filled(3, 4, StorageMode.FLAT, 2);
+        double[] strided = new double[3 * 6];
+        Matrix[] destinations = {
+                new Matrix(3, 4, StorageMode.ROWS),
+                Matrix.wrap(new FlatArrayStorage(strided, 3, 4, 1, 6))
+        };
+        for (Matrix result : destinations) {
+            matrixOperations.add(a, b, result);
+            assertEquals(matrixOperations.add(a, b), result);
+            matrixOperations.subtract(a, b, result);
+            assertEquals(matrixOperations.subtract(a, b), result);
+            matrixOperations.multiplyByScalar(a, 3, result);
+            assertEquals(matrixOperations.multiplyByScalar(a, 3), result);
+            matrixOperations.map(a, x -> x * x, result);
+            assertEquals(matrixOperations.map(a, x -> x * x), result);
+        }
+        // Промежутки между строками представления не изменяются
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0.0, strided[i * 6]);
+            assertEquals(0.0, strided[i * 6 + 5]);
+        }
+    }
+
+    /**
+     * Тест проверяет умножение в заданную матрицу: предыдущее содержимое результата не учитывается,
+     * а метрики не учитывают матрицу результата как выделенную память.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void multiply_overwritesDestinationWithoutAllocation() throws MatrixException {
+        matrixOperations.setMetrics(new MatrixMetrics());
+        Matrix a = filled(5, 3, StorageMode.FLAT, 3);
+        Matrix b = filled(3, 4, StorageMode.ROWS, 4);
+        Matrix expected = matrixOperations.multiply(a, b);
+
+        for (StorageMode mode : new StorageMode[]{StorageMode.FLAT, StorageMode.ROWS}) {
+            Matrix result = filled(5, 4, mode, 5);
+            assertSame(result, matrixOperations.multiply(a, b, result));
+            assertEquals(expected, result);
+        }
+        Matrix single = new Matrix(5, 4, StorageMode.FLOAT32);
+        matrixOperations.multiply(a, b, single);
+        assertEquals(expected.getElement(4, 3), single.getElement(4, 3), 1e-5);
+
+        long allocatedBefore = matrixOperations.getMetrics().stats("multiply").getAllocatedBytes();
+        matrixOperations.multiply(a, b, new Matrix(5, 4));
+        assertEquals(allocatedBefore, matrixOperations.getMetrics().stats("multiply").getAllocatedBytes());
+
+        MatrixBatch batch = MatrixBatch.of(new Matrix(new double[][]{{2, 1}, {1, 1}}), new Matrix(new double[][]{{4, 0}, {0, 2}}));
+        MatrixBatch product = new MatrixBatch(2, 2, 2);
+        matrixOperations.multiply(batch, batch, product);
+        assertArrayEquals(matrixOperations.multiply(batch, batch).getData(), product.getData());
+        MatrixBatch inverse = matrixOperations.inverse(batch);
+        assertSame(batch, matrixOperations.inverse(batch, batch));
+        assertArrayEquals(inverse.getData(), batch.getData());
+    }
+
+    /**
+     * Тест проверяет ошибки размеров и перекрытия результата с операндами.
+     */
+    @Test
+    void invalidDestination_throws() {
+        Matrix square = filled(3, 3, StorageMode.FLAT, 6);
+        Matrix rows = filled(3, 3, StorageMode.ROWS, 7);
+        double[] shared = new double[12];
+        Matrix first = Matrix.wrap(new FlatArrayStorage(shared, 3, 3, 0, 3));
+        Matrix shifted = Matrix.wrap(new FlatArrayStorage(shared, 3, 3, 3, 3));
+
+        assertThrows(MatrixException.class, () -> matrixOperations.add(square, square, new Matrix(3, 4)));
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(square, square, new Matrix(2, 3)));
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(square, rows, square));
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(square, rows, rows));
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(first, square, shifted));
+        assertThrows(MatrixException.class, () -> matrixOperations.add(first, square, shifted));
+        assertThrows(MatrixException.class, () -> matrixOperations.inverse(MatrixBatch.of(square), new MatrixBatch(2, 3, 3)));
+        MatrixBatch batch = MatrixBatch.of(square);
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(batch, batch, batch));
+    }
+
+    private static Matrix filled(int rows, int cols, StorageMode mode, int seed) {
+        Matrix matrix = new Matrix(rows, cols, mode);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix.setElement(i, j, ((i * 7 + j * 3 + seed) % 5) - 2 + (i == j ? 4 : 0));
+            }
+        }
+        return matrix;
+    }
+}
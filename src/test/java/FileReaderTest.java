@@ -1,4 +1,5 @@
 import org.example.exception.MatrixException;
+import org.example.matrix.CsrMatrix;
 import org.example.matrix.Matrix;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -135,4 +136,144 @@ class FileReaderTest {
         });
         assertEquals("Файл пустой", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    /**
+     * Тест проверяет разбор различных разделителей строк и элементов, а также различных записей чисел.
+     *
+     * @throws IOException    если возникает ошибка при создании временного файла.
+     * @throws MatrixException если возникает ошибка при чтении матрицы.
+     */
+    @Test
+    void readMatrixFromFile_mixedSeparatorsAndNumberFormats() throws IOException, MatrixException {
+        testFile = tempDir.resolve("mixed_matrix.txt");
+        String content = "  1e3\t-2.5E-2  +7 \r\n.5 NaN -Infinity\r0x1p4 -0.0 1234567890123456789012\n";
+        Files.writeString(testFile, content);
+
+        Matrix matrix = fileReader.readMatrixFromFile(testFile.toString());
+
+        assertArrayEquals(new double[][]{
+                {1000, -0.025, 7},
+                {0.5, Double.NaN, Double.NEGATIVE_INFINITY},
+                {16, -0.0, 1234567890123456789012.0}
+        }, matrix.getData());
+    }
+
+    /**
+     * Тест проверяет, что быстрый разбор чисел дает тот же результат, что и {@link Double#parseDouble(String)}.
+     *
+     * @throws IOException    если возникает ошибка при создании временного файла.
+     * @throws MatrixException если возникает ошибка при чтении матрицы.
+     */
+    @Test
+    void readMatrixFromFile_matchesDoubleParseDouble() throws IOException, MatrixException {
+        testFile = tempDir.resolve("random_matrix.txt");
+        java.util.Random random = new java.util.Random(42);
+        String[][] values = new String[50][40];
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[i].length; j++) {
+                double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(30) - 15);
+                values[i][j] = j % 3 == 0 ? String.valueOf(value) : String.format(java.util.Locale.ROOT, "%.6f", value);
+                content.append(values[i][j]).append(' ');
+            }
+            content.append('\n');
+        }
+        Files.writeString(testFile, content.toString());
+
+        Matrix matrix = fileReader.readMatrixFromFile(testFile.toString());
+
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values[i].length; j++) {
+                assertEquals(Double.parseDouble(values[i][j]), matrix.getElement(i, j), "Значение " + values[i][j] + " разобрано некорректно");
+            }
+        }
+    }
+
+    /**
+     * Тест проверяет выбрасывание исключения {@link MatrixException} при наличии пустой строки в файле.
+     *
+     * @throws IOException если возникает ошибка при создании временного файла.
+     */
+    @Test
+    void readMatrixFromFile_blankLine() throws IOException {
+        testFile = tempDir.resolve("blank_line_matrix.txt");
+        Files.writeString(testFile, "1.0 2.0\n\n3.0 4.0\n");
+
+        MatrixException exception = assertThrows(MatrixException.class, () -> {
+            fileReader.readMatrixFromFile(testFile.toString());
+        });
+        assertEquals("Некорректный формат файла. Ожидается числовое значение", exception.getMessage());
+    }
+
+    /**
+     * Тест проверяет чтение разреженной матрицы из координатного формата с комментариями,
+     * произвольным порядком элементов и повторяющимися координатами.
+     *
+     * @throws IOException    если возникает ошибка при создании временного файла.
+     * @throws MatrixException если возникает ошибка при чтении матрицы.
+     */
+    @Test
+    void readSparseMatrixFromFile_coordinateFormat() throws IOException, MatrixException {
+        testFile = tempDir.resolve("sparse_matrix.mtx");
+        Files.writeString(testFile, "%%MatrixMarket matrix coordinate real general\n% комментарий\n3 4 4\n"
+                + "3 4 -1.5\n1 2 2\n1 1 1e1\n1 2 0.5\n");
+
+        CsrMatrix matrix = fileReader.readSparseMatrixFromFile(testFile.toString());
+
+        assertEquals(3, matrix.getNonZeros(), "Повторяющиеся координаты должны складываться");
+        assertArrayEquals(new double[][]{
+                {10, 2.5, 0, 0},
+                {0, 0, 0, 0},
+                {0, 0, 0, -1.5}
+        }, matrix.toDense().getData());
+    }
+
+    /**
+     * Тест проверяет выбрасывание исключения {@link MatrixException} для некорректного координатного файла.
+     *
+     * @throws IOException если возникает ошибка при создании временного файла.
+     */
+    @Test
+    void readSparseMatrixFromFile_invalidFile() throws IOException {
+        testFile = tempDir.resolve("invalid_sparse_matrix.mtx");
+
+        Files.writeString(testFile, "2 2\n3 1 1.0\n");
+        MatrixException outOfBounds = assertThrows(MatrixException.class,
+                () -> fileReader.readSparseMatrixFromFile(testFile.toString()));
+        assertTrue(outOfBounds.getMessage().startsWith("Некорректный формат файла. Индексы элемента за пределами матрицы"));
+
+        Files.writeString(testFile, "2 2 2\n1 1 1.0\n");
+        assertThrows(MatrixException.class, () -> fileReader.readSparseMatrixFromFile(testFile.toString()),
+                "Количество элементов должно совпадать с заголовком");
+
+        Files.writeString(testFile, "% только комментарий\n");
+        MatrixException empty = assertThrows(MatrixException.class,
+                () -> fileReader.readSparseMatrixFromFile(testFile.toString()));
+        assertEquals("Файл пустой", empty.getMessage());
+    }
+
+    /**
+     * Тест проверяет, что размеры и количество элементов из заголовка не используются для выделения памяти
+     * без проверки: слишком большие размеры и количество элементов приводят к {@link MatrixException}.
+     *
+     * @throws IOException если возникает ошибка при создании временного файла.
+     */
+    @Test
+    void readSparseMatrixFromFile_hugeHeader() throws IOException {
+        testFile = tempDir.resolve("huge_sparse_matrix.mtx");
+
+        Files.writeString(testFile, "2147483647 3\n1 1 1.0\n");
+        assertThrows(MatrixException.class, () -> fileReader.readSparseMatrixFromFile(testFile.toString()));
+
+        Files.writeString(testFile, "3 3 2000000000\n1 1 1.0\n");
+        MatrixException tooMany = assertThrows(MatrixException.class,
+                () -> fileReader.readSparseMatrixFromFile(testFile.toString()));
+        assertTrue(tooMany.getMessage().contains("больше количества элементов матрицы"), tooMany.getMessage());
+
+        // Допустимое, но большое количество элементов не выделяется заранее
+        Files.writeString(testFile, "100000 100000 2000000000\n1 1 1.0\n");
+        MatrixException mismatch = assertThrows(MatrixException.class,
+                () -> fileReader.readSparseMatrixFromFile(testFile.toString()));
+        assertTrue(mismatch.getMessage().contains("не совпадает с заголовком"), mismatch.getMessage());
+    }
+}
@@ -0,0 +1,142 @@
+import org.example.exception.MatrixException;
+import org.example.file.BinaryMatrixReader;
+import org.example.file.BinaryMatrixWriter;
+import org.example.matrix.Matrix;
+import org.example.matrix.StorageMode;
+import org.example.operations.MatrixOperations;
+import org.example.operations.MixedPrecisionSolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для матриц одинарной точности ({@link StorageMode#FLOAT32})
+ * и решения систем в смешанной точности ({@link MixedPrecisionSolver}).
+ */
+class Float32MatrixTest {
+
+    private MatrixOperations matrixOperations;
+
+    /**
+     * Временная директория, создаваемая JUnit для тестов.
+     */
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет, что операции над матрицами одинарной точности возвращают матрицы одинарной точности,
+     * а при смешивании с матрицей двойной точности результат хранится в double.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void operations_preserveSinglePrecision() throws MatrixException {
+        Matrix a = TestMatrices.randomMatrix(30, 20, 1).toFloat32();
+        Matrix b = TestMatrices.randomMatrix(30, 20, 2).toFloat32();
+        Matrix c = TestMatrices.randomMatrix(20, 10, 3).toFloat32();
+
+        Matrix sum = matrixOperations.add(a, b);
+        Matrix scaled = matrixOperations.multiplyByScalar(a, 0.1);
+        Matrix product = matrixOperations.multiply(a, c);
+
+        assertEquals(StorageMode.FLOAT32, sum.getStorageMode());
+        assertEquals(StorageMode.FLOAT32, scaled.getStorageMode());
+        assertEquals(StorageMode.FLOAT32, product.getStorageMode());
+        assertEquals(StorageMode.FLAT, matrixOperations.add(a, b.toFlat()).getStorageMode());
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j < 20; j++) {
+                assertEquals((float) (a.getElement(i, j) + b.getElement(i, j)), sum.getElement(i, j));
+                assertEquals((float) (a.getElement(i, j) * 0.1), scaled.getElement(i, j));
+            }
+        }
+        TestMatrices.assertMatrixEquals(matrixOperations.multiply(a.toFlat(), c.toFlat()), product, 1e-5);
+    }
+
+    /**
+     * Тест проверяет запись и чтение матрицы одинарной точности в двоичном формате:
+     * файл вдвое меньше, тип элементов сохраняется при чтении и отображении в память.
+     *
+     * @throws MatrixException если возникает ошибка при записи или чтении матрицы.
+     * @throws IOException     если не удалось определить размер файла.
+     */
+    @Test
+    void binaryFile_roundTrip() throws MatrixException, IOException {
+        Matrix matrix = TestMatrices.randomMatrix(50, 40, 4).toFloat32();
+        String single = tempDir.resolve("single.bin").toString();
+        String widened = tempDir.resolve("double.bin").toString();
+        BinaryMatrixWriter writer = new BinaryMatrixWriter();
+        BinaryMatrixReader reader = new BinaryMatrixReader();
+
+        writer.writeMatrixToFile(matrix, single);
+        writer.writeMatrixToFile(matrix, widened, false);
+
+        assertEquals(32 + 50 * 40 * Float.BYTES, Files.size(Path.of(single)));
+        assertEquals(32 + 50 * 40 * Double.BYTES, Files.size(Path.of(widened)));
+        Matrix loaded = reader.readMatrixFromFile(single);
+        Matrix mapped = reader.mapMatrixFromFile(single);
+        assertEquals(StorageMode.FLOAT32, loaded.getStorageMode());
+        assertEquals(StorageMode.FLOAT32, mapped.getStorageMode());
+        assertEquals(matrix, loaded);
+        assertEquals(matrix, mapped);
+        assertEquals(matrix, reader.readMatrixFromFile(widened).toFloat32());
+    }
+
+    /**
+     * Тест проверяет, что решение в смешанной точности достигает точности решения в double
+     * за счет итераций уточнения.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void mixedPrecisionSolve_reachesDoubleAccuracy() throws MatrixException {
+        Matrix a = matrixOperations.add(TestMatrices.randomMatrix(60, 60, 5),
+                matrixOperations.multiplyByScalar(TestMatrices.identity(60), 10));
+        Matrix b = TestMatrices.randomMatrix(60, 3, 6);
+
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(a);
+        Matrix x = solver.solve(b);
+
+        assertFalse(solver.isFallbackUsed());
+        assertTrue(solver.getIterations() > 0, "Решение в float требует уточнения");
+        TestMatrices.assertMatrixEquals(matrixOperations.solve(a, b), x, 1e-13);
+        TestMatrices.assertMatrixEquals(b, matrixOperations.multiply(a, matrixOperations.solveMixedPrecision(a, b)), 1e-12);
+    }
+
+    /**
+     * Тест проверяет переход к разложению в double для плохо обусловленной матрицы Гильберта,
+     * для которой уточнение с разложением в float не сходится, и ошибку для вырожденной матрицы.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void mixedPrecisionSolve_fallsBackForIllConditionedMatrix() throws MatrixException {
+        int n = 10;
+        Matrix hilbert = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                hilbert.setElement(i, j, 1.0 / (i + j + 1));
+            }
+        }
+        Matrix b = TestMatrices.randomMatrix(n, 1, 7);
+
+        MixedPrecisionSolver solver = new MixedPrecisionSolver(hilbert);
+        Matrix x = solver.solve(b);
+
+        assertTrue(solver.isFallbackUsed());
+        assertEquals(matrixOperations.solve(hilbert, b), x);
+        Matrix singular = new Matrix(new double[][]{{1, 2}, {2, 4}});
+        assertThrows(MatrixException.class, () -> matrixOperations.solveMixedPrecision(singular, TestMatrices.identity(2)));
+        assertThrows(IllegalArgumentException.class, () -> new MixedPrecisionSolver(hilbert, 0));
+    }
+}
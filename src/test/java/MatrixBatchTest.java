@@ -0,0 +1,124 @@
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixBatch;
+import org.example.operations.ComputePool;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для пакетов маленьких матриц {@link MatrixBatch} и операций над ними в {@link MatrixOperations}.
+ */
+class MatrixBatchTest {
+
+    private MatrixOperations matrixOperations;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет, что пакетное умножение, определитель и обращение для всех размеров
+     * со специализированными ядрами (и соседних размеров) совпадают с операциями над отдельными матрицами.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void operations_matchSingleMatrixResults() throws MatrixException {
+        for (int n = 1; n <= 9; n++) {
+            MatrixBatch a = randomBatch(5, n, n, n);
+            MatrixBatch b = randomBatch(5, n, n, 100 + n);
+
+            MatrixBatch product = matrixOperations.multiply(a, b);
+            double[] determinants = matrixOperations.determinant(a);
+            MatrixBatch inverse = matrixOperations.inverse(a);
+
+            for (int p = 0; p < a.getCount(); p++) {
+                Matrix expected = matrixOperations.multiply(a.getMatrix(p), b.getMatrix(p));
+                TestMatrices.assertMatrixEquals(expected, product.getMatrix(p), 1e-12);
+                assertEquals(matrixOperations.determinant(a.getMatrix(p)), determinants[p],
+                        1e-10 * Math.max(1, Math.abs(determinants[p])), "Размер " + n);
+                TestMatrices.assertMatrixEquals(matrixOperations.inverse(a.getMatrix(p)), inverse.getMatrix(p), 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Тест проверяет умножение пакетов прямоугольных матриц и параллельное выполнение
+     * по номерам матриц пакета.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void multiply_rectangularAndParallel() throws MatrixException {
+        MatrixBatch a = randomBatch(3000, 2, 3, 1);
+        MatrixBatch b = randomBatch(3000, 3, 4, 2);
+        MatrixBatch square = randomBatch(3000, 4, 4, 3);
+        MatrixBatch sequential = matrixOperations.multiply(a, b);
+        MatrixBatch squareInverse = matrixOperations.inverse(square);
+
+        try (ComputePool pool = new ComputePool(4)) {
+            matrixOperations.setComputePool(pool);
+            matrixOperations.setParallelThreshold(0);
+            MatrixBatch parallel = matrixOperations.multiply(a, b);
+            assertEquals(2, parallel.getRows());
+            assertEquals(4, parallel.getCols());
+            assertArrayEquals(sequential.getData(), parallel.getData());
+            assertArrayEquals(squareInverse.getData(), matrixOperations.inverse(square).getData());
+        } finally {
+            matrixOperations.setComputePool(null);
+        }
+        for (int p = 0; p < a.getCount(); p += 999) {
+            TestMatrices.assertMatrixEquals(matrixOperations.multiply(a.getMatrix(p), b.getMatrix(p)), sequential.getMatrix(p), 1e-12);
+        }
+    }
+
+    /**
+     * Тест проверяет создание пакета из матриц и ошибки размеров и вырожденности.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void validation_andSingularMatrix() throws MatrixException {
+        Matrix first = new Matrix(new double[][]{{1, 2}, {3, 4}});
+        Matrix singular = new Matrix(new double[][]{{1, 2}, {2, 4}});
+        MatrixBatch batch = MatrixBatch.of(first, singular, first);
+
+        assertEquals(3, batch.getCount());
+        assertEquals(first, batch.getMatrix(2));
+        assertEquals(4.0, batch.get(1, 1, 1));
+        assertArrayEquals(new double[]{-2, 0, -2}, matrixOperations.determinant(batch));
+        MatrixException e = assertThrows(MatrixException.class, () -> matrixOperations.inverse(batch));
+        assertTrue(e.getMessage().contains("1"), e.getMessage());
+
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(batch, new MatrixBatch(2, 2, 2)));
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(batch, new MatrixBatch(3, 3, 2)));
+        assertThrows(MatrixException.class, () -> matrixOperations.inverse(new MatrixBatch(2, 2, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new MatrixBatch(new double[7], 2, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> MatrixBatch.of(first, new Matrix(3, 3)));
+        assertThrows(IndexOutOfBoundsException.class, () -> batch.get(3, 0, 0));
+    }
+
+    private static MatrixBatch randomBatch(int count, int rows, int cols, long seed) {
+        Random random = new Random(seed);
+        MatrixBatch batch = new MatrixBatch(count, rows, cols);
+        double[] data = batch.getData();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextDouble() * 2 - 1;
+        }
+        // Диагональное преобладание делает матрицы хорошо обусловленными
+        if (rows == cols) {
+            for (int p = 0; p < count; p++) {
+                for (int i = 0; i < rows; i++) {
+                    batch.set(p, i, i, batch.get(p, i, i) + rows);
+                }
+            }
+        }
+        return batch;
+    }
+}
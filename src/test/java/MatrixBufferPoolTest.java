@@ -0,0 +1,118 @@
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.MatrixBufferPool;
+import org.example.matrix.StorageMode;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link MatrixBufferPool}.
+ */
+class MatrixBufferPoolTest {
+
+    /**
+     * Тест проверяет повторное использование буферов одного класса размеров, обнуление
+     * повторно выданных матриц и статистику пула.
+     */
+    @Test
+    void release_reusesBufferOfSameSizeClass() {
+        MatrixBufferPool pool = new MatrixBufferPool();
+        Matrix first = pool.acquire(5, 6);
+        first.setElement(4, 5, 7.0);
+        assertEquals(StorageMode.FLAT, first.getStorageMode());
+        assertEquals(1, pool.getStatistics().getOutstanding());
+        assertEquals(32 * Double.BYTES, pool.getStatistics().getOutstandingBytes());
+        pool.release(first);
+
+        // 4x8 = 32 элемента попадает в тот же класс, что и 5x6 = 30
+        Matrix second = pool.acquire(4, 8);
+        assertEquals(0.0, second.getElement(3, 7));
+        assertEquals(new Matrix(4, 8), second);
+        Matrix third = pool.acquire(2, 2);
+        MatrixBufferPool.Statistics statistics = pool.getStatistics();
+        assertEquals(3, statistics.getAcquires());
+        assertEquals(1, statistics.getReuses());
+        assertEquals(2, statistics.getOutstanding());
+        assertEquals(48 * Double.BYTES, statistics.getOutstandingBytes());
+        assertEquals(0, statistics.getPooledBytes());
+        assertEquals(1.0 / 3, statistics.getReuseRate(), 1e-12);
+
+        pool.release(second);
+        pool.release(third);
+        assertEquals(48 * Double.BYTES, pool.getStatistics().getPooledBytes());
+        assertThrows(IllegalArgumentException.class, () -> pool.release(second));
+        assertThrows(IllegalArgumentException.class, () -> pool.release(new Matrix(2, 2)));
+        pool.clear();
+        assertEquals(0, pool.getStatistics().getPooledBytes());
+    }
+
+    /**
+     * Тест проверяет возврат матриц области при закрытии, ограничение объема свободных буферов
+     * и буферы вне кучи.
+     */
+    @Test
+    void scope_releasesAllMatricesOnClose() {
+        MatrixBufferPool pool = new MatrixBufferPool(true, 64 * Double.BYTES);
+        try (MatrixBufferPool.Scope scope = pool.scope()) {
+            Matrix a = scope.acquire(8, 8);
+            Matrix b = scope.acquire(8, 8);
+            a.setElement(7, 7, 1.5);
+            b.setElement(0, 0, -2.5);
+            assertEquals(StorageMode.BUFFER, a.getStorageMode());
+            assertEquals(1.5, a.getElement(7, 7));
+            assertEquals(2, pool.getStatistics().getOutstanding());
+        }
+        MatrixBufferPool.Statistics statistics = pool.getStatistics();
+        assertEquals(0, statistics.getOutstanding());
+        assertEquals(0, statistics.getOutstandingBytes());
+        assertEquals(64 * Double.BYTES, statistics.getPooledBytes());
+        assertEquals(1, statistics.getDiscards());
+
+        Matrix reused = pool.acquire(8, 8);
+        assertEquals(1, pool.getStatistics().getReuses());
+        assertEquals(new Matrix(8, 8), reused);
+        assertThrows(IllegalArgumentException.class, () -> new MatrixBufferPool(false, -1));
+        assertThrows(IllegalArgumentException.class, () -> pool.acquire(0, 3));
+    }
+
+    /**
+     * Тест проверяет, что умножение матриц одинарной точности с пулом временных матриц
+     * дает тот же результат и возвращает все временные буферы в пул.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void multiply_borrowsTemporariesFromPool() throws MatrixException {
+        Matrix a = new Matrix(6, 5, StorageMode.FLOAT32);
+        Matrix b = new Matrix(5, 7, StorageMode.FLOAT32);
+        for (int i = 0; i < 6; i++) {
+            for (int j = 0; j < 5; j++) {
+                a.setElement(i, j, i - j);
+            }
+        }
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 7; j++) {
+                b.setElement(i, j, i * j + 1);
+            }
+        }
+        MatrixOperations matrixOperations = new MatrixOperations();
+        Matrix expected = matrixOperations.multiply(a, b);
+
+        MatrixBufferPool pool = new MatrixBufferPool();
+        matrixOperations.setBufferPool(pool);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, matrixOperations.multiply(a, b));
+            Matrix destination = new Matrix(6, 7, StorageMode.FLOAT32);
+            matrixOperations.multiply(a, b, destination);
+            assertEquals(expected, destination);
+        }
+        MatrixBufferPool.Statistics statistics = pool.getStatistics();
+        assertEquals(0, statistics.getOutstanding());
+        assertEquals(18, statistics.getAcquires());
+        assertTrue(statistics.getReuses() >= 15, statistics.toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> matrixOperations.setBufferPool(new MatrixBufferPool(true, 0)));
+    }
+}
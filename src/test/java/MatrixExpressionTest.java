@@ -0,0 +1,167 @@
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.StorageMode;
+import org.example.operations.ComputePool;
+import org.example.operations.MatrixExpression;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link MatrixExpression} и {@link MatrixOperations#evaluate(MatrixExpression)}.
+ * <p>
+ * Проверяет, что отложенное вычисление с объединением операций дает тот же результат, что и пошаговое.
+ * </p>
+ */
+class MatrixExpressionTest {
+
+    private MatrixOperations matrixOperations;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет, что объединенная цепочка поэлементных операций совпадает с пошаговым вычислением.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void evaluate_fusedChainMatchesEager() throws MatrixException {
+        Matrix a = TestMatrices.randomMatrix(37, 29, 1, StorageMode.FLAT);
+        Matrix b = TestMatrices.randomMatrix(37, 29, 2, StorageMode.ROWS);
+        Matrix c = TestMatrices.randomMatrix(37, 29, 3, StorageMode.BUFFER);
+        Matrix aCopy = a.toFlat();
+        MatrixExpression expression = MatrixExpression.of(a).scale(2.5)
+                .add(MatrixExpression.of(b))
+                .subtract(MatrixExpression.of(c).map(Math::abs));
+
+        Matrix expected = matrixOperations.subtract(
+                matrixOperations.add(matrixOperations.multiplyByScalar(a, 2.5), b),
+                matrixOperations.map(c, Math::abs));
+
+        assertEquals(expected, matrixOperations.evaluate(expression));
+        assertEquals(aCopy, a, "Исходные матрицы не должны изменяться");
+    }
+
+    /**
+     * Тест проверяет выражение с матричными произведениями и переиспользованием промежуточных матриц.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void evaluate_withProductsMatchesEager() throws MatrixException {
+        Matrix a = TestMatrices.randomMatrix(20, 30, 4, StorageMode.FLAT);
+        Matrix b = TestMatrices.randomMatrix(30, 20, 5, StorageMode.FLAT);
+        Matrix c = TestMatrices.randomMatrix(20, 20, 6, StorageMode.FLAT);
+        MatrixExpression ab = MatrixExpression.of(a).multiply(MatrixExpression.of(b));
+        MatrixExpression expression = ab.add(MatrixExpression.of(c)).scale(0.5)
+                .multiply(MatrixExpression.of(c))
+                .subtract(MatrixExpression.of(c));
+
+        Matrix product = matrixOperations.multiply(a, b);
+        Matrix expected = matrixOperations.subtract(
+                matrixOperations.multiply(matrixOperations.multiplyByScalar(matrixOperations.add(product, c), 0.5), c),
+                c);
+
+        assertEquals(expected, matrixOperations.evaluate(expression));
+    }
+
+    /**
+     * Тест проверяет, что общий подграф вычисляется один раз.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void evaluate_sharedNodeEvaluatedOnce() throws MatrixException {
+        Matrix a = TestMatrices.randomMatrix(10, 12, 7, StorageMode.FLAT);
+        AtomicInteger calls = new AtomicInteger();
+        MatrixExpression shared = MatrixExpression.of(a).map(x -> {
+            calls.incrementAndGet();
+            return x * x;
+        });
+
+        Matrix result = matrixOperations.evaluate(shared.add(shared).subtract(shared.scale(3)));
+
+        assertEquals(a.getRows() * a.getCols(), calls.get(), "Общий узел должен вычисляться один раз");
+        for (int i = 0; i < a.getRows(); i++) {
+            for (int j = 0; j < a.getCols(); j++) {
+                double square = a.getElement(i, j) * a.getElement(i, j);
+                assertEquals(square + square - square * 3, result.getElement(i, j));
+            }
+        }
+    }
+
+    /**
+     * Тест проверяет выражения над матрицами {@link StorageMode#FLOAT32} и {@link StorageMode#OFF_HEAP}:
+     * их произведения не используются повторно как результат объединенного прохода.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void evaluate_float32AndOffHeapOperands() throws MatrixException {
+        for (StorageMode mode : new StorageMode[]{StorageMode.FLOAT32, StorageMode.OFF_HEAP}) {
+            Matrix x = TestMatrices.randomMatrix(16, 16, 10, mode);
+            Matrix y = TestMatrices.randomMatrix(16, 16, 11, mode);
+            MatrixExpression expression = MatrixExpression.of(x).multiply(MatrixExpression.of(x))
+                    .add(MatrixExpression.of(y)).scale(2)
+                    .add(MatrixExpression.of(y).scale(3).map(Math::abs));
+
+            Matrix expected = matrixOperations.add(
+                    matrixOperations.multiplyByScalar(matrixOperations.add(matrixOperations.multiply(x, x), y), 2),
+                    matrixOperations.map(matrixOperations.multiplyByScalar(y, 3), Math::abs));
+            Matrix actual = matrixOperations.evaluate(expression);
+            for (int i = 0; i < 16; i++) {
+                for (int j = 0; j < 16; j++) {
+                    assertEquals(expected.getElement(i, j), actual.getElement(i, j), 1e-4, "Режим " + mode);
+                }
+            }
+            assertEquals(actual, matrixOperations.evaluate(expression), "Режим " + mode);
+            x.release();
+            y.release();
+        }
+    }
+
+    /**
+     * Тест проверяет параллельное вычисление выражения.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void evaluate_parallelMatchesSerial() throws MatrixException {
+        Matrix a = TestMatrices.randomMatrix(300, 200, 8, StorageMode.FLAT);
+        Matrix b = TestMatrices.randomMatrix(300, 200, 9, StorageMode.ROWS);
+        MatrixExpression expression = MatrixExpression.of(a).add(MatrixExpression.of(b)).scale(-1)
+                .add(MatrixExpression.of(a));
+        Matrix expected = matrixOperations.evaluate(expression);
+
+        try (ComputePool pool = new ComputePool(4)) {
+            matrixOperations.setComputePool(pool);
+            matrixOperations.setParallelThreshold(1);
+            assertEquals(expected, matrixOperations.evaluate(expression));
+        }
+    }
+
+    /**
+     * Тест проверяет проверку размеров при построении выражения и вычисление выражения-листа.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void expression_validatesSizes() throws MatrixException {
+        MatrixExpression a = MatrixExpression.of(new Matrix(2, 3));
+        MatrixExpression b = MatrixExpression.of(new Matrix(3, 2));
+
+        assertThrows(MatrixException.class, () -> a.add(b));
+        assertThrows(MatrixException.class, () -> a.multiply(a));
+        assertEquals(2, a.multiply(b).getCols());
+
+        Matrix leaf = new Matrix(new double[][]{{1, 2}});
+        assertSame(leaf, matrixOperations.evaluate(MatrixExpression.of(leaf)));
+    }
+}
@@ -0,0 +1,151 @@
+import org.example.exception.MatrixException;
+import org.example.file.FileReader;
+import org.example.matrix.Matrix;
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.MatrixMetrics;
+import org.example.metrics.OperationStats;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link MatrixMetrics}: гистограмм длительностей, учета операций и объемов данных,
+ * отчетов и публикации метрик через JMX.
+ */
+class MatrixMetricsTest {
+
+    private MatrixMetrics metrics;
+    private MatrixOperations matrixOperations;
+
+    /**
+     * Временная директория, создаваемая JUnit для тестов.
+     */
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new MatrixMetrics();
+        matrixOperations = new MatrixOperations();
+        matrixOperations.setMetrics(metrics);
+    }
+
+    /**
+     * Тест проверяет оценки перцентилей гистограммы: погрешность не больше 25%, оценка не больше максимума.
+     */
+    @Test
+    void histogram_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500_500_000L, histogram.getTotalNanos());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        long median = histogram.getPercentileNanos(50);
+        assertTrue(median >= 500_000 && median <= 625_000, "Медиана: " + median);
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "99-й перцентиль: " + p99);
+        assertEquals(1_000_000, histogram.getPercentileNanos(100));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getPercentileNanos(101));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(50));
+    }
+
+    /**
+     * Тест проверяет учет количества вызовов, операций с плавающей точкой и объемов данных
+     * для умножения и сложения, а также чтения текстового файла.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     */
+    @Test
+    void operations_recordFlopsAndBytes() throws MatrixException, IOException {
+        Matrix a = new Matrix(20, 30);
+        Matrix b = new Matrix(30, 10);
+        matrixOperations.multiply(a, b);
+        matrixOperations.multiply(a, b);
+        matrixOperations.add(a, a);
+
+        OperationStats multiply = metrics.stats("multiply");
+        assertEquals(2, multiply.getCount());
+        assertEquals(2 * 2L * 20 * 30 * 10, multiply.getFlops());
+        assertEquals(2 * (20 * 30 + 30 * 10 + 20 * 10) * 8L, multiply.getBytes());
+        assertEquals(2 * 20 * 10 * 8L, multiply.getAllocatedBytes());
+        assertTrue(multiply.getLatency().getTotalNanos() > 0);
+        assertEquals(1, metrics.stats("add").getCount());
+        assertEquals(20 * 30, metrics.stats("add").getFlops());
+
+        Path file = tempDir.resolve("matrix.txt");
+        Files.writeString(file, "1 2 3\n4 5 6\n", StandardCharsets.UTF_8);
+        FileReader reader = new FileReader();
+        reader.setMetrics(metrics);
+        reader.readMatrixFromFile(file.toString());
+        assertEquals(Files.size(file), metrics.stats("readText").getBytes());
+
+        matrixOperations.setMetrics(null);
+        matrixOperations.add(a, a);
+        assertEquals(1, metrics.stats("add").getCount(), "Выключенные метрики не должны записываться");
+    }
+
+    /**
+     * Тест проверяет текстовый и JSON-отчеты и сброс статистики.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void dump_textAndJson() throws MatrixException {
+        matrixOperations.determinant(new Matrix(new double[][]{{1, 2, 3, 4}, {0, 1, 2, 3}, {0, 0, 1, 2}, {0, 0, 0, 1}}));
+
+        String text = metrics.dumpText();
+        String json = metrics.dumpJson();
+
+        assertTrue(text.startsWith("operation"), text);
+        assertTrue(text.contains("determinant"), text);
+        assertTrue(json.startsWith("{\"operations\":[{\"name\":\"determinant\",\"count\":1,"), json);
+        assertTrue(json.contains("\"flops\":42,"), json);
+        metrics.reset();
+        assertEquals("{\"operations\":[]}", metrics.dumpJson());
+    }
+
+    /**
+     * Тест проверяет публикацию метрик через JMX, в том числе операций, появившихся после регистрации.
+     *
+     * @throws Exception если возникает ошибка при обращении к серверу JMX.
+     */
+    @Test
+    void jmx_registersOperations() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName registry = new ObjectName(MatrixMetrics.JMX_DOMAIN + ":type=Metrics");
+        ObjectName add = new ObjectName(MatrixMetrics.JMX_DOMAIN + ":type=Operation,name=\"add\"");
+        metrics.registerMBeans();
+        try {
+            assertThrows(IllegalStateException.class, () -> new MatrixMetrics().registerMBeans());
+            matrixOperations.add(new Matrix(4, 4), new Matrix(4, 4));
+
+            assertEquals(1L, server.getAttribute(add, "Count"));
+            assertEquals(16L, server.getAttribute(add, "Flops"));
+            assertArrayEquals(new String[]{"add"}, (String[]) server.getAttribute(registry, "OperationNames"));
+            String json = (String) server.invoke(registry, "dumpJson", null, null);
+            assertTrue(json.contains("\"name\":\"add\""), json);
+        } finally {
+            metrics.unregisterMBeans();
+        }
+        assertFalse(server.isRegistered(registry));
+        assertFalse(server.isRegistered(add));
+    }
+}
@@ -1,6 +1,8 @@
 import org.example.exception.MatrixException;
 import org.example.matrix.Matrix;
+import org.example.operations.ComputePool;
 import org.example.operations.MatrixOperations;
+import org.example.operations.MultiplyAlgorithm;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -94,4 +96,181 @@ public class MatrixOperationsTest {
         assertThrows(MatrixException.class, () -> matrixOperations.determinant(matrix4),
                 "Ожидалось исключение при вычислении определителя неквадратной матрицы");
     }
+
+    @Test
+    void testDeterminant_LargeMatrixUsesLU() throws MatrixException {
+        Matrix matrix = new Matrix(new double[][]{
+                {2, -1, 0, 0, 1},
+                {1, 3, 2, 0, 0},
+                {0, 1, 4, 1, 2},
+                {3, 0, 1, 5, 1},
+                {1, 2, 0, 1, 6}
+        });
+        double expected = expectedDeterminantByExpansion(matrix.getData());
+        assertEquals(expected, matrixOperations.determinant(matrix), 1e-9, "Определитель матрицы 5x5 вычислен некорректно");
+    }
+
+    @Test
+    void testDeterminant_SingularLargeMatrix() throws MatrixException {
+        Matrix matrix = new Matrix(new double[][]{
+                {1, 2, 3, 4},
+                {2, 4, 6, 8},
+                {0, 1, 0, 1},
+                {5, 0, 2, 1}
+        });
+        assertEquals(0, matrixOperations.determinant(matrix), 1e-12, "Определитель вырожденной матрицы должен быть равен 0");
+    }
+
+    @Test
+    void testDeterminant_LargeIdentityMatrix() throws MatrixException {
+        int n = 200;
+        double[][] data = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            data[i][i] = 1;
+        }
+        data[0][0] = 0;
+        data[0][1] = 1;
+        data[1][0] = 1;
+        data[1][1] = 0;
+        assertEquals(-1, matrixOperations.determinant(new Matrix(data)), 1e-12, "Перестановка строк должна менять знак определителя");
+    }
+
+    @Test
+    void testMultiply_BlockedMatchesNaive() throws MatrixException {
+        Matrix left = TestMatrices.randomMatrix(37, 53, 1);
+        Matrix right = TestMatrices.randomMatrix(53, 29, 2);
+
+        matrixOperations.setMultiplyAlgorithm(MultiplyAlgorithm.NAIVE);
+        Matrix expected = matrixOperations.multiply(left, right);
+
+        matrixOperations.setMultiplyAlgorithm(MultiplyAlgorithm.BLOCKED);
+        matrixOperations.setBlockSize(8);
+        assertEquals(expected, matrixOperations.multiply(left, right), "Блочное умножение должно совпадать с классическим");
+    }
+
+    @Test
+    void testMultiply_ParallelMatchesSerial() throws MatrixException {
+        Matrix left = TestMatrices.randomMatrix(101, 67, 3);
+        Matrix right = TestMatrices.randomMatrix(67, 45, 4);
+        Matrix expected = matrixOperations.multiply(left, right);
+
+        try (ComputePool pool = new ComputePool(4)) {
+            matrixOperations.setComputePool(pool);
+            matrixOperations.setParallelThreshold(0);
+            assertEquals(expected, matrixOperations.multiply(left, right), "Параллельное умножение должно совпадать с последовательным");
+        }
+    }
+
+    @Test
+    void testMultiply_StrassenMatchesBlocked() throws MatrixException {
+        // Нечетные размеры на нескольких уровнях рекурсии: 131 -> 66 -> 33 -> 17
+        for (int size : new int[]{131, 128}) {
+            Matrix left = TestMatrices.randomMatrix(size, size, 9);
+            Matrix right = TestMatrices.randomMatrix(size, size, 10);
+            Matrix expected = matrixOperations.multiply(left, right);
+
+            matrixOperations.setMultiplyAlgorithm(MultiplyAlgorithm.STRASSEN);
+            matrixOperations.setStrassenThreshold(16);
+            TestMatrices.assertMatrixEquals(expected, matrixOperations.multiply(left, right), 1e-10);
+            try (ComputePool pool = new ComputePool(4)) {
+                matrixOperations.setComputePool(pool);
+                matrixOperations.setParallelThreshold(0);
+                TestMatrices.assertMatrixEquals(expected, matrixOperations.multiply(left, right), 1e-10);
+            }
+            matrixOperations.setComputePool(null);
+            matrixOperations.setMultiplyAlgorithm(MultiplyAlgorithm.BLOCKED);
+        }
+    }
+
+    @Test
+    void testMultiply_StrassenFallsBackForRectangularMatrices() throws MatrixException {
+        Matrix left = TestMatrices.randomMatrix(40, 30, 11);
+        Matrix right = TestMatrices.randomMatrix(30, 40, 12);
+        Matrix expected = matrixOperations.multiply(left, right);
+
+        matrixOperations.setMultiplyAlgorithm(MultiplyAlgorithm.STRASSEN);
+        matrixOperations.setStrassenThreshold(8);
+        assertEquals(expected, matrixOperations.multiply(left, right), "Прямоугольные матрицы должны умножаться блочным ядром");
+        assertThrows(IllegalArgumentException.class, () -> matrixOperations.setStrassenThreshold(0));
+    }
+
+    @Test
+    void testElementwise_ParallelMatchesSerial() throws MatrixException {
+        Matrix left = TestMatrices.randomMatrix(300, 200, 5);
+        Matrix right = TestMatrices.randomMatrix(300, 200, 6);
+        Matrix expectedSum = matrixOperations.add(left, right);
+        Matrix expectedDifference = matrixOperations.subtract(left, right);
+        Matrix expectedScaled = matrixOperations.multiplyByScalar(left, -1.5);
+
+        try (ComputePool pool = new ComputePool(4)) {
+            matrixOperations.setComputePool(pool);
+            matrixOperations.setParallelThreshold(0);
+            assertEquals(expectedSum, matrixOperations.add(left, right), "Параллельное сложение выполнено некорректно");
+            assertEquals(expectedDifference, matrixOperations.subtract(left, right), "Параллельное вычитание выполнено некорректно");
+            assertEquals(expectedScaled, matrixOperations.multiplyByScalar(left, -1.5), "Параллельное умножение на скаляр выполнено некорректно");
+            assertEquals(expectedSum, matrixOperations.add(new Matrix(left.getData()), right), "Сложение матриц с разным хранением выполнено некорректно");
+        }
+    }
+
+    @Test
+    void testMap_ValidMatrix() throws MatrixException {
+        Matrix result = matrixOperations.map(matrix1, x -> x * x);
+        assertArrayEquals(new double[][]{{1, 4}, {9, 16}}, result.getData(), "Поэлементное применение функции выполнено некорректно");
+    }
+
+    @Test
+    void testVectorized_MatchesScalar() throws MatrixException {
+        Matrix left = TestMatrices.randomMatrix(41, 67, 7);
+        Matrix right = TestMatrices.randomMatrix(67, 23, 8);
+        matrixOperations.setVectorized(false);
+        Matrix expectedProduct = matrixOperations.multiply(left, right);
+        Matrix expectedScaled = matrixOperations.multiplyByScalar(left, 3);
+        double expectedSum = matrixOperations.sum(left);
+        double expectedNorm = matrixOperations.frobeniusNorm(left);
+
+        assertEquals(MatrixOperations.isVectorSupported(), matrixOperations.setVectorized(true),
+                "Векторные ядра должны включаться только при наличии модуля jdk.incubator.vector");
+        assertEquals(expectedProduct, matrixOperations.multiply(left, right), "Векторное умножение должно совпадать со скалярным");
+        assertEquals(expectedScaled, matrixOperations.multiplyByScalar(left, 3), "Векторное умножение на скаляр выполнено некорректно");
+        assertEquals(expectedSum, matrixOperations.sum(left), 1e-9, "Сумма элементов вычислена некорректно");
+        assertEquals(expectedNorm, matrixOperations.frobeniusNorm(left), 1e-9, "Норма Фробениуса вычислена некорректно");
+    }
+
+    @Test
+    void testSumAndNorm_ValidMatrix() {
+        assertEquals(10, matrixOperations.sum(matrix1), "Сумма элементов вычислена некорректно");
+        assertEquals(Math.sqrt(30), matrixOperations.frobeniusNorm(matrix1), 1e-12, "Норма Фробениуса вычислена некорректно");
+    }
+
+    @Test
+    void testSetBlockSize_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> matrixOperations.setBlockSize(0),
+                "Ожидалось исключение при некорректном размере блока");
+    }
+
+    /**
+     * Эталонное вычисление определителя разложением по первой строке.
+     *
+     * @param m Матрица в виде двумерного массива.
+     * @return Определитель матрицы.
+     */
+    private static double expectedDeterminantByExpansion(double[][] m) {
+        int n = m.length;
+        if (n == 1) {
+            return m[0][0];
+        }
+        double det = 0;
+        for (int col = 0; col < n; col++) {
+            double[][] sub = new double[n - 1][n - 1];
+            for (int i = 1; i < n; i++) {
+                for (int j = 0, k = 0; j < n; j++) {
+                    if (j != col) {
+                        sub[i - 1][k++] = m[i][j];
+                    }
+                }
+            }
+            det += (col % 2 == 0 ? 1 : -1) * m[0][col] * expectedDeterminantByExpansion(sub);
+        }
+        return det;
+    }
 }
@@ -0,0 +1,232 @@
+import org.example.cache.ResultCache;
+import org.example.file.BinaryMatrixReader;
+import org.example.file.BinaryMatrixWriter;
+import org.example.matrix.Matrix;
+import org.example.metrics.MatrixMetrics;
+import org.example.operations.MatrixOperations;
+import org.example.server.MatrixServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link MatrixServer}.
+ * <p>
+ * Проверяет выполнение операций по HTTP-запросам с операндами в теле запроса и в файлах, а также коды ошибок.
+ * </p>
+ */
+class MatrixServerTest {
+
+    private static final String NL = System.lineSeparator();
+
+    private MatrixOperations matrixOperations;
+    private MatrixServer server;
+    private HttpClient client;
+
+    /**
+     * Временная директория, создаваемая JUnit для тестов.
+     */
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        matrixOperations = new MatrixOperations();
+        matrixOperations.setMetrics(new MatrixMetrics());
+        server = new MatrixServer(matrixOperations, 0, 2, new ResultCache(MatrixServer.DEFAULT_CACHE_BYTES), tempDir);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    /**
+     * Тест проверяет операции над матрицами, переданными в теле запроса, и параллельные запросы.
+     *
+     * @throws Exception если запрос не удалось выполнить.
+     */
+    @Test
+    void inlineOperands_returnTextResult() throws Exception {
+        HttpResponse<String> product = post("/multiply", "1 2\n3 4\n\n5 6\n7 8\n");
+        HttpResponse<String> determinant = post("/determinant", "2 0\n0 3\n");
+        HttpResponse<String> scaled = post("/scale?scalar=-2", "1 2\n");
+
+        assertEquals(200, product.statusCode(), product.body());
+        assertEquals("19.0 22.0" + NL + "43.0 50.0" + NL, product.body());
+        assertEquals("6.0" + NL, determinant.body());
+        assertEquals("-2.0 -4.0" + NL, scaled.body());
+
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(client.sendAsync(request("/add", i + " 1\n\n1 " + i + "\n").build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (int i = 0; i < responses.size(); i++) {
+            HttpResponse<String> response = responses.get(i).get();
+            assertEquals(200, response.statusCode());
+            assertEquals((i + 1.0) + " " + (i + 1.0) + NL, response.body());
+        }
+        assertEquals(8, matrixOperations.getMetrics().stats("add").getCount());
+    }
+
+    /**
+     * Тест проверяет операнды, заданные путями к файлам, и запись результата в файл на стороне сервера.
+     *
+     * @throws Exception если запрос или работа с файлами завершились ошибкой.
+     */
+    @Test
+    void fileOperands_writeResultFile() throws Exception {
+        Path a = tempDir.resolve("a.bin");
+        new BinaryMatrixWriter().writeMatrixToFile(new Matrix(new double[][]{{4, 1}, {2, 3}}), a.toString());
+        Path result = tempDir.resolve("x.bin");
+
+        HttpResponse<String> response = post("/solve?a=" + a + "&output=" + result + "&format=binary", "1\n2\n");
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals("", response.body());
+        Matrix x = new BinaryMatrixReader().readMatrixFromFile(result.toString());
+        assertEquals(0.1, x.getElement(0, 0), 1e-12);
+        assertEquals(0.6, x.getElement(1, 0), 1e-12);
+    }
+
+    /**
+     * Тест проверяет коды ответа для ошибок запроса и операции.
+     *
+     * @throws IOException          если запрос не удалось выполнить.
+     * @throws InterruptedException если ожидание ответа прервано.
+     */
+    @Test
+    void errors_mapToStatusCodes() throws IOException, InterruptedException {
+        assertEquals(422, post("/add", "1 2\n\n1 2 3\n").statusCode());
+        assertEquals(422, post("/inverse", "1 2\n2 4\n").statusCode());
+        assertEquals(422, post("/determinant", "1 x\n").statusCode());
+        assertEquals(400, post("/add", "1 2\n").statusCode());
+        assertEquals(400, post("/scale?scalar=abc", "1\n").statusCode());
+        assertEquals(400, post("/determinant?unknown=1", "1\n").statusCode());
+        assertEquals(404, post("/transpose", "1\n").statusCode());
+        assertEquals(405, client.send(HttpRequest.newBuilder(uri("/add")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(uri("/metrics")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.body().contains("readText"), metrics.body());
+    }
+
+    /**
+     * Тест проверяет отклонение запросов, которые могла отправить страница в браузере,
+     * и путей к файлам вне рабочей директории сервера.
+     *
+     * @throws Exception если запрос или работа с файлами завершились ошибкой.
+     */
+    @Test
+    void foreignRequestsAndPaths_areForbidden() throws Exception {
+        HttpRequest fromPage = request("/determinant", "2\n").header("Origin", "http://example.com").build();
+        HttpResponse<String> withOrigin = client.send(fromPage, HttpResponse.BodyHandlers.ofString());
+        assertEquals(403, withOrigin.statusCode(), withOrigin.body());
+        assertEquals(403, rawStatus("/health", "rebind.example:" + server.getPort()));
+        assertEquals(200, rawStatus("/health", "localhost:" + server.getPort()));
+        assertEquals(200, rawStatus("/health", null));
+
+        Files.writeString(tempDir.resolve("a.txt"), "1 2\n3 4\n", StandardCharsets.UTF_8);
+        Files.createDirectory(tempDir.resolve("work"));
+        Files.createSymbolicLink(tempDir.resolve("work/up"), tempDir.getParent());
+        HttpResponse<String> relative = post("/scale?a=a.txt&scalar=2&output=work/b.txt", "");
+        assertEquals(200, relative.statusCode(), relative.body());
+        assertEquals("2.0 4.0" + NL + "6.0 8.0" + NL, Files.readString(tempDir.resolve("work/b.txt")));
+
+        assertEquals(403, post("/determinant?a=../a.txt", "").statusCode());
+        assertEquals(403, post("/determinant?a=" + tempDir.getParent().resolve("a.txt"), "").statusCode());
+        assertEquals(403, post("/add?b=work/../../a.txt", "1\n").statusCode());
+        assertEquals(403, post("/determinant?output=work/up/escape.txt", "1\n").statusCode());
+        assertEquals(403, post("/determinant?output=work/up/new/escape.txt", "1\n").statusCode());
+        assertFalse(Files.exists(tempDir.getParent().resolve("escape.txt")));
+        assertEquals(tempDir.toRealPath(), server.getWorkingDirectory());
+    }
+
+    /**
+     * Тест проверяет, что при {@link Error} во время операции клиент получает ответ 500,
+     * а сервер продолжает обрабатывать запросы.
+     *
+     * @throws Exception если запрос не удалось выполнить.
+     */
+    @Test
+    void error_returnsInternalServerError() throws Exception {
+        MatrixOperations failing = new MatrixOperations() {
+            @Override
+            public Matrix multiply(Matrix matrix1, Matrix matrix2) {
+                throw new OutOfMemoryError("тестовая ошибка");
+            }
+        };
+        try (MatrixServer failingServer = new MatrixServer(failing, 0, 1,
+                new ResultCache(MatrixServer.DEFAULT_CACHE_BYTES), tempDir)) {
+            failingServer.start();
+            URI base = URI.create("http://127.0.0.1:" + failingServer.getPort());
+            HttpRequest multiply = HttpRequest.newBuilder(base.resolve("/multiply")).timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString("1\n\n2\n", StandardCharsets.UTF_8)).build();
+            HttpResponse<String> response = client.send(multiply, HttpResponse.BodyHandlers.ofString());
+            assertEquals(500, response.statusCode());
+            assertTrue(response.body().contains("тестовая ошибка"), response.body());
+
+            HttpRequest health = HttpRequest.newBuilder(base.resolve("/health")).timeout(Duration.ofSeconds(30)).GET().build();
+            assertEquals(200, client.send(health, HttpResponse.BodyHandlers.ofString()).statusCode());
+        }
+    }
+
+    /**
+     * Отправляет запрос GET через сокет с заданным заголовком Host, который HTTP-клиент не позволяет изменить.
+     *
+     * @param path Путь запроса.
+     * @param host Значение заголовка Host или null, чтобы отправить запрос HTTP/1.0 без него.
+     * @return Код ответа.
+     * @throws IOException если запрос не удалось выполнить.
+     */
+    private int rawStatus(String path, String host) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            String request = host != null
+                    ? "GET " + path + " HTTP/1.1\r\nHost: " + host + "\r\nConnection: close\r\n\r\n"
+                    : "GET " + path + " HTTP/1.0\r\n\r\n";
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            String response = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+            return Integer.parseInt(response.substring(9, 12));
+        }
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(request(path, body).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getPort() + path);
+    }
+}
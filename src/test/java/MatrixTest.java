@@ -1,5 +1,7 @@
 import org.example.exception.MatrixException;
+import org.example.matrix.FlatArrayStorage;
 import org.example.matrix.Matrix;
+import org.example.matrix.StorageMode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -173,4 +175,43 @@ public class MatrixTest {
         String expected = "[1.0, 2.0]\n[3.0, 4.0]";
         assertEquals(expected, matrix.toString(), "Метод toString должен возвращать правильное строковое представление матрицы");
     }
+
+    /**
+     * Тест проверяет, что новая матрица по умолчанию использует непрерывное хранение,
+     * а {@link Matrix#getData()} возвращает согласованное представление элементов.
+     */
+    @Test
+    void testFlatStorage_DefaultForNewMatrix() {
+        Matrix flat = new Matrix(2, 3);
+        assertEquals(StorageMode.FLAT, flat.getStorageMode());
+        flat.setElement(1, 2, 7);
+        assertArrayEquals(new double[][]{{0, 0, 0}, {0, 0, 7}}, flat.getData(), "Представление getData должно отражать элементы матрицы");
+    }
+
+    /**
+     * Тест проверяет, что матрицы с разными режимами хранения и одинаковыми элементами равны.
+     */
+    @Test
+    void testFlatStorage_EqualsRowStorage() {
+        Matrix flat = matrix.toFlat();
+        assertEquals(StorageMode.FLAT, flat.getStorageMode());
+        assertEquals(StorageMode.ROWS, matrix.getStorageMode());
+        assertEquals(matrix, flat, "Матрицы с одинаковыми элементами должны быть равны");
+        assertEquals(matrix.hashCode(), flat.hashCode(), "Хеш-коды равных матриц должны совпадать");
+        assertSame(flat, flat.toFlat(), "Повторное преобразование не должно копировать матрицу");
+    }
+
+    /**
+     * Тест проверяет адресацию элементов с явным шагом строки и смещением.
+     */
+    @Test
+    void testFlatStorage_RowStride() {
+        double[] buffer = {-1, 1, 2, -1, 3, 4, -1};
+        Matrix view = Matrix.wrap(new FlatArrayStorage(buffer, 2, 2, 1, 3));
+        assertEquals(matrix, view, "Элементы должны читаться с учетом смещения и шага строки");
+        view.setElement(1, 1, 9);
+        assertEquals(9, buffer[5], "Изменение элемента должно записываться в исходный массив");
+        assertThrows(IllegalArgumentException.class, () -> new FlatArrayStorage(buffer, 3, 2, 1, 3),
+                "Ожидалось исключение при несоответствии размеров массиву");
+    }
 }
@@ -0,0 +1,143 @@
+import org.example.exception.MatrixException;
+import org.example.matrix.Matrix;
+import org.example.matrix.OffHeapStorage;
+import org.example.matrix.StorageMode;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для хранилища вне кучи {@link OffHeapStorage} и операций над матрицами {@link StorageMode#OFF_HEAP}.
+ */
+class OffHeapStorageTest {
+
+    private MatrixOperations matrixOperations;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет доступ к элементам и строкам, пересекающим границы маленьких сегментов.
+     */
+    @Test
+    void rows_crossSegmentBoundaries() {
+        OffHeapStorage storage = new OffHeapStorage(5, 7, 8);
+        Matrix matrix = Matrix.wrap(storage);
+        Matrix expected = filled(5, 7, StorageMode.FLAT);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < 7; j++) {
+                matrix.setElement(i, j, expected.getElement(i, j));
+            }
+        }
+        assertEquals(35, storage.getSize());
+        assertEquals(StorageMode.OFF_HEAP, matrix.getStorageMode());
+        assertEquals(expected, matrix);
+
+        // Строка 1 занимает элементы 7..13 и пересекает границу сегментов на элементе 8
+        double[] row = new double[9];
+        storage.readRow(1, row, 2);
+        assertArrayEquals(new double[]{0, 0, 10, 61, 12, 13, 14, 15, 16}, row);
+        storage.writeRow(1, new double[]{-1, -2, -3, -4, -5, -6, -7}, 0);
+        assertEquals(-2.0, matrix.getElement(1, 1));
+        assertEquals(-7.0, matrix.getElement(1, 6));
+        assertEquals(20.0, matrix.getElement(2, 0));
+        assertEquals(expected, filled(5, 7, StorageMode.OFF_HEAP).toFlat());
+    }
+
+    /**
+     * Тест проверяет, что операции над матрицами вне кучи совпадают с операциями над матрицами в куче,
+     * а результаты операций над ними также хранятся вне кучи.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void operations_keepResultsOffHeap() throws MatrixException {
+        Matrix a = filled(4, 4, StorageMode.OFF_HEAP);
+        Matrix b = matrixOperations.multiplyByScalar(a, 0.5);
+        Matrix heapA = a.toFlat();
+        Matrix heapB = b.toFlat();
+
+        Matrix sum = matrixOperations.add(a, b);
+        Matrix product = matrixOperations.multiply(a, b);
+        assertEquals(StorageMode.OFF_HEAP, b.getStorageMode());
+        assertEquals(StorageMode.OFF_HEAP, sum.getStorageMode());
+        assertEquals(StorageMode.OFF_HEAP, product.getStorageMode());
+        assertEquals(matrixOperations.add(heapA, heapB), sum);
+        assertEquals(matrixOperations.multiply(heapA, heapB), product);
+        assertEquals(StorageMode.FLAT, matrixOperations.add(a, heapB).getStorageMode());
+        assertEquals(matrixOperations.sum(heapA), matrixOperations.sum(a));
+        assertEquals(matrixOperations.determinant(heapA), matrixOperations.determinant(a));
+
+        Matrix destination = new Matrix(4, 4, StorageMode.OFF_HEAP);
+        matrixOperations.multiply(heapA, a, destination);
+        assertEquals(matrixOperations.multiply(heapA, heapA), destination);
+        matrixOperations.addInPlace(destination, a);
+        assertEquals(matrixOperations.add(matrixOperations.multiply(heapA, heapA), heapA), destination);
+        for (Matrix matrix : new Matrix[]{a, b, sum, product, destination}) {
+            matrix.release();
+        }
+    }
+
+    /**
+     * Тест проверяет умножение матриц вне кучи полосами строк: при разных размерах буферов
+     * (в том числе меньше одной строки) произведение совпадает с произведением матриц в куче.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void multiply_inBandsMatchesHeapProduct() throws MatrixException {
+        Matrix a = filled(9, 7, StorageMode.OFF_HEAP);
+        Matrix b = filled(7, 5, StorageMode.OFF_HEAP);
+        Matrix expected = matrixOperations.multiply(a.toFlat(), b.toFlat());
+
+        for (int bandSize : new int[]{1, 14, 20, MatrixOperations.DEFAULT_OFF_HEAP_BAND_SIZE}) {
+            matrixOperations.setOffHeapBandSize(bandSize);
+            Matrix product = matrixOperations.multiply(a, b);
+            assertEquals(StorageMode.OFF_HEAP, product.getStorageMode());
+            assertEquals(expected, product, "Размер полосы " + bandSize);
+            Matrix destination = new Matrix(9, 5, StorageMode.OFF_HEAP);
+            matrixOperations.multiply(a, b.toFlat(), destination);
+            assertEquals(expected, destination, "Размер полосы " + bandSize);
+            product.release();
+            destination.release();
+        }
+        assertThrows(IllegalArgumentException.class, () -> matrixOperations.setOffHeapBandSize(0));
+        a.release();
+        b.release();
+    }
+
+    /**
+     * Тест проверяет явное освобождение памяти и проверку размера сегмента.
+     */
+    @Test
+    void release_makesElementsInaccessible() {
+        Matrix matrix = filled(3, 3, StorageMode.OFF_HEAP);
+        OffHeapStorage storage = (OffHeapStorage) matrix.getStorage();
+        assertFalse(storage.isReleased());
+
+        matrix.release();
+        assertTrue(storage.isReleased());
+        assertThrows(IllegalStateException.class, () -> matrix.getElement(0, 0));
+        assertThrows(IllegalStateException.class, () -> storage.readRow(0, new double[3], 0));
+        storage.close();
+        new Matrix(2, 2).release();
+
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapStorage(2, 2, 12));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapStorage(2, 2, 1 << 28));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapStorage(0, 2));
+    }
+
+    private static Matrix filled(int rows, int cols, StorageMode mode) {
+        Matrix matrix = new Matrix(rows, cols, mode);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix.setElement(i, j, i * 10 + j + (i == j ? rows * 10 : 0));
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,127 @@
+import org.example.exception.MatrixException;
+import org.example.file.BinaryMatrixReader;
+import org.example.file.BinaryMatrixWriter;
+import org.example.file.TiledMatrixFile;
+import org.example.matrix.Matrix;
+import org.example.operations.ComputePool;
+import org.example.operations.MatrixOperations;
+import org.example.operations.OutOfCoreMultiplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link OutOfCoreMultiplier} и {@link TiledMatrixFile}.
+ * <p>
+ * Проверяет совпадение с умножением в памяти при размерах, не кратных размеру плитки,
+ * количество чтений плиток при разном объеме кэша и преобразование форматов файлов.
+ * </p>
+ */
+class OutOfCoreMultiplierTest {
+
+    private static final int TILE_SIZE = 16;
+    private static final long TILE_BYTES = (long) TILE_SIZE * TILE_SIZE * Double.BYTES;
+
+    private MatrixOperations matrixOperations;
+
+    /**
+     * Временная директория, создаваемая JUnit для тестов.
+     */
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет результат при минимальном кэше (панель из одной плитки) и при параллельном вычислении.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void multiply_matchesInMemoryResult() throws MatrixException {
+        Matrix left = TestMatrices.randomMatrix(70, 45, 1);
+        Matrix right = TestMatrices.randomMatrix(45, 33, 2);
+        Matrix expected = matrixOperations.multiply(left, right);
+
+        try (TiledMatrixFile a = TiledMatrixFile.fromMatrix(left, path("a.tiles"), TILE_SIZE);
+             TiledMatrixFile b = TiledMatrixFile.fromMatrix(right, path("b.tiles"), TILE_SIZE)) {
+            OutOfCoreMultiplier multiplier = new OutOfCoreMultiplier(matrixOperations, 5 * TILE_BYTES);
+            try (TiledMatrixFile result = multiplier.multiply(a, b, path("c.tiles"))) {
+                TestMatrices.assertMatrixEquals(expected, result.toMatrix(), 1e-12);
+            }
+            try (ComputePool pool = new ComputePool(4)) {
+                matrixOperations.setComputePool(pool);
+                matrixOperations.setParallelThreshold(0);
+                OutOfCoreMultiplier parallel = new OutOfCoreMultiplier(matrixOperations, 20 * TILE_BYTES);
+                try (TiledMatrixFile result = parallel.multiply(a, b, path("d.tiles"))) {
+                    TestMatrices.assertMatrixEquals(expected, result.toMatrix(), 1e-12);
+                }
+            }
+        }
+    }
+
+    /**
+     * Тест проверяет, что при достаточном кэше каждая плитка операндов читается один раз,
+     * а при малом кэше количество чтений больше, но плитки результата записываются по одному разу.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void largerCache_readsFewerTiles() throws MatrixException {
+        try (TiledMatrixFile a = TiledMatrixFile.fromMatrix(TestMatrices.randomMatrix(64, 64, 3), path("a.tiles"), TILE_SIZE);
+             TiledMatrixFile b = TiledMatrixFile.fromMatrix(TestMatrices.randomMatrix(64, 64, 4), path("b.tiles"), TILE_SIZE)) {
+            // 4 x 4 плитки: панель 4 x 4 и по два набора из 4 плиток операндов
+            OutOfCoreMultiplier large = new OutOfCoreMultiplier(matrixOperations, 32 * TILE_BYTES);
+            large.multiply(a, b, path("c1.tiles")).close();
+            assertEquals(32, large.getTilesRead());
+            assertEquals(16, large.getTilesWritten());
+
+            OutOfCoreMultiplier small = new OutOfCoreMultiplier(matrixOperations, 5 * TILE_BYTES);
+            small.multiply(a, b, path("c2.tiles")).close();
+            assertTrue(small.getTilesRead() > large.getTilesRead());
+            assertTrue(small.getTilesRead() < 2 * 4 * 4 * 4, "Змейка должна повторно использовать плитки");
+            assertEquals(16, small.getTilesWritten());
+
+            MatrixException exception = assertThrows(MatrixException.class,
+                    () -> new OutOfCoreMultiplier(matrixOperations, 4 * TILE_BYTES).multiply(a, b, path("c3.tiles")));
+            assertEquals("Объем кэша плиток слишком мал: требуется не меньше 5 плиток.", exception.getMessage());
+            try (TiledMatrixFile otherTiles = TiledMatrixFile.fromMatrix(TestMatrices.randomMatrix(64, 64, 5), path("e.tiles"), 8)) {
+                assertThrows(MatrixException.class, () -> large.multiply(a, otherTiles, path("c4.tiles")));
+            }
+        }
+    }
+
+    /**
+     * Тест проверяет преобразование двоичного файла с построчным расположением в файл с плитками и обратно.
+     *
+     * @throws MatrixException если возникает ошибка при работе с файлами.
+     */
+    @Test
+    void binaryFileConversion_roundTrip() throws MatrixException {
+        Matrix matrix = TestMatrices.randomMatrix(37, 21, 5);
+        new BinaryMatrixWriter().writeMatrixToFile(matrix, path("m.bin"));
+
+        try (TiledMatrixFile tiled = TiledMatrixFile.fromBinaryFile(path("m.bin"), path("m.tiles"), 8)) {
+            assertEquals(5, tiled.getTileRows());
+            assertEquals(3, tiled.getTileCols());
+            tiled.toBinaryFile(path("copy.bin"));
+        }
+        assertEquals(matrix, new BinaryMatrixReader().readMatrixFromFile(path("copy.bin")));
+        try (TiledMatrixFile reopened = TiledMatrixFile.open(path("m.tiles"), false)) {
+            assertEquals(matrix, reopened.toMatrix());
+        }
+        assertThrows(MatrixException.class, () -> new BinaryMatrixReader().readMatrixFromFile(path("m.tiles")));
+        assertThrows(MatrixException.class, () -> TiledMatrixFile.open(path("m.bin"), false));
+    }
+
+    private String path(String name) {
+        return tempDir.resolve(name).toString();
+    }
+}
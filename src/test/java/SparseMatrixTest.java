@@ -0,0 +1,141 @@
+import org.example.exception.MatrixException;
+import org.example.matrix.CscMatrix;
+import org.example.matrix.CsrMatrix;
+import org.example.matrix.Matrix;
+import org.example.operations.ComputePool;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для разреженных матриц {@link CsrMatrix} и {@link CscMatrix}
+ * и операций над ними в {@link MatrixOperations}.
+ */
+class SparseMatrixTest {
+
+    private MatrixOperations matrixOperations;
+
+    @BeforeEach
+    void setUp() {
+        matrixOperations = new MatrixOperations();
+    }
+
+    /**
+     * Тест проверяет преобразования между плотным представлением и форматами CSR и CSC.
+     */
+    @Test
+    void conversions_preserveElements() {
+        Matrix dense = sparseRandomMatrix(23, 17, 0.1, 1);
+
+        CsrMatrix csr = CsrMatrix.fromDense(dense);
+        CscMatrix csc = CscMatrix.fromDense(dense);
+
+        assertEquals(dense, csr.toDense());
+        assertEquals(dense, csc.toDense());
+        assertEquals(dense, csr.toCsc().toDense());
+        assertEquals(dense, csc.toCsr().toDense());
+        assertEquals(csr.getNonZeros(), csc.getNonZeros());
+        for (int i = 0; i < dense.getRows(); i++) {
+            for (int j = 0; j < dense.getCols(); j++) {
+                assertEquals(dense.getElement(i, j), csr.getElement(i, j));
+                assertEquals(dense.getElement(i, j), csc.getElement(i, j));
+            }
+        }
+    }
+
+    /**
+     * Тест проверяет построение матрицы из координат: сортировку, сложение повторов и удаление нулей.
+     */
+    @Test
+    void fromCoordinates_sortsAndMergesDuplicates() {
+        int[] rows = {2, 0, 2, 0, 1};
+        int[] cols = {1, 3, 0, 3, 2};
+        double[] values = {5, 1, 4, -1, 7};
+
+        CsrMatrix matrix = CsrMatrix.fromCoordinates(3, 4, rows, cols, values, values.length);
+
+        assertEquals(3, matrix.getNonZeros(), "Взаимно уничтожившиеся значения не должны храниться");
+        assertArrayEquals(new int[]{0, 0, 1, 3}, matrix.getRowPointers());
+        assertArrayEquals(new int[]{2, 0, 1}, matrix.getColumnIndices());
+        assertArrayEquals(new double[]{7, 4, 5}, matrix.getValues());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> CsrMatrix.fromCoordinates(2, 2, new int[]{2}, new int[]{0}, new double[]{1}, 1));
+    }
+
+    /**
+     * Тест проверяет, что разреженные операции совпадают с плотными.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void sparseOperations_matchDense() throws MatrixException {
+        Matrix a = sparseRandomMatrix(40, 30, 0.05, 2);
+        Matrix b = sparseRandomMatrix(30, 25, 0.1, 3);
+        Matrix c = sparseRandomMatrix(40, 30, 0.05, 4);
+        Matrix denseB = TestMatrices.randomMatrix(30, 25, 5);
+        CsrMatrix sparseA = CsrMatrix.fromDense(a);
+
+        TestMatrices.assertMatrixEquals(matrixOperations.multiply(a, denseB),
+                matrixOperations.multiply(sparseA, denseB), 1e-12);
+        TestMatrices.assertMatrixEquals(matrixOperations.multiply(a, b),
+                matrixOperations.multiply(a, CscMatrix.fromDense(b)), 1e-12);
+        TestMatrices.assertMatrixEquals(matrixOperations.multiply(a, b),
+                matrixOperations.multiply(sparseA, CsrMatrix.fromDense(b)).toDense(), 1e-12);
+        assertEquals(matrixOperations.add(a, c), matrixOperations.add(sparseA, CsrMatrix.fromDense(c)).toDense());
+        assertEquals(matrixOperations.subtract(a, c),
+                matrixOperations.subtract(sparseA, CsrMatrix.fromDense(c)).toDense());
+        // Плотное умножение дает -0.0 на месте нулей, разреженное нули не хранит
+        TestMatrices.assertMatrixEquals(matrixOperations.multiplyByScalar(a, -2.5),
+                matrixOperations.multiplyByScalar(sparseA, -2.5).toDense(), 1e-12);
+        assertEquals(0, matrixOperations.subtract(sparseA, sparseA).getNonZeros(),
+                "Разность матрицы с самой собой не должна хранить нули");
+    }
+
+    /**
+     * Тест проверяет параллельное умножение разреженной матрицы на плотную.
+     *
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void multiplySparseDense_parallelMatchesSerial() throws MatrixException {
+        CsrMatrix sparse = CsrMatrix.fromDense(sparseRandomMatrix(200, 150, 0.05, 6));
+        Matrix dense = TestMatrices.randomMatrix(150, 80, 7);
+        Matrix expected = matrixOperations.multiply(sparse, dense);
+
+        try (ComputePool pool = new ComputePool(4)) {
+            matrixOperations.setComputePool(pool);
+            matrixOperations.setParallelThreshold(1);
+            assertEquals(expected, matrixOperations.multiply(sparse, dense));
+        }
+    }
+
+    /**
+     * Тест проверяет выбрасывание исключения при несовместимых размерах разреженных матриц.
+     */
+    @Test
+    void sparseOperations_incompatibleSizes() {
+        CsrMatrix a = CsrMatrix.fromDense(new Matrix(new double[][]{{1, 0}, {0, 1}}));
+        CsrMatrix b = CsrMatrix.fromDense(new Matrix(new double[][]{{1, 0, 2}}));
+
+        assertThrows(MatrixException.class, () -> matrixOperations.add(a, b));
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(a, b));
+        assertThrows(MatrixException.class, () -> matrixOperations.multiply(a, new Matrix(3, 3)));
+    }
+
+    private static Matrix sparseRandomMatrix(int rows, int cols, double density, long seed) {
+        Random random = new Random(seed);
+        Matrix matrix = new Matrix(rows, cols);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (random.nextDouble() < density) {
+                    matrix.setElement(i, j, random.nextInt(19) - 9);
+                }
+            }
+        }
+        return matrix;
+    }
+}
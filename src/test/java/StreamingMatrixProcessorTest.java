@@ -0,0 +1,129 @@
+import org.example.exception.MatrixException;
+import org.example.file.FileReader;
+import org.example.file.StreamingMatrixProcessor;
+import org.example.matrix.Matrix;
+import org.example.operations.MatrixOperations;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для {@link StreamingMatrixProcessor}.
+ * <p>
+ * Проверяет, что построчная обработка дает тот же результат, что и операции над матрицами в памяти,
+ * и что несовпадение размеров обнаруживается при чтении.
+ * </p>
+ */
+class StreamingMatrixProcessorTest {
+
+    private final StreamingMatrixProcessor processor = new StreamingMatrixProcessor();
+    private final MatrixOperations matrixOperations = new MatrixOperations();
+    private final FileReader fileReader = new FileReader();
+
+    /**
+     * Временная директория, создаваемая JUnit для тестов.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Тест проверяет сложение, вычитание и умножение на скаляр в сравнении с операциями в памяти.
+     *
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void elementwiseOperations_matchInMemoryResults() throws IOException, MatrixException {
+        String a = write("a.txt", "1 2.5 -3\r\n4 5 6\n7 8 9");
+        String b = write("b.txt", "0.5 0.5 0.5\n-1 -2 -3\n1e3 0 1\n");
+        Matrix matrixA = fileReader.readMatrixFromFile(a);
+        Matrix matrixB = fileReader.readMatrixFromFile(b);
+        String output = tempDir.resolve("result.txt").toString();
+
+        assertEquals(3, processor.add(a, b, output));
+        assertEquals(matrixOperations.add(matrixA, matrixB), fileReader.readMatrixFromFile(output));
+        processor.subtract(a, b, output);
+        assertEquals(matrixOperations.subtract(matrixA, matrixB), fileReader.readMatrixFromFile(output));
+        processor.multiplyByScalar(a, -1.5, output);
+        assertEquals(matrixOperations.multiplyByScalar(matrixA, -1.5), fileReader.readMatrixFromFile(output));
+        processor.map(a, Math::abs, output);
+        assertEquals(matrixOperations.map(matrixA, Math::abs), fileReader.readMatrixFromFile(output));
+    }
+
+    /**
+     * Тест проверяет запись в поток в формате {@link org.example.file.TextMatrixWriter}.
+     *
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void process_writesRowsToWriter() throws IOException, MatrixException {
+        String a = write("a.txt", "1 2\n3 4\n");
+        StringWriter writer = new StringWriter();
+
+        assertEquals(2, processor.process(a, value -> value * 2, writer));
+        assertEquals("2.0 4.0" + System.lineSeparator() + "6.0 8.0" + System.lineSeparator(), writer.toString());
+    }
+
+    /**
+     * Тест проверяет ошибки для матриц разного размера и строк разной длины, а также удаление
+     * частично записанного файла результата.
+     *
+     * @throws IOException если возникает ошибка при работе с файлами.
+     */
+    @Test
+    void mismatchedSizes_throwExceptionAndRemoveOutput() throws IOException {
+        String a = write("a.txt", "1 2\n3 4\n");
+        String moreRows = write("b.txt", "1 2\n3 4\n5 6\n");
+        String ragged = write("c.txt", "1 2\n3\n");
+        Path output = tempDir.resolve("result.txt");
+
+        MatrixException exception = assertThrows(MatrixException.class,
+                () -> processor.add(a, moreRows, output.toString()));
+        assertEquals("Матрицы должны иметь одинаковые размеры для данной операции.", exception.getMessage());
+        assertFalse(Files.exists(output), "Частично записанный результат должен быть удален");
+        assertThrows(MatrixException.class, () -> processor.subtract(moreRows, a, output.toString()));
+        assertThrows(MatrixException.class, () -> processor.multiplyByScalar(ragged, 2, output.toString()));
+        assertFalse(Files.exists(output));
+    }
+
+    /**
+     * Тест проверяет запись результата в файл одного из операндов: при успехе файл заменяется результатом,
+     * при ошибке входной файл остается без изменений, а временные файлы удаляются.
+     *
+     * @throws IOException     если возникает ошибка при работе с файлами.
+     * @throws MatrixException если возникает ошибка при выполнении операций.
+     */
+    @Test
+    void outputSameAsInput_keepsInputOnError() throws IOException, MatrixException {
+        String a = write("a.txt", "1 2\n3 4\n");
+        String b = write("b.txt", "10 20\n30 40\n");
+        String moreRows = write("c.txt", "1 2\n3 4\n5 6\n");
+
+        assertEquals(2, processor.add(a, b, a));
+        assertEquals(new Matrix(new double[][]{{11, 22}, {33, 44}}), fileReader.readMatrixFromFile(a));
+
+        String original = Files.readString(Path.of(b), StandardCharsets.UTF_8);
+        assertThrows(MatrixException.class, () -> processor.subtract(b, moreRows, b));
+        assertEquals(original, Files.readString(Path.of(b), StandardCharsets.UTF_8));
+        String ragged = write("d.txt", "1 2\n3\n");
+        assertThrows(MatrixException.class, () -> processor.map(ragged, Math::abs, ragged));
+        assertEquals("1 2\n3\n", Files.readString(Path.of(ragged), StandardCharsets.UTF_8));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(4, files.count(), "Временные файлы должны быть удалены");
+        }
+    }
+
+    private String write(String name, String content) throws IOException {
+        Path path = tempDir.resolve(name);
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+        return path.toString();
+    }
+}
@@ -0,0 +1,80 @@
+import org.example.matrix.Matrix;
+import org.example.matrix.StorageMode;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Общие вспомогательные методы тестов: создание единичных и случайных матриц и сравнение матриц с заданной точностью.
+ */
+final class TestMatrices {
+
+    private TestMatrices() {
+    }
+
+    /**
+     * Создает единичную матрицу.
+     *
+     * @param n Размер матрицы.
+     * @return Единичная матрица n x n.
+     */
+    static Matrix identity(int n) {
+        Matrix matrix = new Matrix(n, n);
+        for (int i = 0; i < n; i++) {
+            matrix.setElement(i, i, 1);
+        }
+        return matrix;
+    }
+
+    /**
+     * Создает матрицу {@link StorageMode#FLAT} со случайными элементами из [-1, 1).
+     *
+     * @param rows Количество строк.
+     * @param cols Количество столбцов.
+     * @param seed Начальное значение генератора.
+     * @return Случайная матрица.
+     */
+    static Matrix randomMatrix(int rows, int cols, long seed) {
+        return randomMatrix(rows, cols, seed, StorageMode.FLAT);
+    }
+
+    /**
+     * Создает матрицу заданного режима хранения со случайными элементами из [-1, 1).
+     * При одинаковом начальном значении элементы не зависят от режима хранения (кроме округления до float).
+     *
+     * @param rows Количество строк.
+     * @param cols Количество столбцов.
+     * @param seed Начальное значение генератора.
+     * @param mode Режим хранения.
+     * @return Случайная матрица.
+     */
+    static Matrix randomMatrix(int rows, int cols, long seed, StorageMode mode) {
+        Random random = new Random(seed);
+        Matrix matrix = new Matrix(rows, cols, mode);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix.setElement(i, j, random.nextDouble() * 2 - 1);
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Проверяет, что матрицы имеют одинаковый размер и совпадают поэлементно с заданной точностью.
+     *
+     * @param expected Ожидаемая матрица.
+     * @param actual   Полученная матрица.
+     * @param delta    Допустимое отклонение элемента.
+     */
+    static void assertMatrixEquals(Matrix expected, Matrix actual, double delta) {
+        assertEquals(expected.getRows(), actual.getRows());
+        assertEquals(expected.getCols(), actual.getCols());
+        for (int i = 0; i < expected.getRows(); i++) {
+            for (int j = 0; j < expected.getCols(); j++) {
+                assertEquals(expected.getElement(i, j), actual.getElement(i, j), delta,
+                        "Элемент (" + i + ", " + j + ") отличается");
+            }
+        }
+    }
+}